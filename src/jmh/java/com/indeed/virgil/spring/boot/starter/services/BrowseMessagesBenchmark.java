@@ -0,0 +1,88 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueProperties;
+import com.indeed.virgil.spring.boot.starter.models.VirgilMessage;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator.HandleConsumeMessages;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator.HandleGetMessages;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator.ScanQueue;
+import com.indeed.virgil.spring.boot.starter.util.VirgilMessageUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a DLQ with one basicGet per message against pushing it through a consumer with a prefetch window.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BrowseMessagesBenchmark {
+
+    private static final long IDLE_TIMEOUT_MILLIS = 1000;
+
+    @Param({"100", "1000"})
+    private int queueSize;
+
+    @Param({"250"})
+    private int prefetch;
+
+    @Param({"200"})
+    private long roundTripMicros;
+
+    private SimulatedBroker broker;
+    private MessagePropertiesConverter messagePropertiesConverter;
+    private MessageConverterService messageConverterService;
+    private QueueProperties queueProperties;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception {
+        broker = new SimulatedBroker(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        messagePropertiesConverter = new DefaultMessagePropertiesConverter();
+        messageConverterService = new MessageConverterService(new DefaultMessageConverter(new VirgilMessageUtils()));
+        queueProperties = new QueueProperties(SimulatedBroker.getQueueName(), "virgilExchange", null, null, null, null, null);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        broker.reset(queueSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws InterruptedException {
+        broker.shutdown();
+    }
+
+    @Benchmark
+    public List<VirgilMessage> basicGetLoop() throws Exception {
+        final HandleGetMessages handleGetMessages = new HandleGetMessages(messagePropertiesConverter, messageConverterService, queueProperties, queueSize);
+        new ScanQueue(handleGetMessages, queueSize).doInRabbit(broker.getChannel());
+        return handleGetMessages.getDlqMessages();
+    }
+
+    @Benchmark
+    public List<VirgilMessage> basicConsumeWithPrefetch() throws Exception {
+        final HandleConsumeMessages handleConsumeMessages = new HandleConsumeMessages(messagePropertiesConverter, messageConverterService, queueProperties,
+            queueSize, prefetch, IDLE_TIMEOUT_MILLIS);
+        return handleConsumeMessages.doInRabbit(broker.getChannel());
+    }
+}
@@ -0,0 +1,119 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueProperties;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator.HandleGetMessages;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator.ScanQueue;
+import com.indeed.virgil.spring.boot.starter.util.VirgilMessageUtils;
+import com.rabbitmq.client.AMQP.BasicProperties;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-message cost of a queue scan when every basicGet checks a channel out of the {@link CachingConnectionFactory} compared to running
+ * the whole scan inside one {@link ScanQueue} callback. The channel is a mock that answers instantly, so only the client side overhead
+ * is measured.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScanQueueBenchmark {
+
+    private static final int MESSAGES_PER_SCAN = 1000;
+    private static final String QUEUE_NAME = "virgil-dlq";
+
+    private CachingConnectionFactory connectionFactory;
+    private RabbitTemplate rabbitTemplate;
+    private MessagePropertiesConverter messagePropertiesConverter;
+    private MessageConverterService messageConverterService;
+    private QueueProperties queueProperties;
+
+    @Setup
+    public void setUp() throws Exception {
+        final GetResponse response = new GetResponse(
+            new Envelope(1L, false, "virgil-exchange", "dlq.#"),
+            new BasicProperties(),
+            "{\"payload\": \"dead lettered\"}".getBytes(StandardCharsets.UTF_8),
+            MESSAGES_PER_SCAN);
+
+        final Channel channel = mock(Channel.class);
+        when(channel.isOpen()).thenReturn(true);
+        when(channel.basicGet(anyString(), anyBoolean())).thenReturn(response);
+
+        final Connection connection = mock(Connection.class);
+        when(connection.isOpen()).thenReturn(true);
+        when(connection.createChannel()).thenReturn(channel);
+        when(connection.createChannel(anyInt())).thenReturn(channel);
+
+        final ConnectionFactory rabbitConnectionFactory = mock(ConnectionFactory.class);
+        when(rabbitConnectionFactory.newConnection(nullable(ExecutorService.class), nullable(String.class))).thenReturn(connection);
+
+        connectionFactory = new CachingConnectionFactory(rabbitConnectionFactory);
+        rabbitTemplate = new RabbitTemplate(connectionFactory);
+
+        messagePropertiesConverter = new DefaultMessagePropertiesConverter();
+        messageConverterService = new MessageConverterService(new DefaultMessageConverter(new VirgilMessageUtils()));
+        queueProperties = new QueueProperties(QUEUE_NAME, "virgilExchange", null, null, null, null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    /**
+     * How every loop in MessageOperator used to run: one rabbitTemplate.execute per message
+     */
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_SCAN)
+    public List<?> executePerMessage() {
+        final HandleGetMessages handleGetMessages = new HandleGetMessages(messagePropertiesConverter, messageConverterService, queueProperties, MESSAGES_PER_SCAN);
+        for (int i = 0; i < MESSAGES_PER_SCAN; i++) {
+            rabbitTemplate.execute(handleGetMessages);
+        }
+        return handleGetMessages.getDlqMessages();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_SCAN)
+    public List<?> singleCallbackScan() {
+        final HandleGetMessages handleGetMessages = new HandleGetMessages(messagePropertiesConverter, messageConverterService, queueProperties, MESSAGES_PER_SCAN);
+        rabbitTemplate.execute(new ScanQueue(handleGetMessages, MESSAGES_PER_SCAN));
+        return handleGetMessages.getDlqMessages();
+    }
+}
@@ -0,0 +1,141 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.rabbitmq.client.AMQP.BasicProperties;
+import com.rabbitmq.client.CancelCallback;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stand-in for a remote broker: every synchronous AMQP method costs one network round trip, pushed deliveries do not.
+ * <p>
+ * A consumer receives at most {@code prefetch} messages from the head of the queue on a separate thread, the same way the Java client
+ * dispatches deliveries off the connection thread.
+ */
+class SimulatedBroker {
+
+    private static final String QUEUE_NAME = "virgil-dlq";
+    private static final String EXCHANGE_NAME = "virgil-exchange";
+
+    private final long roundTripNanos;
+    private final Deque<Delivery> queue = new ArrayDeque<>();
+    private final AtomicInteger prefetch = new AtomicInteger(0);
+    private final AtomicInteger consumerCount = new AtomicInteger(0);
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "simulated-broker-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Channel channel;
+
+    SimulatedBroker(final long roundTripNanos) throws Exception {
+        this.roundTripNanos = roundTripNanos;
+        this.channel = createChannel();
+    }
+
+    static String getQueueName() {
+        return QUEUE_NAME;
+    }
+
+    Channel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Puts the queue back to {@code size} 'Ready' messages, as if the previous read had been requeued.
+     */
+    synchronized void reset(final int size) {
+        queue.clear();
+        for (int i = 0; i < size; i++) {
+            final byte[] body = String.format("{\"id\": %d, \"payload\": \"dead lettered\"}", i).getBytes(StandardCharsets.UTF_8);
+            queue.add(new Delivery(new Envelope(i + 1, false, EXCHANGE_NAME, "dlq.#"), new BasicProperties(), body));
+        }
+    }
+
+    void shutdown() throws InterruptedException {
+        dispatcher.shutdownNow();
+        dispatcher.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    private synchronized Delivery poll() {
+        return queue.poll();
+    }
+
+    private synchronized int size() {
+        return queue.size();
+    }
+
+    private void roundTrip() {
+        LockSupport.parkNanos(roundTripNanos);
+    }
+
+    private Channel createChannel() throws Exception {
+        final Channel mockChannel = mock(Channel.class);
+
+        when(mockChannel.basicGet(anyString(), anyBoolean())).thenAnswer(invocation -> {
+            roundTrip();
+            final Delivery delivery = poll();
+            if (delivery == null) {
+                return null;
+            }
+            return new GetResponse(delivery.getEnvelope(), delivery.getProperties(), delivery.getBody(), size());
+        });
+
+        when(mockChannel.basicConsume(anyString(), anyBoolean(), any(DeliverCallback.class), any(CancelCallback.class))).thenAnswer(invocation -> {
+            roundTrip();
+            final DeliverCallback deliverCallback = invocation.getArgument(2);
+            final String consumerTag = "amq.ctag-" + consumerCount.incrementAndGet();
+            final int window = prefetch.get();
+
+            dispatcher.execute(() -> {
+                for (int i = 0; i < window; i++) {
+                    final Delivery delivery = poll();
+                    if (delivery == null) {
+                        return;
+                    }
+                    try {
+                        deliverCallback.handle(consumerTag, delivery);
+                    } catch (final Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            });
+            return consumerTag;
+        });
+
+        doAnswer(invocation -> {
+            roundTrip();
+            return null;
+        }).when(mockChannel).basicCancel(anyString());
+
+        when(mockChannel.isOpen()).thenReturn(true);
+
+        doAnswer(invocation -> {
+            roundTrip();
+            prefetch.set(invocation.getArgument(0));
+            return null;
+        }).when(mockChannel).basicQos(anyInt());
+
+        return mockChannel;
+    }
+}
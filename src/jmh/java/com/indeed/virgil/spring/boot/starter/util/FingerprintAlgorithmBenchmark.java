@@ -0,0 +1,65 @@
+package com.indeed.virgil.spring.boot.starter.util;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.FingerprintAlgorithm;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.PropertiesEncoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to fingerprint one message with each {@link FingerprintAlgorithm} and {@link PropertiesEncoding}, from small bodies where hashing
+ * the properties dominates to large bodies where hashing the body does.
+ * <p>
+ * Run with {@code ./gradlew jmh}, add {@code -prof gc} to the JMH arguments to compare the allocations of each encoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FingerprintAlgorithmBenchmark {
+
+    @Param({"MD5", "MURMUR3_128"})
+    private FingerprintAlgorithm algorithm;
+
+    @Param({"LEGACY", "CANONICAL"})
+    private PropertiesEncoding propertiesEncoding;
+
+    @Param({"256", "4096", "65536", "1048576"})
+    private int bodyLength;
+
+    private VirgilMessageUtils virgilMessageUtils;
+    private Message message;
+
+    @Setup
+    public void setUp() {
+        virgilMessageUtils = new VirgilMessageUtils(algorithm, propertiesEncoding);
+
+        final byte[] body = new byte[bodyLength];
+        new Random(42).nextBytes(body);
+
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setHeader("x-exception-message", "java.util.concurrent.TimeoutException: downstream did not answer");
+        messageProperties.setHeader("x-original-exchange", "virgil-exchange");
+        message = new Message(body, messageProperties);
+    }
+
+    @Benchmark
+    public String fingerprint() {
+        return virgilMessageUtils.generateFingerprint(message);
+    }
+}
@@ -0,0 +1,95 @@
+package com.indeed.virgil.spring.boot.starter.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fingerprint throughput of a single shared {@link VirgilMessageUtils} as more threads use it at once. The {@code serialized*} benchmarks
+ * wrap every call in one global monitor, like every fingerprint used to be, and are kept as the baseline.
+ * <p>
+ * Total throughput of the {@code fingerprint*} benchmarks should grow with the thread count, up to the number of cores.
+ * Run with {@code ./gradlew jmh}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FingerprintBenchmark {
+
+    private final Object globalMonitor = new Object();
+
+    private VirgilMessageUtils virgilMessageUtils;
+    private Message message;
+
+    @Setup
+    public void setUp() {
+        virgilMessageUtils = new VirgilMessageUtils();
+
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setMessageId("8d9c2b0e-6c0b-4f0e-9d3a-1b8f6f7e2a10");
+        messageProperties.setHeader("x-exception-message", "java.util.concurrent.TimeoutException: downstream did not answer");
+        messageProperties.setHeader("x-original-exchange", "virgil-exchange");
+
+        final StringBuilder body = new StringBuilder();
+        while (body.length() < 2048) {
+            body.append("{\"payload\": \"dead lettered\"}");
+        }
+        message = new Message(body.toString().getBytes(StandardCharsets.UTF_8), messageProperties);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String fingerprint_1Thread() {
+        return virgilMessageUtils.generateFingerprint(message);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public String fingerprint_2Threads() {
+        return virgilMessageUtils.generateFingerprint(message);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String fingerprint_4Threads() {
+        return virgilMessageUtils.generateFingerprint(message);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String fingerprint_8Threads() {
+        return virgilMessageUtils.generateFingerprint(message);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String serializedFingerprint_4Threads() {
+        synchronized (globalMonitor) {
+            return virgilMessageUtils.generateFingerprint(message);
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String serializedFingerprint_8Threads() {
+        synchronized (globalMonitor) {
+            return virgilMessageUtils.generateFingerprint(message);
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.indeed.virgil.spring.boot.starter.config;
 
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.FingerprintProperties;
 import com.indeed.virgil.spring.boot.starter.services.DefaultMessageConverter;
 import com.indeed.virgil.spring.boot.starter.services.IMessageConverter;
+import com.indeed.virgil.spring.boot.starter.services.JobService;
 import com.indeed.virgil.spring.boot.starter.services.MessageConverterService;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.MessageSnapshotService;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
+import com.indeed.virgil.spring.boot.starter.services.QueueDepthPoller;
+import com.indeed.virgil.spring.boot.starter.services.QueueOverviewService;
 import com.indeed.virgil.spring.boot.starter.services.RabbitMqConnectionService;
+import com.indeed.virgil.spring.boot.starter.services.VirgilMetrics;
 import com.indeed.virgil.spring.boot.starter.util.VirgilMessageUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -20,16 +29,48 @@ class VirgilConfig {
     private VirgilPropertyConfig virgilPropertyConfig;
 
     @Bean
-    RabbitMqConnectionService rabbitMqConnectionService() {
-        return new RabbitMqConnectionService(virgilPropertyConfig);
+    VirgilMetrics virgilMetrics(final ObjectProvider<MeterRegistry> meterRegistry) {
+        final MeterRegistry registry = meterRegistry.getIfAvailable();
+        return registry != null ? new VirgilMetrics(registry) : VirgilMetrics.disabled();
+    }
+
+    @Bean
+    RabbitMqConnectionService rabbitMqConnectionService(final VirgilMetrics virgilMetrics) {
+        return new RabbitMqConnectionService(virgilPropertyConfig, virgilMetrics);
     }
 
     @Bean
     MessageOperator messageOperator(
         final RabbitMqConnectionService rabbitMqConnectionService,
-        final MessageConverterService messageConverterService
+        final MessageConverterService messageConverterService,
+        final VirgilMetrics virgilMetrics
     ) {
-        return new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, messageConverterService);
+        return new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, messageConverterService, virgilMetrics);
+    }
+
+    @Bean
+    MessageSnapshotService messageSnapshotService(final MessageOperator messageOperator) {
+        return new MessageSnapshotService(virgilPropertyConfig, messageOperator);
+    }
+
+    @Bean
+    QueueDepthPoller queueDepthPoller(final MessageOperator messageOperator) {
+        return new QueueDepthPoller(virgilPropertyConfig, messageOperator);
+    }
+
+    @Bean
+    QueueOverviewService queueOverviewService(final MessageOperator messageOperator) {
+        return new QueueOverviewService(virgilPropertyConfig, messageOperator);
+    }
+
+    @Bean
+    JobService jobService() {
+        return new JobService(virgilPropertyConfig);
+    }
+
+    @Bean
+    OperationExecutor operationExecutor() {
+        return new OperationExecutor(virgilPropertyConfig);
     }
 
     @Bean
@@ -47,6 +88,7 @@ class VirgilConfig {
 
     @Bean
     VirgilMessageUtils virgilMessageUtils() {
-        return new VirgilMessageUtils();
+        final FingerprintProperties fingerprintProperties = virgilPropertyConfig.getFingerprint();
+        return new VirgilMessageUtils(fingerprintProperties.getAlgorithm(), fingerprintProperties.getPropertiesEncoding());
     }
 }
@@ -15,13 +15,24 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.CANCEL_JOB_ENDPOINT_ID;
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.DROP_ALL_MESSAGES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.DROP_MATCHING_MESSAGES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.DROP_MESSAGES_ENDPOINT_ID;
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.DROP_MESSAGE_ENDPOINT_ID;
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.GET_DLQ_MESSAGES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.GET_JOB_STATUS_ENDPOINT_ID;
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.GET_QUEUES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.GET_QUEUES_OVERVIEW_ENDPOINT_ID;
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.GET_QUEUE_SIZE_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.PUBLISH_MESSAGES_ENDPOINT_ID;
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.PUBLISH_MESSAGE_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.STREAM_DLQ_MESSAGES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.STREAM_QUEUE_SIZES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.SUBMIT_JOB_ENDPOINT_ID;
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.VIRGIL_PATH_PREFIX;
 
 /**
@@ -46,7 +57,18 @@ class VirgilPropertiesEnvironmentPostProcessor implements EnvironmentPostProcess
         {PUBLISH_MESSAGE_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + PUBLISH_MESSAGE_ENDPOINT_ID},
         {DROP_MESSAGE_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + DROP_MESSAGE_ENDPOINT_ID},
         {DROP_ALL_MESSAGES_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + DROP_ALL_MESSAGES_ENDPOINT_ID},
-        {GET_QUEUES_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + GET_QUEUES_ENDPOINT_ID}
+        {GET_QUEUES_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + GET_QUEUES_ENDPOINT_ID},
+        {PUBLISH_MESSAGES_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + PUBLISH_MESSAGES_ENDPOINT_ID},
+        {DROP_MESSAGES_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + DROP_MESSAGES_ENDPOINT_ID},
+        {PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID},
+        {DROP_MATCHING_MESSAGES_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + DROP_MATCHING_MESSAGES_ENDPOINT_ID},
+        {GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID},
+        {STREAM_DLQ_MESSAGES_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + STREAM_DLQ_MESSAGES_ENDPOINT_ID},
+        {STREAM_QUEUE_SIZES_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + STREAM_QUEUE_SIZES_ENDPOINT_ID},
+        {GET_QUEUES_OVERVIEW_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + GET_QUEUES_OVERVIEW_ENDPOINT_ID},
+        {SUBMIT_JOB_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + SUBMIT_JOB_ENDPOINT_ID},
+        {GET_JOB_STATUS_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + GET_JOB_STATUS_ENDPOINT_ID},
+        {CANCEL_JOB_ENDPOINT_ID, ENDPOINT_DEFAULT_PATH_MAPPING + CANCEL_JOB_ENDPOINT_ID}
     };
 
     private static final String VIRGIL_EXTENSION_RESOURCE_LOCATION = "classpath:META-INF/extensions/custom/";
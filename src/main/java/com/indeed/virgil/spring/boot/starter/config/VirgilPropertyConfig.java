@@ -9,7 +9,10 @@ import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -24,42 +27,186 @@ import java.util.stream.Collectors;
 public class VirgilPropertyConfig {
     private static final Logger LOG = LoggerFactory.getLogger(VirgilPropertyConfig.class);
 
-    private Map<String, QueueProperties> queues;
+    public static final Duration DEFAULT_QUEUE_SIZE_CACHE_TTL = Duration.ofSeconds(2);
 
-    private Map<String, BinderProperties> binders;
+    public static final Duration DEFAULT_MESSAGE_CACHE_TTL = Duration.ZERO;
+
+    private final Map<String, QueueProperties> queues;
+
+    private final Map<String, BinderProperties> binders;
+
+    @Nullable
+    private ConnectionProperties connection;
+
+    @Nullable
+    private BrowseProperties browse;
+
+    @Nullable
+    private SnapshotProperties snapshot;
+
+    @Nullable
+    private FingerprintProperties fingerprint;
+
+    @Nullable
+    private Duration queueSizeCacheTtl;
+
+    @Nullable
+    private QueueDepthProperties queueDepth;
+
+    @Nullable
+    private OverviewProperties overview;
+
+    @Nullable
+    private JobProperties jobs;
+
+    @Nullable
+    private BudgetProperties budget;
+
+    @Nullable
+    private ExecutionProperties execution;
+
+    @Nullable
+    private Duration messageCacheTtl;
 
     public VirgilPropertyConfig(
         final Map<String, QueueProperties> queues,
-        final Map<String, BinderProperties> binders
+        final Map<String, BinderProperties> binders,
+        @Nullable final ConnectionProperties connection,
+        @Nullable final BrowseProperties browse,
+        @Nullable final SnapshotProperties snapshot,
+        @Nullable final FingerprintProperties fingerprint,
+        @Nullable final Duration queueSizeCacheTtl,
+        @Nullable final QueueDepthProperties queueDepth,
+        @Nullable final OverviewProperties overview,
+        @Nullable final JobProperties jobs,
+        @Nullable final BudgetProperties budget,
+        @Nullable final ExecutionProperties execution,
+        @Nullable final Duration messageCacheTtl
     ) {
-        this.queues = queues;
-        this.binders = binders;
+        this.binders = binders != null ? Collections.unmodifiableMap(new LinkedHashMap<>(binders)) : Collections.emptyMap();
+        this.queues = resolveQueues(queues, this.binders);
+        this.connection = connection;
+        this.browse = browse;
+        this.snapshot = snapshot;
+        this.fingerprint = fingerprint;
+        this.queueSizeCacheTtl = queueSizeCacheTtl;
+        this.queueDepth = queueDepth;
+        this.overview = overview;
+        this.jobs = jobs;
+        this.budget = budget;
+        this.execution = execution;
+        this.messageCacheTtl = messageCacheTtl;
     }
 
+    /**
+     * Returns the configured queues, with their binder properties already resolved. The map can not be modified.
+     * @return
+     */
     public Map<String, QueueProperties> getQueues() {
         return queues;
     }
 
+    /**
+     * Returns the configured binders. The map can not be modified.
+     * @return
+     */
     public Map<String, BinderProperties> getBinders() {
         return binders;
     }
 
-    @Nullable
-    public QueueProperties getQueueProperties(final String name) {
-        final QueueProperties queueProperties = getQueues().getOrDefault(name, null);
-        if (queueProperties != null) {
-            final BinderProperties readBinderProperties = getBinderProperties(queueProperties.getReadBinderName());
-            if (readBinderProperties != null) {
-                queueProperties.setReadBinderProperties(readBinderProperties);
-            }
+    /**
+     * Returns the connection settings, falling back to the defaults when `virgil.connection` is not configured
+     * @return
+     */
+    public ConnectionProperties getConnection() {
+        return connection != null ? connection : ConnectionProperties.defaults();
+    }
 
-            final BinderProperties republishBinderProperties = getBinderProperties(queueProperties.getReadBinderName());
-            if (republishBinderProperties != null) {
-                queueProperties.setRepublishBinderProperties(republishBinderProperties);
-            }
-        }
+    /**
+     * Returns the browse settings, falling back to the defaults when `virgil.browse` is not configured
+     * @return
+     */
+    public BrowseProperties getBrowse() {
+        return browse != null ? browse : BrowseProperties.defaults();
+    }
+
+    /**
+     * Returns the paging snapshot settings, falling back to the defaults when `virgil.snapshot` is not configured
+     * @return
+     */
+    public SnapshotProperties getSnapshot() {
+        return snapshot != null ? snapshot : SnapshotProperties.defaults();
+    }
+
+    /**
+     * Returns the fingerprint settings, falling back to the defaults when `virgil.fingerprint` is not configured
+     * @return
+     */
+    public FingerprintProperties getFingerprint() {
+        return fingerprint != null ? fingerprint : FingerprintProperties.defaults();
+    }
 
-        return queueProperties;
+    /**
+     * Returns how long a queue size read from the broker is reused, falling back to the default when `virgil.queue-size-cache-ttl` is not
+     * configured. A zero or negative value disables the cache.
+     * @return
+     */
+    public Duration getQueueSizeCacheTtl() {
+        return queueSizeCacheTtl != null ? queueSizeCacheTtl : DEFAULT_QUEUE_SIZE_CACHE_TTL;
+    }
+
+    /**
+     * Returns how long messages read from a queue are reused by identical reads, falling back to the default when
+     * `virgil.message-cache-ttl` is not configured. The cache is disabled by default, a zero or negative value disables it.
+     * @return
+     */
+    public Duration getMessageCacheTtl() {
+        return messageCacheTtl != null ? messageCacheTtl : DEFAULT_MESSAGE_CACHE_TTL;
+    }
+
+    /**
+     * Returns the queue depth streaming settings, falling back to the defaults when `virgil.queue-depth` is not configured
+     * @return
+     */
+    public QueueDepthProperties getQueueDepth() {
+        return queueDepth != null ? queueDepth : QueueDepthProperties.defaults();
+    }
+
+    /**
+     * Returns the queue overview settings, falling back to the defaults when `virgil.overview` is not configured
+     * @return
+     */
+    public OverviewProperties getOverview() {
+        return overview != null ? overview : OverviewProperties.defaults();
+    }
+
+    /**
+     * Returns the background job settings, falling back to the defaults when `virgil.jobs` is not configured
+     * @return
+     */
+    public JobProperties getJobs() {
+        return jobs != null ? jobs : JobProperties.defaults();
+    }
+
+    /**
+     * Returns the limits of a single queue scan, falling back to the defaults when `virgil.budget` is not configured
+     * @return
+     */
+    public BudgetProperties getBudget() {
+        return budget != null ? budget : BudgetProperties.defaults();
+    }
+
+    /**
+     * Returns where endpoint operations run, falling back to the defaults when `virgil.execution` is not configured
+     * @return
+     */
+    public ExecutionProperties getExecution() {
+        return execution != null ? execution : ExecutionProperties.defaults();
+    }
+
+    @Nullable
+    public QueueProperties getQueueProperties(final String name) {
+        return getQueues().get(name);
     }
 
     @Nullable
@@ -81,21 +228,39 @@ public class VirgilPropertyConfig {
         return new ArrayList<>(getQueues().keySet());
     }
 
+    /**
+     * Resolves the binders of every queue once at startup, so looking up a queue is a single map lookup and never modifies shared state.
+     * A binder that is not configured keeps whatever binder properties were bound for the queue.
+     */
+    private static Map<String, QueueProperties> resolveQueues(
+        @Nullable final Map<String, QueueProperties> queues,
+        final Map<String, BinderProperties> binders
+    ) {
+        if (queues == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, QueueProperties> resolvedQueues = new LinkedHashMap<>();
+        queues.forEach((queueId, queueProperties) -> resolvedQueues.put(queueId, queueProperties.withBinders(binders)));
+
+        return Collections.unmodifiableMap(resolvedQueues);
+    }
+
     public static class QueueProperties {
 
-        private String readName;
+        private final String readName;
 
-        private String readBinderName;
+        private final String readBinderName;
 
-        private BinderProperties readBinderProperties;
+        private final BinderProperties readBinderProperties;
 
-        private String republishName;
+        private final String republishName;
 
-        private String republishBindingRoutingKey = "#";
+        private final String republishBindingRoutingKey;
 
-        private String republishBinderName;
+        private final String republishBinderName;
 
-        private BinderProperties republishBinderProperties;
+        private final BinderProperties republishBinderProperties;
 
         public QueueProperties(
             final String readName,
@@ -127,10 +292,6 @@ public class VirgilPropertyConfig {
             return readBinderProperties;
         }
 
-        protected void setReadBinderProperties(final BinderProperties readBinderProperties) {
-            this.readBinderProperties = readBinderProperties;
-        }
-
         public String getRepublishName() {
             return republishName;
         }
@@ -147,8 +308,16 @@ public class VirgilPropertyConfig {
             return republishBinderProperties;
         }
 
-        protected void setRepublishBinderProperties(final BinderProperties readBinderProperties) {
-            this.readBinderProperties = readBinderProperties;
+        private QueueProperties withBinders(final Map<String, BinderProperties> binders) {
+            return new QueueProperties(
+                readName,
+                readBinderName,
+                binders.getOrDefault(readBinderName, readBinderProperties),
+                republishName,
+                republishBindingRoutingKey,
+                republishBinderName,
+                binders.getOrDefault(republishBinderName, republishBinderProperties)
+            );
         }
     }
 
@@ -182,4 +351,490 @@ public class VirgilPropertyConfig {
             return rabbitProperties;
         }
     }
+
+    /**
+     * Controls how connections to the binders are managed.
+     */
+    public enum ConnectionMode {
+        /**
+         * Every thread creates its own connection per binder, which is destroyed after each read so 'Unacked' messages are put back to
+         * 'Ready' state.
+         */
+        THREAD_LOCAL,
+
+        /**
+         * Every binder shares one long-lived connection with a bounded pool of channels. Reads run on a dedicated channel, and 'Unacked'
+         * messages are put back to 'Ready' state with a single basicNack before the channel is returned to the pool.
+         */
+        POOLED
+    }
+
+    public static class ConnectionProperties {
+
+        private static final ConnectionMode DEFAULT_MODE = ConnectionMode.THREAD_LOCAL;
+        private static final int DEFAULT_CHANNEL_POOL_SIZE = 10;
+        private static final Duration DEFAULT_CHANNEL_CHECKOUT_TIMEOUT = Duration.ofSeconds(5);
+
+        private ConnectionMode mode;
+
+        private int channelPoolSize;
+
+        private Duration channelCheckoutTimeout;
+
+        public ConnectionProperties(
+            @Nullable final ConnectionMode mode,
+            @Nullable final Integer channelPoolSize,
+            @Nullable final Duration channelCheckoutTimeout
+        ) {
+            this.mode = mode != null ? mode : DEFAULT_MODE;
+            this.channelPoolSize = channelPoolSize != null && channelPoolSize > 0 ? channelPoolSize : DEFAULT_CHANNEL_POOL_SIZE;
+            this.channelCheckoutTimeout = channelCheckoutTimeout != null ? channelCheckoutTimeout : DEFAULT_CHANNEL_CHECKOUT_TIMEOUT;
+        }
+
+        public static ConnectionProperties defaults() {
+            return new ConnectionProperties(null, null, null);
+        }
+
+        public ConnectionMode getMode() {
+            return mode;
+        }
+
+        /**
+         * Maximum number of channels that can be open at the same time on a pooled binder connection
+         * @return
+         */
+        public int getChannelPoolSize() {
+            return channelPoolSize;
+        }
+
+        /**
+         * How long to wait for a channel to become available once the pool is exhausted
+         * @return
+         */
+        public Duration getChannelCheckoutTimeout() {
+            return channelCheckoutTimeout;
+        }
+    }
+
+    /**
+     * Controls how messages are pulled from the broker when browsing a queue.
+     */
+    public enum BrowseMode {
+        /**
+         * One synchronous basicGet per message.
+         */
+        GET,
+
+        /**
+         * Messages are pushed by the broker to a consumer, one prefetch window at a time.
+         */
+        CONSUME
+    }
+
+    public static class BrowseProperties {
+
+        private static final BrowseMode DEFAULT_MODE = BrowseMode.GET;
+        private static final int DEFAULT_PREFETCH = 250;
+        private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(1);
+
+        private BrowseMode mode;
+
+        private int prefetch;
+
+        private Duration idleTimeout;
+
+        public BrowseProperties(
+            @Nullable final BrowseMode mode,
+            @Nullable final Integer prefetch,
+            @Nullable final Duration idleTimeout
+        ) {
+            this.mode = mode != null ? mode : DEFAULT_MODE;
+            this.prefetch = prefetch != null && prefetch > 0 ? prefetch : DEFAULT_PREFETCH;
+            this.idleTimeout = idleTimeout != null ? idleTimeout : DEFAULT_IDLE_TIMEOUT;
+        }
+
+        public static BrowseProperties defaults() {
+            return new BrowseProperties(null, null, null);
+        }
+
+        public BrowseMode getMode() {
+            return mode;
+        }
+
+        /**
+         * Number of messages the broker pushes per consumer before the window is cancelled and a new one is opened
+         * @return
+         */
+        public int getPrefetch() {
+            return prefetch;
+        }
+
+        /**
+         * How long to wait for the next delivery before assuming the queue has been drained
+         * @return
+         */
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+    }
+
+    public static class SnapshotProperties {
+
+        private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+        private static final int DEFAULT_MAX_MESSAGES = 10_000;
+        private static final int DEFAULT_MAX_SNAPSHOTS = 20;
+
+        private Duration ttl;
+
+        private int maxMessages;
+
+        private int maxSnapshots;
+
+        public SnapshotProperties(
+            @Nullable final Duration ttl,
+            @Nullable final Integer maxMessages,
+            @Nullable final Integer maxSnapshots
+        ) {
+            this.ttl = ttl != null ? ttl : DEFAULT_TTL;
+            this.maxMessages = maxMessages != null && maxMessages > 0 ? maxMessages : DEFAULT_MAX_MESSAGES;
+            this.maxSnapshots = maxSnapshots != null && maxSnapshots > 0 ? maxSnapshots : DEFAULT_MAX_SNAPSHOTS;
+        }
+
+        public static SnapshotProperties defaults() {
+            return new SnapshotProperties(null, null, null);
+        }
+
+        /**
+         * How long a snapshot is kept after it was last read
+         * @return
+         */
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        /**
+         * Maximum number of messages read from the queue into a single snapshot
+         * @return
+         */
+        public int getMaxMessages() {
+            return maxMessages;
+        }
+
+        /**
+         * Maximum number of snapshots kept at the same time, the least recently read one is evicted first
+         * @return
+         */
+        public int getMaxSnapshots() {
+            return maxSnapshots;
+        }
+    }
+
+    public static class QueueDepthProperties {
+
+        private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(5);
+        private static final Duration DEFAULT_STREAM_TIMEOUT = Duration.ofMinutes(30);
+
+        private Duration pollInterval;
+
+        private Duration streamTimeout;
+
+        public QueueDepthProperties(
+            @Nullable final Duration pollInterval,
+            @Nullable final Duration streamTimeout
+        ) {
+            this.pollInterval = pollInterval != null && !pollInterval.isZero() && !pollInterval.isNegative() ? pollInterval : DEFAULT_POLL_INTERVAL;
+            this.streamTimeout = streamTimeout != null && !streamTimeout.isZero() && !streamTimeout.isNegative() ? streamTimeout : DEFAULT_STREAM_TIMEOUT;
+        }
+
+        public static QueueDepthProperties defaults() {
+            return new QueueDepthProperties(null, null);
+        }
+
+        /**
+         * How often the size of every queue is read while at least one client is subscribed to queue depth changes
+         * @return
+         */
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        /**
+         * How long a subscription stays open before the client has to subscribe again
+         * @return
+         */
+        public Duration getStreamTimeout() {
+            return streamTimeout;
+        }
+    }
+
+    public static class OverviewProperties {
+
+        private static final int DEFAULT_PARALLELISM = 4;
+        private static final Duration DEFAULT_QUEUE_TIMEOUT = Duration.ofSeconds(5);
+
+        private int parallelism;
+
+        private Duration queueTimeout;
+
+        public OverviewProperties(
+            @Nullable final Integer parallelism,
+            @Nullable final Duration queueTimeout
+        ) {
+            this.parallelism = parallelism != null && parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+            this.queueTimeout = queueTimeout != null && !queueTimeout.isZero() && !queueTimeout.isNegative() ? queueTimeout : DEFAULT_QUEUE_TIMEOUT;
+        }
+
+        public static OverviewProperties defaults() {
+            return new OverviewProperties(null, null);
+        }
+
+        /**
+         * Maximum number of queues looked up at the same time
+         * @return
+         */
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        /**
+         * How long the overview waits for the lookup of a queue, counted from the moment the overview is requested
+         * @return
+         */
+        public Duration getQueueTimeout() {
+            return queueTimeout;
+        }
+    }
+
+    /**
+     * Settings of the jobs that run DLQ operations in the background.
+     */
+    public static class JobProperties {
+
+        private static final int DEFAULT_MAX_RUNNING = 2;
+        private static final int DEFAULT_MAX_QUEUED = 10;
+        private static final Duration DEFAULT_RETENTION = Duration.ofMinutes(10);
+
+        private int maxRunning;
+
+        private int maxQueued;
+
+        private Duration retention;
+
+        public JobProperties(
+            @Nullable final Integer maxRunning,
+            @Nullable final Integer maxQueued,
+            @Nullable final Duration retention
+        ) {
+            this.maxRunning = maxRunning != null && maxRunning > 0 ? maxRunning : DEFAULT_MAX_RUNNING;
+            this.maxQueued = maxQueued != null && maxQueued >= 0 ? maxQueued : DEFAULT_MAX_QUEUED;
+            this.retention = retention != null && !retention.isNegative() ? retention : DEFAULT_RETENTION;
+        }
+
+        public static JobProperties defaults() {
+            return new JobProperties(null, null, null);
+        }
+
+        /**
+         * Maximum number of jobs running at the same time
+         * @return
+         */
+        public int getMaxRunning() {
+            return maxRunning;
+        }
+
+        /**
+         * Maximum number of jobs waiting for a free thread, jobs submitted beyond that are rejected
+         * @return
+         */
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        /**
+         * How long the status of a finished job can still be read
+         * @return
+         */
+        public Duration getRetention() {
+            return retention;
+        }
+    }
+
+    /**
+     * Limits of a single queue scan, a scan that reaches one of them stops and returns what it has done so far.
+     */
+    public static class BudgetProperties {
+
+        private static final Duration DEFAULT_MAX_DURATION = Duration.ofMinutes(10);
+
+        @Nullable
+        private Duration maxDuration;
+
+        @Nullable
+        private Integer maxMessages;
+
+        public BudgetProperties(
+            @Nullable final Duration maxDuration,
+            @Nullable final Integer maxMessages
+        ) {
+            if (maxDuration == null) {
+                this.maxDuration = DEFAULT_MAX_DURATION;
+            } else {
+                this.maxDuration = !maxDuration.isZero() && !maxDuration.isNegative() ? maxDuration : null;
+            }
+            this.maxMessages = maxMessages != null && maxMessages > 0 ? maxMessages : null;
+        }
+
+        public static BudgetProperties defaults() {
+            return new BudgetProperties(null, null);
+        }
+
+        /**
+         * How long a scan may read from the queue, null if it has no time limit
+         * @return
+         */
+        @Nullable
+        public Duration getMaxDuration() {
+            return maxDuration;
+        }
+
+        /**
+         * How many messages a scan may read from the queue, null if it has no limit
+         * @return
+         */
+        @Nullable
+        public Integer getMaxMessages() {
+            return maxMessages;
+        }
+    }
+
+    /**
+     * Where endpoint operations that read the queue run.
+     */
+    public enum ExecutionMode {
+        /**
+         * On the request thread of the application, which is blocked until the operation is done.
+         */
+        REQUEST_THREAD,
+
+        /**
+         * On a bounded pool of Virgil's own threads, the request thread is released until the response is ready.
+         */
+        DEDICATED
+    }
+
+    public static class ExecutionProperties {
+
+        private static final ExecutionMode DEFAULT_MODE = ExecutionMode.REQUEST_THREAD;
+        private static final int DEFAULT_MAX_THREADS = 4;
+        private static final int DEFAULT_MAX_QUEUED = 100;
+
+        private ExecutionMode mode;
+
+        private int maxThreads;
+
+        private int maxQueued;
+
+        public ExecutionProperties(
+            @Nullable final ExecutionMode mode,
+            @Nullable final Integer maxThreads,
+            @Nullable final Integer maxQueued
+        ) {
+            this.mode = mode != null ? mode : DEFAULT_MODE;
+            this.maxThreads = maxThreads != null && maxThreads > 0 ? maxThreads : DEFAULT_MAX_THREADS;
+            this.maxQueued = maxQueued != null && maxQueued > 0 ? maxQueued : DEFAULT_MAX_QUEUED;
+        }
+
+        public static ExecutionProperties defaults() {
+            return new ExecutionProperties(null, null, null);
+        }
+
+        public ExecutionMode getMode() {
+            return mode;
+        }
+
+        /**
+         * Maximum number of operations running at the same time in {@link ExecutionMode#DEDICATED} mode
+         * @return
+         */
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        /**
+         * Maximum number of operations waiting for a free thread in {@link ExecutionMode#DEDICATED} mode, operations beyond that are
+         * rejected
+         * @return
+         */
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+    }
+
+    /**
+     * Hash used to fingerprint messages, the fingerprint is the id of messages without a messageId.
+     */
+    public enum FingerprintAlgorithm {
+        /**
+         * 128 bit MD5 digest.
+         */
+        MD5,
+
+        /**
+         * 128 bit x64 MurmurHash3, not cryptographic but several times faster than MD5 on large bodies.
+         */
+        MURMUR3_128
+    }
+
+    /**
+     * How message properties are fed into the fingerprint hash.
+     */
+    public enum PropertiesEncoding {
+        /**
+         * String dump of the properties in the JVM default charset, reproduces the fingerprints of earlier versions.
+         */
+        LEGACY,
+
+        /**
+         * Every property is written as bytes with headers sorted by name, independent of the JVM default charset and header order.
+         */
+        CANONICAL
+    }
+
+    public static class FingerprintProperties {
+
+        private static final FingerprintAlgorithm DEFAULT_ALGORITHM = FingerprintAlgorithm.MD5;
+        private static final PropertiesEncoding DEFAULT_PROPERTIES_ENCODING = PropertiesEncoding.LEGACY;
+
+        private FingerprintAlgorithm algorithm;
+
+        private PropertiesEncoding propertiesEncoding;
+
+        public FingerprintProperties(
+            @Nullable final FingerprintAlgorithm algorithm,
+            @Nullable final PropertiesEncoding propertiesEncoding
+        ) {
+            this.algorithm = algorithm != null ? algorithm : DEFAULT_ALGORITHM;
+            this.propertiesEncoding = propertiesEncoding != null ? propertiesEncoding : DEFAULT_PROPERTIES_ENCODING;
+        }
+
+        public static FingerprintProperties defaults() {
+            return new FingerprintProperties(null, null);
+        }
+
+        /**
+         * Changing the algorithm changes the id of every message without a messageId
+         * @return
+         */
+        public FingerprintAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * Changing the encoding changes the id of every message without a messageId
+         * @return
+         */
+        public PropertiesEncoding getPropertiesEncoding() {
+            return propertiesEncoding;
+        }
+    }
 }
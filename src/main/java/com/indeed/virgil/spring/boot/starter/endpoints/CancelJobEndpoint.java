@@ -0,0 +1,42 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.services.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.CANCEL_JOB_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+
+/**
+ * Cancels a job submitted with {@link SubmitJobEndpoint}. A running job stops before it reads the next message, the messages it has not
+ * handled yet stay on the queue.
+ */
+@Component
+@Endpoint(id = CANCEL_JOB_ENDPOINT_ID)
+public class CancelJobEndpoint implements IVirgilEndpoint {
+
+    private final JobService jobService;
+
+    @Autowired
+    public CancelJobEndpoint(final JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @WriteOperation
+    public EndpointResponse<Serializable> index(final String jobId) {
+        return GetJobStatusEndpoint.toResponse(jobService.cancel(jobId));
+    }
+
+    public static String getEndpointId() {
+        return CANCEL_JOB_ENDPOINT_ID;
+    }
+
+    public static String getEndpointPath() {
+        return ENDPOINT_DEFAULT_PATH_MAPPING + getEndpointId();
+    }
+}
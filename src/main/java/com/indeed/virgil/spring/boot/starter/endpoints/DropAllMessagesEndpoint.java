@@ -3,6 +3,7 @@ package com.indeed.virgil.spring.boot.starter.endpoints;
 import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
 import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,7 @@ import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
 import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.io.Serializable;
 
@@ -25,18 +27,22 @@ public class DropAllMessagesEndpoint implements IVirgilEndpoint {
     private static final Logger LOG = LoggerFactory.getLogger(DropAllMessagesEndpoint.class);
 
     private final MessageOperator messageOperator;
+    private final OperationExecutor operationExecutor;
 
     @Autowired
-    public DropAllMessagesEndpoint(final MessageOperator messageOperator) {
+    public DropAllMessagesEndpoint(
+        final MessageOperator messageOperator,
+        final OperationExecutor operationExecutor
+    ) {
         this.messageOperator = messageOperator;
+        this.operationExecutor = operationExecutor;
     }
 
     @WriteOperation
-    public EndpointResponse<Serializable> index(final String queueId) {
-
-        return ImmutableEndpointResponse.builder()
+    public Mono<EndpointResponse<Serializable>> index(final String queueId) {
+        return operationExecutor.execute(() -> ImmutableEndpointResponse.builder()
             .setData(messageOperator.dropMessages(queueId) ? "Success!" : "Failure")
-            .build();
+            .build());
     }
 
     public static String getEndpointId() {
@@ -0,0 +1,87 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.FilterMessagesResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableMessageFilter;
+import com.indeed.virgil.spring.boot.starter.models.MessageFilter;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
+import com.indeed.virgil.spring.boot.starter.services.OperationProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.DROP_MATCHING_MESSAGES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+
+/**
+ * Drops every message that matches the filter with a single pass over the queue, see {@link DropMessageEndpoint}.
+ */
+@Component
+@Endpoint(id = DROP_MATCHING_MESSAGES_ENDPOINT_ID)
+public class DropMatchingMessagesEndpoint implements IVirgilEndpoint {
+
+    private final MessageOperator messageOperator;
+    private final OperationExecutor operationExecutor;
+
+    @Autowired
+    public DropMatchingMessagesEndpoint(
+        final MessageOperator messageOperator,
+        final OperationExecutor operationExecutor
+    ) {
+        this.messageOperator = messageOperator;
+        this.operationExecutor = operationExecutor;
+    }
+
+    /**
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param headers header name to a value the header must contain
+     * @param olderThan only matches messages whose timestamp is older than this, e.g. 3d
+     * @param bodyContains only matches messages whose body contains this
+     * @param maxDuration stops the scan after this long, if it is less than the configured budget
+     * @param maxMessages stops the scan after reading this many messages, if it is less than the configured budget
+     * @return
+     */
+    @WriteOperation
+    public Mono<EndpointResponse<Serializable>> index(
+        final String queueId,
+        @Nullable final Map<String, String> headers,
+        @Nullable final Duration olderThan,
+        @Nullable final String bodyContains,
+        @Nullable final Duration maxDuration,
+        @Nullable final Integer maxMessages
+    ) {
+        return operationExecutor.execute(() -> {
+            final MessageFilter messageFilter = ImmutableMessageFilter.builder()
+                .setHeaders(headers != null ? headers : Collections.<String, String>emptyMap())
+                .setOlderThan(olderThan)
+                .setBodyContains(StringUtils.isEmpty(bodyContains) ? null : bodyContains)
+                .build();
+
+            final OperationProgress progress = new OperationProgress(maxDuration, maxMessages);
+            final FilterMessagesResponse response = messageOperator.ackMatchingMessages(queueId, messageFilter, progress);
+
+            return ImmutableEndpointResponse.builder()
+                .setData(response)
+                .build();
+        });
+    }
+
+    public static String getEndpointId() {
+        return DROP_MATCHING_MESSAGES_ENDPOINT_ID;
+    }
+
+    public static String getEndpointPath() {
+        return ENDPOINT_DEFAULT_PATH_MAPPING + getEndpointId();
+    }
+}
@@ -4,6 +4,7 @@ import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
 import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
 import com.indeed.virgil.spring.boot.starter.models.VirgilMessage;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +13,7 @@ import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -25,21 +27,26 @@ public class GetDlqMessagesEndpoint implements IVirgilEndpoint {
     private static final Logger LOG = LoggerFactory.getLogger(GetDlqMessagesEndpoint.class);
 
     private final MessageOperator messageOperator;
+    private final OperationExecutor operationExecutor;
 
     @Autowired
     public GetDlqMessagesEndpoint(
-        final MessageOperator messageOperator
+        final MessageOperator messageOperator,
+        final OperationExecutor operationExecutor
     ) {
         this.messageOperator = messageOperator;
+        this.operationExecutor = operationExecutor;
     }
 
     @ReadOperation
-    public EndpointResponse<Serializable> index(final String queueId, @Nullable final Integer limit) {
-        final ArrayList<VirgilMessage> result = new ArrayList<>(messageOperator.getMessages(queueId, limit));
-
-        return ImmutableEndpointResponse.builder()
-            .setData(result)
-            .build();
+    public Mono<EndpointResponse<Serializable>> index(final String queueId, @Nullable final Integer limit) {
+        return operationExecutor.execute(() -> {
+            final ArrayList<VirgilMessage> result = new ArrayList<>(messageOperator.getMessages(queueId, limit));
+
+            return ImmutableEndpointResponse.builder()
+                .setData(result)
+                .build();
+        });
     }
 
     public static String getEndpointId() {
@@ -0,0 +1,73 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponseError;
+import com.indeed.virgil.spring.boot.starter.models.MessagePage;
+import com.indeed.virgil.spring.boot.starter.services.MessageSnapshotService;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID;
+
+/**
+ * Pages through a snapshot of the DLQ, see {@link MessageSnapshotService}.
+ */
+@Component
+@Endpoint(id = GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID)
+public class GetDlqMessagesPageEndpoint implements IVirgilEndpoint {
+
+    static final int DEFAULT_PAGE_SIZE = 200;
+
+    static final String CURSOR_EXPIRED_ERROR_CODE = "CURSOR_EXPIRED";
+
+    private final MessageSnapshotService messageSnapshotService;
+    private final OperationExecutor operationExecutor;
+
+    @Autowired
+    public GetDlqMessagesPageEndpoint(
+        final MessageSnapshotService messageSnapshotService,
+        final OperationExecutor operationExecutor
+    ) {
+        this.messageSnapshotService = messageSnapshotService;
+        this.operationExecutor = operationExecutor;
+    }
+
+    @ReadOperation
+    public Mono<EndpointResponse<Serializable>> index(final String queueId, @Nullable final String cursor, @Nullable final Integer pageSize) {
+        return operationExecutor.execute(() -> {
+            final Optional<MessagePage> page = messageSnapshotService.getPage(queueId, cursor, pageSize == null ? DEFAULT_PAGE_SIZE : pageSize);
+
+            if (!page.isPresent()) {
+                return ImmutableEndpointResponse.builder()
+                    .setData("failure")
+                    .addErrors(ImmutableEndpointResponseError.builder()
+                        .setCode(CURSOR_EXPIRED_ERROR_CODE)
+                        .setMessage("Cursor is invalid or its snapshot has expired, request the first page again")
+                        .build())
+                    .build();
+            }
+
+            return ImmutableEndpointResponse.builder()
+                .setData(page.get())
+                .build();
+        });
+    }
+
+    public static String getEndpointId() {
+        return GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID;
+    }
+
+    public static String getEndpointPath() {
+        return ENDPOINT_DEFAULT_PATH_MAPPING + getEndpointId();
+    }
+}
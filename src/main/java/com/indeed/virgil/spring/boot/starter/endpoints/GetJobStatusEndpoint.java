@@ -0,0 +1,63 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponseError;
+import com.indeed.virgil.spring.boot.starter.models.JobStatus;
+import com.indeed.virgil.spring.boot.starter.services.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.GET_JOB_STATUS_ENDPOINT_ID;
+
+/**
+ * Returns the progress of a job submitted with {@link SubmitJobEndpoint}, and its result once it is done.
+ */
+@Component
+@Endpoint(id = GET_JOB_STATUS_ENDPOINT_ID)
+public class GetJobStatusEndpoint implements IVirgilEndpoint {
+
+    static final String JOB_NOT_FOUND_ERROR_CODE = "JOB_NOT_FOUND";
+
+    private final JobService jobService;
+
+    @Autowired
+    public GetJobStatusEndpoint(final JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @ReadOperation
+    public EndpointResponse<Serializable> index(final String jobId) {
+        return toResponse(jobService.getStatus(jobId));
+    }
+
+    static EndpointResponse<Serializable> toResponse(final Optional<JobStatus> jobStatus) {
+        if (!jobStatus.isPresent()) {
+            return ImmutableEndpointResponse.builder()
+                .setData("failure")
+                .addErrors(ImmutableEndpointResponseError.builder()
+                    .setCode(JOB_NOT_FOUND_ERROR_CODE)
+                    .setMessage("Job does not exist or finished too long ago")
+                    .build())
+                .build();
+        }
+
+        return ImmutableEndpointResponse.builder()
+            .setData(jobStatus.get())
+            .build();
+    }
+
+    public static String getEndpointId() {
+        return GET_JOB_STATUS_ENDPOINT_ID;
+    }
+
+    public static String getEndpointPath() {
+        return ENDPOINT_DEFAULT_PATH_MAPPING + getEndpointId();
+    }
+}
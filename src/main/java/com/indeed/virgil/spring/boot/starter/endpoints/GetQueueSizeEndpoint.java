@@ -3,6 +3,7 @@ package com.indeed.virgil.spring.boot.starter.endpoints;
 import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
 import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,7 @@ import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.io.Serializable;
 
@@ -23,17 +25,22 @@ public class GetQueueSizeEndpoint implements IVirgilEndpoint {
     private static final Logger LOG = LoggerFactory.getLogger(GetQueueSizeEndpoint.class);
 
     private final MessageOperator messageOperator;
+    private final OperationExecutor operationExecutor;
 
     @Autowired
-    public GetQueueSizeEndpoint(final MessageOperator messageOperator) {
+    public GetQueueSizeEndpoint(
+        final MessageOperator messageOperator,
+        final OperationExecutor operationExecutor
+    ) {
         this.messageOperator = messageOperator;
+        this.operationExecutor = operationExecutor;
     }
 
     @ReadOperation
-    public EndpointResponse<Serializable> index(@Selector final String queueId) {
-        return ImmutableEndpointResponse.builder()
+    public Mono<EndpointResponse<Serializable>> index(@Selector final String queueId) {
+        return operationExecutor.execute(() -> ImmutableEndpointResponse.builder()
             .setData(messageOperator.getQueueSize(queueId))
-            .build();
+            .build());
     }
 
     public static String getEndpointId() {
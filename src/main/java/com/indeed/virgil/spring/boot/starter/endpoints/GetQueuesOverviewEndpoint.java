@@ -0,0 +1,57 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.QueueOverview;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
+import com.indeed.virgil.spring.boot.starter.services.QueueOverviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.GET_QUEUES_OVERVIEW_ENDPOINT_ID;
+
+/**
+ * Returns the name, message count and consumer count of every queue in one response, see {@link QueueOverviewService}.
+ */
+@Component
+@Endpoint(id = GET_QUEUES_OVERVIEW_ENDPOINT_ID)
+public class GetQueuesOverviewEndpoint implements IVirgilEndpoint {
+
+    private final QueueOverviewService queueOverviewService;
+    private final OperationExecutor operationExecutor;
+
+    @Autowired
+    public GetQueuesOverviewEndpoint(
+        final QueueOverviewService queueOverviewService,
+        final OperationExecutor operationExecutor
+    ) {
+        this.queueOverviewService = queueOverviewService;
+        this.operationExecutor = operationExecutor;
+    }
+
+    @ReadOperation
+    public Mono<EndpointResponse<Serializable>> index() {
+        return operationExecutor.execute(() -> {
+            final ArrayList<QueueOverview> overview = new ArrayList<>(queueOverviewService.getOverview());
+
+            return ImmutableEndpointResponse.builder()
+                .setData(overview)
+                .build();
+        });
+    }
+
+    public static String getEndpointId() {
+        return GET_QUEUES_OVERVIEW_ENDPOINT_ID;
+    }
+
+    public static String getEndpointPath() {
+        return ENDPOINT_DEFAULT_PATH_MAPPING + getEndpointId();
+    }
+}
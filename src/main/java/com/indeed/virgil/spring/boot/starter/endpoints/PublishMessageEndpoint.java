@@ -4,6 +4,7 @@ import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
 import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
 import com.indeed.virgil.spring.boot.starter.models.RepublishMessageResponse;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +12,7 @@ import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
 import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.io.Serializable;
 
@@ -23,19 +25,26 @@ class PublishMessageEndpoint implements IVirgilEndpoint {
     private static final Logger LOG = LoggerFactory.getLogger(PublishMessageEndpoint.class);
 
     private final MessageOperator messageOperator;
+    private final OperationExecutor operationExecutor;
 
     @Autowired
-    public PublishMessageEndpoint(final MessageOperator messageOperator) {
+    public PublishMessageEndpoint(
+        final MessageOperator messageOperator,
+        final OperationExecutor operationExecutor
+    ) {
         this.messageOperator = messageOperator;
+        this.operationExecutor = operationExecutor;
     }
 
     @WriteOperation
-    public EndpointResponse<Serializable> index(final String queueId, final String messageId) {
-        final RepublishMessageResponse response = messageOperator.republishMessage(queueId, messageId);
-
-        return ImmutableEndpointResponse.builder()
-            .setData(response.isSuccess() ? "success" : "failure")
-            .build();
+    public Mono<EndpointResponse<Serializable>> index(final String queueId, final String messageId) {
+        return operationExecutor.execute(() -> {
+            final RepublishMessageResponse response = messageOperator.republishMessage(queueId, messageId);
+
+            return ImmutableEndpointResponse.builder()
+                .setData(response.isSuccess() ? "success" : "failure")
+                .build();
+        });
     }
 
     public static String getEndpointId() {
@@ -0,0 +1,73 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.BatchMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
+import com.indeed.virgil.spring.boot.starter.services.OperationProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.PUBLISH_MESSAGES_ENDPOINT_ID;
+
+/**
+ * Republishes several messages with a single pass over the queue.
+ */
+@Component
+@Endpoint(id = PUBLISH_MESSAGES_ENDPOINT_ID)
+class PublishMessagesEndpoint implements IVirgilEndpoint {
+
+    private final MessageOperator messageOperator;
+    private final OperationExecutor operationExecutor;
+
+    @Autowired
+    public PublishMessagesEndpoint(
+        final MessageOperator messageOperator,
+        final OperationExecutor operationExecutor
+    ) {
+        this.messageOperator = messageOperator;
+        this.operationExecutor = operationExecutor;
+    }
+
+    /**
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageIds ids of the messages
+     * @param maxDuration stops the scan after this long, if it is less than the configured budget
+     * @param maxMessages stops the scan after reading this many messages, if it is less than the configured budget
+     * @return
+     */
+    @WriteOperation
+    public Mono<EndpointResponse<Serializable>> index(
+        final String queueId,
+        final List<String> messageIds,
+        @Nullable final Duration maxDuration,
+        @Nullable final Integer maxMessages
+    ) {
+        return operationExecutor.execute(() -> {
+            final OperationProgress progress = new OperationProgress(maxDuration, maxMessages);
+            final BatchMessageResponse response = messageOperator.republishMessages(queueId, messageIds, progress);
+
+            return ImmutableEndpointResponse.builder()
+                .setData(response)
+                .build();
+        });
+    }
+
+    public static String getEndpointId() {
+        return PUBLISH_MESSAGES_ENDPOINT_ID;
+    }
+
+    public static String getEndpointPath() {
+        return ENDPOINT_DEFAULT_PATH_MAPPING + getEndpointId();
+    }
+}
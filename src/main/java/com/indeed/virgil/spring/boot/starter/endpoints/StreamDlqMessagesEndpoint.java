@@ -0,0 +1,203 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indeed.virgil.spring.boot.starter.models.VirgilMessage;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.web.annotation.RestControllerEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.STREAM_DLQ_MESSAGES_ENDPOINT_ID;
+
+/**
+ * Streams the messages of a DLQ as newline delimited JSON, one {@link VirgilMessage} per line.
+ * <p>
+ * Messages are written to the response as soon as they are read, so unlike {@link GetDlqMessagesEndpoint} memory use does not grow with
+ * the size of the queue. Only available in servlet web applications.
+ * <p>
+ * The queue is read on a thread of its own, which takes the queue's turn and hands messages to the response through a buffer of
+ * {@value #BUFFERED_MESSAGES} messages, so the read never waits on a write to the client. A client that does not take a message for
+ * {@link #STALLED_CLIENT_TIMEOUT} is considered stalled: the read stops, the operations waiting on the queue go ahead, and the response is
+ * failed instead of ending as if every message had been streamed.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(StreamingResponseBody.class)
+@RestControllerEndpoint(id = STREAM_DLQ_MESSAGES_ENDPOINT_ID)
+public class StreamDlqMessagesEndpoint implements IVirgilEndpoint, DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(StreamDlqMessagesEndpoint.class);
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final char LINE_SEPARATOR = '\n';
+
+    static final int BUFFERED_MESSAGES = 100;
+    static final Duration STALLED_CLIENT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final String THREAD_NAME_PREFIX = "virgil-stream-";
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+    // how often the response checks whether the read is done while no message is buffered
+    private static final long HAND_OFF_POLL_MILLIS = 50;
+
+    // messages are separated by LINE_SEPARATOR only, and the servlet response buffer decides when a chunk is sent
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(new JsonFactory().setRootValueSeparator(null))
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+    private final MessageOperator messageOperator;
+    private final ExecutorService executorService;
+    private final int bufferedMessages;
+    private final Duration stalledClientTimeout;
+
+    @Autowired
+    public StreamDlqMessagesEndpoint(
+        final MessageOperator messageOperator
+    ) {
+        this(messageOperator, createExecutorService(), BUFFERED_MESSAGES, STALLED_CLIENT_TIMEOUT);
+    }
+
+    StreamDlqMessagesEndpoint(
+        final MessageOperator messageOperator,
+        final ExecutorService executorService,
+        final int bufferedMessages,
+        final Duration stalledClientTimeout
+    ) {
+        this.messageOperator = messageOperator;
+        this.executorService = executorService;
+        this.bufferedMessages = bufferedMessages;
+        this.stalledClientTimeout = stalledClientTimeout;
+    }
+
+    @GetMapping(produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> index(@RequestParam final String queueId, @RequestParam(required = false) @Nullable final Integer limit) {
+        final StreamingResponseBody body = outputStream -> {
+            final OperationProgress progress = new OperationProgress();
+            final BlockingQueue<VirgilMessage> buffer = new ArrayBlockingQueue<>(bufferedMessages);
+            final AtomicBoolean stalled = new AtomicBoolean();
+
+            final Future<Integer> read = executorService.submit(() -> messageOperator.streamMessages(queueId, limit, progress,
+                handOff(queueId, buffer, progress, stalled)));
+
+            try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(outputStream)) {
+                while (true) {
+                    final VirgilMessage virgilMessage = buffer.poll(HAND_OFF_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (virgilMessage != null) {
+                        OBJECT_MAPPER.writeValue(generator, virgilMessage);
+                        generator.writeRaw(LINE_SEPARATOR);
+                    } else if (read.isDone() && buffer.isEmpty()) {
+                        break;
+                    }
+                }
+
+                if (stalled.get()) {
+                    throw new IOException(String.format("Client stopped reading for more than %s, the read was stopped", stalledClientTimeout));
+                }
+                final Integer streamed = read.get();
+                LOG.debug("Streamed {} messages. QueueId: {}", streamed, queueId);
+            } catch (final IOException ex) {
+                // most likely the client went away, the read stops before the next message and puts the rest back to 'Ready'
+                stopRead(progress, buffer);
+                throw ex;
+            } catch (final InterruptedException ex) {
+                stopRead(progress, buffer);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while streaming messages");
+            } catch (final ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                throw new IllegalStateException(ex.getCause());
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdown();
+    }
+
+    /**
+     * Hands a message read from the queue to the response. Waits for room in the buffer for at most the stalled client timeout, then
+     * stops the read so that it does not hold the queue while the client is not reading.
+     */
+    private Consumer<VirgilMessage> handOff(
+        final String queueId,
+        final BlockingQueue<VirgilMessage> buffer,
+        final OperationProgress progress,
+        final AtomicBoolean stalled
+    ) {
+        return virgilMessage -> {
+            try {
+                if (!buffer.offer(virgilMessage, stalledClientTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    LOG.warn("Client stopped reading the stream, stopping the read. QueueId: {}", queueId);
+                    stalled.set(true);
+                    progress.cancel();
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                progress.cancel();
+            }
+        };
+    }
+
+    /**
+     * Stops the read once the response failed. The buffer is emptied so that a read waiting for room does not wait for the client.
+     */
+    private static void stopRead(final OperationProgress progress, final BlockingQueue<VirgilMessage> buffer) {
+        progress.cancel();
+        buffer.clear();
+    }
+
+    private static ExecutorService createExecutorService() {
+        final AtomicInteger threadCount = new AtomicInteger();
+        // one thread per stream, the streams themselves are bounded by the threads the web layer writes responses on
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            runnable -> {
+                final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    public static String getEndpointId() {
+        return STREAM_DLQ_MESSAGES_ENDPOINT_ID;
+    }
+
+    public static String getEndpointPath() {
+        return ENDPOINT_DEFAULT_PATH_MAPPING + getEndpointId();
+    }
+}
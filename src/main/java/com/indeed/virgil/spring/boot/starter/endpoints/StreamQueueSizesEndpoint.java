@@ -0,0 +1,84 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueDepthProperties;
+import com.indeed.virgil.spring.boot.starter.services.QueueDepthPoller;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.web.annotation.RestControllerEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.STREAM_QUEUE_SIZES_ENDPOINT_ID;
+
+/**
+ * Streams the size of every queue as Server-Sent Events, so a client subscribes once instead of polling the size of each queue.
+ * <p>
+ * Every {@value #QUEUE_SIZES_EVENT} event is a JSON object of queueId to size. The first event holds every queue, later events only the
+ * queues whose size changed. The stream is closed after {@link QueueDepthProperties#getStreamTimeout()}, EventSource clients reconnect on
+ * their own. Only available in servlet web applications.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(SseEmitter.class)
+@RestControllerEndpoint(id = STREAM_QUEUE_SIZES_ENDPOINT_ID)
+public class StreamQueueSizesEndpoint implements IVirgilEndpoint {
+
+    static final String QUEUE_SIZES_EVENT = "queue-sizes";
+
+    private final QueueDepthPoller queueDepthPoller;
+    private final Duration streamTimeout;
+
+    @Autowired
+    public StreamQueueSizesEndpoint(
+        final VirgilPropertyConfig virgilPropertyConfig,
+        final QueueDepthPoller queueDepthPoller
+    ) {
+        this.queueDepthPoller = queueDepthPoller;
+        this.streamTimeout = virgilPropertyConfig.getQueueDepth()
+            .getStreamTimeout();
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter index() {
+        final SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+
+        final Consumer<Map<String, Integer>> subscriber = queueSizes -> {
+            try {
+                emitter.send(SseEmitter.event()
+                    .name(QUEUE_SIZES_EVENT)
+                    .data(queueSizes, MediaType.APPLICATION_JSON));
+            } catch (final IOException ex) {
+                // most likely the client went away, the poller drops the subscriber
+                throw new UncheckedIOException(ex);
+            }
+        };
+
+        // completion also follows a timeout or an error
+        emitter.onCompletion(() -> queueDepthPoller.unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> queueDepthPoller.unsubscribe(subscriber));
+
+        queueDepthPoller.subscribe(subscriber);
+
+        return emitter;
+    }
+
+    public static String getEndpointId() {
+        return STREAM_QUEUE_SIZES_ENDPOINT_ID;
+    }
+
+    public static String getEndpointPath() {
+        return ENDPOINT_DEFAULT_PATH_MAPPING + getEndpointId();
+    }
+}
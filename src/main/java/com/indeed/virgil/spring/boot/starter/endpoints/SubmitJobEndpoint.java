@@ -0,0 +1,188 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponseError;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableMessageFilter;
+import com.indeed.virgil.spring.boot.starter.models.JobStatus;
+import com.indeed.virgil.spring.boot.starter.models.MessageFilter;
+import com.indeed.virgil.spring.boot.starter.services.JobService;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.DROP_MATCHING_MESSAGES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.DROP_MESSAGES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.DROP_MESSAGE_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.PUBLISH_MESSAGES_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.PUBLISH_MESSAGE_ENDPOINT_ID;
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.SUBMIT_JOB_ENDPOINT_ID;
+
+/**
+ * Runs a drop or publish operation as a background job, see {@link JobService}. Returns the status of the new job right away, its
+ * progress and result are read with {@link GetJobStatusEndpoint}.
+ * <p>
+ * The operation is the id of the endpoint that runs it synchronously and takes the same parameters, e.g. {@code drop-matching-messages}
+ * with {@code headers}. The result of the job is the data that endpoint would have returned.
+ */
+@Component
+@Endpoint(id = SUBMIT_JOB_ENDPOINT_ID)
+public class SubmitJobEndpoint implements IVirgilEndpoint {
+    private static final Logger LOG = LoggerFactory.getLogger(SubmitJobEndpoint.class);
+
+    static final String UNKNOWN_OPERATION_ERROR_CODE = "UNKNOWN_OPERATION";
+    static final String TOO_MANY_JOBS_ERROR_CODE = "TOO_MANY_JOBS";
+    static final String MISSING_PARAMETER_ERROR_CODE = "MISSING_PARAMETER";
+
+    private final JobService jobService;
+    private final MessageOperator messageOperator;
+
+    @Autowired
+    public SubmitJobEndpoint(
+        final JobService jobService,
+        final MessageOperator messageOperator
+    ) {
+        this.jobService = jobService;
+        this.messageOperator = messageOperator;
+    }
+
+    /**
+     * @param operation id of the endpoint whose operation to run, one of drop-message, drop-messages, drop-matching-messages,
+     *                  publish-message, publish-messages or publish-matching-messages
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageId id of the message, for drop-message and publish-message
+     * @param messageIds ids of the messages, for drop-messages and publish-messages
+     * @param headers header name to a value the header must contain, for the matching operations
+     * @param olderThan only matches messages whose timestamp is older than this, e.g. 3d, for the matching operations
+     * @param bodyContains only matches messages whose body contains this, for the matching operations
+     * @param maxDuration stops the scan after this long, if it is less than the configured budget
+     * @param maxMessages stops the scan after reading this many messages, if it is less than the configured budget
+     * @return
+     */
+    @WriteOperation
+    public EndpointResponse<Serializable> index(
+        final String operation,
+        final String queueId,
+        @Nullable final String messageId,
+        @Nullable final List<String> messageIds,
+        @Nullable final Map<String, String> headers,
+        @Nullable final Duration olderThan,
+        @Nullable final String bodyContains,
+        @Nullable final Duration maxDuration,
+        @Nullable final Integer maxMessages
+    ) {
+        final Function<OperationProgress, Serializable> task = createTask(operation, queueId, messageId, messageIds,
+            createMessageFilter(headers, olderThan, bodyContains));
+        if (task == null) {
+            LOG.warn("Unknown job operation. Operation: {}, QueueId: {}", operation, queueId);
+            return failure(UNKNOWN_OPERATION_ERROR_CODE, "Operation is not one that can run as a job: " + operation);
+        }
+
+        final String missingParameter = getMissingParameter(operation, messageId, messageIds);
+        if (missingParameter != null) {
+            LOG.warn("Job is missing a parameter. Operation: {}, QueueId: {}, Parameter: {}", operation, queueId, missingParameter);
+            return failure(MISSING_PARAMETER_ERROR_CODE, "Operation " + operation + " requires " + missingParameter);
+        }
+
+        final Optional<JobStatus> jobStatus = jobService.submit(operation, queueId, new OperationProgress(maxDuration, maxMessages), task);
+        if (!jobStatus.isPresent()) {
+            return failure(TOO_MANY_JOBS_ERROR_CODE, "Too many jobs are waiting to run, try again once some of them are done");
+        }
+
+        return ImmutableEndpointResponse.builder()
+            .setData(jobStatus.get())
+            .build();
+    }
+
+    @Nullable
+    private Function<OperationProgress, Serializable> createTask(
+        final String operation,
+        final String queueId,
+        @Nullable final String messageId,
+        @Nullable final List<String> messageIds,
+        final MessageFilter messageFilter
+    ) {
+        switch (operation) {
+            case DROP_MESSAGE_ENDPOINT_ID:
+                return progress -> messageOperator.ackCertainMessage(queueId, messageId, progress).isSuccess() ? "success" : "failure";
+            case PUBLISH_MESSAGE_ENDPOINT_ID:
+                return progress -> messageOperator.republishMessage(queueId, messageId, progress).isSuccess() ? "success" : "failure";
+            case DROP_MESSAGES_ENDPOINT_ID:
+                return progress -> messageOperator.ackMessages(queueId, messageIds, progress);
+            case PUBLISH_MESSAGES_ENDPOINT_ID:
+                return progress -> messageOperator.republishMessages(queueId, messageIds, progress);
+            case DROP_MATCHING_MESSAGES_ENDPOINT_ID:
+                return progress -> messageOperator.ackMatchingMessages(queueId, messageFilter, progress);
+            case PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID:
+                return progress -> messageOperator.republishMatchingMessages(queueId, messageFilter, progress);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * The synchronous endpoints require these parameters, a job without them would only fail once it runs
+     *
+     * @return name of the parameter the operation requires but was not passed, null if none is missing
+     */
+    @Nullable
+    private static String getMissingParameter(final String operation, @Nullable final String messageId, @Nullable final List<String> messageIds) {
+        switch (operation) {
+            case DROP_MESSAGE_ENDPOINT_ID:
+            case PUBLISH_MESSAGE_ENDPOINT_ID:
+                return StringUtils.isEmpty(messageId) ? "messageId" : null;
+            case DROP_MESSAGES_ENDPOINT_ID:
+            case PUBLISH_MESSAGES_ENDPOINT_ID:
+                return messageIds == null ? "messageIds" : null;
+            default:
+                return null;
+        }
+    }
+
+    private static MessageFilter createMessageFilter(
+        @Nullable final Map<String, String> headers,
+        @Nullable final Duration olderThan,
+        @Nullable final String bodyContains
+    ) {
+        return ImmutableMessageFilter.builder()
+            .setHeaders(headers != null ? headers : Collections.<String, String>emptyMap())
+            .setOlderThan(olderThan)
+            .setBodyContains(StringUtils.isEmpty(bodyContains) ? null : bodyContains)
+            .build();
+    }
+
+    private static EndpointResponse<Serializable> failure(final String code, final String message) {
+        return ImmutableEndpointResponse.builder()
+            .setData("failure")
+            .addErrors(ImmutableEndpointResponseError.builder()
+                .setCode(code)
+                .setMessage(message)
+                .build())
+            .build();
+    }
+
+    public static String getEndpointId() {
+        return SUBMIT_JOB_ENDPOINT_ID;
+    }
+
+    public static String getEndpointPath() {
+        return ENDPOINT_DEFAULT_PATH_MAPPING + getEndpointId();
+    }
+}
@@ -9,11 +9,22 @@ import org.springframework.context.annotation.Import;
 @Configuration
 @Import({
     DropAllMessagesEndpoint.class,
+    DropMatchingMessagesEndpoint.class,
     DropMessageEndpoint.class,
+    DropMessagesEndpoint.class,
     GetDlqMessagesEndpoint.class,
+    GetDlqMessagesPageEndpoint.class,
     GetQueueSizeEndpoint.class,
     PublishMessageEndpoint.class,
-    GetQueuesEndpoint.class
+    PublishMessagesEndpoint.class,
+    PublishMatchingMessagesEndpoint.class,
+    StreamDlqMessagesEndpoint.class,
+    StreamQueueSizesEndpoint.class,
+    GetQueuesEndpoint.class,
+    GetQueuesOverviewEndpoint.class,
+    SubmitJobEndpoint.class,
+    GetJobStatusEndpoint.class,
+    CancelJobEndpoint.class
 })
 public class VirgilEndpointsConfiguration {
 }
@@ -0,0 +1,43 @@
+package com.indeed.virgil.spring.boot.starter.models;
+
+import org.immutables.value.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Value.Immutable
+@Value.Style(init = "set*", get = {"get*", "is*"})
+public interface BatchMessageResponse extends Serializable {
+
+    /**
+     * Returns true if every requested message was found and handled
+     *
+     * @return
+     */
+    boolean isSuccess();
+
+    /**
+     * Ids of the messages that were found and handled, in the order they were found on the queue
+     *
+     * @return
+     */
+    List<String> getProcessedIds();
+
+    /**
+     * Ids of the requested messages that were not found on the queue
+     *
+     * @return
+     */
+    List<String> getMissingIds();
+
+    /**
+     * Returns true if the scan stopped before it was done, because it was cancelled or ran out of budget. Messages that were not read
+     * are left on the queue.
+     *
+     * @return
+     */
+    @Value.Default
+    default boolean isTruncated() {
+        return false;
+    }
+}
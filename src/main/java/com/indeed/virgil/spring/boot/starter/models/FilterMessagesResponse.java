@@ -0,0 +1,37 @@
+package com.indeed.virgil.spring.boot.starter.models;
+
+import org.immutables.value.Value;
+
+import java.io.Serializable;
+
+@Value.Immutable
+@Value.Style(init = "set*", get = {"get*", "is*"})
+public interface FilterMessagesResponse extends Serializable {
+
+    boolean isSuccess();
+
+    /**
+     * Number of messages read from the queue
+     *
+     * @return
+     */
+    int getScannedCount();
+
+    /**
+     * Number of messages that matched the filter and were handled
+     *
+     * @return
+     */
+    int getMatchedCount();
+
+    /**
+     * Returns true if the scan stopped before it was done, because it was cancelled or ran out of budget. Messages that were not read
+     * are left on the queue.
+     *
+     * @return
+     */
+    @Value.Default
+    default boolean isTruncated() {
+        return false;
+    }
+}
@@ -0,0 +1,37 @@
+package com.indeed.virgil.spring.boot.starter.models;
+
+/**
+ * Lifecycle of a background job.
+ */
+public enum JobState {
+    /**
+     * Waiting for a free thread.
+     */
+    QUEUED(false),
+    /**
+     * The operation is scanning the queue.
+     */
+    RUNNING(false),
+    /**
+     * The operation finished, the result is available.
+     */
+    SUCCEEDED(true),
+    /**
+     * The operation threw, the error is available.
+     */
+    FAILED(true),
+    /**
+     * The job was cancelled before it started or stopped at the next message after it was cancelled.
+     */
+    CANCELLED(true);
+
+    private final boolean done;
+
+    JobState(final boolean done) {
+        this.done = done;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+}
@@ -0,0 +1,80 @@
+package com.indeed.virgil.spring.boot.starter.models;
+
+import org.immutables.value.Value;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+@Value.Immutable
+@Value.Style(init = "set*", get = {"get*", "is*"})
+public interface JobStatus extends Serializable {
+
+    String getJobId();
+
+    /**
+     * Id of the endpoint whose operation the job runs, e.g. drop-matching-messages
+     *
+     * @return
+     */
+    String getOperation();
+
+    /**
+     * Queue Property Key, this is not the actual name of the queue
+     *
+     * @return
+     */
+    String getQueueId();
+
+    JobState getState();
+
+    /**
+     * Number of messages read from the queue so far
+     *
+     * @return
+     */
+    int getScannedCount();
+
+    /**
+     * Number of messages the operation has handled so far
+     *
+     * @return
+     */
+    int getMatchedCount();
+
+    /**
+     * Returns true once the job will not change anymore
+     *
+     * @return
+     */
+    @Value.Derived
+    default boolean isDone() {
+        return getState().isDone();
+    }
+
+    /**
+     * Returns true if the scan of the job stopped before it was done, because it was cancelled or ran out of budget
+     *
+     * @return
+     */
+    @Value.Default
+    default boolean isTruncated() {
+        return false;
+    }
+
+    /**
+     * Response the endpoint of the operation would have returned, set once the job is done. A cancelled job holds the response of the
+     * part of the queue that was scanned.
+     *
+     * @return
+     */
+    @Nullable
+    Serializable getResult();
+
+    /**
+     * Why the job failed
+     *
+     * @return
+     */
+    @Nullable
+    String getError();
+}
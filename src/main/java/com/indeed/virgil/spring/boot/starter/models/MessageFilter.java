@@ -0,0 +1,82 @@
+package com.indeed.virgil.spring.boot.starter.models;
+
+import org.immutables.value.Value;
+import org.springframework.amqp.core.Message;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Selects messages of a DLQ. A message matches when it satisfies every criterion that is set.
+ */
+@Value.Immutable
+@Value.Style(init = "set*", get = {"get*", "is*"})
+public interface MessageFilter {
+
+    /**
+     * Header name to a value the header must contain, only headers exposed on {@link VirgilMessage#getHeaders()} can be matched
+     *
+     * @return
+     */
+    Map<String, String> getHeaders();
+
+    /**
+     * Only matches messages whose timestamp is older than this
+     *
+     * @return
+     */
+    @Nullable
+    Duration getOlderThan();
+
+    /**
+     * Only matches messages whose UTF-8 body contains this
+     *
+     * @return
+     */
+    @Nullable
+    String getBodyContains();
+
+    /**
+     * Returns true if no criterion is set, an empty filter matches every message
+     *
+     * @return
+     */
+    default boolean isEmpty() {
+        return getHeaders().isEmpty() && getOlderThan() == null && getBodyContains() == null;
+    }
+
+    /**
+     * @param virgilMessage converted message, used for the headers
+     * @param message raw message, used for the timestamp and the full body
+     * @param now point in time {@link #getOlderThan()} is relative to
+     * @return true if the message satisfies every criterion
+     */
+    default boolean matches(final VirgilMessage virgilMessage, final Message message, final Instant now) {
+        for (final Map.Entry<String, String> header : getHeaders().entrySet()) {
+            final Object value = virgilMessage.getHeaders().get(header.getKey());
+            if (value == null || !String.valueOf(value).contains(header.getValue())) {
+                return false;
+            }
+        }
+
+        final Duration olderThan = getOlderThan();
+        if (olderThan != null) {
+            final Date timestamp = message.getMessageProperties().getTimestamp();
+            if (timestamp == null || !timestamp.toInstant().isBefore(now.minus(olderThan))) {
+                return false;
+            }
+        }
+
+        final String bodyContains = getBodyContains();
+        if (bodyContains != null) {
+            final byte[] body = message.getBody();
+            return body != null && new String(body, StandardCharsets.UTF_8).contains(bodyContains);
+        }
+
+        return true;
+    }
+}
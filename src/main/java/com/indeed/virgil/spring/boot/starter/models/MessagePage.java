@@ -0,0 +1,47 @@
+package com.indeed.virgil.spring.boot.starter.models;
+
+import org.immutables.value.Value;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.List;
+
+@Value.Immutable
+@Value.Style(init = "set*", get = {"get*", "is*"})
+public interface MessagePage extends Serializable {
+
+    List<VirgilMessage> getMessages();
+
+    /**
+     * Position of the first message of this page within the snapshot
+     *
+     * @return
+     */
+    int getOffset();
+
+    /**
+     * Number of messages read into the snapshot so far
+     *
+     * @return
+     */
+    int getTotal();
+
+    /**
+     * Cursor of the next page, null if this is the last page
+     *
+     * @return
+     */
+    @Nullable
+    String getNextCursor();
+
+    /**
+     * Returns true if the snapshot stopped growing once `virgil.snapshot.max-messages` messages were read from the head of the queue while
+     * the queue may hold more. Messages past that point are not paged through.
+     *
+     * @return
+     */
+    @Value.Default
+    default boolean isTruncated() {
+        return false;
+    }
+}
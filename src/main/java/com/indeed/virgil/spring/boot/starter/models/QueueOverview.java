@@ -0,0 +1,53 @@
+package com.indeed.virgil.spring.boot.starter.models;
+
+import org.immutables.value.Value;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+@Value.Immutable
+@Value.Style(init = "set*", get = {"get*", "is*"})
+public interface QueueOverview extends Serializable {
+
+    /**
+     * Queue Property Key, this is not the actual name of the queue
+     *
+     * @return
+     */
+    String getQueueId();
+
+    /**
+     * Name of the queue on the broker
+     *
+     * @return
+     */
+    String getQueueName();
+
+    String getBinderName();
+
+    /**
+     * Number of messages ready to be delivered, null if the queue could not be read
+     *
+     * @return
+     */
+    @Nullable
+    Integer getMessageCount();
+
+    /**
+     * Number of consumers of the queue, null if the queue could not be read
+     *
+     * @return
+     */
+    @Nullable
+    Integer getConsumerCount();
+
+    /**
+     * Returns true if the broker did not answer within the queue timeout
+     *
+     * @return
+     */
+    @Value.Default
+    default boolean isTimedOut() {
+        return false;
+    }
+}
@@ -2,18 +2,21 @@ package com.indeed.virgil.spring.boot.starter.services;
 
 import com.indeed.virgil.spring.boot.starter.models.ImmutableVirgilMessage;
 import com.indeed.virgil.spring.boot.starter.models.VirgilMessage;
+import com.indeed.virgil.spring.boot.starter.util.MessageBodyPreview;
 import com.indeed.virgil.spring.boot.starter.util.VirgilMessageUtils;
 import org.springframework.amqp.core.Message;
 import org.springframework.util.StringUtils;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
 public class DefaultMessageConverter implements IMessageConverter {
 
     private static final int MAX_DISPLAY_STR_LEN = 256;
 
+    private static final String MESSAGE_ID_PREFIX = "i_";
+    private static final String FINGERPRINT_PREFIX = "f_";
+
     private static final String MESSAGE_HEADER_EXCEPTION = "x-exception-message";
     private static final String MESSAGE_HEADER_ORIGINAL_ROUTING_KEY = "x-original-routingKey";
     private static final String MESSAGE_HEADER_ORIGINAL_EXCHANGE = "x-original-exchange";
@@ -27,7 +30,7 @@ public class DefaultMessageConverter implements IMessageConverter {
     @Override
     public VirgilMessage convertMessage(final Message msg) {
         final ImmutableVirgilMessage.Builder virgilMessageBuilder = ImmutableVirgilMessage.builder()
-            .setBody(new String(msg.getBody(), 0, Math.min(msg.getBody().length, MAX_DISPLAY_STR_LEN), UTF_8));
+            .setBody(MessageBodyPreview.preview(ByteBuffer.wrap(msg.getBody()), msg.getMessageProperties().getContentEncoding(), MAX_DISPLAY_STR_LEN));
 
         final Map<String, Object> messageHeaders = msg.getMessageProperties().getHeaders();
 
@@ -60,10 +63,40 @@ public class DefaultMessageConverter implements IMessageConverter {
         // in the queue without the message cache
         final String potentialMessageId = msg.getMessageProperties().getMessageId();
         if (!StringUtils.isEmpty(potentialMessageId)) {
-            virgilMessageBuilder.setId(String.format("i_%s", potentialMessageId));
+            virgilMessageBuilder.setId(MESSAGE_ID_PREFIX + potentialMessageId);
         } else {
-            virgilMessageBuilder.setId(String.format("f_%s", fingerprint));
+            virgilMessageBuilder.setId(FINGERPRINT_PREFIX + fingerprint);
         }
         return virgilMessageBuilder.build();
     }
+
+    @Override
+    public String getMessageId(final Message msg) {
+        final String potentialMessageId = msg.getMessageProperties().getMessageId();
+        if (!StringUtils.isEmpty(potentialMessageId)) {
+            return MESSAGE_ID_PREFIX + potentialMessageId;
+        }
+        return FINGERPRINT_PREFIX + virgilMessageUtils.generateFingerprint(msg);
+    }
+
+    /**
+     * Compares the id without converting the message. An "i_" id is compared with the message id of the properties directly, the
+     * fingerprint is only generated for an "f_" id of a message that has no message id.
+     */
+    @Override
+    public boolean matchesId(final Message msg, final String messageId) {
+        final String potentialMessageId = msg.getMessageProperties().getMessageId();
+        if (!StringUtils.isEmpty(potentialMessageId)) {
+            return messageId.length() == MESSAGE_ID_PREFIX.length() + potentialMessageId.length()
+                && messageId.startsWith(MESSAGE_ID_PREFIX)
+                && messageId.regionMatches(MESSAGE_ID_PREFIX.length(), potentialMessageId, 0, potentialMessageId.length());
+        }
+
+        if (!messageId.startsWith(FINGERPRINT_PREFIX)) {
+            return false;
+        }
+        final String fingerprint = virgilMessageUtils.generateFingerprint(msg);
+        return messageId.length() == FINGERPRINT_PREFIX.length() + fingerprint.length()
+            && messageId.regionMatches(FINGERPRINT_PREFIX.length(), fingerprint, 0, fingerprint.length());
+    }
 }
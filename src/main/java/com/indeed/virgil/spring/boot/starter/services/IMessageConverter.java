@@ -5,4 +5,26 @@ import org.springframework.amqp.core.Message;
 
 public interface IMessageConverter {
     VirgilMessage convertMessage(final Message msg);
+
+    /**
+     * Returns the id {@link #convertMessage} would give the message. Converters should override it when the id can be worked out
+     * without converting the whole message.
+     *
+     * @param msg message read from the queue
+     * @return id of the message
+     */
+    default String getMessageId(final Message msg) {
+        return convertMessage(msg).getId();
+    }
+
+    /**
+     * Returns true if {@link #convertMessage} would give the message the id {@code messageId}
+     *
+     * @param msg message read from the queue
+     * @param messageId id to compare against
+     * @return boolean
+     */
+    default boolean matchesId(final Message msg, final String messageId) {
+        return messageId.equals(getMessageId(msg));
+    }
 }
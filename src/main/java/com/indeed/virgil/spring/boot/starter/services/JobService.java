@@ -0,0 +1,278 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.JobProperties;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableJobStatus;
+import com.indeed.virgil.spring.boot.starter.models.JobState;
+import com.indeed.virgil.spring.boot.starter.models.JobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs DLQ operations in the background, so a scan of a large queue does not hold the request open until it is done.
+ * <p>
+ * A job runs on a pool of at most {@link JobProperties#getMaxRunning()} threads, at most {@link JobProperties#getMaxQueued()} jobs wait
+ * for a free thread and any job submitted beyond that is rejected. The progress of a running job is read from its
+ * {@link OperationProgress}. Cancelling a job cancels its progress, so the scan stops before it reads the next message; the thread is never
+ * interrupted, as that would close the channel the scan is holding messages on. Finished jobs are kept for
+ * {@link JobProperties#getRetention()}.
+ */
+public class JobService implements DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(JobService.class);
+
+    private static final String THREAD_NAME_PREFIX = "virgil-job-";
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutorService executorService;
+    private final Duration retention;
+    private final Clock clock;
+
+    // insertion ordered, guarded by itself
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    public JobService(
+        final VirgilPropertyConfig virgilPropertyConfig
+    ) {
+        this(virgilPropertyConfig, createExecutorService(virgilPropertyConfig.getJobs()), Clock.systemUTC());
+    }
+
+    JobService(
+        final VirgilPropertyConfig virgilPropertyConfig,
+        final ExecutorService executorService,
+        final Clock clock
+    ) {
+        this.executorService = executorService;
+        this.retention = virgilPropertyConfig.getJobs()
+            .getRetention();
+        this.clock = clock;
+    }
+
+    /**
+     * Submits an operation to run in the background
+     *
+     * @param operation id of the endpoint whose operation the job runs
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param task runs the operation, reporting to the progress it is given
+     * @return status of the new job, or empty if too many jobs are waiting already
+     */
+    public Optional<JobStatus> submit(final String operation, final String queueId, final Function<OperationProgress, ? extends Serializable> task) {
+        return submit(operation, queueId, new OperationProgress(), task);
+    }
+
+    /**
+     * Submits an operation to run in the background, within the budget of {@code progress}
+     *
+     * @param operation id of the endpoint whose operation the job runs
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param progress handed to the task, holds the limits given for this operation
+     * @param task runs the operation, reporting to the progress it is given
+     * @return status of the new job, or empty if too many jobs are waiting already
+     */
+    public Optional<JobStatus> submit(
+        final String operation,
+        final String queueId,
+        final OperationProgress progress,
+        final Function<OperationProgress, ? extends Serializable> task
+    ) {
+        final Job job = new Job(UUID.randomUUID().toString(), operation, queueId, progress);
+        synchronized (jobs) {
+            evictExpired();
+            jobs.put(job.jobId, job);
+        }
+
+        try {
+            executorService.execute(() -> job.run(task));
+        } catch (final RejectedExecutionException ex) {
+            LOG.warn("Too many jobs, rejecting job. Operation: {}, QueueId: {}", operation, queueId);
+            synchronized (jobs) {
+                jobs.remove(job.jobId);
+            }
+            return Optional.empty();
+        }
+
+        return Optional.of(job.getStatus());
+    }
+
+    /**
+     * @param jobId id returned when the job was submitted
+     * @return status of the job, or empty if there is no such job or it has expired
+     */
+    public Optional<JobStatus> getStatus(final String jobId) {
+        return findJob(jobId).map(Job::getStatus);
+    }
+
+    /**
+     * Cancels the job. A job that has not started yet never runs, a running job stops before it reads the next message.
+     *
+     * @param jobId id returned when the job was submitted
+     * @return status of the job, or empty if there is no such job or it has expired
+     */
+    public Optional<JobStatus> cancel(final String jobId) {
+        return findJob(jobId).map(job -> {
+            job.cancel();
+            return job.getStatus();
+        });
+    }
+
+    @Override
+    public void destroy() {
+        final List<Job> unfinishedJobs;
+        synchronized (jobs) {
+            unfinishedJobs = new ArrayList<>(jobs.values());
+        }
+        // running scans stop at their next message and release the messages they hold
+        unfinishedJobs.forEach(Job::cancel);
+
+        executorService.shutdown();
+    }
+
+    private Optional<Job> findJob(@Nullable final String jobId) {
+        if (jobId == null) {
+            return Optional.empty();
+        }
+
+        synchronized (jobs) {
+            evictExpired();
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+
+    private void evictExpired() {
+        final Instant expiredBefore = clock.instant().minus(retention);
+
+        final Iterator<Job> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            final Instant finishedAt = iterator.next().getFinishedAt();
+            if (finishedAt != null && finishedAt.isBefore(expiredBefore)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static ExecutorService createExecutorService(final JobProperties jobProperties) {
+        final int maxRunning = jobProperties.getMaxRunning();
+        final BlockingQueue<Runnable> queuedJobs = jobProperties.getMaxQueued() > 0
+            ? new ArrayBlockingQueue<>(jobProperties.getMaxQueued())
+            : new SynchronousQueue<>();
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxRunning, maxRunning, IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            queuedJobs, runnable -> {
+                final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        // idle threads exit, so the pool costs nothing while no job runs
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private class Job {
+
+        private final String jobId;
+        private final String operation;
+        private final String queueId;
+        private final OperationProgress progress;
+
+        private JobState state = JobState.QUEUED;
+        @Nullable
+        private Serializable result;
+        @Nullable
+        private String error;
+        @Nullable
+        private Instant finishedAt;
+
+        Job(
+            final String jobId,
+            final String operation,
+            final String queueId,
+            final OperationProgress progress
+        ) {
+            this.jobId = jobId;
+            this.operation = operation;
+            this.queueId = queueId;
+            this.progress = progress;
+        }
+
+        void run(final Function<OperationProgress, ? extends Serializable> task) {
+            synchronized (this) {
+                if (state != JobState.QUEUED) {
+                    return;
+                }
+                state = JobState.RUNNING;
+            }
+
+            try {
+                final Serializable taskResult = task.apply(progress);
+                finish(progress.isCancelled() ? JobState.CANCELLED : JobState.SUCCEEDED, taskResult, null);
+            } catch (final Throwable ex) {
+                LOG.error("Job failed. JobId: {}, Operation: {}, QueueId: {}", jobId, operation, queueId, ex);
+                finish(JobState.FAILED, null, ex.getMessage() != null ? ex.getMessage() : ex.getClass().getName());
+                // a job left RUNNING would never be forgotten, the error is still left to the thread once the job is done
+                if (ex instanceof Error) {
+                    throw (Error) ex;
+                }
+            }
+        }
+
+        void cancel() {
+            progress.cancel();
+
+            synchronized (this) {
+                if (state == JobState.QUEUED) {
+                    state = JobState.CANCELLED;
+                    finishedAt = clock.instant();
+                }
+            }
+        }
+
+        synchronized JobStatus getStatus() {
+            return ImmutableJobStatus.builder()
+                .setJobId(jobId)
+                .setOperation(operation)
+                .setQueueId(queueId)
+                .setState(state)
+                .setScannedCount(progress.getScannedCount())
+                .setMatchedCount(progress.getMatchedCount())
+                .setTruncated(progress.isTruncated())
+                .setResult(result)
+                .setError(error)
+                .build();
+        }
+
+        @Nullable
+        synchronized Instant getFinishedAt() {
+            return finishedAt;
+        }
+
+        private synchronized void finish(final JobState finalState, @Nullable final Serializable taskResult, @Nullable final String taskError) {
+            state = finalState;
+            result = taskResult;
+            error = taskError;
+            finishedAt = clock.instant();
+        }
+    }
+}
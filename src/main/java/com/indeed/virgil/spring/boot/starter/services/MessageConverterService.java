@@ -16,4 +16,12 @@ public class MessageConverterService {
     public VirgilMessage mapMessage(final Message msg) {
         return messageConverter.convertMessage(msg);
     }
+
+    public String getMessageId(final Message msg) {
+        return messageConverter.getMessageId(msg);
+    }
+
+    public boolean matchesId(final Message msg, final String messageId) {
+        return messageConverter.matchesId(msg, messageId);
+    }
 }
@@ -1,42 +1,79 @@
 package com.indeed.virgil.spring.boot.starter.services;
 
 import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BrowseMode;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BrowseProperties;
 import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueProperties;
 import com.indeed.virgil.spring.boot.starter.models.AckCertainMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.BatchMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.FilterMessagesResponse;
 import com.indeed.virgil.spring.boot.starter.models.ImmutableAckCertainMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableBatchMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableFilterMessagesResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableQueueOverview;
 import com.indeed.virgil.spring.boot.starter.models.ImmutableRepublishMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.MessageFilter;
+import com.indeed.virgil.spring.boot.starter.models.QueueOverview;
 import com.indeed.virgil.spring.boot.starter.models.RepublishMessageResponse;
 import com.indeed.virgil.spring.boot.starter.models.VirgilMessage;
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Delivery;
 import com.rabbitmq.client.GetResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.ChannelCallback;
-import org.springframework.amqp.rabbit.core.RabbitAdmin;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
 import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 public class MessageOperator {
 
     private static final Logger LOG = LoggerFactory.getLogger(MessageOperator.class);
+    private static final String MESSAGE_ENCODING = "UTF-8";
+
+    static final String GET_QUEUE_SIZE_OPERATION = "get-queue-size";
+    static final String GET_QUEUE_OVERVIEW_OPERATION = "get-queue-overview";
+    static final String GET_MESSAGES_OPERATION = "get-messages";
+    static final String STREAM_MESSAGES_OPERATION = "stream-messages";
+    static final String DROP_MESSAGES_OPERATION = "drop-messages";
+    static final String ACK_CERTAIN_MESSAGE_OPERATION = "ack-certain-message";
+    static final String REPUBLISH_MESSAGE_OPERATION = "republish-message";
+    static final String ACK_MESSAGES_OPERATION = "ack-messages";
+    static final String REPUBLISH_MESSAGES_OPERATION = "republish-messages";
+    static final String ACK_MATCHING_MESSAGES_OPERATION = "ack-matching-messages";
+    static final String REPUBLISH_MATCHING_MESSAGES_OPERATION = "republish-matching-messages";
 
     private final VirgilPropertyConfig virgilPropertyConfig;
     private final RabbitMqConnectionService rabbitMqConnectionService;
     private final MessageConverterService messageConverterService;
+    private final BrowseProperties browseProperties;
+    private final VirgilMetrics virgilMetrics;
+    private final QueueSizeCache queueSizeCache;
+    private final QueueOperationGate queueOperationGate;
 
     private volatile MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
 
@@ -44,43 +81,179 @@ public class MessageOperator {
         final VirgilPropertyConfig virgilPropertyConfig,
         final RabbitMqConnectionService rabbitMqConnectionService,
         final MessageConverterService messageConverterService
+    ) {
+        this(virgilPropertyConfig, rabbitMqConnectionService, messageConverterService, VirgilMetrics.disabled());
+    }
+
+    public MessageOperator(
+        final VirgilPropertyConfig virgilPropertyConfig,
+        final RabbitMqConnectionService rabbitMqConnectionService,
+        final MessageConverterService messageConverterService,
+        final VirgilMetrics virgilMetrics
     ) {
         this.virgilPropertyConfig = virgilPropertyConfig;
         this.rabbitMqConnectionService = rabbitMqConnectionService;
         this.messageConverterService = messageConverterService;
+        this.browseProperties = virgilPropertyConfig.getBrowse();
+        this.virgilMetrics = virgilMetrics;
+
+        final Duration queueSizeCacheTtl = virgilPropertyConfig.getQueueSizeCacheTtl();
+        this.queueSizeCache = new QueueSizeCache(queueSizeCacheTtl, Clock.systemUTC());
+        final Duration messageCacheTtl = virgilPropertyConfig.getMessageCacheTtl();
+        this.queueOperationGate = new QueueOperationGate(messageCacheTtl, Clock.systemUTC());
     }
 
     /**
+     * Returns the size of the queue, which may have been read from the broker up to {@link VirgilPropertyConfig#getQueueSizeCacheTtl()} ago
+     *
      * @param queueId Queue Property Key, this is not the actual name of the queue
      * @return queueSize
      */
     @Nullable
     public Integer getQueueSize(final String queueId) {
+        return queueSizeCache.get(queueId, this::loadQueueSize);
+    }
+
+    /**
+     * Reads the size of the queue from the broker. Operations that scan or read the queue use it instead of the cached size, a size that is
+     * too small would end the scan before the messages are found, or silently cut a read short.
+     */
+    @Nullable
+    private Integer loadQueueSize(final String queueId) {
+        return virgilMetrics.time(GET_QUEUE_SIZE_OPERATION, queueId, getReadBinderName(queueId), () -> readQueueSize(queueId));
+    }
+
+    @Nullable
+    private Integer readQueueSize(final String queueId) {
         final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueId);
         if(queueProperties == null) {
             LOG.error("QueueProperties is null. QueueId: {}", queueId);
             return null;
         }
 
-        final AmqpAdmin amqpAdmin = rabbitMqConnectionService.getReadAmqpAdmin(queueId);
+        // get-queue-size runs on pool threads that exit when idle, a thread local connection must not outlive the lookup
+        return rabbitMqConnectionService.executeOnReadChannel(queueId, channel -> {
+            try {
+                return channel.queueDeclarePassive(queueProperties.getReadName()).getMessageCount();
+            } catch (final IOException ex) {
+                LOG.error("Unable to read queue size. QueueId: {}", queueId, ex);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Reads the size of every queue from the broker and refreshes their cached sizes.
+     * <p>
+     * Queues that share a read binder are sized with one passive queueDeclare each on a single channel, so sizing every queue costs one
+     * channel per binder instead of one per queue.
+     *
+     * @param queueIds Queue Property Keys, these are not the actual names of the queues
+     * @return queueSize by queueId, in the order of queueIds, null when the size of a queue could not be read
+     */
+    public Map<String, Integer> getQueueSizes(final Collection<String> queueIds) {
+        return queueSizeCache.refresh(queueIds, this::readQueueSizes);
+    }
+
+    /**
+     * Closes the connections the calling thread opened through {@link #getQueueSizes}. Thread local connections can only be closed by
+     * the thread that opened them, pooled connections are kept until the application shuts down.
+     *
+     * @param queueIds Queue Property Keys passed to {@link #getQueueSizes}
+     */
+    public void releaseQueueSizeConnections(final Collection<String> queueIds) {
+        final Collection<String> binderNames = new LinkedHashSet<>();
+        for (final String queueId : queueIds) {
+            final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueId);
+            if (queueProperties != null) {
+                binderNames.add(queueProperties.getReadBinderName());
+            }
+        }
+
+        for (final String binderName : binderNames) {
+            try {
+                rabbitMqConnectionService.destroyConnectionsByName(binderName);
+            } catch (final RuntimeException ex) {
+                LOG.warn("Unable to close queue size connections. BinderName: {}", binderName, ex);
+            }
+        }
+    }
+
+    private Map<String, Integer> readQueueSizes(final Collection<String> queueIds) {
+        final Map<String, Integer> queueSizes = new LinkedHashMap<>();
+        final Map<String, Map<String, String>> readNamesByBinder = new LinkedHashMap<>();
+        for (final String queueId : queueIds) {
+            queueSizes.put(queueId, null);
+
+            final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueId);
+            if (queueProperties == null) {
+                LOG.error("QueueProperties is null. QueueId: {}", queueId);
+                continue;
+            }
+            readNamesByBinder.computeIfAbsent(queueProperties.getReadBinderName(), binderName -> new LinkedHashMap<>())
+                .put(queueId, queueProperties.getReadName());
+        }
+
+        for (final Map.Entry<String, Map<String, String>> entry : readNamesByBinder.entrySet()) {
+            final Map<String, String> readNames = entry.getValue();
+
+            final ReadQueueSizes readQueueSizes = new ReadQueueSizes(readNames);
+            try {
+                rabbitMqConnectionService.getRabbitTemplate(entry.getKey()).execute(readQueueSizes);
+            } catch (final AmqpException ex) {
+                LOG.error("Unable to read queue sizes. BinderName: {}", entry.getKey(), ex);
+                continue;
+            }
+            queueSizes.putAll(readQueueSizes.getQueueSizes());
+
+            // the broker closes the channel when a queue does not exist, the queues after it are sized one by one
+            for (final String queueId : readNames.keySet()) {
+                if (!readQueueSizes.getQueueSizes().containsKey(queueId)) {
+                    queueSizes.put(queueId, loadQueueSize(queueId));
+                }
+            }
+        }
 
-        final Properties properties = amqpAdmin.getQueueProperties(queueProperties.getReadName());
+        return queueSizes;
+    }
+
+    /**
+     * Reads the number of messages and consumers of the queue from the broker with a passive queueDeclare
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @return overview of the queue with null counts if the queue could not be read, null if the queue is not configured
+     */
+    @Nullable
+    public QueueOverview getQueueOverview(final String queueId) {
+        return virgilMetrics.time(GET_QUEUE_OVERVIEW_OPERATION, queueId, getReadBinderName(queueId), () -> readQueueOverview(queueId));
+    }
 
-        if (properties == null) {
-            LOG.error("Amqp queue properties is null for queueId: {}", queueId);
+    @Nullable
+    private QueueOverview readQueueOverview(final String queueId) {
+        final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueId);
+        if (queueProperties == null) {
+            LOG.error("QueueProperties is null. QueueId: {}", queueId);
             return null;
         }
 
-        final Object queueMessageCount = properties.get(RabbitAdmin.QUEUE_MESSAGE_COUNT);
+        final ImmutableQueueOverview.Builder builder = ImmutableQueueOverview.builder()
+            .setQueueId(queueId)
+            .setQueueName(queueProperties.getReadName())
+            .setBinderName(queueProperties.getReadBinderName());
 
-        Integer queueSize;
-        if (queueMessageCount instanceof String) {
-            queueSize = Integer.valueOf((String) queueMessageCount);
-        } else {
-            queueSize = (Integer) queueMessageCount;
+        try {
+            // the overview runs on pool threads that exit when idle, a thread local connection must not outlive the lookup
+            final AMQP.Queue.DeclareOk declareOk = rabbitMqConnectionService.executeOnReadChannel(queueId,
+                channel -> channel.queueDeclarePassive(queueProperties.getReadName()));
+            if (declareOk != null) {
+                builder.setMessageCount(declareOk.getMessageCount())
+                    .setConsumerCount(declareOk.getConsumerCount());
+            }
+        } catch (final AmqpException ex) {
+            LOG.error("Unable to read queue. QueueId: {}", queueId, ex);
         }
 
-        return queueSize;
+        return builder.build();
     }
 
     /**
@@ -88,10 +261,17 @@ public class MessageOperator {
      *
      * @param queueId Queue Property Key, this is not the actual name of the queue
      * @param limit Limits the number of messages returned from DLQ
-     * @return List of messages
+     * @return List of messages, shared with concurrent callers reading the same queue with the same limit and kept for
+     *         {@link VirgilPropertyConfig#getMessageCacheTtl()}, it can not be modified
      */
     public List<VirgilMessage> getMessages(final String queueId, @Nullable final Integer limit) {
-        final Integer queueSize = getQueueSize(queueId);
+        final Integer requestedLimit = limit != null && limit > 0 ? limit : null;
+        return queueOperationGate.shared(queueId, requestedLimit, () -> Collections.unmodifiableList(
+            virgilMetrics.time(GET_MESSAGES_OPERATION, queueId, getReadBinderName(queueId), () -> readMessages(queueId, limit))));
+    }
+
+    private List<VirgilMessage> readMessages(final String queueId, @Nullable final Integer limit) {
+        final Integer queueSize = loadQueueSize(queueId);
         if (queueSize == null) {
             LOG.error("Queue size is null.");
             return Collections.emptyList();
@@ -103,25 +283,101 @@ public class MessageOperator {
             return Collections.emptyList();
         }
 
-        try {
-            final int numToRetrieve = Optional.ofNullable(limit)
-                .filter(value -> value > 0)
-                .orElse(queueSize);
+        final int numToRetrieve = Optional.ofNullable(limit)
+            .filter(value -> value > 0)
+            .orElse(queueSize);
 
-            final HandleGetMessages handleGetMessages = new HandleGetMessages(messagePropertiesConverter, messageConverterService, queueProperties, numToRetrieve);
-            for (int i = 0; i < numToRetrieve; i++) {
-                rabbitMqConnectionService.getReadRabbitTemplate(queueId).execute(handleGetMessages);
-            }
+        if (browseProperties.getMode() == BrowseMode.CONSUME) {
+            // never wait for more deliveries than the queue currently holds
+            final HandleConsumeMessages handleConsumeMessages = new HandleConsumeMessages(messagePropertiesConverter, messageConverterService, queueProperties,
+                Math.min(numToRetrieve, queueSize), browseProperties.getPrefetch(), browseProperties.getIdleTimeout().toMillis());
 
-            return handleGetMessages.getDlqMessages();
-        } finally {
+            final List<VirgilMessage> dlqMessages = consumeQueue(queueId, queueProperties, handleConsumeMessages);
+            return dlqMessages != null ? dlqMessages : Collections.emptyList();
+        }
+
+        final HandleGetMessages handleGetMessages = new HandleGetMessages(messagePropertiesConverter, messageConverterService, queueProperties, numToRetrieve);
+
+        // 'Unacked' messages are put back to 'Ready' state once the read channel is released
+        readQueue(queueId, queueProperties, handleGetMessages, numToRetrieve, new OperationProgress());
+
+        return handleGetMessages.getDlqMessages();
+    }
+
+    /**
+     * Streams messages from the DLQ up to the limit passed in. Every message is handed to the consumer as soon as it has been read and
+     * converted, and is not retained afterwards, so memory use does not depend on the size of the queue.
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param limit Limits the number of messages streamed from DLQ
+     * @param consumer called once per message, in queue order, on the calling thread
+     * @return number of messages streamed, null if the queue could not be read
+     */
+    @Nullable
+    public Integer streamMessages(final String queueId, @Nullable final Integer limit, final Consumer<VirgilMessage> consumer) {
+        return streamMessages(queueId, limit, new OperationProgress(), consumer);
+    }
+
+    /**
+     * Streams messages from the DLQ up to the limit passed in, until {@code progress} is cancelled
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param limit Limits the number of messages streamed from DLQ
+     * @param progress cancelling it stops the read before the next message, e.g. once the client went away
+     * @param consumer called once per message, in queue order, on the calling thread
+     * @return number of messages streamed, null if the queue could not be read
+     */
+    @Nullable
+    public Integer streamMessages(
+        final String queueId,
+        @Nullable final Integer limit,
+        final OperationProgress progress,
+        final Consumer<VirgilMessage> consumer
+    ) {
+        return virgilMetrics.time(STREAM_MESSAGES_OPERATION, queueId, getReadBinderName(queueId),
+            () -> doStreamMessages(queueId, limit, progress, consumer));
+    }
+
+    @Nullable
+    private Integer doStreamMessages(
+        final String queueId,
+        @Nullable final Integer limit,
+        final OperationProgress progress,
+        final Consumer<VirgilMessage> consumer
+    ) {
+        final Integer queueSize = loadQueueSize(queueId);
+        if (queueSize == null) {
+            LOG.error("Queue size is null.");
+            return null;
+        }
+
+        final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueId);
+        if(queueProperties == null) {
+            LOG.error("QueueProperties is null. QueueId: {}", queueId);
+            return null;
+        }
+
+        final int numToRetrieve = Optional.ofNullable(limit)
+            .filter(value -> value > 0)
+            .orElse(queueSize);
 
-            //TODO: Need to move this logic into RabbitMqConnectionService so it flushes the connection from cache
+        final AtomicInteger streamed = new AtomicInteger();
+        final Consumer<VirgilMessage> countingConsumer = virgilMessage -> {
+            consumer.accept(virgilMessage);
+            streamed.incrementAndGet();
+        };
 
-            // Close connection so 'Unacked' messages could be put back to 'Ready' state
-            // Connection will be automatically reestablished on next Actuator endpoint invocation
-            rabbitMqConnectionService.destroyReadConnection(queueId);
+        if (browseProperties.getMode() == BrowseMode.CONSUME) {
+            consumeQueue(queueId, queueProperties, new HandleConsumeMessages(messagePropertiesConverter, messageConverterService,
+                queueProperties, Math.min(numToRetrieve, queueSize), browseProperties.getPrefetch(), browseProperties.getIdleTimeout().toMillis(),
+                countingConsumer, progress));
+        } else {
+            final HandleStreamMessages handleStreamMessages = new HandleStreamMessages(messagePropertiesConverter, messageConverterService,
+                queueProperties, countingConsumer);
+            readQueue(queueId, queueProperties, handleStreamMessages, numToRetrieve, progress);
         }
+
+        return streamed.get();
     }
 
     /**
@@ -131,7 +387,11 @@ public class MessageOperator {
      * @return
      */
     public boolean dropMessages(final String queueId) {
+        return queueOperationGate.exclusive(queueId, () ->
+            virgilMetrics.time(DROP_MESSAGES_OPERATION, queueId, getReadBinderName(queueId), () -> purgeQueue(queueId)));
+    }
 
+    private boolean purgeQueue(final String queueId) {
         final Integer queueSize = getQueueSize(queueId);
         if (queueSize == null) {
             LOG.error("Queue size is null.");
@@ -146,9 +406,13 @@ public class MessageOperator {
 
         final HandleDropMessages handleDropMessages = new HandleDropMessages(queueProperties.getReadName());
 
-        final RabbitTemplate rabbitTemplate = rabbitMqConnectionService.getReadRabbitTemplate(queueId);
-
-        rabbitTemplate.execute(handleDropMessages);
+        try {
+            // drop-all-messages runs on pool threads that exit when idle, a thread local connection must not outlive the purge
+            rabbitMqConnectionService.executeOnReadChannel(queueId, handleDropMessages);
+        } finally {
+            queueSizeCache.invalidate(queueId);
+            queueOperationGate.invalidate(queueId);
+        }
 
         return true;
     }
@@ -161,7 +425,23 @@ public class MessageOperator {
      * @return
      */
     public AckCertainMessageResponse ackCertainMessage(final String queueId, final String messageId) {
+        return ackCertainMessage(queueId, messageId, new OperationProgress());
+    }
+
+    /**
+     * Acknowledges a message on the DLQ, reporting progress to {@code progress}
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageId
+     * @param progress updated while the queue is scanned, cancelling it stops the scan
+     * @return
+     */
+    public AckCertainMessageResponse ackCertainMessage(final String queueId, final String messageId, final OperationProgress progress) {
+        return queueOperationGate.exclusive(queueId, () ->
+            virgilMetrics.time(ACK_CERTAIN_MESSAGE_OPERATION, queueId, getReadBinderName(queueId), () -> doAckCertainMessage(queueId, messageId, progress)));
+    }
 
+    private AckCertainMessageResponse doAckCertainMessage(final String queueId, final String messageId, final OperationProgress progress) {
         if (StringUtils.isEmpty(messageId)) {
             LOG.error("messageId is null or empty. QueueId: {}", queueId);
             return ImmutableAckCertainMessageResponse.builder()
@@ -169,7 +449,7 @@ public class MessageOperator {
                 .build();
         }
 
-        final Integer queueSize = getQueueSize(queueId);
+        final Integer queueSize = loadQueueSize(queueId);
         if (queueSize == null) {
             LOG.error("Queue size is null. QueueId: {}", queueId);
             return ImmutableAckCertainMessageResponse.builder()
@@ -185,34 +465,21 @@ public class MessageOperator {
                 .build();
         }
 
-        try {
-
-            final HandleAckCertainMessage handleAckCertainMessage = new HandleAckCertainMessage(messagePropertiesConverter, messageConverterService, queueProperties, messageId);
-            final RabbitTemplate rabbitTemplate = rabbitMqConnectionService.getReadRabbitTemplate(queueId);
-            for (int i = 0; i < queueSize; i++) {
-                rabbitTemplate.execute(handleAckCertainMessage);
-
-                //break out of loop if we have ack'd the message
-                if (handleAckCertainMessage.hasMessageBeenAckd()) {
-                    break;
-                }
-            }
-
-            final ImmutableAckCertainMessageResponse.Builder responseBuilder = ImmutableAckCertainMessageResponse.builder()
-                .setSuccess(handleAckCertainMessage.hasMessageBeenAckd());
+        final HandleAckCertainMessage handleAckCertainMessage = new HandleAckCertainMessage(messagePropertiesConverter, messageConverterService, queueProperties, messageId);
 
-            if (handleAckCertainMessage.getAckedMessage() != null) {
-                responseBuilder.setMessage(handleAckCertainMessage.getAckedMessage());
-            }
+        // 'Unacked' messages are put back to 'Ready' state once the read channel is released
+        scanQueueForUpdate(queueId, queueProperties, handleAckCertainMessage, queueSize, progress);
+        virgilMetrics.recordMatched(ACK_CERTAIN_MESSAGE_OPERATION, queueId, queueProperties.getReadBinderName(),
+            handleAckCertainMessage.hasMessageBeenAckd() ? 1 : 0);
 
-            return responseBuilder.build();
-        } finally {
-            //TODO: Need to move this logic into RabbitMqConnectionService so it flushes the connection from cache
+        final ImmutableAckCertainMessageResponse.Builder responseBuilder = ImmutableAckCertainMessageResponse.builder()
+            .setSuccess(handleAckCertainMessage.hasMessageBeenAckd());
 
-            // Close connection so 'Unacked' messages could be put back to 'Ready' state
-            // Connection will be automatically reestablished on next Actuator endpoint invocation
-            rabbitMqConnectionService.destroyReadConnection(queueId);
+        if (handleAckCertainMessage.getAckedMessage() != null) {
+            responseBuilder.setMessage(handleAckCertainMessage.getAckedMessage());
         }
+
+        return responseBuilder.build();
     }
 
     /**
@@ -222,7 +489,23 @@ public class MessageOperator {
      * @return
      */
     public RepublishMessageResponse republishMessage(final String queueId, final String messageId) {
+        return republishMessage(queueId, messageId, new OperationProgress());
+    }
+
+    /**
+     * Republishes a message on the DLQ, reporting progress to {@code progress}
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageId
+     * @param progress updated while the queue is scanned, cancelling it stops the scan
+     * @return
+     */
+    public RepublishMessageResponse republishMessage(final String queueId, final String messageId, final OperationProgress progress) {
+        return queueOperationGate.exclusive(queueId, () ->
+            virgilMetrics.time(REPUBLISH_MESSAGE_OPERATION, queueId, getReadBinderName(queueId), () -> doRepublishMessage(queueId, messageId, progress)));
+    }
 
+    private RepublishMessageResponse doRepublishMessage(final String queueId, final String messageId, final OperationProgress progress) {
         if (StringUtils.isEmpty(messageId)) {
             LOG.warn("messageId is null or empty.");
             return ImmutableRepublishMessageResponse.builder()
@@ -230,7 +513,7 @@ public class MessageOperator {
                 .build();
         }
 
-        final Integer queueSize = getQueueSize(queueId);
+        final Integer queueSize = loadQueueSize(queueId);
         if (queueSize == null) {
             LOG.warn("Queue size is null.");
             return ImmutableRepublishMessageResponse.builder()
@@ -238,134 +521,646 @@ public class MessageOperator {
                 .build();
         }
 
-        try {
+        final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueId);
+        if(queueProperties == null) {
+            LOG.error("QueueProperties is null. QueueId: {}", queueId);
+            return ImmutableRepublishMessageResponse.builder()
+                .setSuccess(false)
+                .build();
+        }
+
+        final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(messagePropertiesConverter, messageConverterService, queueProperties, messageId);
+
+        // 'Unacked' messages are put back to 'Ready' state once the read channel is released
+        scanQueueForUpdate(queueId, queueProperties, handleRepublishMessage, queueSize, progress);
+        virgilMetrics.recordMatched(REPUBLISH_MESSAGE_OPERATION, queueId, queueProperties.getReadBinderName(),
+            handleRepublishMessage.isRepublishSuccessful() ? 1 : 0);
+
+        return ImmutableRepublishMessageResponse.builder()
+            .setSuccess(handleRepublishMessage.isRepublishSuccessful())
+            .build();
+    }
+
+    /**
+     * Acknowledges every message in {@code messageIds} with a single pass over the DLQ
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageIds ids of the messages to ack
+     * @return which messages were ack'd and which were not found
+     */
+    public BatchMessageResponse ackMessages(final String queueId, @Nullable final Collection<String> messageIds) {
+        return ackMessages(queueId, messageIds, new OperationProgress());
+    }
+
+    /**
+     * Acknowledges every message in {@code messageIds} with a single pass over the DLQ, reporting progress to {@code progress}
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageIds ids of the messages to ack
+     * @param progress updated while the queue is scanned, cancelling it stops the scan
+     * @return which messages were ack'd and which were not found
+     */
+    public BatchMessageResponse ackMessages(final String queueId, @Nullable final Collection<String> messageIds, final OperationProgress progress) {
+        return queueOperationGate.exclusive(queueId, () -> virgilMetrics.time(ACK_MESSAGES_OPERATION, queueId, getReadBinderName(queueId), () -> {
             final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueId);
-            if(queueProperties == null) {
+            if (queueProperties == null) {
                 LOG.error("QueueProperties is null. QueueId: {}", queueId);
-                return ImmutableRepublishMessageResponse.builder()
-                    .setSuccess(false)
-                    .build();
+                return failedBatchResponse(messageIds);
             }
 
-            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(rabbitMqConnectionService, messagePropertiesConverter, messageConverterService, queueProperties, queueId, messageId);
-            final RabbitTemplate rabbitTemplate = rabbitMqConnectionService.getReadRabbitTemplate(queueId);
-            for (int i = 0; i < queueSize; i++) {
-                rabbitTemplate.execute(handleRepublishMessage);
+            return executeBatch(ACK_MESSAGES_OPERATION, queueId, queueProperties, new HandleBatchMessages(messagePropertiesConverter, messageConverterService,
+                queueProperties, toPendingIds(messageIds), new AckMessageAction()), progress);
+        }));
+    }
+
+    /**
+     * Republishes every message in {@code messageIds} with a single pass over the DLQ
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageIds ids of the messages to republish
+     * @return which messages were republished and which were not found
+     */
+    public BatchMessageResponse republishMessages(final String queueId, @Nullable final Collection<String> messageIds) {
+        return republishMessages(queueId, messageIds, new OperationProgress());
+    }
+
+    /**
+     * Republishes every message in {@code messageIds} with a single pass over the DLQ, reporting progress to {@code progress}
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageIds ids of the messages to republish
+     * @param progress updated while the queue is scanned, cancelling it stops the scan
+     * @return which messages were republished and which were not found
+     */
+    public BatchMessageResponse republishMessages(
+        final String queueId,
+        @Nullable final Collection<String> messageIds,
+        final OperationProgress progress
+    ) {
+        return queueOperationGate.exclusive(queueId, () -> virgilMetrics.time(REPUBLISH_MESSAGES_OPERATION, queueId, getReadBinderName(queueId), () -> {
+            final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueId);
+            if (queueProperties == null) {
+                LOG.error("QueueProperties is null. QueueId: {}", queueId);
+                return failedBatchResponse(messageIds);
             }
 
-            return ImmutableRepublishMessageResponse.builder()
-                .setSuccess(handleRepublishMessage.isRepublishSuccessful())
-                .build();
-        } finally {
-            //TODO: Need to move this logic into RabbitMqConnectionService so it flushes the connection from cache
+            return executeBatch(REPUBLISH_MESSAGES_OPERATION, queueId, queueProperties, new HandleBatchMessages(messagePropertiesConverter,
+                messageConverterService, queueProperties, toPendingIds(messageIds), new RepublishMessageAction(messagePropertiesConverter, queueProperties)), progress);
+        }));
+    }
 
-            // Close connection so 'Unacked' messages could be put back to 'Ready' state
-            // Connection will be automatically reestablished on next Actuator endpoint invocation
-            rabbitMqConnectionService.destroyReadConnection(queueId);
+    private BatchMessageResponse executeBatch(
+        final String operation,
+        final String queueId,
+        final QueueProperties queueProperties,
+        final HandleBatchMessages handler,
+        final OperationProgress progress
+    ) {
+        if (handler.getPendingIds().isEmpty()) {
+            LOG.warn("No messageIds were passed in. QueueId: {}", queueId);
+            return failedBatchResponse(Collections.emptyList());
         }
-    }
 
-    protected static class HandleRepublishMessage implements ChannelCallback<Void> {
+        final Integer queueSize = loadQueueSize(queueId);
+        if (queueSize == null) {
+            LOG.error("Queue size is null. QueueId: {}", queueId);
+            return failedBatchResponse(handler.getPendingIds());
+        }
 
-        private final RabbitMqConnectionService rabbitMqConnectionService;
-        private final MessagePropertiesConverter messagePropertiesConverter;
-        private final MessageConverterService messageConverterService;
-        private final QueueProperties queueProperties;
-        private final String queueName;
-        private final String messageId;
+        // 'Unacked' messages are put back to 'Ready' state once the read channel is released
+        scanQueueForUpdate(queueId, queueProperties, handler, queueSize, progress);
+        virgilMetrics.recordMatched(operation, queueId, queueProperties.getReadBinderName(), handler.getProcessedIds().size());
 
-        private boolean messageRepublished;
+        return ImmutableBatchMessageResponse.builder()
+            .setSuccess(handler.getPendingIds().isEmpty())
+            .setProcessedIds(handler.getProcessedIds())
+            .setMissingIds(handler.getPendingIds())
+            .setTruncated(progress.isTruncated())
+            .build();
+    }
 
-        public HandleRepublishMessage(
-            final RabbitMqConnectionService rabbitMqConnectionService,
-            final MessagePropertiesConverter messagePropertiesConverter,
-            final MessageConverterService messageConverterService,
-            final QueueProperties queueProperties,
-            final String queueName,
-            final String messageId
-        ) {
-            this.rabbitMqConnectionService = rabbitMqConnectionService;
-            this.messagePropertiesConverter = messagePropertiesConverter;
-            this.messageConverterService = messageConverterService;
-            this.queueProperties = queueProperties;
-            this.queueName = queueName;
-            this.messageId = messageId;
-        }
+    /**
+     * Acknowledges every message on the DLQ that matches the filter, with a single pass over the queue
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageFilter selects the messages to ack, must have at least one criterion
+     * @return how many messages were scanned and ack'd
+     */
+    public FilterMessagesResponse ackMatchingMessages(final String queueId, final MessageFilter messageFilter) {
+        return ackMatchingMessages(queueId, messageFilter, new OperationProgress());
+    }
 
-        @Override
-        public Void doInRabbit(final Channel channel) throws Exception {
-            final GetResponse response = channel.basicGet(queueProperties.getReadName(), false);
-            if (response == null) {
-                return null;
+    /**
+     * Acknowledges every message on the DLQ that matches the filter, reporting progress to {@code progress}
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageFilter selects the messages to ack, must have at least one criterion
+     * @param progress updated while the queue is scanned, cancelling it stops the scan
+     * @return how many messages were scanned and ack'd
+     */
+    public FilterMessagesResponse ackMatchingMessages(final String queueId, final MessageFilter messageFilter, final OperationProgress progress) {
+        return queueOperationGate.exclusive(queueId, () -> virgilMetrics.time(ACK_MATCHING_MESSAGES_OPERATION, queueId, getReadBinderName(queueId), () -> {
+            final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueId);
+            if (queueProperties == null) {
+                LOG.error("QueueProperties is null. QueueId: {}", queueId);
+                return failedFilterResponse();
             }
 
-            final MessageProperties messageProps =
-                messagePropertiesConverter.toMessageProperties(response.getProps(), response.getEnvelope(), "UTF-8");
-            final Message message = new Message(response.getBody(), messageProps);
-            final VirgilMessage virgilMessage = messageConverterService.mapMessage(message);
-
-            if (messageId.equals(virgilMessage.getId())) {
-                channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+            return executeFilter(ACK_MATCHING_MESSAGES_OPERATION, queueId, queueProperties, messageFilter, new AckMessageAction(), progress);
+        }));
+    }
 
-                final RabbitTemplate rabbitTemplate = rabbitMqConnectionService.getReadRabbitTemplate(queueName);
+    /**
+     * Republishes every message on the DLQ that matches the filter, with a single pass over the queue
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageFilter selects the messages to republish, must have at least one criterion
+     * @return how many messages were scanned and republished
+     */
+    public FilterMessagesResponse republishMatchingMessages(final String queueId, final MessageFilter messageFilter) {
+        return republishMatchingMessages(queueId, messageFilter, new OperationProgress());
+    }
 
-                rabbitTemplate.convertAndSend(queueProperties.getReadBinderProperties().getName(), queueProperties.getRepublishBindingRoutingKey(), message);
-                messageRepublished = true;
+    /**
+     * Republishes every message on the DLQ that matches the filter, reporting progress to {@code progress}
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param messageFilter selects the messages to republish, must have at least one criterion
+     * @param progress updated while the queue is scanned, cancelling it stops the scan
+     * @return how many messages were scanned and republished
+     */
+    public FilterMessagesResponse republishMatchingMessages(
+        final String queueId,
+        final MessageFilter messageFilter,
+        final OperationProgress progress
+    ) {
+        return queueOperationGate.exclusive(queueId, () -> virgilMetrics.time(REPUBLISH_MATCHING_MESSAGES_OPERATION, queueId, getReadBinderName(queueId), () -> {
+            final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueId);
+            if (queueProperties == null) {
+                LOG.error("QueueProperties is null. QueueId: {}", queueId);
+                return failedFilterResponse();
             }
-            return null;
+
+            return executeFilter(REPUBLISH_MATCHING_MESSAGES_OPERATION, queueId, queueProperties, messageFilter,
+                new RepublishMessageAction(messagePropertiesConverter, queueProperties), progress);
+        }));
+    }
+
+    private FilterMessagesResponse executeFilter(
+        final String operation,
+        final String queueId,
+        final QueueProperties queueProperties,
+        final MessageFilter messageFilter,
+        final MessageAction messageAction,
+        final OperationProgress progress
+    ) {
+        // an empty filter would match every message, use drop-all-messages for that
+        if (messageFilter.isEmpty()) {
+            LOG.warn("MessageFilter has no criteria. QueueId: {}", queueId);
+            return failedFilterResponse();
         }
 
-        /**
-         * Returns true if the message was found and ack'd, otherwise returns false
-         *
-         * @return boolean
-         */
-        public boolean isRepublishSuccessful() {
-            return this.messageRepublished;
+        final Integer queueSize = loadQueueSize(queueId);
+        if (queueSize == null) {
+            LOG.error("Queue size is null. QueueId: {}", queueId);
+            return failedFilterResponse();
         }
-    }
 
-    protected static class HandleAckCertainMessage implements ChannelCallback<String> {
+        final HandleFilterMessages handleFilterMessages = new HandleFilterMessages(messagePropertiesConverter, messageConverterService, queueProperties,
+            messageFilter, messageAction, Instant.now());
 
-        private final MessagePropertiesConverter messagePropertiesConverter;
-        private final MessageConverterService messageConverterService;
-        private final QueueProperties queueProperties;
-        private final String messageId;
+        // 'Unacked' messages are put back to 'Ready' state once the read channel is released
+        scanQueueForUpdate(queueId, queueProperties, handleFilterMessages, queueSize, progress);
+        virgilMetrics.recordMatched(operation, queueId, queueProperties.getReadBinderName(), handleFilterMessages.getMatchedCount());
 
-        @Nullable
-        private Message ackedMessage;
-        private boolean messageFound = false;
+        return ImmutableFilterMessagesResponse.builder()
+            .setSuccess(true)
+            .setScannedCount(handleFilterMessages.getScannedCount())
+            .setMatchedCount(handleFilterMessages.getMatchedCount())
+            .setTruncated(progress.isTruncated())
+            .build();
+    }
 
-        public HandleAckCertainMessage(
+    /**
+     * Reads the queue on the read channel until it is done or {@code progress} is cancelled. A read is bounded by its limit and the size of
+     * the queue, the configured budget does not apply to it since the responses of the read endpoints can not flag a read that was cut
+     * short.
+     */
+    private void readQueue(
+        final String queueId,
+        final QueueProperties queueProperties,
+        final ScanMessageHandler<?> handler,
+        final int maxMessages,
+        final OperationProgress progress
+    ) {
+        queueOperationGate.exclusive(queueId, () -> executeScan(queueId, queueProperties, handler, maxMessages, progress));
+    }
+
+    /**
+     * Scans the queue on the read channel. The scan stops once it has used up its budget, see {@link VirgilPropertyConfig#getBudget()}.
+     */
+    private void scanQueue(
+        final String queueId,
+        final QueueProperties queueProperties,
+        final ScanMessageHandler<?> handler,
+        final int maxMessages,
+        final OperationProgress progress
+    ) {
+        queueOperationGate.exclusive(queueId, () -> {
+            // the budget starts once it is the scan's turn
+            progress.start(virgilPropertyConfig.getBudget());
+            return executeScan(queueId, queueProperties, handler, maxMessages, progress);
+        });
+    }
+
+    /**
+     * Records the work done by the scan, even when it fails part way through
+     */
+    @Nullable
+    private Void executeScan(
+        final String queueId,
+        final QueueProperties queueProperties,
+        final ScanMessageHandler<?> handler,
+        final int maxMessages,
+        final OperationProgress progress
+    ) {
+        try {
+            return rabbitMqConnectionService.executeOnReadChannel(queueId, new ScanQueue(handler, maxMessages, progress));
+        } finally {
+            virgilMetrics.recordRead(queueId, queueProperties.getReadBinderName(), handler.getBasicGetCount(), handler.getMessagesRead(),
+                handler.getBytesRead());
+        }
+    }
+
+    /**
+     * Scans the queue with a handler that acks messages, the cached size and messages of the queue are dropped once the scan is done
+     */
+    private void scanQueueForUpdate(
+        final String queueId,
+        final QueueProperties queueProperties,
+        final ScanMessageHandler<?> handler,
+        final int maxMessages,
+        final OperationProgress progress
+    ) {
+        try {
+            scanQueue(queueId, queueProperties, handler, maxMessages, progress);
+        } finally {
+            queueSizeCache.invalidate(queueId);
+            queueOperationGate.invalidate(queueId);
+        }
+    }
+
+    @Nullable
+    private List<VirgilMessage> consumeQueue(final String queueId, final QueueProperties queueProperties, final HandleConsumeMessages handler) {
+        return queueOperationGate.exclusive(queueId, () -> {
+            try {
+                return rabbitMqConnectionService.executeOnReadChannel(queueId, handler);
+            } finally {
+                virgilMetrics.recordRead(queueId, queueProperties.getReadBinderName(), 0, handler.getMessagesRead(), handler.getBytesRead());
+            }
+        });
+    }
+
+    /**
+     * Returns the read binder used to tag the metrics of the queue
+     */
+    @Nullable
+    private String getReadBinderName(final String queueId) {
+        final Map<String, QueueProperties> queues = virgilPropertyConfig.getQueues();
+        final QueueProperties queueProperties = queues != null ? queues.get(queueId) : null;
+        return queueProperties != null ? queueProperties.getReadBinderName() : null;
+    }
+
+    private static FilterMessagesResponse failedFilterResponse() {
+        return ImmutableFilterMessagesResponse.builder()
+            .setSuccess(false)
+            .setScannedCount(0)
+            .setMatchedCount(0)
+            .build();
+    }
+
+    private static LinkedHashSet<String> toPendingIds(@Nullable final Collection<String> messageIds) {
+        final LinkedHashSet<String> pendingIds = new LinkedHashSet<>();
+        if (messageIds != null) {
+            for (final String messageId : messageIds) {
+                if (!StringUtils.isEmpty(messageId)) {
+                    pendingIds.add(messageId);
+                }
+            }
+        }
+        return pendingIds;
+    }
+
+    private static BatchMessageResponse failedBatchResponse(@Nullable final Collection<String> messageIds) {
+        return ImmutableBatchMessageResponse.builder()
+            .setSuccess(false)
+            .setMissingIds(toPendingIds(messageIds))
+            .build();
+    }
+
+    /**
+     * Reads the size of several queues with one passive queueDeclare each, all on the same channel.
+     * <p>
+     * The broker closes the channel when a queue does not exist, so reading stops at the first queue that fails. That queue is reported
+     * with a null size, the queues after it are not reported at all.
+     */
+    protected static class ReadQueueSizes implements ChannelCallback<Void> {
+
+        private final Map<String, String> readNames;
+        private final Map<String, Integer> queueSizes = new LinkedHashMap<>();
+
+        /**
+         * @param readNames name of the queue to size by queueId
+         */
+        public ReadQueueSizes(final Map<String, String> readNames) {
+            this.readNames = readNames;
+        }
+
+        @Override
+        public Void doInRabbit(final Channel channel) {
+            for (final Map.Entry<String, String> entry : readNames.entrySet()) {
+                try {
+                    queueSizes.put(entry.getKey(), channel.queueDeclarePassive(entry.getValue()).getMessageCount());
+                } catch (final IOException ex) {
+                    LOG.error("Unable to read queue size. QueueId: {}", entry.getKey(), ex);
+                    queueSizes.put(entry.getKey(), null);
+                    break;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return queueSize by queueId of every queue that has been read
+         */
+        public Map<String, Integer> getQueueSizes() {
+            return queueSizes;
+        }
+    }
+
+    /**
+     * Runs a whole scan of the queue as a single {@link ChannelCallback}, so every basicGet of the scan shares one channel.
+     * <p>
+     * The scan stops after {@code maxMessages} messages, as soon as every message of the queue's current snapshot has been seen, once the
+     * handler reports that it is done, or once the {@link OperationProgress} is cancelled or out of budget.
+     */
+    protected static class ScanQueue implements ChannelCallback<Void> {
+
+        private final ScanMessageHandler<?> handler;
+        private final int maxMessages;
+        private final OperationProgress progress;
+
+        public ScanQueue(
+            final ScanMessageHandler<?> handler,
+            final int maxMessages
+        ) {
+            this(handler, maxMessages, new OperationProgress());
+        }
+
+        public ScanQueue(
+            final ScanMessageHandler<?> handler,
+            final int maxMessages,
+            final OperationProgress progress
+        ) {
+            this.handler = handler;
+            this.maxMessages = maxMessages;
+            this.progress = progress;
+        }
+
+        @Override
+        public Void doInRabbit(final Channel channel) throws Exception {
+            for (int i = 0; i < maxMessages; i++) {
+                // checkpoint, nothing is held between messages that would not be put back once the read channel is released
+                if (progress.shouldStop(handler.getMessagesRead())) {
+                    LOG.info("Scan stopped early. MessagesRead: {}, Cancelled: {}", handler.getMessagesRead(), progress.isCancelled());
+                    break;
+                }
+
+                handler.doInRabbit(channel);
+                progress.update(handler.getMessagesRead(), handler.getMatchedCount());
+
+                if (handler.isSnapshotExhausted() || handler.isScanComplete()) {
+                    break;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads a single message with basicGet and hands it to {@link #handleMessage}.
+     * <p>
+     * The message is not converted up front. Handlers that only look for certain ids compare them with {@link #matchesId} or
+     * {@link #getMessageId}, which skip building the {@link VirgilMessage}, and call {@link #convertMessage} only for messages they keep.
+     * <p>
+     * Messages are never auto ack'd, so every message read stays 'Unacked' until the handler acks it or the read channel is released.
+     */
+    protected abstract static class ScanMessageHandler<T> implements ChannelCallback<T> {
+
+        private final MessagePropertiesConverter messagePropertiesConverter;
+        private final MessageConverterService messageConverterService;
+        private final String readName;
+
+        private boolean snapshotExhausted = false;
+
+        private int basicGetCount = 0;
+        private int messagesRead = 0;
+        private long bytesRead = 0;
+
+        protected ScanMessageHandler(
             final MessagePropertiesConverter messagePropertiesConverter,
             final MessageConverterService messageConverterService,
-            final QueueProperties queueProperties,
-            final String messageId
+            final QueueProperties queueProperties
         ) {
             this.messagePropertiesConverter = messagePropertiesConverter;
             this.messageConverterService = messageConverterService;
-            this.queueProperties = queueProperties;
-            this.messageId = messageId;
+            this.readName = queueProperties.getReadName();
         }
 
         @Override
-        public String doInRabbit(final Channel channel) throws Exception {
-            final GetResponse response = channel.basicGet(queueProperties.getReadName(), false);
+        @Nullable
+        public T doInRabbit(final Channel channel) throws Exception {
+            final GetResponse response = channel.basicGet(readName, false);
+            basicGetCount++;
             if (response == null) {
+                snapshotExhausted = true;
                 return null;
             }
 
+            messagesRead++;
+            if (response.getBody() != null) {
+                bytesRead += response.getBody().length;
+            }
+
+            // messages read so far stay 'Unacked', so no 'Ready' message left means every message has been seen once
+            snapshotExhausted = response.getMessageCount() == 0;
+
             final MessageProperties messageProps =
-                messagePropertiesConverter.toMessageProperties(response.getProps(), response.getEnvelope(), "UTF-8");
+                messagePropertiesConverter.toMessageProperties(response.getProps(), response.getEnvelope(), MESSAGE_ENCODING);
             final Message message = new Message(response.getBody(), messageProps);
-            final VirgilMessage virgilMessage = messageConverterService.mapMessage(message);
 
-            if (messageId.equals(virgilMessage.getId())) {
+            handleMessage(channel, response, message);
+            return null;
+        }
+
+        /**
+         * Called for every message read from the queue
+         *
+         * @param channel channel the message was read on, must be used to ack the message
+         * @param response raw response from basicGet
+         * @param message converted message
+         * @throws Exception
+         */
+        protected abstract void handleMessage(Channel channel, GetResponse response, Message message) throws Exception;
+
+        /**
+         * Converts the message as it is returned to the UI
+         *
+         * @param message message read from the queue
+         * @return VirgilMessage
+         */
+        protected VirgilMessage convertMessage(final Message message) {
+            return messageConverterService.mapMessage(message);
+        }
+
+        /**
+         * Returns true if the message has the id, without converting the message
+         *
+         * @param message message read from the queue
+         * @param messageId id to compare against
+         * @return boolean
+         */
+        protected boolean matchesId(final Message message, final String messageId) {
+            return messageConverterService.matchesId(message, messageId);
+        }
+
+        /**
+         * Returns the id of the message, without converting the message
+         *
+         * @param message message read from the queue
+         * @return id of the message
+         */
+        protected String getMessageId(final Message message) {
+            return messageConverterService.getMessageId(message);
+        }
+
+        /**
+         * Returns true once the handler does not need to see any more messages
+         *
+         * @return boolean
+         */
+        protected boolean isScanComplete() {
+            return false;
+        }
+
+        /**
+         * Returns true once the queue has no 'Ready' message left, either because the last basicGet found nothing or because it reported
+         * that it returned the last one
+         *
+         * @return boolean
+         */
+        public boolean isSnapshotExhausted() {
+            return this.snapshotExhausted;
+        }
+
+        public int getBasicGetCount() {
+            return basicGetCount;
+        }
+
+        public int getMessagesRead() {
+            return messagesRead;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        /**
+         * Number of messages the handler has acted on so far
+         *
+         * @return
+         */
+        public int getMatchedCount() {
+            return 0;
+        }
+    }
+
+    protected static class HandleRepublishMessage extends ScanMessageHandler<Void> {
+
+        private final RepublishMessageAction republishMessageAction;
+        private final String messageId;
+
+        private boolean messageRepublished;
+
+        public HandleRepublishMessage(
+            final MessagePropertiesConverter messagePropertiesConverter,
+            final MessageConverterService messageConverterService,
+            final QueueProperties queueProperties,
+            final String messageId
+        ) {
+            super(messagePropertiesConverter, messageConverterService, queueProperties);
+            this.republishMessageAction = new RepublishMessageAction(messagePropertiesConverter, queueProperties);
+            this.messageId = messageId;
+        }
+
+        @Override
+        protected void handleMessage(final Channel channel, final GetResponse response, final Message message) throws IOException {
+            if (matchesId(message, messageId)) {
+                republishMessageAction.apply(channel, response, message);
+                messageRepublished = true;
+            }
+        }
+
+        @Override
+        protected boolean isScanComplete() {
+            return messageRepublished;
+        }
+
+        /**
+         * Returns true if the message was found and ack'd, otherwise returns false
+         *
+         * @return boolean
+         */
+        public boolean isRepublishSuccessful() {
+            return this.messageRepublished;
+        }
+
+        @Override
+        public int getMatchedCount() {
+            return messageRepublished ? 1 : 0;
+        }
+    }
+
+    protected static class HandleAckCertainMessage extends ScanMessageHandler<String> {
+
+        private final String messageId;
+
+        @Nullable
+        private Message ackedMessage;
+        private boolean messageFound = false;
+
+        public HandleAckCertainMessage(
+            final MessagePropertiesConverter messagePropertiesConverter,
+            final MessageConverterService messageConverterService,
+            final QueueProperties queueProperties,
+            final String messageId
+        ) {
+            super(messagePropertiesConverter, messageConverterService, queueProperties);
+            this.messageId = messageId;
+        }
+
+        @Override
+        protected void handleMessage(final Channel channel, final GetResponse response, final Message message) throws IOException {
+            if (matchesId(message, messageId)) {
                 channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
                 ackedMessage = message;
                 messageFound = true;
             }
-            return null;
+        }
+
+        @Override
+        protected boolean isScanComplete() {
+            return messageFound;
         }
 
         /**
@@ -377,6 +1172,11 @@ public class MessageOperator {
             return this.messageFound;
         }
 
+        @Override
+        public int getMatchedCount() {
+            return messageFound ? 1 : 0;
+        }
+
         /**
          * Returns ackedMessage if message has been ack'd otherwise returns null
          *
@@ -388,6 +1188,164 @@ public class MessageOperator {
         }
     }
 
+    /**
+     * What is done to a message selected by a bulk operation. The message has been read with basicGet and is still 'Unacked'.
+     */
+    @FunctionalInterface
+    protected interface MessageAction {
+
+        void apply(Channel channel, GetResponse response, Message message) throws IOException;
+    }
+
+    /**
+     * Acks the message, which drops it from the queue
+     */
+    protected static class AckMessageAction implements MessageAction {
+
+        @Override
+        public void apply(final Channel channel, final GetResponse response, final Message message) throws IOException {
+            channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+        }
+    }
+
+    /**
+     * Publishes the message again with the queue's republish routing key, then acks it.
+     * <p>
+     * The message is published on the channel it was read on. In pooled mode the scan already holds a channel of the bounded pool, a
+     * publish that had to check out a second channel would wait for one while every channel is held by a scan. Publishing before the ack
+     * means a failed publish leaves the message on the queue instead of dropping it.
+     */
+    protected static class RepublishMessageAction implements MessageAction {
+
+        private final MessagePropertiesConverter messagePropertiesConverter;
+        private final QueueProperties queueProperties;
+
+        public RepublishMessageAction(
+            final MessagePropertiesConverter messagePropertiesConverter,
+            final QueueProperties queueProperties
+        ) {
+            this.messagePropertiesConverter = messagePropertiesConverter;
+            this.queueProperties = queueProperties;
+        }
+
+        @Override
+        public void apply(final Channel channel, final GetResponse response, final Message message) throws IOException {
+            final AMQP.BasicProperties basicProperties = messagePropertiesConverter.fromMessageProperties(message.getMessageProperties(), MESSAGE_ENCODING);
+            channel.basicPublish(queueProperties.getReadBinderProperties().getName(), queueProperties.getRepublishBindingRoutingKey(), false,
+                basicProperties, message.getBody());
+
+            channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+        }
+    }
+
+    /**
+     * Applies the action to every message whose id is still pending, the scan completes once no id is left.
+     * <p>
+     * Every id is handled at most once, if several messages share an id only the first one found is handled.
+     */
+    protected static class HandleBatchMessages extends ScanMessageHandler<Void> {
+
+        private final LinkedHashSet<String> pendingIds;
+        private final MessageAction messageAction;
+        private final List<String> processedIds = new ArrayList<>();
+
+        public HandleBatchMessages(
+            final MessagePropertiesConverter messagePropertiesConverter,
+            final MessageConverterService messageConverterService,
+            final QueueProperties queueProperties,
+            final LinkedHashSet<String> pendingIds,
+            final MessageAction messageAction
+        ) {
+            super(messagePropertiesConverter, messageConverterService, queueProperties);
+            this.pendingIds = pendingIds;
+            this.messageAction = messageAction;
+        }
+
+        @Override
+        protected void handleMessage(final Channel channel, final GetResponse response, final Message message) throws IOException {
+            final String id = getMessageId(message);
+            if (pendingIds.remove(id)) {
+                messageAction.apply(channel, response, message);
+                processedIds.add(id);
+            }
+        }
+
+        @Override
+        protected boolean isScanComplete() {
+            return pendingIds.isEmpty();
+        }
+
+        /**
+         * Returns ids that have not been found on the queue yet
+         *
+         * @return
+         */
+        public Collection<String> getPendingIds() {
+            return pendingIds;
+        }
+
+        /**
+         * Returns ids that have been handled, in the order they were found on the queue
+         *
+         * @return
+         */
+        public List<String> getProcessedIds() {
+            return processedIds;
+        }
+
+        @Override
+        public int getMatchedCount() {
+            return processedIds.size();
+        }
+    }
+
+    /**
+     * Applies the action to every message that matches the filter. Messages are only counted, so memory use does not depend on the size
+     * of the queue.
+     */
+    protected static class HandleFilterMessages extends ScanMessageHandler<Void> {
+
+        private final MessageFilter messageFilter;
+        private final MessageAction messageAction;
+        private final Instant now;
+
+        private int scannedCount = 0;
+        private int matchedCount = 0;
+
+        public HandleFilterMessages(
+            final MessagePropertiesConverter messagePropertiesConverter,
+            final MessageConverterService messageConverterService,
+            final QueueProperties queueProperties,
+            final MessageFilter messageFilter,
+            final MessageAction messageAction,
+            final Instant now
+        ) {
+            super(messagePropertiesConverter, messageConverterService, queueProperties);
+            this.messageFilter = messageFilter;
+            this.messageAction = messageAction;
+            this.now = now;
+        }
+
+        @Override
+        protected void handleMessage(final Channel channel, final GetResponse response, final Message message) throws IOException {
+            scannedCount++;
+
+            if (messageFilter.matches(convertMessage(message), message, now)) {
+                messageAction.apply(channel, response, message);
+                matchedCount++;
+            }
+        }
+
+        public int getScannedCount() {
+            return scannedCount;
+        }
+
+        @Override
+        public int getMatchedCount() {
+            return matchedCount;
+        }
+    }
+
     protected static class HandleDropMessages implements ChannelCallback<Void> {
 
         private final String queueName;
@@ -410,44 +1368,179 @@ public class MessageOperator {
         }
     }
 
-    protected static class HandleGetMessages implements ChannelCallback<Void> {
+    /**
+     * Browses the queue by letting the broker push messages to a consumer instead of issuing one basicGet per message.
+     * <p>
+     * A consumer that never acks only receives up to its prefetch count, so messages are read one window at a time: a consumer is opened
+     * with the prefetch set to the window size, it is cancelled once the window has been delivered, and the next consumer picks up from the
+     * first message that is still 'Ready'. Every delivered message stays 'Unacked' until the read channel is released.
+     * <p>
+     * When a consumer is given every message is handed to it instead of being collected, and an empty list is returned. Consuming stops
+     * before the next delivery once the progress is cancelled or has used up the budget it was started with.
+     */
+    protected static class HandleConsumeMessages implements ChannelCallback<List<VirgilMessage>> {
 
         private final MessagePropertiesConverter messagePropertiesConverter;
         private final MessageConverterService messageConverterService;
         private final QueueProperties queueProperties;
+        private final int numToRetrieve;
+        private final int prefetch;
+        private final long idleTimeoutMillis;
+        @Nullable
+        private final Consumer<VirgilMessage> consumer;
+        private final OperationProgress progress;
 
-        private final List<VirgilMessage> dlqMessages;
-        private final Map<String, Message> messageLookup;
+        private int messagesRead = 0;
+        private long bytesRead = 0;
 
-        public HandleGetMessages(
+        public HandleConsumeMessages(
             final MessagePropertiesConverter messagePropertiesConverter,
             final MessageConverterService messageConverterService,
             final QueueProperties queueProperties,
-            final int numToRetrieve
+            final int numToRetrieve,
+            final int prefetch,
+            final long idleTimeoutMillis
+        ) {
+            this(messagePropertiesConverter, messageConverterService, queueProperties, numToRetrieve, prefetch, idleTimeoutMillis, null,
+                new OperationProgress());
+        }
+
+        public HandleConsumeMessages(
+            final MessagePropertiesConverter messagePropertiesConverter,
+            final MessageConverterService messageConverterService,
+            final QueueProperties queueProperties,
+            final int numToRetrieve,
+            final int prefetch,
+            final long idleTimeoutMillis,
+            @Nullable final Consumer<VirgilMessage> consumer,
+            final OperationProgress progress
         ) {
             this.messagePropertiesConverter = messagePropertiesConverter;
             this.messageConverterService = messageConverterService;
             this.queueProperties = queueProperties;
-
-            this.dlqMessages = new ArrayList<>(numToRetrieve);
-            this.messageLookup = new HashMap<>(numToRetrieve);
+            this.numToRetrieve = numToRetrieve;
+            this.prefetch = prefetch;
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            this.consumer = consumer;
+            this.progress = progress;
         }
 
         @Override
-        public Void doInRabbit(final Channel channel) throws Exception {
-            final GetResponse response = channel.basicGet(queueProperties.getReadName(), false);
-            if (response == null) {
-                return null;
+        public List<VirgilMessage> doInRabbit(final Channel channel) throws Exception {
+            final List<VirgilMessage> dlqMessages = consumer == null ? new ArrayList<>(Math.max(numToRetrieve, 0)) : Collections.emptyList();
+            final Consumer<VirgilMessage> target = consumer == null ? dlqMessages::add : consumer;
+
+            int currentPrefetch = 0;
+            int totalReceived = 0;
+            while (totalReceived < numToRetrieve && !progress.shouldStop(messagesRead)) {
+                final int windowSize = Math.min(prefetch, numToRetrieve - totalReceived);
+                if (windowSize != currentPrefetch) {
+                    channel.basicQos(windowSize);
+                    currentPrefetch = windowSize;
+                }
+
+                final int received = consumeWindow(channel, windowSize, target);
+                totalReceived += received;
+
+                //a window that was not filled means the queue has been drained
+                if (received < windowSize) {
+                    break;
+                }
             }
 
-            final MessageProperties messageProps =
-                messagePropertiesConverter.toMessageProperties(response.getProps(), response.getEnvelope(), "UTF-8");
-            final Message message = new Message(response.getBody(), messageProps);
-            final VirgilMessage virgilMessage = messageConverterService.mapMessage(message);
+            return dlqMessages;
+        }
+
+        private int consumeWindow(final Channel channel, final int windowSize, final Consumer<VirgilMessage> target) throws IOException {
+            final BlockingQueue<Delivery> deliveries = new LinkedBlockingQueue<>();
+            final String consumerTag = channel.basicConsume(queueProperties.getReadName(), false,
+                (tag, delivery) -> deliveries.add(delivery),
+                tag -> { });
+
+            int received = 0;
+            try {
+                while (received < windowSize) {
+                    // the rest of the window stays 'Unacked' until the read channel is released
+                    if (progress.shouldStop(messagesRead)) {
+                        break;
+                    }
+
+                    final Delivery delivery = deliveries.poll(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+                    if (delivery == null) {
+                        break;
+                    }
+
+                    messagesRead++;
+                    if (delivery.getBody() != null) {
+                        bytesRead += delivery.getBody().length;
+                    }
+
+                    final MessageProperties messageProps =
+                        messagePropertiesConverter.toMessageProperties(delivery.getProperties(), delivery.getEnvelope(), MESSAGE_ENCODING);
+                    target.accept(messageConverterService.mapMessage(new Message(delivery.getBody(), messageProps)));
+                    received++;
+                    progress.update(messagesRead, messagesRead);
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                channel.basicCancel(consumerTag);
+            }
+
+            return received;
+        }
+
+        public int getMessagesRead() {
+            return messagesRead;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+    }
+
+    /**
+     * Collects the converted messages of the queue.
+     * <p>
+     * Only the converted {@link VirgilMessage}s are kept by default, the raw {@link Message}s and their full bodies become garbage as soon as
+     * they have been converted. Raw messages are kept in {@link #getMessageLookup()} only when {@code retainMessages} is set.
+     */
+    protected static class HandleGetMessages extends ScanMessageHandler<Void> {
+
+        private final List<VirgilMessage> dlqMessages;
+        private final Map<String, Message> messageLookup;
+        private final boolean retainMessages;
+
+        public HandleGetMessages(
+            final MessagePropertiesConverter messagePropertiesConverter,
+            final MessageConverterService messageConverterService,
+            final QueueProperties queueProperties,
+            final int numToRetrieve
+        ) {
+            this(messagePropertiesConverter, messageConverterService, queueProperties, numToRetrieve, false);
+        }
 
+        public HandleGetMessages(
+            final MessagePropertiesConverter messagePropertiesConverter,
+            final MessageConverterService messageConverterService,
+            final QueueProperties queueProperties,
+            final int numToRetrieve,
+            final boolean retainMessages
+        ) {
+            super(messagePropertiesConverter, messageConverterService, queueProperties);
+
+            this.dlqMessages = new ArrayList<>(numToRetrieve);
+            this.messageLookup = retainMessages ? new HashMap<>(numToRetrieve) : Collections.emptyMap();
+            this.retainMessages = retainMessages;
+        }
+
+        @Override
+        protected void handleMessage(final Channel channel, final GetResponse response, final Message message) {
+            final VirgilMessage virgilMessage = convertMessage(message);
             dlqMessages.add(virgilMessage);
-            messageLookup.put(virgilMessage.getId(), message);
-            return null;
+            if (retainMessages) {
+                messageLookup.put(virgilMessage.getId(), message);
+            }
         }
 
         public List<VirgilMessage> getDlqMessages() {
@@ -459,6 +1552,27 @@ public class MessageOperator {
         }
     }
 
+    protected static class HandleStreamMessages extends ScanMessageHandler<Void> {
+
+        private final Consumer<VirgilMessage> consumer;
+
+        public HandleStreamMessages(
+            final MessagePropertiesConverter messagePropertiesConverter,
+            final MessageConverterService messageConverterService,
+            final QueueProperties queueProperties,
+            final Consumer<VirgilMessage> consumer
+        ) {
+            super(messagePropertiesConverter, messageConverterService, queueProperties);
+
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void handleMessage(final Channel channel, final GetResponse response, final Message message) {
+            consumer.accept(convertMessage(message));
+        }
+    }
+
 //    private String getReadBindingKey() {
 //        return virgilPropertyConfig.getDefaultQueue().getRepublishBindingRoutingKey();
 //    }
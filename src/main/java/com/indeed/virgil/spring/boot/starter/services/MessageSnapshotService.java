@@ -0,0 +1,217 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.SnapshotProperties;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableMessagePage;
+import com.indeed.virgil.spring.boot.starter.models.MessagePage;
+import com.indeed.virgil.spring.boot.starter.models.VirgilMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pages through a DLQ without reading it from the head for every page.
+ * <p>
+ * The first page only reads that page from the queue into a snapshot kept in memory. A later page past the end of the snapshot extends
+ * it with a read of at least twice as many messages, so paging through a queue reads its head a few times rather than once per page, and
+ * pages that are never requested are never read. The read continues the snapshot after the last message it holds, matched by id, so
+ * messages dropped or republished from the head in the meantime neither shift nor repeat the pages. Every read starts at the head of the
+ * queue, so snapshots stop growing once a read of {@link SnapshotProperties#getMaxMessages()} messages did not drain it, their pages are
+ * flagged as truncated from then on. A cursor is the snapshot token and the offset of the page, e.g. {@code <token>:200}.
+ * Snapshots expire once they have not been read for {@link SnapshotProperties#getTtl()}.
+ */
+public class MessageSnapshotService {
+    private static final Logger LOG = LoggerFactory.getLogger(MessageSnapshotService.class);
+
+    private static final String CURSOR_SEPARATOR = ":";
+
+    private final MessageOperator messageOperator;
+    private final SnapshotProperties snapshotProperties;
+    private final Clock clock;
+
+    // access ordered, so the least recently read snapshot is evicted first
+    private final Map<String, Snapshot> snapshots;
+
+    public MessageSnapshotService(
+        final VirgilPropertyConfig virgilPropertyConfig,
+        final MessageOperator messageOperator
+    ) {
+        this(virgilPropertyConfig, messageOperator, Clock.systemUTC());
+    }
+
+    MessageSnapshotService(
+        final VirgilPropertyConfig virgilPropertyConfig,
+        final MessageOperator messageOperator,
+        final Clock clock
+    ) {
+        this.messageOperator = messageOperator;
+        this.snapshotProperties = virgilPropertyConfig.getSnapshot();
+        this.clock = clock;
+
+        final int maxSnapshots = snapshotProperties.getMaxSnapshots();
+        this.snapshots = new LinkedHashMap<String, Snapshot>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Snapshot> eldest) {
+                return size() > maxSnapshots;
+            }
+        };
+    }
+
+    /**
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param cursor cursor returned with the previous page, null to take a new snapshot and return its first page
+     * @param pageSize maximum number of messages in the page
+     * @return the page, or empty if the cursor is malformed, belongs to another queue or its snapshot has expired
+     */
+    public Optional<MessagePage> getPage(final String queueId, @Nullable final String cursor, final int pageSize) {
+        if (cursor == null) {
+            final String token = UUID.randomUUID().toString();
+            final Snapshot snapshot = new Snapshot(queueId, clock.instant());
+            final MessagePage page = createPage(token, snapshot, 0, pageSize);
+
+            synchronized (snapshots) {
+                evictExpired();
+                snapshots.put(token, snapshot);
+            }
+            return Optional.of(page);
+        }
+
+        final int separatorIndex = cursor.lastIndexOf(CURSOR_SEPARATOR);
+        if (separatorIndex <= 0) {
+            LOG.warn("Malformed cursor. QueueId: {}, Cursor: {}", queueId, cursor);
+            return Optional.empty();
+        }
+
+        final String token = cursor.substring(0, separatorIndex);
+        final int offset;
+        try {
+            offset = Integer.parseInt(cursor.substring(separatorIndex + 1));
+        } catch (final NumberFormatException ex) {
+            LOG.warn("Malformed cursor. QueueId: {}, Cursor: {}", queueId, cursor);
+            return Optional.empty();
+        }
+
+        final Snapshot snapshot;
+        synchronized (snapshots) {
+            evictExpired();
+            snapshot = snapshots.get(token);
+            if (snapshot != null) {
+                snapshot.lastReadAt = clock.instant();
+            }
+        }
+
+        if (snapshot == null || !snapshot.queueId.equals(queueId) || offset < 0) {
+            LOG.info("Snapshot is not available. QueueId: {}, Cursor: {}", queueId, cursor);
+            return Optional.empty();
+        }
+
+        return Optional.of(createPage(token, snapshot, offset, pageSize));
+    }
+
+    private MessagePage createPage(final String token, final Snapshot snapshot, final int offset, final int pageSize) {
+        // pages of the same snapshot are served one at a time, so a snapshot is never extended twice at once
+        synchronized (snapshot) {
+            final int end = (int) Math.min((long) offset + Math.max(pageSize, 1), Integer.MAX_VALUE);
+            if (!snapshot.complete && !snapshot.capped && snapshot.messages.size() < end) {
+                extend(snapshot, end);
+            }
+
+            final int total = snapshot.messages.size();
+            final int from = Math.min(offset, total);
+            final int to = Math.min(end, total);
+            final boolean hasNextPage = to < total || !snapshot.complete && !snapshot.capped;
+
+            return ImmutableMessagePage.builder()
+                .setMessages(new ArrayList<>(snapshot.messages.subList(from, to)))
+                .setOffset(from)
+                .setTotal(total)
+                .setNextCursor(hasNextPage ? token + CURSOR_SEPARATOR + to : null)
+                .setTruncated(snapshot.capped)
+                .build();
+        }
+    }
+
+    /**
+     * Reads the queue again up to at least {@code end} messages, and appends the messages that follow the last message of the snapshot
+     */
+    private void extend(final Snapshot snapshot, final int end) {
+        final int maxMessages = snapshotProperties.getMaxMessages();
+        final int limit = (int) Math.min(maxMessages, Math.max((long) end, 2L * snapshot.messages.size()));
+        if (limit <= snapshot.messages.size()) {
+            return;
+        }
+
+        final List<VirgilMessage> messages = messageOperator.getMessages(snapshot.queueId, limit);
+        for (final VirgilMessage virgilMessage : messages.subList(findNextPosition(snapshot, messages), messages.size())) {
+            // a message republished since it was added to the snapshot is read again at the tail of the queue
+            if (snapshot.ids.add(virgilMessage.getId())) {
+                snapshot.messages.add(virgilMessage);
+            }
+        }
+        // a read that returns fewer messages than it asked for has drained the queue
+        snapshot.complete = messages.size() < limit;
+        snapshot.capped = !snapshot.complete && limit >= maxMessages;
+    }
+
+    /**
+     * Returns the position in {@code messages} that follows the last message of the snapshot. Messages removed from the head of the queue
+     * only move that message towards the head, so it is looked up from its position in the snapshot backwards. If it has been removed
+     * itself the whole read is appended, less the messages the snapshot already holds.
+     */
+    private static int findNextPosition(final Snapshot snapshot, final List<VirgilMessage> messages) {
+        if (snapshot.messages.isEmpty()) {
+            return 0;
+        }
+
+        final String lastId = snapshot.messages.get(snapshot.messages.size() - 1).getId();
+        for (int i = Math.min(snapshot.messages.size(), messages.size()) - 1; i >= 0; i--) {
+            if (lastId.equals(messages.get(i).getId())) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private void evictExpired() {
+        final Instant expiredBefore = clock.instant().minus(snapshotProperties.getTtl());
+
+        final Iterator<Snapshot> iterator = snapshots.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().lastReadAt.isBefore(expiredBefore)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class Snapshot {
+
+        private final String queueId;
+        private final List<VirgilMessage> messages = new ArrayList<>();
+        private final Set<String> ids = new HashSet<>();
+
+        private boolean complete = false;
+        // a read of max-messages did not drain the queue, the snapshot can not grow any further
+        private boolean capped = false;
+        private Instant lastReadAt;
+
+        Snapshot(
+            final String queueId,
+            final Instant lastReadAt
+        ) {
+            this.queueId = queueId;
+            this.lastReadAt = lastReadAt;
+        }
+    }
+}
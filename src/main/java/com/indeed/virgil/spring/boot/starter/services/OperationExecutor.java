@@ -0,0 +1,94 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ExecutionMode;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ExecutionProperties;
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponseError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Serializable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the operations of every endpoint that waits on the broker, and hands their response back as a {@link Mono}. The streaming
+ * endpoints write their response from a thread of the web layer instead, and the job endpoints do not wait on the broker.
+ * <p>
+ * In {@link ExecutionMode#DEDICATED} mode operations run on a bounded scheduler of at most {@link ExecutionProperties#getMaxThreads()}
+ * threads, so a long scan never holds a request thread of the application; the web layer completes the request asynchronously once the
+ * Mono emits. At most {@link ExecutionProperties#getMaxQueued()} operations wait for a free thread, any operation beyond that is answered
+ * with a {@link #TOO_MANY_OPERATIONS_ERROR_CODE} error. In {@link ExecutionMode#REQUEST_THREAD} mode operations run on the thread that
+ * subscribes, as they did before.
+ * <p>
+ * A request completed asynchronously is bounded by {@code spring.mvc.async.request-timeout}, 30 seconds by default on Tomcat. A request
+ * that times out is answered with an error while its operation still runs to the end, so the timeout should be raised above the longest
+ * expected operation, e.g. the {@code max-duration} of the budget.
+ */
+public class OperationExecutor implements DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(OperationExecutor.class);
+
+    public static final String TOO_MANY_OPERATIONS_ERROR_CODE = "TOO_MANY_OPERATIONS";
+
+    private static final String THREAD_NAME_PREFIX = "virgil-operation";
+    private static final int IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final Scheduler scheduler;
+
+    public OperationExecutor(
+        final VirgilPropertyConfig virgilPropertyConfig
+    ) {
+        this(createScheduler(virgilPropertyConfig.getExecution()));
+    }
+
+    /**
+     * @param scheduler runs the operations, {@link Schedulers#immediate()} runs them on the subscribing thread
+     */
+    public OperationExecutor(
+        final Scheduler scheduler
+    ) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Runs the operation once the returned Mono is subscribed to
+     *
+     * @param operation builds the response of the endpoint
+     * @return response of the operation, or a {@link #TOO_MANY_OPERATIONS_ERROR_CODE} error if too many operations are waiting already
+     */
+    public Mono<EndpointResponse<Serializable>> execute(final Supplier<EndpointResponse<Serializable>> operation) {
+        return Mono.fromSupplier(operation)
+            .subscribeOn(scheduler)
+            .onErrorResume(RejectedExecutionException.class, ex -> {
+                LOG.warn("Too many operations, rejecting operation.");
+                return Mono.just(ImmutableEndpointResponse.builder()
+                    .setData("failure")
+                    .addErrors(ImmutableEndpointResponseError.builder()
+                        .setCode(TOO_MANY_OPERATIONS_ERROR_CODE)
+                        .setMessage("Too many operations are waiting to run, try again once some of them are done")
+                        .build())
+                    .build());
+            });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    private static Scheduler createScheduler(final ExecutionProperties executionProperties) {
+        if (executionProperties.getMode() != ExecutionMode.DEDICATED) {
+            return Schedulers.immediate();
+        }
+
+        // idle threads exit, daemon threads never keep the application from shutting down
+        return Schedulers.newBoundedElastic(executionProperties.getMaxThreads(), executionProperties.getMaxQueued(), THREAD_NAME_PREFIX,
+            IDLE_THREAD_KEEP_ALIVE_SECONDS, true);
+    }
+}
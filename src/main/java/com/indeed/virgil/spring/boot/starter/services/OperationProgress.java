@@ -0,0 +1,155 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BudgetProperties;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Progress of a single {@link MessageOperator} operation, shared between the thread running the scan and the threads reporting on it.
+ * <p>
+ * The scan updates the counts after every message it reads. Before reading the next one it checks whether it has been cancelled or has
+ * used up its budget, the tighter of the configured {@link BudgetProperties} and the limits given for this operation. A scan that stops
+ * early is flagged as truncated, the messages it still holds are put back to 'Ready' once the read channel is released.
+ */
+public class OperationProgress {
+
+    @Nullable
+    private final Duration maxDuration;
+    @Nullable
+    private final Integer maxMessages;
+    private final LongSupplier nanoTime;
+
+    private volatile int scannedCount = 0;
+    private volatile int matchedCount = 0;
+    private volatile boolean cancelled = false;
+    private volatile boolean truncated = false;
+
+    // only used by the thread running the scan
+    private boolean hasDeadline = false;
+    private long deadline;
+    private int messageLimit = Integer.MAX_VALUE;
+
+    public OperationProgress() {
+        this(null, null);
+    }
+
+    /**
+     * @param maxDuration how long the scan may read from the queue, null to only apply the configured limit
+     * @param maxMessages how many messages the scan may read from the queue, null to only apply the configured limit
+     */
+    public OperationProgress(@Nullable final Duration maxDuration, @Nullable final Integer maxMessages) {
+        this(maxDuration, maxMessages, System::nanoTime);
+    }
+
+    OperationProgress(@Nullable final Duration maxDuration, @Nullable final Integer maxMessages, final LongSupplier nanoTime) {
+        this.maxDuration = maxDuration != null && !maxDuration.isZero() && !maxDuration.isNegative() ? maxDuration : null;
+        this.maxMessages = maxMessages != null && maxMessages > 0 ? maxMessages : null;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * How long the scan may read from the queue, the configured limit applies if it is tighter
+     *
+     * @return
+     */
+    @Nullable
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * How many messages the scan may read from the queue, the configured limit applies if it is tighter
+     *
+     * @return
+     */
+    @Nullable
+    public Integer getMaxMessages() {
+        return maxMessages;
+    }
+
+    /**
+     * Number of messages read from the queue so far
+     *
+     * @return
+     */
+    public int getScannedCount() {
+        return scannedCount;
+    }
+
+    /**
+     * Number of messages the operation has handled so far
+     *
+     * @return
+     */
+    public int getMatchedCount() {
+        return matchedCount;
+    }
+
+    /**
+     * Asks the scan to stop before it reads the next message
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns true if the scan stopped before it was done, because it was cancelled or ran out of budget
+     *
+     * @return
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Starts the budget of the scan
+     *
+     * @param budgetProperties configured limits, the limits of this operation only apply if they are tighter
+     */
+    void start(final BudgetProperties budgetProperties) {
+        final Duration duration = tighter(maxDuration, budgetProperties.getMaxDuration());
+        hasDeadline = duration != null;
+        if (hasDeadline) {
+            deadline = nanoTime.getAsLong() + duration.toNanos();
+        }
+
+        final Integer messages = tighter(maxMessages, budgetProperties.getMaxMessages());
+        messageLimit = messages != null ? messages : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Called before the scan reads the next message
+     *
+     * @param messagesRead number of messages the scan has read so far
+     * @return true if the scan must stop, the progress is then flagged as truncated
+     */
+    boolean shouldStop(final int messagesRead) {
+        if (cancelled || messagesRead >= messageLimit || (hasDeadline && nanoTime.getAsLong() - deadline >= 0)) {
+            truncated = true;
+            return true;
+        }
+        return false;
+    }
+
+    void update(final int scannedCount, final int matchedCount) {
+        this.scannedCount = scannedCount;
+        this.matchedCount = matchedCount;
+    }
+
+    @Nullable
+    private static <T extends Comparable<T>> T tighter(@Nullable final T requested, @Nullable final T configured) {
+        if (requested == null) {
+            return configured;
+        }
+        if (configured == null) {
+            return requested;
+        }
+        return requested.compareTo(configured) < 0 ? requested : configured;
+    }
+}
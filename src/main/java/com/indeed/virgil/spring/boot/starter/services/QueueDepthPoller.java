@@ -0,0 +1,196 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reads the size of every configured queue at a fixed rate and pushes the sizes that changed to its subscribers.
+ * <p>
+ * Queues are only polled while at least one subscriber is registered, from a single daemon thread. Every poll goes through
+ * {@link MessageOperator#getQueueSizes}, which reads the sizes with one channel per binder and refreshes the cached sizes returned by
+ * {@link MessageOperator#getQueueSize}. A new subscriber first receives the size of every queue from the latest poll, then only the queues
+ * whose size changed. Sizes are sent outside of the lock, so a slow subscriber does not hold up others subscribing or unsubscribing.
+ * <p>
+ * The poller thread keeps its connections open between polls, they are closed on that thread once polling stops.
+ */
+public class QueueDepthPoller implements DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(QueueDepthPoller.class);
+
+    private static final String THREAD_NAME = "virgil-queue-depth-poller";
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final VirgilPropertyConfig virgilPropertyConfig;
+    private final MessageOperator messageOperator;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final Duration pollInterval;
+
+    // guards subscribers, pollTask and queueSizes, so a new subscriber never receives sizes older than the ones already pushed
+    private final Object lock = new Object();
+    private final Set<Consumer<Map<String, Integer>>> subscribers = new LinkedHashSet<>();
+    private ScheduledFuture<?> pollTask;
+    private Map<String, Integer> queueSizes = Collections.emptyMap();
+
+    public QueueDepthPoller(
+        final VirgilPropertyConfig virgilPropertyConfig,
+        final MessageOperator messageOperator
+    ) {
+        this(virgilPropertyConfig, messageOperator, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    QueueDepthPoller(
+        final VirgilPropertyConfig virgilPropertyConfig,
+        final MessageOperator messageOperator,
+        final ScheduledExecutorService scheduledExecutorService
+    ) {
+        this.virgilPropertyConfig = virgilPropertyConfig;
+        this.messageOperator = messageOperator;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.pollInterval = virgilPropertyConfig.getQueueDepth()
+            .getPollInterval();
+    }
+
+    /**
+     * Registers a subscriber and starts polling if it is the first one. A subscriber that throws is dropped.
+     *
+     * @param subscriber receives queueSize by queueId, null when the size of a queue could not be read
+     */
+    public void subscribe(final Consumer<Map<String, Integer>> subscriber) {
+        synchronized (lock) {
+            if (!queueSizes.isEmpty() && !deliver(subscriber, queueSizes)) {
+                return;
+            }
+
+            subscribers.add(subscriber);
+            if (pollTask == null) {
+                pollTask = scheduledExecutorService.scheduleAtFixedRate(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Removes a subscriber and stops polling once there is none left
+     *
+     * @param subscriber subscriber passed to {@link #subscribe}
+     */
+    public void unsubscribe(final Consumer<Map<String, Integer>> subscriber) {
+        synchronized (lock) {
+            subscribers.remove(subscriber);
+            stopPollingIfUnused();
+        }
+    }
+
+    /**
+     * Stops polling and waits for the poller thread to close its connections
+     */
+    @Override
+    public void destroy() {
+        synchronized (lock) {
+            subscribers.clear();
+            stopPollingIfUnused();
+        }
+
+        scheduledExecutorService.shutdown();
+        try {
+            if (!scheduledExecutorService.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                scheduledExecutorService.shutdownNow();
+            }
+        } catch (final InterruptedException ex) {
+            scheduledExecutorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void poll() {
+        try {
+            final Map<String, Integer> polledSizes = messageOperator.getQueueSizes(virgilPropertyConfig.getQueueNames());
+
+            final Map<String, Integer> changes;
+            final List<Consumer<Map<String, Integer>>> recipients;
+            synchronized (lock) {
+                final Map<String, Integer> changedSizes = new LinkedHashMap<>();
+                polledSizes.forEach((queueId, size) -> {
+                    if (!queueSizes.containsKey(queueId) || !Objects.equals(queueSizes.get(queueId), size)) {
+                        changedSizes.put(queueId, size);
+                    }
+                });
+                queueSizes = Collections.unmodifiableMap(new LinkedHashMap<>(polledSizes));
+
+                if (changedSizes.isEmpty()) {
+                    return;
+                }
+
+                changes = Collections.unmodifiableMap(changedSizes);
+                recipients = new ArrayList<>(subscribers);
+            }
+
+            // a subscriber that arrives meanwhile already received these sizes from queueSizes
+            final List<Consumer<Map<String, Integer>>> failedRecipients = new ArrayList<>();
+            for (final Consumer<Map<String, Integer>> recipient : recipients) {
+                if (!deliver(recipient, changes)) {
+                    failedRecipients.add(recipient);
+                }
+            }
+
+            if (!failedRecipients.isEmpty()) {
+                synchronized (lock) {
+                    subscribers.removeAll(failedRecipients);
+                    stopPollingIfUnused();
+                }
+            }
+        } catch (final RuntimeException ex) {
+            // an exception would cancel every later poll
+            LOG.error("Unable to poll queue sizes.", ex);
+        }
+    }
+
+    private static boolean deliver(final Consumer<Map<String, Integer>> subscriber, final Map<String, Integer> sizes) {
+        try {
+            subscriber.accept(sizes);
+            return true;
+        } catch (final RuntimeException ex) {
+            // most likely the client went away
+            LOG.debug("Dropping queue depth subscriber.", ex);
+            return false;
+        }
+    }
+
+    private void stopPollingIfUnused() {
+        if (subscribers.isEmpty() && pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+            // sizes would be stale by the time the next subscriber arrives
+            queueSizes = Collections.emptyMap();
+            // thread local connections can only be closed by the poller thread, after the poll that may still be running
+            scheduledExecutorService.execute(this::releaseConnections);
+        }
+    }
+
+    private void releaseConnections() {
+        try {
+            messageOperator.releaseQueueSizeConnections(virgilPropertyConfig.getQueueNames());
+        } catch (final RuntimeException ex) {
+            LOG.warn("Unable to close queue depth poller connections.", ex);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the operations on one queue from overlapping.
+ * <p>
+ * A scan holds every message it has read as 'Unacked' until it releases the read channel, so a second scan of the same queue running
+ * at the same time only sees what is left of it and misses messages. Operations that scan a queue therefore take turns, in the order
+ * they arrived, while operations on different queues still run in parallel. A read that is identical to one already running does not
+ * wait for its turn, it waits for that read and shares its result.
+ * <p>
+ * The result of a read may also be kept for a short time and handed to identical reads that follow. Operations that change a queue
+ * must {@link #invalidate} it, a read that was running while its queue was invalidated is returned but not kept. Invalidating a queue
+ * does not affect reads of the other queues.
+ */
+class QueueOperationGate {
+
+    private final Duration readCacheTtl;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ReadKey, CompletableFuture<Object>> inFlightReads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ReadKey, CachedRead> cachedReads = new ConcurrentHashMap<>();
+    // number of invalidations by queueId, a result is only kept if the count of its queue did not change while it was read
+    private final ConcurrentMap<String, AtomicLong> invalidations = new ConcurrentHashMap<>();
+
+    /**
+     * @param readCacheTtl how long the result of a read is kept, zero or negative disables the cache
+     * @param clock clock used to expire results
+     */
+    QueueOperationGate(final Duration readCacheTtl, final Clock clock) {
+        this.readCacheTtl = readCacheTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs the operation once no other operation on the queue is running. The lock is reentrant, an operation may run nested
+     * operations on the same queue.
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param operation runs the operation
+     * @return result of the operation
+     */
+    <T> T exclusive(final String queueId, final Supplier<T> operation) {
+        final ReentrantLock lock = locks.computeIfAbsent(queueId, key -> new ReentrantLock(true));
+        // never interrupted, an interrupted scan would close the channel it is holding messages on
+        lock.lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the read, unless an identical read is running already, in which case its result is returned once it is done, or the result
+     * of an identical read is still kept. Callers sharing a result must not modify it.
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param request identifies the read along with the queue, e.g. the limit
+     * @param read runs the read, it is expected to take its turn with {@link #exclusive}
+     * @return result of the read, or of the identical read that was running
+     */
+    @SuppressWarnings("unchecked")
+    <T> T shared(final String queueId, @Nullable final Object request, final Supplier<T> read) {
+        final ReadKey readKey = new ReadKey(queueId, request);
+        final boolean cacheEnabled = !readCacheTtl.isZero() && !readCacheTtl.isNegative();
+        if (cacheEnabled) {
+            final CachedRead cached = cachedReads.get(readKey);
+            if (cached != null && clock.instant().isBefore(cached.expiresAt)) {
+                return (T) cached.result;
+            }
+        }
+
+        final CompletableFuture<Object> ownRead = new CompletableFuture<>();
+        final CompletableFuture<Object> runningRead = inFlightReads.putIfAbsent(readKey, ownRead);
+        if (runningRead != null) {
+            return (T) join(runningRead);
+        }
+
+        try {
+            final Instant now = clock.instant();
+            final long invalidationsBeforeRead = getInvalidations(queueId);
+            final T result = read.get();
+            if (cacheEnabled && getInvalidations(queueId) == invalidationsBeforeRead) {
+                cachedReads.put(readKey, new CachedRead(result, now.plus(readCacheTtl)));
+            }
+            ownRead.complete(result);
+            return result;
+        } catch (final RuntimeException | Error ex) {
+            ownRead.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightReads.remove(readKey, ownRead);
+        }
+    }
+
+    /**
+     * Drops the kept results of every read of the queue, the next read scans the queue again
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     */
+    void invalidate(final String queueId) {
+        invalidations.computeIfAbsent(queueId, key -> new AtomicLong()).incrementAndGet();
+        cachedReads.keySet().removeIf(readKey -> readKey.queueId.equals(queueId));
+    }
+
+    private long getInvalidations(final String queueId) {
+        final AtomicLong count = invalidations.get(queueId);
+        return count != null ? count.get() : 0L;
+    }
+
+    private static Object join(final CompletableFuture<Object> runningRead) {
+        try {
+            return runningRead.join();
+        } catch (final CompletionException ex) {
+            // rethrow what the read that was running threw
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private static class CachedRead {
+        @Nullable
+        private final Object result;
+        private final Instant expiresAt;
+
+        CachedRead(@Nullable final Object result, final Instant expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class ReadKey {
+
+        private final String queueId;
+        @Nullable
+        private final Object request;
+
+        ReadKey(final String queueId, @Nullable final Object request) {
+            this.queueId = queueId;
+            this.request = request;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final ReadKey readKey = (ReadKey) o;
+            return queueId.equals(readKey.queueId) && Objects.equals(request, readKey.request);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(queueId, request);
+        }
+    }
+}
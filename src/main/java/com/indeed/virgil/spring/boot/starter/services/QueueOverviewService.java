@@ -0,0 +1,140 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.OverviewProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueProperties;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableQueueOverview;
+import com.indeed.virgil.spring.boot.starter.models.QueueOverview;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds an overview of every configured queue in one call, instead of one get-queue-size call per queue.
+ * <p>
+ * Every queue is looked up with {@link MessageOperator#getQueueOverview} on a pool of at most {@link OverviewProperties#getParallelism()}
+ * threads, so the overview takes about as long as the slowest queue rather than the sum of all of them. A queue the broker has not answered
+ * for within {@link OverviewProperties#getQueueTimeout()} is reported as timed out. Queues are listed binder by binder, in the order they
+ * are configured. Every lookup reads its queue on a channel of its own that is closed once the queue is read, so the pool threads leave no
+ * connection behind when they exit.
+ */
+public class QueueOverviewService implements DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(QueueOverviewService.class);
+
+    private static final String THREAD_NAME_PREFIX = "virgil-overview-";
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final VirgilPropertyConfig virgilPropertyConfig;
+    private final MessageOperator messageOperator;
+    private final ExecutorService executorService;
+    private final Duration queueTimeout;
+
+    public QueueOverviewService(
+        final VirgilPropertyConfig virgilPropertyConfig,
+        final MessageOperator messageOperator
+    ) {
+        this(virgilPropertyConfig, messageOperator, createExecutorService(virgilPropertyConfig.getOverview()
+            .getParallelism()));
+    }
+
+    QueueOverviewService(
+        final VirgilPropertyConfig virgilPropertyConfig,
+        final MessageOperator messageOperator,
+        final ExecutorService executorService
+    ) {
+        this.virgilPropertyConfig = virgilPropertyConfig;
+        this.messageOperator = messageOperator;
+        this.executorService = executorService;
+        this.queueTimeout = virgilPropertyConfig.getOverview()
+            .getQueueTimeout();
+    }
+
+    /**
+     * Looks up every configured queue in parallel
+     *
+     * @return overview of every configured queue, grouped by binder
+     */
+    public List<QueueOverview> getOverview() {
+        final Map<String, QueueProperties> queues = virgilPropertyConfig.getQueues();
+
+        final Map<String, List<String>> queueIdsByBinder = new LinkedHashMap<>();
+        for (final String queueId : virgilPropertyConfig.getQueueNames()) {
+            queueIdsByBinder.computeIfAbsent(queues.get(queueId).getReadBinderName(), binderName -> new ArrayList<>()).add(queueId);
+        }
+
+        // every lookup is submitted before waiting for any of them, so they all share the same deadline
+        final long deadline = System.nanoTime() + queueTimeout.toNanos();
+        final Map<String, Future<QueueOverview>> lookups = new LinkedHashMap<>();
+        queueIdsByBinder.values().forEach(queueIds -> queueIds.forEach(queueId ->
+            lookups.put(queueId, executorService.submit(() -> messageOperator.getQueueOverview(queueId)))));
+
+        final List<QueueOverview> overview = new ArrayList<>(lookups.size());
+        for (final Map.Entry<String, Future<QueueOverview>> lookup : lookups.entrySet()) {
+            final String queueId = lookup.getKey();
+            final QueueOverview queueOverview = await(queueId, lookup.getValue(), deadline);
+            overview.add(queueOverview != null ? queueOverview : unavailable(queueId, queues.get(queueId), false));
+        }
+
+        return overview;
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    @Nullable
+    private QueueOverview await(final String queueId, final Future<QueueOverview> lookup, final long deadline) {
+        try {
+            return lookup.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException ex) {
+            LOG.warn("Timed out reading queue. QueueId: {}", queueId);
+            lookup.cancel(true);
+            return unavailable(queueId, virgilPropertyConfig.getQueues().get(queueId), true);
+        } catch (final ExecutionException ex) {
+            LOG.error("Unable to read queue. QueueId: {}", queueId, ex.getCause());
+            return null;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            lookup.cancel(true);
+            return null;
+        }
+    }
+
+    private static QueueOverview unavailable(final String queueId, final QueueProperties queueProperties, final boolean timedOut) {
+        return ImmutableQueueOverview.builder()
+            .setQueueId(queueId)
+            .setQueueName(queueProperties.getReadName())
+            .setBinderName(queueProperties.getReadBinderName())
+            .setTimedOut(timedOut)
+            .build();
+    }
+
+    private static ExecutorService createExecutorService(final int parallelism) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        // idle threads exit, so the pool costs nothing while the overview is not used
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,126 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Keeps the size of every queue for a short time, so requests from many threads share one passive queueDeclare instead of issuing one each.
+ * <p>
+ * Sizes that could not be read are never kept. Operations that change the depth of a queue must {@link #invalidate} it, a size that was
+ * being read while its queue was invalidated is returned but not kept, since it may predate the change. Invalidating a queue does not
+ * affect the sizes of the other queues read at the same time.
+ */
+class QueueSizeCache {
+
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, CachedSize> sizes = new ConcurrentHashMap<>();
+    // number of invalidations by queueId, a size is only kept if the count of its queue did not change while it was read
+    private final ConcurrentMap<String, AtomicLong> invalidations = new ConcurrentHashMap<>();
+
+    /**
+     * @param ttl how long a size is kept, zero or negative disables the cache
+     * @param clock clock used to expire sizes
+     */
+    QueueSizeCache(final Duration ttl, final Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached size of the queue, or reads it with the loader if it is missing or has expired
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param loader reads the size from the broker, returns null if it could not be read
+     * @return queueSize
+     */
+    @Nullable
+    Integer get(final String queueId, final Function<String, Integer> loader) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return loader.apply(queueId);
+        }
+
+        final Instant now = clock.instant();
+        final CachedSize cached = sizes.get(queueId);
+        if (cached != null && now.isBefore(cached.expiresAt)) {
+            return cached.size;
+        }
+
+        final long invalidationsBeforeLoad = getInvalidations(queueId);
+        final Integer size = loader.apply(queueId);
+        if (size == null) {
+            sizes.remove(queueId);
+            return null;
+        }
+
+        if (getInvalidations(queueId) == invalidationsBeforeLoad) {
+            sizes.put(queueId, new CachedSize(size, now.plus(ttl)));
+        }
+        return size;
+    }
+
+    /**
+     * Reads the size of every queue with the loader, without looking at the cache, and keeps the sizes that could be read
+     *
+     * @param queueIds Queue Property Keys, these are not the actual names of the queues
+     * @param loader reads the sizes from the broker, maps every queueId to its size or to null if it could not be read
+     * @return queueSize by queueId
+     */
+    Map<String, Integer> refresh(final Collection<String> queueIds, final Function<Collection<String>, Map<String, Integer>> loader) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return loader.apply(queueIds);
+        }
+
+        final Instant now = clock.instant();
+        final Map<String, Long> invalidationsBeforeLoad = new HashMap<>();
+        for (final String queueId : queueIds) {
+            invalidationsBeforeLoad.put(queueId, getInvalidations(queueId));
+        }
+        final Map<String, Integer> queueSizes = loader.apply(queueIds);
+
+        queueSizes.forEach((queueId, size) -> {
+            if (size == null) {
+                sizes.remove(queueId);
+            } else if (invalidationsBeforeLoad.containsKey(queueId) && getInvalidations(queueId) == invalidationsBeforeLoad.get(queueId)) {
+                sizes.put(queueId, new CachedSize(size, now.plus(ttl)));
+            }
+        });
+        return queueSizes;
+    }
+
+    /**
+     * Drops the cached size of the queue, the next {@link #get} reads it from the broker again
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     */
+    void invalidate(final String queueId) {
+        invalidations.computeIfAbsent(queueId, key -> new AtomicLong()).incrementAndGet();
+        sizes.remove(queueId);
+    }
+
+    private long getInvalidations(final String queueId) {
+        final AtomicLong count = invalidations.get(queueId);
+        return count != null ? count.get() : 0L;
+    }
+
+    private static class CachedSize {
+        private final int size;
+        private final Instant expiresAt;
+
+        CachedSize(final int size, final Instant expiresAt) {
+            this.size = size;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
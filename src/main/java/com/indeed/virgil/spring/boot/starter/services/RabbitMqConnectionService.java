@@ -2,40 +2,82 @@ package com.indeed.virgil.spring.boot.starter.services;
 
 import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
 import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BinderProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ConnectionMode;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ConnectionProperties;
 import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueProperties;
+import com.rabbitmq.client.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.AmqpAdmin;
 import org.springframework.amqp.rabbit.connection.AbstractConnectionFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.RabbitUtils;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.RabbitExceptionTranslator;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.lang.Nullable;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This service will create the necessary connections to manage RabbitMQ in a dynamic way. In V2, this service will be used to dynamically
  * manage multiple-rabbitMQ connections
  * <p>
- * This service assumes that all connections will be destroyed in the same thread that created them, since this is the underlying principal
- * that is allowing us to view the queue without disturbing it.
+ * In {@link ConnectionMode#THREAD_LOCAL} mode this service assumes that all connections will be destroyed in the same thread that created
+ * them, since this is the underlying principal that is allowing us to view the queue without disturbing it.
+ * <p>
+ * In {@link ConnectionMode#POOLED} mode every binder shares one long-lived connection with a bounded pool of channels. Reads are executed on a
+ * dedicated channel through {@link #executeOnReadChannel(String, ChannelCallback)}. Once the read completes every 'Unacked' message is put
+ * back to 'Ready' state with a single basicNack, and the channel is returned to the pool.
  */
-public class RabbitMqConnectionService {
+public class RabbitMqConnectionService implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RabbitMqConnectionService.class);
+
+    // a delivery tag of 0 combined with multiple=true rejects every outstanding delivery on the channel
+    private static final long ALL_OUTSTANDING_DELIVERIES = 0L;
 
     private final VirgilPropertyConfig virgilPropertyConfig;
+    private final ConnectionProperties connectionProperties;
+    private final VirgilMetrics virgilMetrics;
 
     private final ThreadLocal<Map<String, AbstractConnectionFactory>> cachingConnectionFactoryLookup = new ThreadLocal<>();
     private final ThreadLocal<Map<String, AmqpAdmin>> amqpAdminLookup = new ThreadLocal<>();
     private final ThreadLocal<Map<String, RabbitTemplate>> rabbitTemplateLookup = new ThreadLocal<>();
 
+    private final ConcurrentMap<String, CachingConnectionFactory> pooledConnectionFactoryLookup = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AmqpAdmin> pooledAmqpAdminLookup = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RabbitTemplate> pooledRabbitTemplateLookup = new ConcurrentHashMap<>();
+
     /**
      *
      * @param virgilPropertyConfig Virgil Properties
      */
     public RabbitMqConnectionService(
         final VirgilPropertyConfig virgilPropertyConfig
+    ) {
+        this(virgilPropertyConfig, VirgilMetrics.disabled());
+    }
+
+    /**
+     *
+     * @param virgilPropertyConfig Virgil Properties
+     * @param virgilMetrics counts the connections opened and closed by every connection factory
+     */
+    public RabbitMqConnectionService(
+        final VirgilPropertyConfig virgilPropertyConfig,
+        final VirgilMetrics virgilMetrics
     ) {
         this.virgilPropertyConfig = virgilPropertyConfig;
+        this.connectionProperties = virgilPropertyConfig.getConnection();
+        this.virgilMetrics = virgilMetrics;
     }
 
     /**
@@ -78,12 +120,54 @@ public class RabbitMqConnectionService {
         destroyConnectionsByName(queueProperties.getReadBinderName());
     }
 
+    /**
+     * Executes the callback on a channel that is dedicated to this operation. Every message the callback leaves 'Unacked' is put back to
+     * 'Ready' state once the callback returns or throws.
+     *
+     * @param queueName Queue Property Key, this is not the actual name of the queue
+     * @param callback Operation to execute against the read queue
+     * @param <T> Return type of the callback
+     * @return Value returned by the callback
+     */
+    @Nullable
+    public <T> T executeOnReadChannel(final String queueName, final ChannelCallback<T> callback) {
+        final QueueProperties queueProperties = virgilPropertyConfig.getQueueProperties(queueName);
+        final String binderName = queueProperties.getReadBinderName();
+
+        if (isPooled()) {
+            return executeOnDedicatedChannel(binderName, callback);
+        }
+
+        try {
+            return getRabbitTemplate(binderName).execute(callback);
+        } finally {
+            // Close connection so 'Unacked' messages could be put back to 'Ready' state
+            // Connection will be automatically reestablished on next Actuator endpoint invocation
+            destroyConnectionsByName(binderName);
+        }
+    }
+
+    /**
+     * Closes every pooled connection. Thread local connections are owned by their threads and are not tracked here.
+     */
+    @Override
+    public void destroy() {
+        pooledAmqpAdminLookup.clear();
+        pooledRabbitTemplateLookup.clear();
+        pooledConnectionFactoryLookup.values().forEach(CachingConnectionFactory::destroy);
+        pooledConnectionFactoryLookup.clear();
+    }
+
     /**
      *
      * @param binderName Name of the RabbitMq Exchange
      * @return
      */
     public AmqpAdmin getAmqpAdmin(final String binderName) {
+        if (isPooled()) {
+            return pooledAmqpAdminLookup.computeIfAbsent(binderName, name -> new RabbitAdmin(getPooledConnectionFactory(name)));
+        }
+
         AmqpAdmin amqpAdmin = getCachedAmqpAdmin(binderName);
         if (amqpAdmin != null) {
             return amqpAdmin;
@@ -96,6 +180,10 @@ public class RabbitMqConnectionService {
     }
 
     public RabbitTemplate getRabbitTemplate(final String binderName) {
+        if (isPooled()) {
+            return pooledRabbitTemplateLookup.computeIfAbsent(binderName, name -> new RabbitTemplate(getPooledConnectionFactory(name)));
+        }
+
         RabbitTemplate rabbitTemplate = getCachedRabbitTemplate(binderName);
         if (rabbitTemplate != null) {
             return rabbitTemplate;
@@ -113,6 +201,39 @@ public class RabbitMqConnectionService {
             return cachedAbstractConnectionFactory;
         }
 
+        final CachingConnectionFactory cachingConnectionFactory = createConnectionFactory(binderName);
+        if (cachingConnectionFactory == null) {
+            return null;
+        }
+
+        updateCachedConnectionFactory(binderName, cachingConnectionFactory);
+
+        return cachingConnectionFactory;
+    }
+
+    @Nullable
+    private CachingConnectionFactory getPooledConnectionFactory(final String binderName) {
+        final CachingConnectionFactory cachedConnectionFactory = pooledConnectionFactoryLookup.get(binderName);
+        if (cachedConnectionFactory != null) {
+            return cachedConnectionFactory;
+        }
+
+        return pooledConnectionFactoryLookup.computeIfAbsent(binderName, name -> {
+            final CachingConnectionFactory cachingConnectionFactory = createConnectionFactory(name);
+            if (cachingConnectionFactory == null) {
+                return null;
+            }
+
+            // setting a checkout timeout turns the channel cache size into a hard limit on the number of open channels
+            cachingConnectionFactory.setChannelCacheSize(connectionProperties.getChannelPoolSize());
+            cachingConnectionFactory.setChannelCheckoutTimeout(connectionProperties.getChannelCheckoutTimeout().toMillis());
+
+            return cachingConnectionFactory;
+        });
+    }
+
+    @Nullable
+    private CachingConnectionFactory createConnectionFactory(final String binderName) {
         final BinderProperties binderProperties = virgilPropertyConfig.getBinderProperties(binderName);
         if (binderProperties == null) {
             return null;
@@ -128,24 +249,75 @@ public class RabbitMqConnectionService {
 
         cachingConnectionFactory.setVirtualHost(binderProperties.getRabbitProperties().determineVirtualHost());
         cachingConnectionFactory.setPublisherReturns(true);
-
-        updateCachedConnectionFactory(binderName, cachingConnectionFactory);
+        cachingConnectionFactory.addConnectionListener(virgilMetrics.connectionListener(binderName));
 
         return cachingConnectionFactory;
     }
 
+    @Nullable
+    private <T> T executeOnDedicatedChannel(final String binderName, final ChannelCallback<T> callback) {
+        final CachingConnectionFactory connectionFactory = getPooledConnectionFactory(binderName);
+        if (connectionFactory == null) {
+            throw new IllegalStateException(String.format("BinderProperties is null. BinderName: %s", binderName));
+        }
+
+        final Connection connection = connectionFactory.createConnection();
+        final Channel channel = connection.createChannel(false);
+        try {
+            return callback.doInRabbit(channel);
+        } catch (final Exception ex) {
+            throw RabbitExceptionTranslator.convertRabbitAccessException(ex);
+        } finally {
+            // Put 'Unacked' messages back to 'Ready' state so the channel can be returned to the pool
+            // If that fails the channel is physically closed instead, which has the same effect on the broker
+            if (!releaseUnackedMessages(channel)) {
+                RabbitUtils.setPhysicalCloseRequired(channel, true);
+            }
+            RabbitUtils.closeChannel(channel);
+        }
+    }
+
+    /**
+     * Requeues every message that has been delivered on the channel but not ack'd
+     *
+     * @param channel Channel the messages were read from
+     * @return true if the messages were released and the channel can be reused
+     */
+    private static boolean releaseUnackedMessages(final Channel channel) {
+        if (!channel.isOpen()) {
+            return false;
+        }
+
+        try {
+            channel.basicNack(ALL_OUTSTANDING_DELIVERIES, true, true);
+            return true;
+        } catch (final IOException | RuntimeException ex) {
+            LOG.warn("Unable to release unacked messages, closing channel instead.", ex);
+            return false;
+        }
+    }
+
+    private boolean isPooled() {
+        return connectionProperties.getMode() == ConnectionMode.POOLED;
+    }
+
     /**
      * Destroys the ConnectionFactory associated with the BinderName along with removing the cached AmqpAdmin and RabbitTemplate from cache
      *
      * @param binderName Name of the RabbitMq Exchange
      */
     public void destroyConnectionsByName(final String binderName) {
+        if (isPooled()) {
+            // pooled connections are shared across threads and live until the application shuts down
+            return;
+        }
+
         //flush cached amqpAdmin and rabbitTemplate instances
         if (amqpAdminLookup.get() != null) {
             amqpAdminLookup.get().remove(binderName);
         }
 
-        if (rabbitTemplateLookup.get() != null) {
+        if (rabbitTemplateLookup.get() != null && rabbitTemplateLookup.get().containsKey(binderName)) {
             ((CachingConnectionFactory) rabbitTemplateLookup.get().get(binderName).getConnectionFactory()).destroy();
             rabbitTemplateLookup.get().remove(binderName);
         }
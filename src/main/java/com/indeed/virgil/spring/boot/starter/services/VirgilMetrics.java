@@ -0,0 +1,158 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionListener;
+import org.springframework.lang.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * Records how long Virgil operations take and how much work they do against the broker.
+ * <p>
+ * Every meter is tagged with the queueId and the read binder of the queue, and is published through the actuator metrics endpoint of the
+ * registry the application provides. When there is no registry the meters are not recorded anywhere.
+ */
+public class VirgilMetrics {
+
+    public static final String OPERATIONS_TIMER = "virgil.operations";
+    public static final String BASIC_GETS_COUNTER = "virgil.broker.basic.gets";
+    public static final String MESSAGES_SCANNED_COUNTER = "virgil.messages.scanned";
+    public static final String MESSAGES_MATCHED_COUNTER = "virgil.messages.matched";
+    public static final String BYTES_READ_COUNTER = "virgil.bytes.read";
+    public static final String CONNECTIONS_CREATED_COUNTER = "virgil.connections.created";
+    public static final String CONNECTIONS_DESTROYED_COUNTER = "virgil.connections.destroyed";
+
+    public static final String QUEUE_ID_TAG = "queueId";
+    public static final String BINDER_TAG = "binder";
+    public static final String OPERATION_TAG = "operation";
+    public static final String EXCEPTION_TAG = "exception";
+
+    private static final String UNKNOWN = "unknown";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public VirgilMetrics(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns metrics that are not recorded anywhere
+     *
+     * @return VirgilMetrics
+     */
+    public static VirgilMetrics disabled() {
+        return new VirgilMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * Runs the operation and records how long it took, tagged with the name of the exception it threw if any
+     *
+     * @param operation name of the operation
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param binderName read binder of the queue, null if the queue is unknown
+     * @param supplier the operation
+     * @param <T> Return type of the operation
+     * @return Value returned by the operation
+     */
+    public <T> T time(final String operation, final String queueId, @Nullable final String binderName, final Supplier<T> supplier) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NO_EXCEPTION;
+        try {
+            return supplier.get();
+        } catch (final RuntimeException ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(OPERATIONS_TIMER)
+                .description("Time taken by Virgil operations")
+                .tags(queueTags(queueId, binderName))
+                .tag(OPERATION_TAG, operation)
+                .tag(EXCEPTION_TAG, exception)
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Records the work done by a read of the queue
+     *
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param binderName read binder of the queue
+     * @param basicGets number of basicGet calls made
+     * @param messagesScanned number of messages read
+     * @param bytesRead number of body bytes read
+     */
+    public void recordRead(
+        final String queueId,
+        @Nullable final String binderName,
+        final int basicGets,
+        final int messagesScanned,
+        final long bytesRead
+    ) {
+        final Tags tags = queueTags(queueId, binderName);
+
+        increment(Counter.builder(BASIC_GETS_COUNTER).description("Number of basicGet calls made to the broker"), tags, basicGets);
+        increment(Counter.builder(MESSAGES_SCANNED_COUNTER).description("Number of messages read from queues"), tags, messagesScanned);
+        increment(Counter.builder(BYTES_READ_COUNTER).description("Number of message body bytes read from queues").baseUnit("bytes"), tags, bytesRead);
+    }
+
+    /**
+     * Records the number of messages an operation acted on
+     *
+     * @param operation name of the operation
+     * @param queueId Queue Property Key, this is not the actual name of the queue
+     * @param binderName read binder of the queue
+     * @param messagesMatched number of messages that were dropped or republished
+     */
+    public void recordMatched(final String operation, final String queueId, @Nullable final String binderName, final int messagesMatched) {
+        increment(Counter.builder(MESSAGES_MATCHED_COUNTER).description("Number of messages dropped or republished by id or filter"),
+            queueTags(queueId, binderName).and(OPERATION_TAG, operation), messagesMatched);
+    }
+
+    /**
+     * Returns a listener that counts the connections opened and closed by a connection factory of the binder
+     *
+     * @param binderName Name of the binder the connection factory connects to
+     * @return ConnectionListener
+     */
+    public ConnectionListener connectionListener(final String binderName) {
+        final Tags tags = Tags.of(BINDER_TAG, binderName);
+        final Counter created = Counter.builder(CONNECTIONS_CREATED_COUNTER)
+            .description("Number of connections opened to the broker")
+            .tags(tags)
+            .register(meterRegistry);
+        final Counter destroyed = Counter.builder(CONNECTIONS_DESTROYED_COUNTER)
+            .description("Number of connections to the broker that have been closed")
+            .tags(tags)
+            .register(meterRegistry);
+
+        return new ConnectionListener() {
+            @Override
+            public void onCreate(final Connection connection) {
+                created.increment();
+            }
+
+            @Override
+            public void onClose(final Connection connection) {
+                destroyed.increment();
+            }
+        };
+    }
+
+    private void increment(final Counter.Builder builder, final Tags tags, final double amount) {
+        // registering the counter even when nothing happened makes it show up in the metrics endpoint right away
+        final Counter counter = builder.tags(tags).register(meterRegistry);
+        if (amount > 0) {
+            counter.increment(amount);
+        }
+    }
+
+    private static Tags queueTags(final String queueId, @Nullable final String binderName) {
+        return Tags.of(QUEUE_ID_TAG, queueId, BINDER_TAG, binderName != null ? binderName : UNKNOWN);
+    }
+}
@@ -0,0 +1,267 @@
+package com.indeed.virgil.spring.boot.starter.util;
+
+import com.rabbitmq.client.LongString;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feeds the identifying fields of {@link MessageProperties} into a digest as bytes, without building intermediate Strings.
+ * <p>
+ * Every field that is set is written as a one byte field tag followed by its value, so the encoding does not depend on the JVM default
+ * charset. Strings are written as their length followed by their UTF-8 bytes, and headers are written sorted by name, so the result does
+ * not depend on the order headers were received in either. The same fields as the legacy encoding are used, except for
+ * {@code redelivered} which the broker sets once a message has been requeued.
+ * <p>
+ * An encoder keeps a scratch buffer between calls and must only be used by one thread at a time.
+ */
+class CanonicalPropertyEncoder {
+
+    private static final int BUFFER_LENGTH = 512;
+
+    private static final byte HEADERS = 1;
+    private static final byte TIMESTAMP = 2;
+    private static final byte MESSAGE_ID = 3;
+    private static final byte USER_ID = 4;
+    private static final byte APP_ID = 5;
+    private static final byte CLUSTER_ID = 6;
+    private static final byte TYPE = 7;
+    private static final byte CORRELATION_ID = 8;
+    private static final byte REPLY_TO = 9;
+    private static final byte CONTENT_TYPE = 10;
+    private static final byte CONTENT_ENCODING = 11;
+    private static final byte CONTENT_LENGTH = 12;
+    private static final byte DELIVERY_MODE = 13;
+    private static final byte EXPIRATION = 14;
+    private static final byte PRIORITY = 15;
+    private static final byte RECEIVED_EXCHANGE = 16;
+    private static final byte RECEIVED_ROUTING_KEY = 17;
+    private static final byte RECEIVED_USER_ID = 18;
+
+    private static final byte NULL_VALUE = 'N';
+    private static final byte STRING_VALUE = 'S';
+    private static final byte BYTES_VALUE = 'B';
+    private static final byte BOOLEAN_VALUE = 'Z';
+    private static final byte INTEGRAL_VALUE = 'J';
+    private static final byte DATE_VALUE = 'D';
+    private static final byte LIST_VALUE = 'A';
+    private static final byte MAP_VALUE = 'M';
+    private static final byte OTHER_VALUE = 'O';
+
+    private final byte[] buffer = new byte[BUFFER_LENGTH];
+    private int position;
+
+    private String[] headerNames = new String[16];
+
+    private MessageDigest messageDigest;
+
+    /**
+     * Writes the properties into the digest, the digest is not finished
+     *
+     * @param md digest to update
+     * @param messageProperties properties of the message
+     */
+    void encode(final MessageDigest md, final MessageProperties messageProperties) {
+        messageDigest = md;
+        position = 0;
+        try {
+            if (messageProperties.getHeaders() != null) {
+                writeTag(HEADERS);
+                writeHeaders(messageProperties.getHeaders());
+            }
+
+            if (messageProperties.getTimestamp() != null) {
+                writeTag(TIMESTAMP);
+                writeLong(messageProperties.getTimestamp().getTime());
+            }
+
+            writeStringField(MESSAGE_ID, messageProperties.getMessageId());
+            writeStringField(USER_ID, messageProperties.getUserId());
+            writeStringField(APP_ID, messageProperties.getAppId());
+            writeStringField(CLUSTER_ID, messageProperties.getClusterId());
+            writeStringField(TYPE, messageProperties.getType());
+            writeStringField(CORRELATION_ID, messageProperties.getCorrelationId());
+            writeStringField(REPLY_TO, messageProperties.getReplyTo());
+            writeStringField(CONTENT_TYPE, messageProperties.getContentType());
+            writeStringField(CONTENT_ENCODING, messageProperties.getContentEncoding());
+
+            writeTag(CONTENT_LENGTH);
+            writeLong(messageProperties.getContentLength());
+
+            final MessageDeliveryMode deliveryMode = messageProperties.getDeliveryMode();
+            if (deliveryMode != null) {
+                writeTag(DELIVERY_MODE);
+                writeString(deliveryMode.name());
+            }
+
+            writeStringField(EXPIRATION, messageProperties.getExpiration());
+
+            if (messageProperties.getPriority() != null) {
+                writeTag(PRIORITY);
+                writeLong(messageProperties.getPriority());
+            }
+
+            writeStringField(RECEIVED_EXCHANGE, messageProperties.getReceivedExchange());
+            writeStringField(RECEIVED_ROUTING_KEY, messageProperties.getReceivedRoutingKey());
+            writeStringField(RECEIVED_USER_ID, messageProperties.getReceivedUserId());
+
+            flush();
+        } finally {
+            messageDigest = null;
+        }
+    }
+
+    private void writeHeaders(final Map<String, Object> headers) {
+        final int count = headers.size();
+        if (headerNames.length < count) {
+            headerNames = new String[Math.max(count, headerNames.length * 2)];
+        }
+
+        int index = 0;
+        for (final String name : headers.keySet()) {
+            headerNames[index++] = name;
+        }
+        Arrays.sort(headerNames, 0, count);
+
+        writeInt(count);
+        for (int i = 0; i < count; i++) {
+            final String name = headerNames[i];
+            headerNames[i] = null;
+
+            writeString(name);
+            writeValue(headers.get(name));
+        }
+    }
+
+    private void writeValue(final Object value) {
+        if (value == null) {
+            writeTag(NULL_VALUE);
+        } else if (value instanceof String) {
+            writeTag(STRING_VALUE);
+            writeString((String) value);
+        } else if (value instanceof LongString) {
+            // LongString exposes its backing array, it is not copied
+            writeTag(BYTES_VALUE);
+            writeBytes(((LongString) value).getBytes());
+        } else if (value instanceof byte[]) {
+            writeTag(BYTES_VALUE);
+            writeBytes((byte[]) value);
+        } else if (value instanceof Boolean) {
+            writeTag(BOOLEAN_VALUE);
+            writeByte((Boolean) value ? (byte) 1 : (byte) 0);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeTag(INTEGRAL_VALUE);
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Date) {
+            writeTag(DATE_VALUE);
+            writeLong(((Date) value).getTime());
+        } else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            writeTag(LIST_VALUE);
+            writeInt(list.size());
+            for (final Object element : list) {
+                writeValue(element);
+            }
+        } else if (value instanceof Map) {
+            writeTag(MAP_VALUE);
+            writeNestedMap((Map<?, ?>) value);
+        } else {
+            // rare header types such as decimals, their String form is stable
+            writeTag(OTHER_VALUE);
+            writeString(String.valueOf(value));
+        }
+    }
+
+    private void writeNestedMap(final Map<?, ?> map) {
+        // nested tables are rare, so they are sorted on a copy rather than through the scratch array
+        final List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(Comparator.comparing(entry -> String.valueOf(entry.getKey())));
+
+        writeInt(entries.size());
+        for (final Map.Entry<?, ?> entry : entries) {
+            writeString(String.valueOf(entry.getKey()));
+            writeValue(entry.getValue());
+        }
+    }
+
+    private void writeStringField(final byte tag, final String value) {
+        if (value != null) {
+            writeTag(tag);
+            writeString(value);
+        }
+    }
+
+    private void writeTag(final byte tag) {
+        writeByte(tag);
+    }
+
+    /**
+     * Writes the number of chars followed by the UTF-8 encoding of the String
+     */
+    private void writeString(final String value) {
+        final int length = value.length();
+        writeInt(length);
+
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                writeByte((byte) c);
+            } else if (c < 0x800) {
+                writeByte((byte) (0xc0 | (c >> 6)));
+                writeByte((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                writeByte((byte) (0xf0 | (codePoint >> 18)));
+                writeByte((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+                writeByte((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                writeByte((byte) (0x80 | (codePoint & 0x3f)));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate, encoded as '?' like String.getBytes does
+                writeByte((byte) '?');
+            } else {
+                writeByte((byte) (0xe0 | (c >> 12)));
+                writeByte((byte) (0x80 | ((c >> 6) & 0x3f)));
+                writeByte((byte) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+
+    private void writeBytes(final byte[] value) {
+        writeInt(value.length);
+        flush();
+        messageDigest.update(value);
+    }
+
+    private void writeInt(final int value) {
+        writeByte((byte) (value >>> 24));
+        writeByte((byte) (value >>> 16));
+        writeByte((byte) (value >>> 8));
+        writeByte((byte) value);
+    }
+
+    private void writeLong(final long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void writeByte(final byte value) {
+        if (position == buffer.length) {
+            flush();
+        }
+        buffer[position++] = value;
+    }
+
+    private void flush() {
+        if (position > 0) {
+            messageDigest.update(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
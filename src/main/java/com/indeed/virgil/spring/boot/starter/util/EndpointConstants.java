@@ -4,16 +4,38 @@ public class EndpointConstants {
 
     public static final String PUBLISH_MESSAGE_ENDPOINT_ID = "publish-message";
 
+    public static final String PUBLISH_MESSAGES_ENDPOINT_ID = "publish-messages";
+
+    public static final String PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID = "publish-matching-messages";
+
     public static final String GET_QUEUE_SIZE_ENDPOINT_ID = "get-queue-size";
 
     public static final String GET_DLQ_MESSAGES_ENDPOINT_ID = "get-dlq-messages";
 
+    public static final String GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID = "get-dlq-messages-page";
+
+    public static final String STREAM_DLQ_MESSAGES_ENDPOINT_ID = "stream-dlq-messages";
+
+    public static final String STREAM_QUEUE_SIZES_ENDPOINT_ID = "stream-queue-sizes";
+
     public static final String GET_QUEUES_ENDPOINT_ID = "get-queues";
 
+    public static final String GET_QUEUES_OVERVIEW_ENDPOINT_ID = "get-queues-overview";
+
     public static final String DROP_MESSAGE_ENDPOINT_ID = "drop-message";
 
+    public static final String DROP_MESSAGES_ENDPOINT_ID = "drop-messages";
+
+    public static final String DROP_MATCHING_MESSAGES_ENDPOINT_ID = "drop-matching-messages";
+
     public static final String DROP_ALL_MESSAGES_ENDPOINT_ID = "drop-all-messages";
 
+    public static final String SUBMIT_JOB_ENDPOINT_ID = "submit-job";
+
+    public static final String GET_JOB_STATUS_ENDPOINT_ID = "get-job-status";
+
+    public static final String CANCEL_JOB_ENDPOINT_ID = "cancel-job";
+
     public static final String VIRGIL_PATH_PREFIX = "virgil/";
 
     public static final String ENDPOINT_DEFAULT_PATH_MAPPING = "private/" + VIRGIL_PATH_PREFIX;
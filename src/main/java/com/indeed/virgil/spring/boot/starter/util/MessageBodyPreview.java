@@ -0,0 +1,124 @@
+package com.indeed.virgil.spring.boot.starter.util;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Builds the preview of a message body that is shown in the UI.
+ * <p>
+ * Only the first {@code maxBytes} of the body are looked at, through a view of the body that is never copied. Text is decoded with the
+ * charset of the content encoding, UTF-8 when it is missing or not a charset, and is cut after the last complete character so a
+ * multibyte character is never split. Bodies that are not valid text, or that contain control characters, are shown as the number of
+ * bytes followed by a hex dump of their first bytes.
+ */
+public class MessageBodyPreview {
+
+    private static final String BINARY_PREFIX = "binary";
+
+    private static final int BINARY_PREVIEW_BYTES = 32;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private MessageBodyPreview() {
+    }
+
+    /**
+     * Returns the preview of the remaining bytes of the buffer, the buffer itself is not modified
+     *
+     * @param body body of the message
+     * @param contentEncoding content encoding of the message
+     * @param maxBytes maximum number of bytes that are decoded
+     * @return preview of the body
+     */
+    public static String preview(final ByteBuffer body, @Nullable final String contentEncoding, final int maxBytes) {
+        final int length = body.remaining();
+        final ByteBuffer window = body.duplicate();
+        window.limit(window.position() + Math.min(length, maxBytes));
+
+        final String text = decode(window, getCharset(contentEncoding), length <= maxBytes);
+        if (text != null) {
+            return text;
+        }
+
+        window.position(body.position());
+        return binaryPreview(window, length);
+    }
+
+    /**
+     * Returns the decoded text, or null if the bytes are not text
+     */
+    @Nullable
+    private static String decode(final ByteBuffer window, final Charset charset, final boolean endOfInput) {
+        final CharsetDecoder decoder = charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+        final CharBuffer chars = CharBuffer.allocate((int) Math.ceil(window.remaining() * (double) decoder.maxCharsPerByte()));
+
+        // without the end of input a trailing partial character is left undecoded, which cuts the text on a character boundary
+        CoderResult result = decoder.decode(window, chars, endOfInput);
+        if (!result.isError() && endOfInput) {
+            result = decoder.flush(chars);
+        }
+        if (result.isError()) {
+            return null;
+        }
+        chars.flip();
+
+        int controlCount = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            final char c = chars.get(i);
+            if (c == 0) {
+                return null;
+            }
+            if (Character.isISOControl(c) && c != '\t' && c != '\n' && c != '\r') {
+                controlCount++;
+            }
+        }
+        // a few stray control characters still read as text, more than one in ten does not
+        if (controlCount * 10 > chars.length()) {
+            return null;
+        }
+
+        return chars.toString();
+    }
+
+    private static String binaryPreview(final ByteBuffer window, final int length) {
+        final int previewLength = Math.min(window.remaining(), BINARY_PREVIEW_BYTES);
+        final StringBuilder sb = new StringBuilder(BINARY_PREFIX.length() + 24 + previewLength * 2)
+            .append(BINARY_PREFIX)
+            .append(" (")
+            .append(length)
+            .append(" bytes)");
+
+        if (previewLength > 0) {
+            sb.append(": ");
+            for (int i = 0; i < previewLength; i++) {
+                final int b = window.get(window.position() + i) & 0xff;
+                sb.append(HEX_DIGITS[b >>> 4]).append(HEX_DIGITS[b & 0x0f]);
+            }
+            if (previewLength < length) {
+                sb.append("...");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Charset getCharset(@Nullable final String contentEncoding) {
+        if (contentEncoding == null || contentEncoding.isEmpty()) {
+            return UTF_8;
+        }
+        try {
+            return Charset.isSupported(contentEncoding) ? Charset.forName(contentEncoding) : UTF_8;
+        } catch (final IllegalCharsetNameException ex) {
+            return UTF_8;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.indeed.virgil.spring.boot.starter.util;
+
+import java.security.MessageDigest;
+
+/**
+ * Streaming 128 bit x64 MurmurHash3 with a seed of 0, exposed as a {@link MessageDigest} so it can be used in place of MD5.
+ * <p>
+ * The digest is h1 followed by h2, both little endian, which matches Guava's {@code Hashing.murmur3_128()}. Input is processed in 16
+ * byte blocks as it is passed in, so hashing a body never copies it. Like every {@link MessageDigest} this class is not thread safe.
+ */
+public class Murmur3MessageDigest extends MessageDigest {
+
+    public static final String ALGORITHM = "MURMUR3_128";
+
+    private static final int BLOCK_LENGTH = 16;
+    private static final int DIGEST_LENGTH = 16;
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final byte[] buffer = new byte[BLOCK_LENGTH];
+    private int bufferLength;
+    private long totalLength;
+
+    private long h1;
+    private long h2;
+
+    public Murmur3MessageDigest() {
+        super(ALGORITHM);
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+        return DIGEST_LENGTH;
+    }
+
+    @Override
+    protected void engineUpdate(final byte input) {
+        buffer[bufferLength++] = input;
+        totalLength++;
+
+        if (bufferLength == BLOCK_LENGTH) {
+            processBlock(buffer, 0);
+            bufferLength = 0;
+        }
+    }
+
+    @Override
+    protected void engineUpdate(final byte[] input, final int offset, final int length) {
+        int position = offset;
+        int remaining = length;
+        totalLength += length;
+
+        // complete the block left over by the previous update first
+        if (bufferLength > 0) {
+            final int copied = Math.min(BLOCK_LENGTH - bufferLength, remaining);
+            System.arraycopy(input, position, buffer, bufferLength, copied);
+            bufferLength += copied;
+            position += copied;
+            remaining -= copied;
+
+            if (bufferLength < BLOCK_LENGTH) {
+                return;
+            }
+            processBlock(buffer, 0);
+            bufferLength = 0;
+        }
+
+        while (remaining >= BLOCK_LENGTH) {
+            processBlock(input, position);
+            position += BLOCK_LENGTH;
+            remaining -= BLOCK_LENGTH;
+        }
+
+        System.arraycopy(input, position, buffer, 0, remaining);
+        bufferLength = remaining;
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+        processTail();
+
+        h1 ^= totalLength;
+        h2 ^= totalLength;
+
+        h1 += h2;
+        h2 += h1;
+
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+
+        h1 += h2;
+        h2 += h1;
+
+        final byte[] digest = new byte[DIGEST_LENGTH];
+        putLongLittleEndian(digest, 0, h1);
+        putLongLittleEndian(digest, 8, h2);
+
+        engineReset();
+        return digest;
+    }
+
+    @Override
+    protected void engineReset() {
+        bufferLength = 0;
+        totalLength = 0;
+        h1 = 0;
+        h2 = 0;
+    }
+
+    private void processBlock(final byte[] block, final int offset) {
+        final long k1 = getLongLittleEndian(block, offset);
+        final long k2 = getLongLittleEndian(block, offset + 8);
+
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    private void processTail() {
+        long k1 = 0;
+        long k2 = 0;
+
+        // intentional fall through, every byte of the tail is mixed in
+        switch (bufferLength) {
+            case 15:
+                k2 ^= (long) (buffer[14] & 0xff) << 48;
+            case 14:
+                k2 ^= (long) (buffer[13] & 0xff) << 40;
+            case 13:
+                k2 ^= (long) (buffer[12] & 0xff) << 32;
+            case 12:
+                k2 ^= (long) (buffer[11] & 0xff) << 24;
+            case 11:
+                k2 ^= (long) (buffer[10] & 0xff) << 16;
+            case 10:
+                k2 ^= (long) (buffer[9] & 0xff) << 8;
+            case 9:
+                k2 ^= (long) (buffer[8] & 0xff);
+                h2 ^= mixK2(k2);
+            case 8:
+                k1 ^= (long) (buffer[7] & 0xff) << 56;
+            case 7:
+                k1 ^= (long) (buffer[6] & 0xff) << 48;
+            case 6:
+                k1 ^= (long) (buffer[5] & 0xff) << 40;
+            case 5:
+                k1 ^= (long) (buffer[4] & 0xff) << 32;
+            case 4:
+                k1 ^= (long) (buffer[3] & 0xff) << 24;
+            case 3:
+                k1 ^= (long) (buffer[2] & 0xff) << 16;
+            case 2:
+                k1 ^= (long) (buffer[1] & 0xff) << 8;
+            case 1:
+                k1 ^= (long) (buffer[0] & 0xff);
+                h1 ^= mixK1(k1);
+            default:
+                break;
+        }
+    }
+
+    private static long mixK1(final long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(final long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix64(final long value) {
+        long k = value;
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static long getLongLittleEndian(final byte[] bytes, final int offset) {
+        return (bytes[offset] & 0xffL)
+            | (bytes[offset + 1] & 0xffL) << 8
+            | (bytes[offset + 2] & 0xffL) << 16
+            | (bytes[offset + 3] & 0xffL) << 24
+            | (bytes[offset + 4] & 0xffL) << 32
+            | (bytes[offset + 5] & 0xffL) << 40
+            | (bytes[offset + 6] & 0xffL) << 48
+            | (bytes[offset + 7] & 0xffL) << 56;
+    }
+
+    private static void putLongLittleEndian(final byte[] bytes, final int offset, final long value) {
+        for (int i = 0; i < 8; i++) {
+            bytes[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}
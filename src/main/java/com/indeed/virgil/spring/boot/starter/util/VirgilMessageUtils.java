@@ -1,5 +1,7 @@
 package com.indeed.virgil.spring.boot.starter.util;
 
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.FingerprintAlgorithm;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.PropertiesEncoding;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Message;
@@ -18,21 +20,41 @@ public class VirgilMessageUtils {
     private static final Logger LOG = LoggerFactory.getLogger(VirgilMessageUtils.class);
 
     private static final String MESSAGE_PROP_SPLITTER = "|";
-    private static final String MESSAGE_DIGEST_ALGORITHM = "MD5";
+    private static final String MD5_ALGORITHM = "MD5";
     private static final char[] HEX_CHARS =
         {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
 
+    // every thread owns its digest, so fingerprints are generated in parallel without any lock
     private final ThreadLocal<MessageDigest> messageDigestThreadLocal;
+    private final ThreadLocal<CanonicalPropertyEncoder> propertyEncoderThreadLocal;
+    private final PropertiesEncoding propertiesEncoding;
 
     public VirgilMessageUtils() {
-        messageDigestThreadLocal = new ThreadLocal<>();
+        this(FingerprintAlgorithm.MD5);
+    }
+
+    /**
+     * @param fingerprintAlgorithm hash used for fingerprints, every algorithm produces a 128 bit digest
+     */
+    public VirgilMessageUtils(final FingerprintAlgorithm fingerprintAlgorithm) {
+        this(fingerprintAlgorithm, PropertiesEncoding.LEGACY);
+    }
+
+    /**
+     * @param fingerprintAlgorithm hash used for fingerprints, every algorithm produces a 128 bit digest
+     * @param propertiesEncoding how message properties are fed into the hash
+     */
+    public VirgilMessageUtils(final FingerprintAlgorithm fingerprintAlgorithm, final PropertiesEncoding propertiesEncoding) {
+        this.messageDigestThreadLocal = ThreadLocal.withInitial(() -> createMessageDigest(fingerprintAlgorithm));
+        this.propertyEncoderThreadLocal = ThreadLocal.withInitial(CanonicalPropertyEncoder::new);
+        this.propertiesEncoding = propertiesEncoding;
     }
 
     public String generateFingerprint(@Nullable final Message msg) {
         return internalGenerateFingerprint(msg);
     }
 
-    private synchronized String internalGenerateFingerprint(@Nullable final Message msg) {
+    private String internalGenerateFingerprint(@Nullable final Message msg) {
 
         final MessageDigest md = getMessageDigest();
         if (msg == null) {
@@ -45,29 +67,35 @@ public class VirgilMessageUtils {
         }
 
         if (msg.getMessageProperties() != null) {
-            final byte[] messagePropertyBytes = getMessagePropertyBytes(msg.getMessageProperties());
-            md.update(messagePropertyBytes);
+            if (propertiesEncoding == PropertiesEncoding.CANONICAL) {
+                propertyEncoderThreadLocal.get().encode(md, msg.getMessageProperties());
+            } else {
+                final byte[] messagePropertyBytes = getMessagePropertyBytes(msg.getMessageProperties());
+                md.update(messagePropertyBytes);
+            }
         }
 
         return String.valueOf(encodeHex(md.digest()));
     }
 
     private MessageDigest getMessageDigest() {
-        MessageDigest md = messageDigestThreadLocal.get();
-        if (md != null) {
-            return md;
+        final MessageDigest md = messageDigestThreadLocal.get();
+        // digest() resets the digest, this only matters if a previous fingerprint failed half way through
+        md.reset();
+        return md;
+    }
+
+    private static MessageDigest createMessageDigest(final FingerprintAlgorithm fingerprintAlgorithm) {
+        if (fingerprintAlgorithm == FingerprintAlgorithm.MURMUR3_128) {
+            return new Murmur3MessageDigest();
         }
 
         try {
-            md = MessageDigest.getInstance(MESSAGE_DIGEST_ALGORITHM);
+            return MessageDigest.getInstance(MD5_ALGORITHM);
         } catch (final NoSuchAlgorithmException ex) {
-            LOG.error("Unable to find algorithm. [Algorithm: {}]", MESSAGE_DIGEST_ALGORITHM);
+            LOG.error("Unable to find algorithm. [Algorithm: {}]", MD5_ALGORITHM);
             throw new RuntimeException(ex);
         }
-
-        messageDigestThreadLocal.set(md);
-
-        return md;
     }
 
     /**
@@ -87,7 +115,8 @@ public class VirgilMessageUtils {
     }
 
     /**
-     * Converts messageProperties into a byte[] by appending it into a string and converting it to byte[]
+     * Converts messageProperties into a byte[] by appending it into a string and converting it to byte[], this is the
+     * {@link PropertiesEncoding#LEGACY} encoding, see {@link CanonicalPropertyEncoder} for the canonical one
      *
      * There are fields that are not included as part of the byte[] since they change based on other messages
      * Ignored Fields that are dependent on other messages:
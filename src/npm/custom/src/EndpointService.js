@@ -74,3 +74,23 @@ export const getQueueSize = async (instance, queueId) => {
 
   return axiosResponse.data;
 };
+
+/**
+ * Subscribes to the queue sizes pushed by the stream-queue-sizes endpoint
+ *
+ * @param {{endpoints: Array}} instance
+ * @param {function(Object<string, ?number>)} onQueueSizes called with the size of every queue that changed, keyed by queueId
+ * @param {function(string): EventSource} [createEventSource] creates the EventSource for a url, defaults to the browser EventSource
+ * @returns {EventSource|null} call close() on it to unsubscribe, null if the endpoint is not available
+ */
+export const subscribeQueueSizes = (instance, onQueueSizes, createEventSource = url => new EventSource(url)) => {
+  const streamUrl = getEndpointUrl(instance, 'stream-queue-sizes');
+  if(!streamUrl) {
+    return null;
+  }
+
+  const eventSource = createEventSource(streamUrl);
+  eventSource.addEventListener('queue-sizes', event => onQueueSizes(JSON.parse(event.data)));
+
+  return eventSource;
+};
@@ -1,4 +1,4 @@
-import { getQueueSize } from '../../src/EndpointService';
+import { getQueueSize, subscribeQueueSizes } from '../../src/EndpointService';
 
 describe('EndpointService', () => {
   describe('getQueueSize', () => {
@@ -26,4 +26,50 @@ describe('EndpointService', () => {
       expect(instance.axios.get).toBeCalledWith(`https://something/get-queue-size/${queueId}`, { params: {} })
     });
   });
+
+  describe('subscribeQueueSizes', () => {
+    const instance = {};
+    let eventSource;
+    beforeEach(() => {
+      eventSource = {
+        addEventListener: jest.fn()
+      };
+
+      instance.endpoints = [
+        {
+          id: 'stream-queue-sizes', url: 'https://something/stream-queue-sizes'
+        }
+      ];
+    });
+
+    it('should pass queue sizes of queue-sizes events to callback', () => {
+      //Arrange
+      const createEventSource = jest.fn().mockReturnValue(eventSource);
+      const onQueueSizes = jest.fn();
+
+      //Act
+      const result = subscribeQueueSizes(instance, onQueueSizes, createEventSource);
+      const listener = eventSource.addEventListener.mock.calls[0][1];
+      listener({data: '{"queueId123123":3}'});
+
+      //Assert
+      expect(result).toBe(eventSource);
+      expect(createEventSource).toBeCalledWith('https://something/stream-queue-sizes');
+      expect(eventSource.addEventListener.mock.calls[0][0]).toBe('queue-sizes');
+      expect(onQueueSizes).toBeCalledWith({queueId123123: 3});
+    });
+
+    it('should return null when endpoint is not available', () => {
+      //Arrange
+      instance.endpoints = [];
+      const createEventSource = jest.fn();
+
+      //Act
+      const result = subscribeQueueSizes(instance, jest.fn(), createEventSource);
+
+      //Assert
+      expect(result).toBeNull();
+      expect(createEventSource).not.toBeCalled();
+    });
+  });
 });
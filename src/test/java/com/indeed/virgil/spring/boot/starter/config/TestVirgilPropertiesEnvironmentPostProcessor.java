@@ -37,7 +37,7 @@ public class TestVirgilPropertiesEnvironmentPostProcessor {
         final String[][] result = (String[][]) ReflectionTestUtils.getField(instance, "DEFAULT_ENDPOINTS");
 
         //Assert
-        assertThat(result).hasSize(6);
+        assertThat(result).hasSize(12);
     }
 
     @Test
@@ -50,6 +50,66 @@ public class TestVirgilPropertiesEnvironmentPostProcessor {
         assertEndpointProperties(results, EndpointConstants.PUBLISH_MESSAGE_ENDPOINT_ID, EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.PUBLISH_MESSAGE_ENDPOINT_ID);
     }
 
+    @Test
+    void shouldLoadPublishMessagesEndpoint() {
+
+        //Act
+        final String[][] results = (String[][]) ReflectionTestUtils.getField(instance, "DEFAULT_ENDPOINTS");
+
+        //Assert
+        assertEndpointProperties(results, EndpointConstants.PUBLISH_MESSAGES_ENDPOINT_ID, EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.PUBLISH_MESSAGES_ENDPOINT_ID);
+    }
+
+    @Test
+    void shouldLoadDropMessagesEndpoint() {
+
+        //Act
+        final String[][] results = (String[][]) ReflectionTestUtils.getField(instance, "DEFAULT_ENDPOINTS");
+
+        //Assert
+        assertEndpointProperties(results, EndpointConstants.DROP_MESSAGES_ENDPOINT_ID, EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.DROP_MESSAGES_ENDPOINT_ID);
+    }
+
+    @Test
+    void shouldLoadPublishMatchingMessagesEndpoint() {
+
+        //Act
+        final String[][] results = (String[][]) ReflectionTestUtils.getField(instance, "DEFAULT_ENDPOINTS");
+
+        //Assert
+        assertEndpointProperties(results, EndpointConstants.PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID, EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID);
+    }
+
+    @Test
+    void shouldLoadDropMatchingMessagesEndpoint() {
+
+        //Act
+        final String[][] results = (String[][]) ReflectionTestUtils.getField(instance, "DEFAULT_ENDPOINTS");
+
+        //Assert
+        assertEndpointProperties(results, EndpointConstants.DROP_MATCHING_MESSAGES_ENDPOINT_ID, EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.DROP_MATCHING_MESSAGES_ENDPOINT_ID);
+    }
+
+    @Test
+    void shouldLoadGetDlqMessagesPageEndpoint() {
+
+        //Act
+        final String[][] results = (String[][]) ReflectionTestUtils.getField(instance, "DEFAULT_ENDPOINTS");
+
+        //Assert
+        assertEndpointProperties(results, EndpointConstants.GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID, EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID);
+    }
+
+    @Test
+    void shouldLoadStreamDlqMessagesEndpoint() {
+
+        //Act
+        final String[][] results = (String[][]) ReflectionTestUtils.getField(instance, "DEFAULT_ENDPOINTS");
+
+        //Assert
+        assertEndpointProperties(results, EndpointConstants.STREAM_DLQ_MESSAGES_ENDPOINT_ID, EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.STREAM_DLQ_MESSAGES_ENDPOINT_ID);
+    }
+
     @Test
     void shouldLoadDropAllMessagesEndpoint() {
 
@@ -189,11 +249,22 @@ public class TestVirgilPropertiesEnvironmentPostProcessor {
         when(mockConfigurableEnvironment.getPropertySources()).thenReturn(mockPropertySources);
 
         final List<String> expectedItems = Arrays.asList(
+            "publish-matching-messages",
+            "publish-message",
+            "get-queues-overview",
+            "stream-dlq-messages",
+            "cancel-job",
+            "submit-job",
+            "drop-message",
+            "get-dlq-messages-page",
+            "stream-queue-sizes",
             "drop-all-messages",
             "get-dlq-messages",
-            "publish-message",
+            "get-job-status",
             "get-queues",
-            "drop-message",
+            "publish-messages",
+            "drop-matching-messages",
+            "drop-messages",
             "get-queue-size"
         );
 
@@ -222,12 +293,23 @@ public class TestVirgilPropertiesEnvironmentPostProcessor {
         when(mockConfigurableEnvironment.getPropertySources()).thenReturn(mockPropertySources);
 
         final List<String> expectedItems = Arrays.asList(
-            "drop-message:virgil/drop-message",
             "get-queue-size:virgil/get-queue-size",
-            "publish-message:virgil/publish-message",
+            "submit-job:virgil/submit-job",
+            "drop-messages:virgil/drop-messages",
+            "get-job-status:virgil/get-job-status",
+            "drop-matching-messages:virgil/drop-matching-messages",
             "drop-all-messages:virgil/drop-all-messages",
+            "stream-queue-sizes:virgil/stream-queue-sizes",
+            "drop-message:virgil/drop-message",
+            "cancel-job:virgil/cancel-job",
+            "publish-messages:virgil/publish-messages",
+            "publish-message:virgil/publish-message",
+            "stream-dlq-messages:virgil/stream-dlq-messages",
             "get-dlq-messages:virgil/get-dlq-messages",
-            "get-queues:virgil/get-queues"
+            "get-dlq-messages-page:virgil/get-dlq-messages-page",
+            "publish-matching-messages:virgil/publish-matching-messages",
+            "get-queues:virgil/get-queues",
+            "get-queues-overview:virgil/get-queues-overview"
         );
 
         //Act
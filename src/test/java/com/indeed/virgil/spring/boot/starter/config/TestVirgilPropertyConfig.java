@@ -1,6 +1,19 @@
 package com.indeed.virgil.spring.boot.starter.config;
 
 import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BinderProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BrowseMode;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BrowseProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ExecutionMode;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ExecutionProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.FingerprintAlgorithm;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BudgetProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.JobProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.OverviewProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.PropertiesEncoding;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.SnapshotProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ConnectionMode;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ConnectionProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueDepthProperties;
 import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueProperties;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Nested;
@@ -10,10 +23,12 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringJUnitConfig
 public class TestVirgilPropertyConfig {
@@ -202,6 +217,135 @@ public class TestVirgilPropertyConfig {
             //Assert
             assertThat(result).containsExactly("primary");
         }
+
+        @Test
+        void shouldDefaultToThreadLocalConnectionMode() {
+
+            //Act
+            final ConnectionProperties result = virgilPropertyConfig.getConnection();
+
+            //Assert
+            assertThat(result.getMode()).isEqualTo(ConnectionMode.THREAD_LOCAL);
+        }
+
+        @Test
+        void shouldDefaultToGetBrowseMode() {
+
+            //Act
+            final BrowseProperties result = virgilPropertyConfig.getBrowse();
+
+            //Assert
+            assertThat(result.getMode()).isEqualTo(BrowseMode.GET);
+        }
+
+        @Test
+        void shouldDefaultSnapshotProperties() {
+
+            //Act
+            final SnapshotProperties result = virgilPropertyConfig.getSnapshot();
+
+            //Assert
+            assertThat(result.getTtl()).isEqualTo(Duration.ofMinutes(5));
+            assertThat(result.getMaxMessages()).isEqualTo(10_000);
+            assertThat(result.getMaxSnapshots()).isEqualTo(20);
+        }
+
+        @Test
+        void shouldDefaultToMd5Fingerprint() {
+
+            //Act
+            final FingerprintAlgorithm result = virgilPropertyConfig.getFingerprint().getAlgorithm();
+
+            //Assert
+            assertThat(result).isEqualTo(FingerprintAlgorithm.MD5);
+        }
+
+        @Test
+        void shouldDefaultToLegacyPropertiesEncoding() {
+
+            //Act
+            final PropertiesEncoding result = virgilPropertyConfig.getFingerprint().getPropertiesEncoding();
+
+            //Assert
+            assertThat(result).isEqualTo(PropertiesEncoding.LEGACY);
+        }
+
+        @Test
+        void shouldDefaultQueueSizeCacheTtl() {
+
+            //Act
+            final Duration result = virgilPropertyConfig.getQueueSizeCacheTtl();
+
+            //Assert
+            assertThat(result).isEqualTo(Duration.ofSeconds(2));
+        }
+
+        @Test
+        void shouldDefaultMessageCacheTtl() {
+
+            //Act
+            final Duration result = virgilPropertyConfig.getMessageCacheTtl();
+
+            //Assert
+            assertThat(result).isEqualTo(Duration.ZERO);
+        }
+
+        @Test
+        void shouldDefaultQueueDepthProperties() {
+
+            //Act
+            final QueueDepthProperties result = virgilPropertyConfig.getQueueDepth();
+
+            //Assert
+            assertThat(result.getPollInterval()).isEqualTo(Duration.ofSeconds(5));
+            assertThat(result.getStreamTimeout()).isEqualTo(Duration.ofMinutes(30));
+        }
+
+        @Test
+        void shouldDefaultOverviewProperties() {
+
+            //Act
+            final OverviewProperties result = virgilPropertyConfig.getOverview();
+
+            //Assert
+            assertThat(result.getParallelism()).isEqualTo(4);
+            assertThat(result.getQueueTimeout()).isEqualTo(Duration.ofSeconds(5));
+        }
+
+        @Test
+        void shouldDefaultJobProperties() {
+
+            //Act
+            final JobProperties result = virgilPropertyConfig.getJobs();
+
+            //Assert
+            assertThat(result.getMaxRunning()).isEqualTo(2);
+            assertThat(result.getMaxQueued()).isEqualTo(10);
+            assertThat(result.getRetention()).isEqualTo(Duration.ofMinutes(10));
+        }
+
+        @Test
+        void shouldDefaultBudgetProperties() {
+
+            //Act
+            final BudgetProperties result = virgilPropertyConfig.getBudget();
+
+            //Assert
+            assertThat(result.getMaxDuration()).isEqualTo(Duration.ofMinutes(10));
+            assertThat(result.getMaxMessages()).isNull();
+        }
+
+        @Test
+        void shouldDefaultExecutionProperties() {
+
+            //Act
+            final ExecutionProperties result = virgilPropertyConfig.getExecution();
+
+            //Assert
+            assertThat(result.getMode()).isEqualTo(ExecutionMode.REQUEST_THREAD);
+            assertThat(result.getMaxThreads()).isEqualTo(4);
+            assertThat(result.getMaxQueued()).isEqualTo(100);
+        }
     }
 
     @Nested
@@ -580,5 +724,193 @@ public class TestVirgilPropertyConfig {
             //Assert
             assertThat(result).contains("primary", "secondary");
         }
+
+        @Test
+        void shouldResolveReadBinderProperties() {
+
+            //Act
+            final QueueProperties result = virgilPropertyConfig.getQueueProperties("secondary");
+
+            //Assert
+            assertThat(result.getReadBinderProperties().getName()).isEqualTo("virgil-test-exchange");
+        }
+
+        @Test
+        void shouldResolveRepublishBinderPropertiesFromRepublishBinderName() {
+
+            //Act
+            final QueueProperties result = virgilPropertyConfig.getQueueProperties("secondary");
+
+            //Assert
+            assertThat(result.getRepublishBinderProperties().getName()).isEqualTo("virgil-test-republish-exchange");
+            assertThat(result.getReadBinderProperties().getName()).isEqualTo("virgil-test-exchange");
+        }
+
+        @Test
+        void shouldReturnSameQueuePropertiesOnEveryLookup() {
+
+            //Act
+            final QueueProperties first = virgilPropertyConfig.getQueueProperties("primary");
+            final QueueProperties second = virgilPropertyConfig.getQueueProperties("primary");
+
+            //Assert
+            assertThat(second).isSameAs(first);
+            assertThat(virgilPropertyConfig.getQueues().get("primary")).isSameAs(first);
+        }
+
+        @Test
+        void shouldReturnNullForUnknownQueue() {
+
+            //Act
+            final QueueProperties result = virgilPropertyConfig.getQueueProperties("unknown");
+
+            //Assert
+            assertThat(result).isNull();
+        }
+
+        @Test
+        void shouldNotAllowQueuesOrBindersToBeModified() {
+
+            //Act
+            final Map<String, QueueProperties> queues = virgilPropertyConfig.getQueues();
+            final Map<String, BinderProperties> binders = virgilPropertyConfig.getBinders();
+
+            //Assert
+            assertThatThrownBy(() -> queues.remove("primary")).isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> binders.remove("rabbit123")).isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        void shouldLoadConnectionProperties() {
+
+            //Act
+            final ConnectionProperties result = virgilPropertyConfig.getConnection();
+
+            //Assert
+            assertThat(result.getMode()).isEqualTo(ConnectionMode.POOLED);
+            assertThat(result.getChannelPoolSize()).isEqualTo(4);
+            assertThat(result.getChannelCheckoutTimeout()).isEqualTo(Duration.ofSeconds(2));
+        }
+
+        @Test
+        void shouldLoadBrowseProperties() {
+
+            //Act
+            final BrowseProperties result = virgilPropertyConfig.getBrowse();
+
+            //Assert
+            assertThat(result.getMode()).isEqualTo(BrowseMode.CONSUME);
+            assertThat(result.getPrefetch()).isEqualTo(50);
+            assertThat(result.getIdleTimeout()).isEqualTo(Duration.ofMillis(500));
+        }
+
+        @Test
+        void shouldLoadSnapshotProperties() {
+
+            //Act
+            final SnapshotProperties result = virgilPropertyConfig.getSnapshot();
+
+            //Assert
+            assertThat(result.getTtl()).isEqualTo(Duration.ofMinutes(2));
+            assertThat(result.getMaxMessages()).isEqualTo(500);
+            assertThat(result.getMaxSnapshots()).isEqualTo(3);
+        }
+
+        @Test
+        void shouldLoadFingerprintAlgorithm() {
+
+            //Act
+            final FingerprintAlgorithm result = virgilPropertyConfig.getFingerprint().getAlgorithm();
+
+            //Assert
+            assertThat(result).isEqualTo(FingerprintAlgorithm.MURMUR3_128);
+        }
+
+        @Test
+        void shouldLoadPropertiesEncoding() {
+
+            //Act
+            final PropertiesEncoding result = virgilPropertyConfig.getFingerprint().getPropertiesEncoding();
+
+            //Assert
+            assertThat(result).isEqualTo(PropertiesEncoding.CANONICAL);
+        }
+
+        @Test
+        void shouldLoadQueueSizeCacheTtl() {
+
+            //Act
+            final Duration result = virgilPropertyConfig.getQueueSizeCacheTtl();
+
+            //Assert
+            assertThat(result).isEqualTo(Duration.ofSeconds(5));
+        }
+
+        @Test
+        void shouldLoadMessageCacheTtl() {
+
+            //Act
+            final Duration result = virgilPropertyConfig.getMessageCacheTtl();
+
+            //Assert
+            assertThat(result).isEqualTo(Duration.ofSeconds(3));
+        }
+
+        @Test
+        void shouldLoadQueueDepthProperties() {
+
+            //Act
+            final QueueDepthProperties result = virgilPropertyConfig.getQueueDepth();
+
+            //Assert
+            assertThat(result.getPollInterval()).isEqualTo(Duration.ofSeconds(1));
+            assertThat(result.getStreamTimeout()).isEqualTo(Duration.ofMinutes(10));
+        }
+
+        @Test
+        void shouldLoadOverviewProperties() {
+
+            //Act
+            final OverviewProperties result = virgilPropertyConfig.getOverview();
+
+            //Assert
+            assertThat(result.getParallelism()).isEqualTo(8);
+            assertThat(result.getQueueTimeout()).isEqualTo(Duration.ofMillis(1500));
+        }
+
+        @Test
+        void shouldLoadJobProperties() {
+
+            //Act
+            final JobProperties result = virgilPropertyConfig.getJobs();
+
+            //Assert
+            assertThat(result.getMaxRunning()).isEqualTo(3);
+            assertThat(result.getMaxQueued()).isEqualTo(0);
+            assertThat(result.getRetention()).isEqualTo(Duration.ofHours(1));
+        }
+
+        @Test
+        void shouldLoadBudgetProperties() {
+
+            //Act
+            final BudgetProperties result = virgilPropertyConfig.getBudget();
+
+            //Assert
+            assertThat(result.getMaxDuration()).isEqualTo(Duration.ofSeconds(30));
+            assertThat(result.getMaxMessages()).isEqualTo(1000);
+        }
+
+        @Test
+        void shouldLoadExecutionProperties() {
+
+            //Act
+            final ExecutionProperties result = virgilPropertyConfig.getExecution();
+
+            //Assert
+            assertThat(result.getMode()).isEqualTo(ExecutionMode.DEDICATED);
+            assertThat(result.getMaxThreads()).isEqualTo(8);
+            assertThat(result.getMaxQueued()).isEqualTo(50);
+        }
     }
 }
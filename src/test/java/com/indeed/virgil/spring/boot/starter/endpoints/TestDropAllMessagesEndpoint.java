@@ -1,6 +1,7 @@
 package com.indeed.virgil.spring.boot.starter.endpoints;
 
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
 import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
 
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,7 +27,7 @@ public class TestDropAllMessagesEndpoint {
 
     @BeforeEach
     void setup() {
-        dropAllMessagesEndpoint = new DropAllMessagesEndpoint(messageOperator);
+        dropAllMessagesEndpoint = new DropAllMessagesEndpoint(messageOperator, new OperationExecutor(Schedulers.immediate()));
     }
 
     @Test
@@ -47,7 +49,7 @@ public class TestDropAllMessagesEndpoint {
             final String queueName = "primaryQueue";
 
             //Act
-            dropAllMessagesEndpoint.index(queueName);
+            dropAllMessagesEndpoint.index(queueName).block();
 
             //Assert
             verify(messageOperator, times(1)).dropMessages(queueName);
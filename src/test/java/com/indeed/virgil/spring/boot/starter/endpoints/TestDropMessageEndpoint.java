@@ -3,6 +3,7 @@ package com.indeed.virgil.spring.boot.starter.endpoints;
 import com.indeed.virgil.spring.boot.starter.models.AckCertainMessageResponse;
 import com.indeed.virgil.spring.boot.starter.models.ImmutableAckCertainMessageResponse;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
 import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
 
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,7 +32,7 @@ public class TestDropMessageEndpoint {
 
     @BeforeEach
     void setup() {
-        dropMessageEndpoint = new DropMessageEndpoint(messageOperator);
+        dropMessageEndpoint = new DropMessageEndpoint(messageOperator, new OperationExecutor(Schedulers.immediate()));
     }
 
     @Test
@@ -57,7 +59,7 @@ public class TestDropMessageEndpoint {
                 .build());
 
             //Act
-            dropMessageEndpoint.index(queueName, messageId);
+            dropMessageEndpoint.index(queueName, messageId).block();
 
             //Assert
             verify(messageOperator, times(1)).ackCertainMessage(eq(queueName), any());
@@ -74,7 +76,7 @@ public class TestDropMessageEndpoint {
                 .build());
 
             //Act
-            dropMessageEndpoint.index(queueName, messageId);
+            dropMessageEndpoint.index(queueName, messageId).block();
 
             //Assert
             verify(messageOperator, times(1)).ackCertainMessage(any(), eq(messageId));
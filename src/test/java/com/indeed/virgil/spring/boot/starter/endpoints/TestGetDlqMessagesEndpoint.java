@@ -3,6 +3,7 @@ package com.indeed.virgil.spring.boot.starter.endpoints;
 import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
 import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
 import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -34,7 +36,7 @@ public class TestGetDlqMessagesEndpoint {
 
     @BeforeEach
     void setup() {
-        getDlqMessagesEndpoint = new GetDlqMessagesEndpoint(messageOperator);
+        getDlqMessagesEndpoint = new GetDlqMessagesEndpoint(messageOperator, new OperationExecutor(Schedulers.immediate()));
     }
 
     @Test
@@ -80,7 +82,7 @@ public class TestGetDlqMessagesEndpoint {
             when(messageOperator.getMessages(any(), anyInt())).thenReturn(new ArrayList<>());
 
             //Act
-            getDlqMessagesEndpoint.index(queueName, limit);
+            getDlqMessagesEndpoint.index(queueName, limit).block();
 
             //Assert
             verify(messageOperator, times(1)).getMessages(any(), eq(limit));
@@ -94,7 +96,7 @@ public class TestGetDlqMessagesEndpoint {
             when(messageOperator.getMessages(any(), anyInt())).thenReturn(new ArrayList<>());
 
             //Act
-            getDlqMessagesEndpoint.index(queueName, limit);
+            getDlqMessagesEndpoint.index(queueName, limit).block();
 
             //Assert
             verify(messageOperator, times(1)).getMessages(eq(queueName), any());
@@ -108,7 +110,7 @@ public class TestGetDlqMessagesEndpoint {
             when(messageOperator.getMessages(any(), any())).thenReturn(new ArrayList<>());
 
             //Act
-            final EndpointResponse<Serializable> result = getDlqMessagesEndpoint.index(queueName, limit);
+            final EndpointResponse<Serializable> result = getDlqMessagesEndpoint.index(queueName, limit).block();
 
             //Assert
             assertThat(result).isEqualTo(ImmutableEndpointResponse.builder()
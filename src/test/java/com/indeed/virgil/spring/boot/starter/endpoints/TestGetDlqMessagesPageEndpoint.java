@@ -0,0 +1,140 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableMessagePage;
+import com.indeed.virgil.spring.boot.starter.models.MessagePage;
+import com.indeed.virgil.spring.boot.starter.services.MessageSnapshotService;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
+import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestGetDlqMessagesPageEndpoint {
+
+    @Mock
+    private MessageSnapshotService messageSnapshotService;
+
+    private GetDlqMessagesPageEndpoint getDlqMessagesPageEndpoint;
+
+    @BeforeEach
+    void setup() {
+        getDlqMessagesPageEndpoint = new GetDlqMessagesPageEndpoint(messageSnapshotService, new OperationExecutor(Schedulers.immediate()));
+    }
+
+    @Test
+    void shouldImplementIVirgilEndpoint() {
+
+        //Act
+        final Class<?> c = GetDlqMessagesPageEndpoint.class;
+
+        //Assert
+        Assertions.assertTrue(IVirgilEndpoint.class.isAssignableFrom(c));
+    }
+
+    @Test
+    void testGetEndpointId_shouldReturnExpectedEndpointId() {
+
+        //Act
+        final String result = GetDlqMessagesPageEndpoint.getEndpointId();
+
+        //Assert
+        Assertions.assertEquals(EndpointConstants.GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID, result);
+    }
+
+    @Test
+    void testGetEndpointPath_shouldReturnExpectedEndpointPath() {
+
+        //Act
+        final String result = GetDlqMessagesPageEndpoint.getEndpointPath();
+
+        //Assert
+        Assertions.assertEquals(ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.GET_DLQ_MESSAGES_PAGE_ENDPOINT_ID, result);
+    }
+
+    @Nested
+    class testIndex {
+
+        private final String queueName = "primaryQueue";
+
+        @Test
+        void shouldCallGetPageWithCursorAndPageSize() {
+            //Arrange
+            final String cursor = "token:200";
+            when(messageSnapshotService.getPage(any(), any(), anyInt())).thenReturn(Optional.of(createPage()));
+
+            //Act
+            getDlqMessagesPageEndpoint.index(queueName, cursor, 50).block();
+
+            //Assert
+            verify(messageSnapshotService, times(1)).getPage(eq(queueName), eq(cursor), eq(50));
+        }
+
+        @Test
+        void shouldDefaultPageSize() {
+            //Arrange
+            when(messageSnapshotService.getPage(any(), any(), anyInt())).thenReturn(Optional.of(createPage()));
+
+            //Act
+            getDlqMessagesPageEndpoint.index(queueName, null, null).block();
+
+            //Assert
+            verify(messageSnapshotService, times(1)).getPage(eq(queueName), eq(null), eq(GetDlqMessagesPageEndpoint.DEFAULT_PAGE_SIZE));
+        }
+
+        @Test
+        void shouldReturnPage() {
+            //Arrange
+            final MessagePage page = createPage();
+            when(messageSnapshotService.getPage(any(), any(), anyInt())).thenReturn(Optional.of(page));
+
+            //Act
+            final EndpointResponse<Serializable> result = getDlqMessagesPageEndpoint.index(queueName, null, 50).block();
+
+            //Assert
+            assertThat(result).isEqualTo(ImmutableEndpointResponse.builder()
+                .setData(page)
+                .build());
+        }
+
+        @Test
+        void shouldReturnErrorWhenCursorHasExpired() {
+            //Arrange
+            when(messageSnapshotService.getPage(any(), any(), anyInt())).thenReturn(Optional.empty());
+
+            //Act
+            final EndpointResponse<Serializable> result = getDlqMessagesPageEndpoint.index(queueName, "token:200", 50).block();
+
+            //Assert
+            assertThat(result.getData()).isEqualTo("failure");
+            assertThat(result.getErrors()).hasSize(1);
+            assertThat(result.getErrors().get(0).getCode()).isEqualTo(GetDlqMessagesPageEndpoint.CURSOR_EXPIRED_ERROR_CODE);
+        }
+    }
+
+    private static MessagePage createPage() {
+        return ImmutableMessagePage.builder()
+            .setOffset(0)
+            .setTotal(0)
+            .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableJobStatus;
+import com.indeed.virgil.spring.boot.starter.models.JobState;
+import com.indeed.virgil.spring.boot.starter.models.JobStatus;
+import com.indeed.virgil.spring.boot.starter.services.JobService;
+import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestGetJobStatusEndpoint {
+
+    private static final String JOB_ID = "job-1";
+
+    @Mock
+    private JobService jobService;
+
+    private GetJobStatusEndpoint getJobStatusEndpoint;
+
+    @BeforeEach
+    void setup() {
+        getJobStatusEndpoint = new GetJobStatusEndpoint(jobService);
+    }
+
+    @Test
+    void shouldImplementIVirgilEndpoint() {
+
+        //Act
+        final Class<?> c = GetJobStatusEndpoint.class;
+
+        //Assert
+        Assertions.assertTrue(IVirgilEndpoint.class.isAssignableFrom(c));
+    }
+
+    @Test
+    void testGetEndpointId_shouldReturnExpectedEndpointId() {
+
+        //Act
+        final String result = GetJobStatusEndpoint.getEndpointId();
+
+        //Assert
+        Assertions.assertEquals(EndpointConstants.GET_JOB_STATUS_ENDPOINT_ID, result);
+    }
+
+    @Test
+    void testGetEndpointPath_shouldReturnExpectedEndpointPath() {
+
+        //Act
+        final String result = GetJobStatusEndpoint.getEndpointPath();
+
+        //Assert
+        Assertions.assertEquals(ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.GET_JOB_STATUS_ENDPOINT_ID, result);
+    }
+
+    @Nested
+    class testIndex {
+
+        @Test
+        void shouldReturnJobStatus() {
+            //Arrange
+            final JobStatus jobStatus = ImmutableJobStatus.builder()
+                .setJobId(JOB_ID)
+                .setOperation(EndpointConstants.DROP_MATCHING_MESSAGES_ENDPOINT_ID)
+                .setQueueId("primaryQueue")
+                .setState(JobState.RUNNING)
+                .setScannedCount(120)
+                .setMatchedCount(4)
+                .build();
+            when(jobService.getStatus(JOB_ID)).thenReturn(Optional.of(jobStatus));
+
+            //Act
+            final EndpointResponse<Serializable> result = getJobStatusEndpoint.index(JOB_ID);
+
+            //Assert
+            assertThat(result.getData()).isEqualTo(jobStatus);
+            assertThat(result.getErrors()).isEmpty();
+        }
+
+        @Test
+        void shouldReturnErrorWhenJobDoesNotExist() {
+            //Arrange
+            when(jobService.getStatus(JOB_ID)).thenReturn(Optional.empty());
+
+            //Act
+            final EndpointResponse<Serializable> result = getJobStatusEndpoint.index(JOB_ID);
+
+            //Assert
+            assertThat(result.getData()).isEqualTo("failure");
+            assertThat(result.getErrors()).hasSize(1);
+            assertThat(result.getErrors().get(0).getCode()).isEqualTo(GetJobStatusEndpoint.JOB_NOT_FOUND_ERROR_CODE);
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.indeed.virgil.spring.boot.starter.endpoints;
 
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
 import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Serializable;
 
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class TestGetQueueSizeEndpoint {
@@ -21,7 +29,7 @@ public class TestGetQueueSizeEndpoint {
 
     @BeforeEach
     void setup() {
-        getQueueSizeEndpoint = new GetQueueSizeEndpoint(messageOperator);
+        getQueueSizeEndpoint = new GetQueueSizeEndpoint(messageOperator, new OperationExecutor(Schedulers.immediate()));
     }
 
     @Test
@@ -55,4 +63,21 @@ public class TestGetQueueSizeEndpoint {
         //Assert
         Assertions.assertEquals(ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.GET_QUEUE_SIZE_ENDPOINT_ID, result);
     }
+
+    @Nested
+    class index {
+
+        @Test
+        void shouldReturnQueueSize() {
+            //Arrange
+            final String queueName = "primaryQueue";
+            when(messageOperator.getQueueSize(queueName)).thenReturn(3);
+
+            //Act
+            final EndpointResponse<Serializable> result = getQueueSizeEndpoint.index(queueName).block();
+
+            //Assert
+            assertThat(result.getData()).isEqualTo(3);
+        }
+    }
 }
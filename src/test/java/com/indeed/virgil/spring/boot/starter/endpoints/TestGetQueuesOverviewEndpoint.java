@@ -0,0 +1,92 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableQueueOverview;
+import com.indeed.virgil.spring.boot.starter.models.QueueOverview;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
+import com.indeed.virgil.spring.boot.starter.services.QueueOverviewService;
+import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestGetQueuesOverviewEndpoint {
+
+    @Mock
+    private QueueOverviewService queueOverviewService;
+
+    private GetQueuesOverviewEndpoint getQueuesOverviewEndpoint;
+
+    @BeforeEach
+    void setup() {
+        getQueuesOverviewEndpoint = new GetQueuesOverviewEndpoint(queueOverviewService, new OperationExecutor(Schedulers.immediate()));
+    }
+
+    @Test
+    void shouldImplementIVirgilEndpoint() {
+
+        //Act
+        final Class<?> c = GetQueuesOverviewEndpoint.class;
+
+        //Assert
+        Assertions.assertTrue(IVirgilEndpoint.class.isAssignableFrom(c));
+    }
+
+    @Test
+    void testGetEndpointId_shouldReturnExpectedEndpointId() {
+
+        //Act
+        final String result = GetQueuesOverviewEndpoint.getEndpointId();
+
+        //Assert
+        Assertions.assertEquals(EndpointConstants.GET_QUEUES_OVERVIEW_ENDPOINT_ID, result);
+    }
+
+    @Test
+    void testGetEndpointPath_shouldReturnExpectedEndpointPath() {
+
+        //Act
+        final String result = GetQueuesOverviewEndpoint.getEndpointPath();
+
+        //Assert
+        Assertions.assertEquals(ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.GET_QUEUES_OVERVIEW_ENDPOINT_ID, result);
+    }
+
+    @Nested
+    class testIndex {
+
+        @Test
+        void shouldReturnOverviewOfEveryQueue() {
+            //Arrange
+            final QueueOverview queueOverview = ImmutableQueueOverview.builder()
+                .setQueueId("primaryQueue")
+                .setQueueName("readQueue")
+                .setBinderName("rabbit123")
+                .setMessageCount(3)
+                .setConsumerCount(1)
+                .build();
+            when(queueOverviewService.getOverview()).thenReturn(Collections.singletonList(queueOverview));
+
+            //Act
+            final EndpointResponse<Serializable> result = getQueuesOverviewEndpoint.index().block();
+
+            //Assert
+            assertThat((List<?>) result.getData()).containsExactly(queueOverview);
+            assertThat(result.getErrors()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.ImmutableFilterMessagesResponse;
+import com.indeed.virgil.spring.boot.starter.models.MessageFilter;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
+import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestPublishMatchingMessagesEndpoint {
+
+    private static final String QUEUE_ID = "primaryQueue";
+
+    @Mock
+    private MessageOperator messageOperator;
+
+    private PublishMatchingMessagesEndpoint publishMatchingMessagesEndpoint;
+
+    @BeforeEach
+    void setup() {
+        publishMatchingMessagesEndpoint = new PublishMatchingMessagesEndpoint(messageOperator, new OperationExecutor(Schedulers.immediate()));
+    }
+
+    @Test
+    void shouldImplementIVirgilEndpoint() {
+
+        //Act
+        final Class<?> c = PublishMatchingMessagesEndpoint.class;
+
+        //Assert
+        Assertions.assertTrue(IVirgilEndpoint.class.isAssignableFrom(c));
+    }
+
+    @Nested
+    class index {
+
+        @Test
+        void shouldPassFilterToRepublishMatchingMessages() {
+            //Arrange
+            final Map<String, String> headers = Collections.singletonMap("x-exception-message", "TimeoutException");
+            final ArgumentCaptor<MessageFilter> filterCaptor = ArgumentCaptor.forClass(MessageFilter.class);
+
+            when(messageOperator.republishMatchingMessages(eq(QUEUE_ID), filterCaptor.capture(), any())).thenReturn(ImmutableFilterMessagesResponse.builder()
+                .setSuccess(true)
+                .setScannedCount(0)
+                .setMatchedCount(0)
+                .build());
+
+            //Act
+            publishMatchingMessagesEndpoint.index(QUEUE_ID, headers, Duration.ofDays(3), "orderId", null, null).block();
+
+            //Assert
+            assertThat(filterCaptor.getValue().getHeaders()).isEqualTo(headers);
+            assertThat(filterCaptor.getValue().getOlderThan()).isEqualTo(Duration.ofDays(3));
+            assertThat(filterCaptor.getValue().getBodyContains()).isEqualTo("orderId");
+        }
+
+        @Test
+        void shouldPassEmptyFilterWhenNoCriteria() {
+            //Arrange
+            final ArgumentCaptor<MessageFilter> filterCaptor = ArgumentCaptor.forClass(MessageFilter.class);
+
+            when(messageOperator.republishMatchingMessages(any(), filterCaptor.capture(), any())).thenReturn(ImmutableFilterMessagesResponse.builder()
+                .setSuccess(false)
+                .setScannedCount(0)
+                .setMatchedCount(0)
+                .build());
+
+            //Act
+            publishMatchingMessagesEndpoint.index(QUEUE_ID, null, null, "", null, null).block();
+
+            //Assert
+            assertThat(filterCaptor.getValue().isEmpty()).isTrue();
+        }
+    }
+
+    @Nested
+    class GetEndpointId {
+        @Test
+        void shouldReturnExpectedEndpointId() {
+            //Arrange
+
+            //Act
+            final String result = PublishMatchingMessagesEndpoint.getEndpointId();
+
+            //Assert
+            assertThat(result).isEqualTo(EndpointConstants.PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID);
+        }
+    }
+
+    @Nested
+    class GetEndpointPath {
+        @Test
+        void shouldReturnExpectedEndpointPath() {
+            //Arrange
+
+            //Act
+            final String result = PublishMatchingMessagesEndpoint.getEndpointPath();
+
+            //Assert
+            assertThat(result).isEqualTo(ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID);
+        }
+    }
+}
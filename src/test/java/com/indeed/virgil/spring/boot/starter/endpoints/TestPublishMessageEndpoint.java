@@ -1,6 +1,7 @@
 package com.indeed.virgil.spring.boot.starter.endpoints;
 
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
 import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
 
 import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
 
@@ -21,7 +23,7 @@ public class TestPublishMessageEndpoint {
 
     @BeforeEach
     void setup() {
-        publishMessageEndpoint = new PublishMessageEndpoint(messageOperator);
+        publishMessageEndpoint = new PublishMessageEndpoint(messageOperator, new OperationExecutor(Schedulers.immediate()));
     }
 
     @Test
@@ -0,0 +1,138 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.BatchMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableBatchMessageResponse;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationExecutor;
+import com.indeed.virgil.spring.boot.starter.services.OperationProgress;
+import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestPublishMessagesEndpoint {
+
+    private static final String QUEUE_ID = "primaryQueue";
+    private static final List<String> MESSAGE_IDS = Arrays.asList("f_12312321321", "i_abc123");
+
+    @Mock
+    private MessageOperator messageOperator;
+
+    private PublishMessagesEndpoint publishMessagesEndpoint;
+
+    @BeforeEach
+    void setup() {
+        publishMessagesEndpoint = new PublishMessagesEndpoint(messageOperator, new OperationExecutor(Schedulers.immediate()));
+    }
+
+    @Test
+    void shouldImplementIVirgilEndpoint() {
+
+        //Act
+        final Class<?> c = PublishMessagesEndpoint.class;
+
+        //Assert
+        Assertions.assertTrue(IVirgilEndpoint.class.isAssignableFrom(c));
+    }
+
+    @Nested
+    class index {
+
+        @Test
+        void shouldPassQueueIdAndMessageIdsToRepublishMessages() {
+            //Arrange
+            when(messageOperator.republishMessages(any(), any(), any())).thenReturn(ImmutableBatchMessageResponse.builder()
+                .setSuccess(false)
+                .build());
+
+            //Act
+            publishMessagesEndpoint.index(QUEUE_ID, MESSAGE_IDS, null, null).block();
+
+            //Assert
+            verify(messageOperator, times(1)).republishMessages(eq(QUEUE_ID), eq(MESSAGE_IDS), any());
+        }
+
+        @Test
+        void shouldPassBudgetOfRequestToOperation() {
+            //Arrange
+            final ArgumentCaptor<OperationProgress> progressCaptor = ArgumentCaptor.forClass(OperationProgress.class);
+            when(messageOperator.republishMessages(any(), any(), progressCaptor.capture())).thenReturn(ImmutableBatchMessageResponse.builder()
+                .setSuccess(false)
+                .build());
+
+            //Act
+            publishMessagesEndpoint.index(QUEUE_ID, MESSAGE_IDS, Duration.ofSeconds(30), 100).block();
+
+            //Assert
+            assertThat(progressCaptor.getValue().getMaxDuration()).isEqualTo(Duration.ofSeconds(30));
+            assertThat(progressCaptor.getValue().getMaxMessages()).isEqualTo(100);
+        }
+
+        @Test
+        void shouldReturnBatchResponseAsData() {
+            //Arrange
+            final BatchMessageResponse batchResponse = ImmutableBatchMessageResponse.builder()
+                .setSuccess(false)
+                .setProcessedIds(Arrays.asList("f_12312321321"))
+                .setMissingIds(Arrays.asList("i_abc123"))
+                .build();
+
+            when(messageOperator.republishMessages(any(), any(), any())).thenReturn(batchResponse);
+
+            //Act
+            final EndpointResponse<Serializable> result = publishMessagesEndpoint.index(QUEUE_ID, MESSAGE_IDS, null, null).block();
+
+            //Assert
+            assertThat(result.getData()).isEqualTo(batchResponse);
+        }
+    }
+
+    @Nested
+    class GetEndpointId {
+        @Test
+        void shouldReturnExpectedEndpointId() {
+            //Arrange
+
+            //Act
+            final String result = PublishMessagesEndpoint.getEndpointId();
+
+            //Assert
+            assertThat(result).isEqualTo(EndpointConstants.PUBLISH_MESSAGES_ENDPOINT_ID);
+        }
+    }
+
+    @Nested
+    class GetEndpointPath {
+        @Test
+        void shouldReturnExpectedEndpointPath() {
+            //Arrange
+
+            //Act
+            final String result = PublishMessagesEndpoint.getEndpointPath();
+
+            //Assert
+            assertThat(result).isEqualTo(ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.PUBLISH_MESSAGES_ENDPOINT_ID);
+        }
+    }
+}
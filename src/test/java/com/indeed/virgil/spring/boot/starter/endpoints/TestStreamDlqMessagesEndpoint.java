@@ -0,0 +1,221 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.ImmutableVirgilMessage;
+import com.indeed.virgil.spring.boot.starter.models.VirgilMessage;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationProgress;
+import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestStreamDlqMessagesEndpoint {
+
+    @Mock
+    private MessageOperator messageOperator;
+
+    private StreamDlqMessagesEndpoint streamDlqMessagesEndpoint;
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setup() {
+        executorService = Executors.newCachedThreadPool();
+        streamDlqMessagesEndpoint = new StreamDlqMessagesEndpoint(messageOperator, executorService, StreamDlqMessagesEndpoint.BUFFERED_MESSAGES,
+            StreamDlqMessagesEndpoint.STALLED_CLIENT_TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void shouldImplementIVirgilEndpoint() {
+
+        //Act
+        final Class<?> c = StreamDlqMessagesEndpoint.class;
+
+        //Assert
+        Assertions.assertTrue(IVirgilEndpoint.class.isAssignableFrom(c));
+    }
+
+    @Test
+    void testGetEndpointId_shouldReturnExpectedEndpointId() {
+
+        //Act
+        final String result = StreamDlqMessagesEndpoint.getEndpointId();
+
+        //Assert
+        Assertions.assertEquals(EndpointConstants.STREAM_DLQ_MESSAGES_ENDPOINT_ID, result);
+    }
+
+    @Test
+    void testGetEndpointPath_shouldReturnExpectedEndpointPath() {
+
+        //Act
+        final String result = StreamDlqMessagesEndpoint.getEndpointPath();
+
+        //Assert
+        Assertions.assertEquals(ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.STREAM_DLQ_MESSAGES_ENDPOINT_ID, result);
+    }
+
+    @Nested
+    class testIndex {
+
+        private final String queueName = "primaryQueue";
+
+        @Test
+        void shouldNotReadQueueBeforeBodyIsWritten() {
+
+            //Act
+            final ResponseEntity<StreamingResponseBody> result = streamDlqMessagesEndpoint.index(queueName, 100);
+
+            //Assert
+            assertThat(result.getHeaders().getContentType()).isEqualTo(StreamDlqMessagesEndpoint.APPLICATION_NDJSON);
+            verify(messageOperator, never()).streamMessages(any(), any(), any(), any());
+        }
+
+        @Test
+        void shouldWriteOneMessagePerLine() throws IOException {
+            //Arrange
+            when(messageOperator.streamMessages(eq(queueName), eq(100), any(), any())).thenAnswer(invocation -> {
+                final Consumer<VirgilMessage> consumer = invocation.getArgument(3);
+                consumer.accept(createMessage("m_1"));
+                consumer.accept(createMessage("m_2"));
+                return 2;
+            });
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            //Act
+            streamDlqMessagesEndpoint.index(queueName, 100).getBody().writeTo(outputStream);
+
+            //Assert
+            final String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(lines[0]).startsWith("{").contains("\"id\":\"m_1\"").endsWith("}");
+            assertThat(lines[1]).startsWith("{").contains("\"id\":\"m_2\"").endsWith("}");
+        }
+
+        @Test
+        void shouldPassLimitToStreamMessages() throws IOException {
+            //Arrange
+            when(messageOperator.streamMessages(any(), any(), any(), any())).thenReturn(0);
+
+            //Act
+            streamDlqMessagesEndpoint.index(queueName, null).getBody().writeTo(new ByteArrayOutputStream());
+
+            //Assert
+            verify(messageOperator, times(1)).streamMessages(eq(queueName), eq(null), any(), any());
+        }
+
+        @Test
+        void shouldCancelReadWhenClientGoesAway() {
+            //Arrange
+            final AtomicReference<OperationProgress> progress = new AtomicReference<>();
+            when(messageOperator.streamMessages(eq(queueName), any(), any(), any())).thenAnswer(invocation -> {
+                progress.set(invocation.getArgument(2));
+                final Consumer<VirgilMessage> consumer = invocation.getArgument(3);
+                consumer.accept(createMessage("m_1"));
+                return 1;
+            });
+            final OutputStream closedStream = new OutputStream() {
+                @Override
+                public void write(final int b) throws IOException {
+                    throw new IOException("Broken pipe");
+                }
+            };
+
+            //Act + Assert
+            assertThatThrownBy(() -> streamDlqMessagesEndpoint.index(queueName, null).getBody().writeTo(closedStream))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+            assertThat(progress.get().isCancelled()).isTrue();
+        }
+
+        @Test
+        void shouldStopReadWithoutWaitingForStalledClient() throws Exception {
+            //Arrange
+            streamDlqMessagesEndpoint = new StreamDlqMessagesEndpoint(messageOperator, executorService, 1, Duration.ofMillis(100));
+            final AtomicReference<OperationProgress> progress = new AtomicReference<>();
+            final CountDownLatch readDone = new CountDownLatch(1);
+            when(messageOperator.streamMessages(eq(queueName), any(), any(), any())).thenAnswer(invocation -> {
+                progress.set(invocation.getArgument(2));
+                final Consumer<VirgilMessage> consumer = invocation.getArgument(3);
+                int streamed = 0;
+                while (streamed < 10 && !progress.get().isCancelled()) {
+                    consumer.accept(createMessage("m_" + streamed++));
+                }
+                readDone.countDown();
+                return streamed;
+            });
+            final CountDownLatch clientReading = new CountDownLatch(1);
+            final OutputStream stalledStream = new OutputStream() {
+                @Override
+                public void write(final int b) throws IOException {
+                    try {
+                        clientReading.await();
+                    } catch (final InterruptedException ex) {
+                        throw new InterruptedIOException();
+                    }
+                }
+            };
+
+            //Act
+            final Future<?> response = executorService.submit(() -> {
+                streamDlqMessagesEndpoint.index(queueName, null).getBody().writeTo(stalledStream);
+                return null;
+            });
+
+            //Assert
+            assertThat(readDone.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(progress.get().isCancelled()).isTrue();
+
+            clientReading.countDown();
+            assertThatThrownBy(() -> response.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class);
+        }
+    }
+
+    private static VirgilMessage createMessage(final String id) {
+        return ImmutableVirgilMessage.builder()
+            .setId(id)
+            .setFingerprint("fingerprint_" + id)
+            .setBody("body")
+            .build();
+    }
+}
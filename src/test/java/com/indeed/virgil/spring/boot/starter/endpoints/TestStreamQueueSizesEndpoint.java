@@ -0,0 +1,105 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueDepthProperties;
+import com.indeed.virgil.spring.boot.starter.services.QueueDepthPoller;
+import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestStreamQueueSizesEndpoint {
+
+    @Mock
+    private VirgilPropertyConfig virgilPropertyConfig;
+
+    @Mock
+    private QueueDepthPoller queueDepthPoller;
+
+    private StreamQueueSizesEndpoint streamQueueSizesEndpoint;
+
+    @BeforeEach
+    void setup() {
+        when(virgilPropertyConfig.getQueueDepth()).thenReturn(new QueueDepthProperties(null, Duration.ofMinutes(10)));
+
+        streamQueueSizesEndpoint = new StreamQueueSizesEndpoint(virgilPropertyConfig, queueDepthPoller);
+    }
+
+    @Test
+    void shouldImplementIVirgilEndpoint() {
+
+        //Act
+        final Class<?> c = StreamQueueSizesEndpoint.class;
+
+        //Assert
+        Assertions.assertTrue(IVirgilEndpoint.class.isAssignableFrom(c));
+    }
+
+    @Test
+    void testGetEndpointId_shouldReturnExpectedEndpointId() {
+
+        //Act
+        final String result = StreamQueueSizesEndpoint.getEndpointId();
+
+        //Assert
+        Assertions.assertEquals(EndpointConstants.STREAM_QUEUE_SIZES_ENDPOINT_ID, result);
+    }
+
+    @Test
+    void testGetEndpointPath_shouldReturnExpectedEndpointPath() {
+
+        //Act
+        final String result = StreamQueueSizesEndpoint.getEndpointPath();
+
+        //Assert
+        Assertions.assertEquals(ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.STREAM_QUEUE_SIZES_ENDPOINT_ID, result);
+    }
+
+    @Nested
+    class testIndex {
+
+        @Test
+        void shouldUseConfiguredStreamTimeout() {
+
+            //Act
+            final SseEmitter result = streamQueueSizesEndpoint.index();
+
+            //Assert
+            assertThat(result.getTimeout()).isEqualTo(Duration.ofMinutes(10).toMillis());
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void shouldSubscribeToQueueDepthChanges() {
+            //Arrange
+            final ArgumentCaptor<Consumer<Map<String, Integer>>> subscriberCaptor = ArgumentCaptor.forClass(Consumer.class);
+
+            //Act
+            streamQueueSizesEndpoint.index();
+
+            //Assert
+            verify(queueDepthPoller, times(1)).subscribe(subscriberCaptor.capture());
+            assertThatCode(() -> subscriberCaptor.getValue().accept(Collections.singletonMap("primaryQueue", 3)))
+                .doesNotThrowAnyException();
+        }
+    }
+}
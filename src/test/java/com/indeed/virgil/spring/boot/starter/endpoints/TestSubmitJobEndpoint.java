@@ -0,0 +1,246 @@
+package com.indeed.virgil.spring.boot.starter.endpoints;
+
+import com.indeed.virgil.spring.boot.starter.models.BatchMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableAckCertainMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableBatchMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableJobStatus;
+import com.indeed.virgil.spring.boot.starter.models.JobState;
+import com.indeed.virgil.spring.boot.starter.models.JobStatus;
+import com.indeed.virgil.spring.boot.starter.models.MessageFilter;
+import com.indeed.virgil.spring.boot.starter.services.JobService;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator;
+import com.indeed.virgil.spring.boot.starter.services.OperationProgress;
+import com.indeed.virgil.spring.boot.starter.util.EndpointConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.indeed.virgil.spring.boot.starter.util.EndpointConstants.ENDPOINT_DEFAULT_PATH_MAPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestSubmitJobEndpoint {
+
+    private static final String QUEUE_ID = "primaryQueue";
+
+    @Mock
+    private JobService jobService;
+
+    @Mock
+    private MessageOperator messageOperator;
+
+    private SubmitJobEndpoint submitJobEndpoint;
+
+    @BeforeEach
+    void setup() {
+        submitJobEndpoint = new SubmitJobEndpoint(jobService, messageOperator);
+    }
+
+    @Test
+    void shouldImplementIVirgilEndpoint() {
+
+        //Act
+        final Class<?> c = SubmitJobEndpoint.class;
+
+        //Assert
+        Assertions.assertTrue(IVirgilEndpoint.class.isAssignableFrom(c));
+    }
+
+    @Test
+    void testGetEndpointId_shouldReturnExpectedEndpointId() {
+
+        //Act
+        final String result = SubmitJobEndpoint.getEndpointId();
+
+        //Assert
+        Assertions.assertEquals(EndpointConstants.SUBMIT_JOB_ENDPOINT_ID, result);
+    }
+
+    @Test
+    void testGetEndpointPath_shouldReturnExpectedEndpointPath() {
+
+        //Act
+        final String result = SubmitJobEndpoint.getEndpointPath();
+
+        //Assert
+        Assertions.assertEquals(ENDPOINT_DEFAULT_PATH_MAPPING + EndpointConstants.SUBMIT_JOB_ENDPOINT_ID, result);
+    }
+
+    @Nested
+    class testIndex {
+
+        @Test
+        void shouldReturnStatusOfSubmittedJob() {
+            //Arrange
+            final JobStatus jobStatus = createJobStatus(EndpointConstants.DROP_MESSAGES_ENDPOINT_ID);
+            when(jobService.submit(eq(EndpointConstants.DROP_MESSAGES_ENDPOINT_ID), eq(QUEUE_ID), any(), any())).thenReturn(Optional.of(jobStatus));
+
+            //Act
+            final EndpointResponse<Serializable> result = submitJobEndpoint.index(EndpointConstants.DROP_MESSAGES_ENDPOINT_ID, QUEUE_ID, null,
+                Arrays.asList("f_1", "f_2"), null, null, null, null, null);
+
+            //Assert
+            assertThat(result.getData()).isEqualTo(jobStatus);
+            assertThat(result.getErrors()).isEmpty();
+        }
+
+        @Test
+        void shouldRunBatchOperationWithJobProgress() {
+            //Arrange
+            final List<String> messageIds = Arrays.asList("f_1", "f_2");
+            final OperationProgress progress = new OperationProgress();
+            final BatchMessageResponse batchResponse = ImmutableBatchMessageResponse.builder().setSuccess(true).build();
+            when(messageOperator.ackMessages(QUEUE_ID, messageIds, progress)).thenReturn(batchResponse);
+
+            //Act
+            final Serializable result = submitAndCaptureTask(EndpointConstants.DROP_MESSAGES_ENDPOINT_ID, null, messageIds, null).apply(progress);
+
+            //Assert
+            assertThat(result).isEqualTo(batchResponse);
+        }
+
+        @Test
+        void shouldReturnSameDataAsSingleMessageEndpoint() {
+            //Arrange
+            final OperationProgress progress = new OperationProgress();
+            when(messageOperator.ackCertainMessage(QUEUE_ID, "f_1", progress))
+                .thenReturn(ImmutableAckCertainMessageResponse.builder().setSuccess(true).build());
+
+            //Act
+            final Serializable result = submitAndCaptureTask(EndpointConstants.DROP_MESSAGE_ENDPOINT_ID, "f_1", null, null).apply(progress);
+
+            //Assert
+            assertThat(result).isEqualTo("success");
+        }
+
+        @Test
+        void shouldBuildMessageFilterForMatchingOperations() {
+            //Arrange
+            final OperationProgress progress = new OperationProgress();
+            final ArgumentCaptor<MessageFilter> filterCaptor = ArgumentCaptor.forClass(MessageFilter.class);
+
+            //Act
+            submitAndCaptureTask(EndpointConstants.PUBLISH_MATCHING_MESSAGES_ENDPOINT_ID, null, null, Duration.ofDays(3)).apply(progress);
+
+            //Assert
+            verify(messageOperator, times(1)).republishMatchingMessages(eq(QUEUE_ID), filterCaptor.capture(), eq(progress));
+            assertThat(filterCaptor.getValue().getOlderThan()).isEqualTo(Duration.ofDays(3));
+            assertThat(filterCaptor.getValue().getHeaders()).isEmpty();
+        }
+
+        @Test
+        void shouldSubmitJobWithBudgetOfRequest() {
+            //Arrange
+            final ArgumentCaptor<OperationProgress> progressCaptor = ArgumentCaptor.forClass(OperationProgress.class);
+            when(jobService.submit(any(), any(), progressCaptor.capture(), any())).thenReturn(Optional.of(createJobStatus(
+                EndpointConstants.DROP_MATCHING_MESSAGES_ENDPOINT_ID)));
+
+            //Act
+            submitJobEndpoint.index(EndpointConstants.DROP_MATCHING_MESSAGES_ENDPOINT_ID, QUEUE_ID, null, null, null, Duration.ofDays(3), null,
+                Duration.ofMinutes(1), 500);
+
+            //Assert
+            assertThat(progressCaptor.getValue().getMaxDuration()).isEqualTo(Duration.ofMinutes(1));
+            assertThat(progressCaptor.getValue().getMaxMessages()).isEqualTo(500);
+        }
+
+        @Test
+        void shouldRejectUnknownOperation() {
+
+            //Act
+            final EndpointResponse<Serializable> result = submitJobEndpoint.index(EndpointConstants.DROP_ALL_MESSAGES_ENDPOINT_ID, QUEUE_ID, null,
+                null, Collections.emptyMap(), null, null, null, null);
+
+            //Assert
+            assertThat(result.getData()).isEqualTo("failure");
+            assertThat(result.getErrors().get(0).getCode()).isEqualTo(SubmitJobEndpoint.UNKNOWN_OPERATION_ERROR_CODE);
+            verify(jobService, never()).submit(any(), any(), any(), any());
+        }
+
+        @Test
+        void shouldRejectSingleMessageOperationWithoutMessageId() {
+
+            //Act
+            final EndpointResponse<Serializable> result = submitJobEndpoint.index(EndpointConstants.PUBLISH_MESSAGE_ENDPOINT_ID, QUEUE_ID, null,
+                null, null, null, null, null, null);
+
+            //Assert
+            assertThat(result.getData()).isEqualTo("failure");
+            assertThat(result.getErrors().get(0).getCode()).isEqualTo(SubmitJobEndpoint.MISSING_PARAMETER_ERROR_CODE);
+            verify(jobService, never()).submit(any(), any(), any(), any());
+        }
+
+        @Test
+        void shouldRejectBatchOperationWithoutMessageIds() {
+
+            //Act
+            final EndpointResponse<Serializable> result = submitJobEndpoint.index(EndpointConstants.DROP_MESSAGES_ENDPOINT_ID, QUEUE_ID, null,
+                null, null, null, null, null, null);
+
+            //Assert
+            assertThat(result.getData()).isEqualTo("failure");
+            assertThat(result.getErrors().get(0).getCode()).isEqualTo(SubmitJobEndpoint.MISSING_PARAMETER_ERROR_CODE);
+            verify(jobService, never()).submit(any(), any(), any(), any());
+        }
+
+        @Test
+        void shouldReturnErrorWhenTooManyJobsAreWaiting() {
+            //Arrange
+            when(jobService.submit(any(), any(), any(), any())).thenReturn(Optional.empty());
+
+            //Act
+            final EndpointResponse<Serializable> result = submitJobEndpoint.index(EndpointConstants.DROP_MESSAGE_ENDPOINT_ID, QUEUE_ID, "f_1",
+                null, null, null, null, null, null);
+
+            //Assert
+            assertThat(result.getData()).isEqualTo("failure");
+            assertThat(result.getErrors().get(0).getCode()).isEqualTo(SubmitJobEndpoint.TOO_MANY_JOBS_ERROR_CODE);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<OperationProgress, Serializable> submitAndCaptureTask(
+        final String operation,
+        final String messageId,
+        final List<String> messageIds,
+        final Duration olderThan
+    ) {
+        final ArgumentCaptor<Function<OperationProgress, Serializable>> taskCaptor = ArgumentCaptor.forClass(Function.class);
+        when(jobService.submit(eq(operation), eq(QUEUE_ID), any(), taskCaptor.capture())).thenReturn(Optional.of(createJobStatus(operation)));
+
+        submitJobEndpoint.index(operation, QUEUE_ID, messageId, messageIds, null, olderThan, null, null, null);
+
+        return taskCaptor.getValue();
+    }
+
+    private static JobStatus createJobStatus(final String operation) {
+        return ImmutableJobStatus.builder()
+            .setJobId("job-1")
+            .setOperation(operation)
+            .setQueueId(QUEUE_ID)
+            .setState(JobState.QUEUED)
+            .setScannedCount(0)
+            .setMatchedCount(0)
+            .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.indeed.virgil.spring.boot.starter.models;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMessageFilter {
+
+    private static final Instant NOW = Instant.parse("2020-06-10T12:00:00Z");
+    private static final String EXCEPTION_HEADER = "x-exception-message";
+
+    @Nested
+    class isEmpty {
+
+        @Test
+        void shouldBeEmptyWithoutCriteria() {
+            //Act
+            final MessageFilter result = ImmutableMessageFilter.builder().build();
+
+            //Assert
+            assertThat(result.isEmpty()).isTrue();
+        }
+
+        @Test
+        void shouldNotBeEmptyWithBodyContains() {
+            //Act
+            final MessageFilter result = ImmutableMessageFilter.builder()
+                .setBodyContains("orderId")
+                .build();
+
+            //Assert
+            assertThat(result.isEmpty()).isFalse();
+        }
+    }
+
+    @Nested
+    class matches {
+
+        @Test
+        void shouldMatchHeaderContainingValue() {
+            //Arrange
+            final MessageFilter filter = ImmutableMessageFilter.builder()
+                .putHeaders(EXCEPTION_HEADER, "TimeoutException")
+                .build();
+
+            //Act
+            final boolean result = filter.matches(createVirgilMessage("java.util.concurrent.TimeoutException: took too long"), createMessage("body", null), NOW);
+
+            //Assert
+            assertThat(result).isTrue();
+        }
+
+        @Test
+        void shouldNotMatchMissingHeader() {
+            //Arrange
+            final MessageFilter filter = ImmutableMessageFilter.builder()
+                .putHeaders("x-original-exchange", "virgil")
+                .build();
+
+            //Act
+            final boolean result = filter.matches(createVirgilMessage("TimeoutException"), createMessage("body", null), NOW);
+
+            //Assert
+            assertThat(result).isFalse();
+        }
+
+        @Test
+        void shouldMatchMessageOlderThan() {
+            //Arrange
+            final MessageFilter filter = ImmutableMessageFilter.builder()
+                .setOlderThan(Duration.ofDays(3))
+                .build();
+
+            //Act
+            final boolean result = filter.matches(createVirgilMessage("TimeoutException"), createMessage("body", NOW.minus(Duration.ofDays(4))), NOW);
+
+            //Assert
+            assertThat(result).isTrue();
+        }
+
+        @Test
+        void shouldNotMatchMessageNewerThan() {
+            //Arrange
+            final MessageFilter filter = ImmutableMessageFilter.builder()
+                .setOlderThan(Duration.ofDays(3))
+                .build();
+
+            //Act
+            final boolean result = filter.matches(createVirgilMessage("TimeoutException"), createMessage("body", NOW.minus(Duration.ofDays(1))), NOW);
+
+            //Assert
+            assertThat(result).isFalse();
+        }
+
+        @Test
+        void shouldNotMatchMessageWithoutTimestamp() {
+            //Arrange
+            final MessageFilter filter = ImmutableMessageFilter.builder()
+                .setOlderThan(Duration.ofDays(3))
+                .build();
+
+            //Act
+            final boolean result = filter.matches(createVirgilMessage("TimeoutException"), createMessage("body", null), NOW);
+
+            //Assert
+            assertThat(result).isFalse();
+        }
+
+        @Test
+        void shouldMatchFullBodyNotOnlyPreview() {
+            //Arrange
+            final StringBuilder body = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                body.append('a');
+            }
+            body.append("orderId");
+
+            final MessageFilter filter = ImmutableMessageFilter.builder()
+                .setBodyContains("orderId")
+                .build();
+
+            //Act
+            final boolean result = filter.matches(createVirgilMessage("TimeoutException"), createMessage(body.toString(), null), NOW);
+
+            //Assert
+            assertThat(result).isTrue();
+        }
+
+        @Test
+        void shouldRequireEveryCriterion() {
+            //Arrange
+            final MessageFilter filter = ImmutableMessageFilter.builder()
+                .putHeaders(EXCEPTION_HEADER, "TimeoutException")
+                .setBodyContains("orderId")
+                .build();
+
+            //Act
+            final boolean result = filter.matches(createVirgilMessage("TimeoutException"), createMessage("customerId", null), NOW);
+
+            //Assert
+            assertThat(result).isFalse();
+        }
+    }
+
+    private VirgilMessage createVirgilMessage(final String exceptionMessage) {
+        return ImmutableVirgilMessage.builder()
+            .setId("f_fingerprint")
+            .setFingerprint("fingerprint")
+            .setBody("body")
+            .putHeaders(EXCEPTION_HEADER, exceptionMessage)
+            .build();
+    }
+
+    private Message createMessage(final String body, final Instant timestamp) {
+        final MessageProperties messageProperties = new MessageProperties();
+        if (timestamp != null) {
+            messageProperties.setTimestamp(Date.from(timestamp));
+        }
+        return new Message(body.getBytes(StandardCharsets.UTF_8), messageProperties);
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.core.MessagePropertiesBuilder;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 
@@ -47,6 +49,26 @@ public class TestDefaultMessageConverter {
         assertThat(result).extracting("body").isEqualTo(truncatedMessageBody);
     }
 
+    @Test
+    void shouldNotSplitMultibyteCharacterAtCutoff() {
+        //Arrange
+        final StringBuilder messageBody = new StringBuilder();
+        for (int i = 0; i < 255; i++) {
+            messageBody.append('a');
+        }
+        messageBody.append("\u00e9\u00e9");
+        final MessageProperties msgProps = MessagePropertiesBuilder.newInstance()
+            .setMessageId("uniqueMessageId")
+            .build();
+        final Message msg = new Message(messageBody.toString().getBytes(StandardCharsets.UTF_8), msgProps);
+
+        //Act
+        final VirgilMessage result = defaultMessageConverter.convertMessage(msg);
+
+        //Assert
+        assertThat(result.getBody()).isEqualTo(messageBody.substring(0, 255));
+    }
+
     @Test
     void shouldPassNonCustomHeaderInMessage() {
         //Arrange
@@ -184,4 +206,75 @@ public class TestDefaultMessageConverter {
         //Assert
         assertThat(result.getId()).isEqualTo(String.format("f_%s", "e5ee994969c74b1723f366ca45ba2389"));
     }
+
+    @Test
+    void shouldGetIdFromMessageIdWithoutConverting() {
+        //Arrange
+        final Message msg = createMessage("uniqueMessageId");
+
+        //Act
+        final String result = defaultMessageConverter.getMessageId(msg);
+
+        //Assert
+        assertThat(result).isEqualTo(defaultMessageConverter.convertMessage(msg).getId());
+    }
+
+    @Test
+    void shouldGetIdFromFingerprintWithoutConverting() {
+        //Arrange
+        final Message msg = createMessage("");
+
+        //Act
+        final String result = defaultMessageConverter.getMessageId(msg);
+
+        //Assert
+        assertThat(result).isEqualTo(String.format("f_%s", "e5ee994969c74b1723f366ca45ba2389"));
+    }
+
+    @Test
+    void shouldMatchIdFromMessageId() {
+        //Arrange
+        final Message msg = createMessage("uniqueMessageId");
+
+        //Act + Assert
+        assertThat(defaultMessageConverter.matchesId(msg, "i_uniqueMessageId")).isTrue();
+        assertThat(defaultMessageConverter.matchesId(msg, "i_uniqueMessageI")).isFalse();
+        assertThat(defaultMessageConverter.matchesId(msg, "i_uniqueMessageId2")).isFalse();
+        assertThat(defaultMessageConverter.matchesId(msg, "f_uniqueMessageId")).isFalse();
+    }
+
+    @Test
+    void shouldNotMatchFingerprintIdWhenMessageHasMessageId() {
+        //Arrange
+        final Message msg = createMessage("uniqueMessageId");
+        final String fingerprintId = String.format("f_%s", defaultMessageConverter.convertMessage(msg).getFingerprint());
+
+        //Act
+        final boolean result = defaultMessageConverter.matchesId(msg, fingerprintId);
+
+        //Assert
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    void shouldMatchIdFromFingerprint() {
+        //Arrange
+        final Message msg = createMessage("");
+
+        //Act + Assert
+        assertThat(defaultMessageConverter.matchesId(msg, "f_e5ee994969c74b1723f366ca45ba2389")).isTrue();
+        assertThat(defaultMessageConverter.matchesId(msg, "f_e5ee994969c74b1723f366ca45ba2388")).isFalse();
+        assertThat(defaultMessageConverter.matchesId(msg, "i_e5ee994969c74b1723f366ca45ba2389")).isFalse();
+    }
+
+    private Message createMessage(final String messageId) {
+        final String messageBody = "hello world, this is a message body 1...hello world, this is a message body 2...hello world, this is a message body 3...hello world, this is a message body 4...hello world, this is a message body 5...hello world, this is a message body 6...hello world, this is a message body 7...hello world, this is a message body 8...";
+        final MessageProperties msgProps = MessagePropertiesBuilder.newInstance()
+            .setMessageId(messageId)
+            .setHeader(MESSAGE_HEADER_EXCEPTION, "this is why the message failed")
+            .setHeader(MESSAGE_HEADER_ORIGINAL_ROUTING_KEY, "orig-routing-key")
+            .setHeader(MESSAGE_HEADER_ORIGINAL_EXCHANGE, "someExchange")
+            .build();
+        return new Message(messageBody.getBytes(), msgProps);
+    }
 }
@@ -0,0 +1,274 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.JobProperties;
+import com.indeed.virgil.spring.boot.starter.models.JobState;
+import com.indeed.virgil.spring.boot.starter.models.JobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestJobService {
+
+    private static final String OPERATION = "drop-matching-messages";
+    private static final String QUEUE_ID = "primaryQueue";
+    private static final Instant NOW = Instant.parse("2020-01-01T00:00:00Z");
+
+    @Mock
+    private VirgilPropertyConfig virgilPropertyConfig;
+
+    @Mock
+    private ExecutorService executorService;
+
+    @Mock
+    private Clock clock;
+
+    private JobService jobService;
+
+    // id of the last submitted job, for tasks that look up their own job
+    private String jobId;
+
+    @BeforeEach
+    void setup() {
+        when(virgilPropertyConfig.getJobs()).thenReturn(new JobProperties(null, null, Duration.ofMinutes(10)));
+        lenient().when(clock.instant()).thenReturn(NOW);
+
+        jobService = new JobService(virgilPropertyConfig, executorService, clock);
+    }
+
+    @Nested
+    class submit {
+
+        @Test
+        void shouldReturnQueuedJobWithoutRunningIt() {
+            //Arrange
+            final AtomicBoolean ran = new AtomicBoolean();
+
+            //Act
+            final Optional<JobStatus> result = jobService.submit(OPERATION, QUEUE_ID, progress -> {
+                ran.set(true);
+                return "success";
+            });
+
+            //Assert
+            assertThat(result).isPresent();
+            assertThat(result.get().getState()).isEqualTo(JobState.QUEUED);
+            assertThat(result.get().getOperation()).isEqualTo(OPERATION);
+            assertThat(result.get().getQueueId()).isEqualTo(QUEUE_ID);
+            assertThat(result.get().isDone()).isFalse();
+            assertThat(ran).isFalse();
+        }
+
+        @Test
+        void shouldRejectJobWhenExecutorIsFull() {
+            //Arrange
+            doThrow(new RejectedExecutionException("full")).when(executorService).execute(any());
+
+            //Act
+            final Optional<JobStatus> result = jobService.submit(OPERATION, QUEUE_ID, progress -> "success");
+
+            //Assert
+            assertThat(result).isEmpty();
+        }
+    }
+
+    @Nested
+    class getStatus {
+
+        @Test
+        void shouldReportProgressWhileRunning() {
+            //Arrange
+            submit(progress -> {
+                progress.update(5, 2);
+                final JobStatus running = jobService.getStatus(jobId).get();
+                assertThat(running.getState()).isEqualTo(JobState.RUNNING);
+                assertThat(running.getScannedCount()).isEqualTo(5);
+                assertThat(running.getMatchedCount()).isEqualTo(2);
+                return "success";
+            });
+
+            //Act
+            runSubmittedJob();
+            final JobStatus result = jobService.getStatus(jobId).get();
+
+            //Assert
+            assertThat(result.getState()).isEqualTo(JobState.SUCCEEDED);
+            assertThat(result.isDone()).isTrue();
+            assertThat(result.getResult()).isEqualTo("success");
+        }
+
+        @Test
+        void shouldReportFailedJob() {
+            //Arrange
+            final String jobId = submit(progress -> {
+                throw new IllegalStateException("BinderProperties is null");
+            });
+
+            //Act
+            runSubmittedJob();
+            final JobStatus result = jobService.getStatus(jobId).get();
+
+            //Assert
+            assertThat(result.getState()).isEqualTo(JobState.FAILED);
+            assertThat(result.getError()).isEqualTo("BinderProperties is null");
+            assertThat(result.getResult()).isNull();
+        }
+
+        @Test
+        void shouldReportJobFailedWithErrorAndRethrowIt() {
+            //Arrange
+            final String jobId = submit(progress -> {
+                throw new OutOfMemoryError("Java heap space");
+            });
+
+            //Act
+            final Throwable thrown = catchThrowable(() -> runSubmittedJob());
+            final JobStatus result = jobService.getStatus(jobId).get();
+
+            //Assert
+            assertThat(thrown).isInstanceOf(OutOfMemoryError.class);
+            assertThat(result.getState()).isEqualTo(JobState.FAILED);
+            assertThat(result.getError()).isEqualTo("Java heap space");
+            assertThat(result.isDone()).isTrue();
+        }
+
+        @Test
+        void shouldReturnEmptyForUnknownJob() {
+
+            //Act
+            final Optional<JobStatus> result = jobService.getStatus("unknown");
+
+            //Assert
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        void shouldForgetFinishedJobAfterRetention() {
+            //Arrange
+            final String jobId = submit(progress -> "success");
+            runSubmittedJob();
+            when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(11)));
+
+            //Act
+            final Optional<JobStatus> result = jobService.getStatus(jobId);
+
+            //Assert
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        void shouldKeepRunningJobPastRetention() {
+            //Arrange
+            final String jobId = submit(progress -> "success");
+            when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(11)));
+
+            //Act
+            final Optional<JobStatus> result = jobService.getStatus(jobId);
+
+            //Assert
+            assertThat(result).isPresent();
+        }
+    }
+
+    @Nested
+    class cancel {
+
+        @Test
+        void shouldNeverRunJobCancelledBeforeItStarted() {
+            //Arrange
+            final AtomicBoolean ran = new AtomicBoolean();
+            final String jobId = submit(progress -> {
+                ran.set(true);
+                return "success";
+            });
+
+            //Act
+            final JobStatus result = jobService.cancel(jobId).get();
+            runSubmittedJob();
+
+            //Assert
+            assertThat(result.getState()).isEqualTo(JobState.CANCELLED);
+            assertThat(ran).isFalse();
+        }
+
+        @Test
+        void shouldCancelProgressOfRunningJobAndKeepPartialResult() {
+            //Arrange
+            submit(progress -> {
+                jobService.cancel(jobId);
+                assertThat(progress.isCancelled()).isTrue();
+                return "partial";
+            });
+
+            //Act
+            runSubmittedJob();
+            final JobStatus result = jobService.getStatus(jobId).get();
+
+            //Assert
+            assertThat(result.getState()).isEqualTo(JobState.CANCELLED);
+            assertThat(result.getResult()).isEqualTo("partial");
+        }
+
+        @Test
+        void shouldReturnEmptyForUnknownJob() {
+
+            //Act
+            final Optional<JobStatus> result = jobService.cancel("unknown");
+
+            //Assert
+            assertThat(result).isEmpty();
+        }
+    }
+
+    @Nested
+    class destroy {
+
+        @Test
+        void shouldCancelJobsAndShutDownExecutor() {
+            //Arrange
+            final String jobId = submit(progress -> "success");
+
+            //Act
+            jobService.destroy();
+
+            //Assert
+            assertThat(jobService.getStatus(jobId).get().getState()).isEqualTo(JobState.CANCELLED);
+            verify(executorService, times(1)).shutdown();
+        }
+    }
+
+    private String submit(final Function<OperationProgress, Serializable> task) {
+        jobId = jobService.submit(OPERATION, QUEUE_ID, task).get().getJobId();
+        return jobId;
+    }
+
+    private void runSubmittedJob() {
+        final ArgumentCaptor<Runnable> jobCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService, times(1)).execute(jobCaptor.capture());
+        jobCaptor.getValue().run();
+    }
+}
@@ -46,4 +46,23 @@ public class TestMessageConverterService {
             verify(messageConverter, times(1)).convertMessage(msg);
         }
     }
+
+    @Nested
+    class matchesId {
+
+        @Test
+        void shouldCallMatchesId() {
+            //Arrange
+            final MessageProperties msgProps = MessagePropertiesBuilder.newInstance()
+                .setMessageId("uniqueMessageId")
+                .build();
+            final Message msg = new Message("body".getBytes(), msgProps);
+
+            //Act
+            messageConverterService.matchesId(msg, "i_uniqueMessageId");
+
+            //Assert
+            verify(messageConverter, times(1)).matchesId(msg, "i_uniqueMessageId");
+        }
+    }
 }
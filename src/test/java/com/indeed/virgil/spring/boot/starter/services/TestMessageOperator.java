@@ -1,43 +1,68 @@
 package com.indeed.virgil.spring.boot.starter.services;
 
 import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BrowseMode;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BrowseProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BudgetProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ConnectionMode;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ConnectionProperties;
 import com.indeed.virgil.spring.boot.starter.models.AckCertainMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.BatchMessageResponse;
+import com.indeed.virgil.spring.boot.starter.models.FilterMessagesResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableMessageFilter;
+import com.indeed.virgil.spring.boot.starter.models.MessageFilter;
+import com.indeed.virgil.spring.boot.starter.models.QueueOverview;
 import com.indeed.virgil.spring.boot.starter.models.ImmutableAckCertainMessageResponse;
 import com.indeed.virgil.spring.boot.starter.models.ImmutableVirgilMessage;
 import com.indeed.virgil.spring.boot.starter.models.RepublishMessageResponse;
 import com.indeed.virgil.spring.boot.starter.models.VirgilMessage;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator.HandleAckCertainMessage;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator.HandleConsumeMessages;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator.HandleDropMessages;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator.HandleGetMessages;
 import com.indeed.virgil.spring.boot.starter.services.MessageOperator.HandleRepublishMessage;
+import com.indeed.virgil.spring.boot.starter.services.MessageOperator.ScanQueue;
 import com.indeed.virgil.spring.boot.starter.util.VirgilMessageUtils;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.AMQP.BasicProperties;
+import com.rabbitmq.client.CancelCallback;
 import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
 import com.rabbitmq.client.Envelope;
 import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.client.impl.AMQImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpTimeoutException;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.Connection;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
-import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
 import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.Properties;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -45,9 +70,12 @@ import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -63,6 +91,9 @@ public class TestMessageOperator {
     private static final Integer QUEUE_SIZE_0 = 0;
     private static final String MESSAGE_ID = "f_04222b1ddbd35132da9684f0c9c452a2";
     private static final String BINDING_KEY = "#";
+    private static final MessageFilter TIMEOUT_FILTER = ImmutableMessageFilter.builder()
+        .putHeaders("x-exception-message", "TimeoutException")
+        .build();
 
     @Mock
     private MessageConverterService messageConverterService;
@@ -74,10 +105,10 @@ public class TestMessageOperator {
     private RabbitMqConnectionService rabbitMqConnectionService;
 
     @Mock
-    private AmqpAdmin amqpAdmin;
+    private RabbitTemplate rabbitTemplate;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private Channel channel;
 
     private MessageOperator messageOperator;
 
@@ -100,6 +131,10 @@ public class TestMessageOperator {
     @BeforeEach
     public void initializeSetup() {
         MockitoAnnotations.initMocks(this);
+        when(virgilPropertyConfig.getBrowse()).thenReturn(BrowseProperties.defaults());
+        when(virgilPropertyConfig.getBudget()).thenReturn(BudgetProperties.defaults());
+        when(virgilPropertyConfig.getQueueSizeCacheTtl()).thenReturn(VirgilPropertyConfig.DEFAULT_QUEUE_SIZE_CACHE_TTL);
+        when(virgilPropertyConfig.getMessageCacheTtl()).thenReturn(VirgilPropertyConfig.DEFAULT_MESSAGE_CACHE_TTL);
 
         messageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, messageConverterService);
     }
@@ -107,7 +142,7 @@ public class TestMessageOperator {
     @Nested
     class getQueueSize {
         @Test
-        void shouldReturnNullWhenNoQueueProperties() {
+        void shouldReturnNullWhenNoQueueProperties() throws IOException {
             initializeQueueProperties(false);
             when(virgilPropertyConfig.getQueueProperties(QUEUE_ID)).thenReturn(null);
 
@@ -119,426 +154,1385 @@ public class TestMessageOperator {
         }
 
         @Test
-        void shouldReturnQueueSizeWhenQueueExists() {
+        void shouldReturnQueueSizeWhenQueueExists() throws IOException {
             initializeQueueProperties(false);
 
             assertThat(messageOperator.getQueueSize(QUEUE_ID)).isEqualTo(QUEUE_SIZE_3);
         }
 
         @Test
-        void shouldReturnNullWhenQueueDoesNotExist() {
+        void shouldReturnNullWhenQueueDoesNotExist() throws IOException {
             initializeQueueProperties(true);
 
             assertThat(messageOperator.getQueueSize(QUEUE_ID)).isNull();
         }
-    }
 
-    @Nested
-    class getMessages {
         @Test
-        void testGetMessages() {
+        void shouldReuseQueueSizeWithinTtl() throws IOException {
             //Arrange
             initializeQueueProperties(false);
 
             //Act
-            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, null);
+            messageOperator.getQueueSize(QUEUE_ID);
+            final Integer result = messageOperator.getQueueSize(QUEUE_ID);
 
             //Assert
-            assertThat(result).isNotNull();
-            verify(rabbitTemplate, times(QUEUE_SIZE_3)).execute(any());
+            assertThat(result).isEqualTo(QUEUE_SIZE_3);
+            verify(channel, times(1)).queueDeclarePassive(QUEUE_NAME);
         }
 
         @Test
-        void testGetMessages_limited() {
+        void shouldReadQueueSizeEveryTimeWhenCacheIsDisabled() throws IOException {
             //Arrange
             initializeQueueProperties(false);
+            when(virgilPropertyConfig.getQueueSizeCacheTtl()).thenReturn(Duration.ZERO);
+            messageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, messageConverterService);
 
             //Act
-            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, 1);
+            messageOperator.getQueueSize(QUEUE_ID);
+            messageOperator.getQueueSize(QUEUE_ID);
 
             //Assert
-            assertThat(result).isEmpty();
-
-            verify(rabbitTemplate, times(1)).execute(any());
+            verify(channel, times(2)).queueDeclarePassive(QUEUE_NAME);
         }
 
         @Test
-        void testGetMessages_limited_invalid() {
+        void shouldReadQueueSizeAgainAfterMessagesAreDropped() throws IOException {
             //Arrange
             initializeQueueProperties(false);
 
             //Act
-            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, -1);
+            messageOperator.getQueueSize(QUEUE_ID);
+            messageOperator.dropMessages(QUEUE_ID);
+            messageOperator.getQueueSize(QUEUE_ID);
 
             //Assert
-            assertThat(result).isNotNull();
+            verify(channel, times(2)).queueDeclarePassive(QUEUE_NAME);
+        }
 
-            verify(rabbitTemplate, times(QUEUE_SIZE_3)).execute(any());
+        @Test
+        void shouldReadQueueSizeFromBrokerBeforeAckingMessage() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents(MESSAGE_ID);
+
+            //Act
+            messageOperator.getQueueSize(QUEUE_ID);
+            messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+            messageOperator.getQueueSize(QUEUE_ID);
+
+            //Assert
+            verify(channel, times(3)).queueDeclarePassive(QUEUE_NAME);
         }
 
         @Test
-        void testGetMessagesQueueNotExist() {
+        void shouldCloseThreadLocalConnectionOnceSizeIsRead() throws IOException {
             //Arrange
-            initializeQueueProperties(true);
+            initializeQueueProperties(false);
+            final RabbitMqConnectionService threadLocalConnectionService = spyThreadLocalConnectionService();
+            messageOperator = new MessageOperator(virgilPropertyConfig, threadLocalConnectionService, messageConverterService);
 
             //Act
-            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, null);
+            final Integer result = messageOperator.getQueueSize(QUEUE_ID);
 
             //Assert
-            assertThat(result).isEmpty();
+            assertThat(result).isEqualTo(QUEUE_SIZE_3);
+
+            final InOrder inOrder = inOrder(channel, threadLocalConnectionService);
+            inOrder.verify(channel).queueDeclarePassive(QUEUE_NAME);
+            inOrder.verify(threadLocalConnectionService).destroyConnectionsByName(BINDER_NAME);
+        }
+    }
 
-            verify(rabbitTemplate, times(QUEUE_SIZE_0)).execute(any());
+    @Nested
+    class getQueueSizes {
+
+        private static final String SECONDARY_QUEUE_ID = "secondaryQueue";
+        private static final String SECONDARY_QUEUE_NAME = "secondary-queue-name";
+
+        @BeforeEach
+        void setup() throws Exception {
+            initializeQueueProperties(false);
+            when(virgilPropertyConfig.getQueueProperties(SECONDARY_QUEUE_ID)).thenReturn(new VirgilPropertyConfig.QueueProperties(
+                SECONDARY_QUEUE_NAME,
+                BINDER_NAME,
+                BINDER_PROPERTIES,
+                null,
+                BINDING_KEY,
+                null,
+                null
+            ));
+            when(rabbitTemplate.execute(any())).thenAnswer(invocation -> {
+                final ChannelCallback<?> callback = invocation.getArgument(0);
+                return callback.doInRabbit(channel);
+            });
         }
 
         @Test
-        void shouldDestroyConnectionAfterSuccess() {
+        void shouldReadEveryQueueOfBinderOnOneChannel() throws IOException {
             //Arrange
-            initializeQueueProperties(false);
+            when(channel.queueDeclarePassive(QUEUE_NAME)).thenReturn(new AMQImpl.Queue.DeclareOk(QUEUE_NAME, QUEUE_SIZE_3, 0));
+            when(channel.queueDeclarePassive(SECONDARY_QUEUE_NAME)).thenReturn(new AMQImpl.Queue.DeclareOk(SECONDARY_QUEUE_NAME, QUEUE_SIZE_0, 0));
 
             //Act
-            messageOperator.getMessages(QUEUE_ID, null);
+            final Map<String, Integer> result = messageOperator.getQueueSizes(Arrays.asList(QUEUE_ID, SECONDARY_QUEUE_ID));
 
             //Assert
-            verify(rabbitMqConnectionService, times(1)).destroyReadConnection(QUEUE_ID);
+            assertThat(result).containsExactly(entry(QUEUE_ID, QUEUE_SIZE_3), entry(SECONDARY_QUEUE_ID, QUEUE_SIZE_0));
+            verify(rabbitTemplate, times(1)).execute(any());
+            verify(rabbitMqConnectionService, never()).executeOnReadChannel(any(), any());
         }
 
         @Test
-        void shouldDestroyConnectionAfterException() {
+        void shouldReadQueuesAfterMissingQueueOneByOne() throws IOException {
             //Arrange
-            initializeQueueProperties(false);
+            when(channel.queueDeclarePassive(QUEUE_NAME)).thenThrow(new IOException("NOT_FOUND"));
+            final Channel secondaryChannel = mock(Channel.class);
+            when(secondaryChannel.queueDeclarePassive(SECONDARY_QUEUE_NAME))
+                .thenReturn(new AMQImpl.Queue.DeclareOk(SECONDARY_QUEUE_NAME, QUEUE_SIZE_0, 0));
+            stubExecuteOnReadChannel(SECONDARY_QUEUE_ID, secondaryChannel);
 
-            when(rabbitMqConnectionService.getReadRabbitTemplate(any())).thenThrow(new RuntimeException());
+            //Act
+            final Map<String, Integer> result = messageOperator.getQueueSizes(Arrays.asList(QUEUE_ID, SECONDARY_QUEUE_ID));
 
-            //Act / Assert
-            assertThatThrownBy(() -> messageOperator.getMessages(QUEUE_ID, null))
-                .isInstanceOf(RuntimeException.class);
+            //Assert
+            assertThat(result).containsExactly(entry(QUEUE_ID, null), entry(SECONDARY_QUEUE_ID, QUEUE_SIZE_0));
+            verify(channel, never()).queueDeclarePassive(SECONDARY_QUEUE_NAME);
+            verify(rabbitMqConnectionService, never()).executeOnReadChannel(eq(QUEUE_ID), any());
+        }
+
+        @Test
+        void shouldReturnNullSizesWhenBinderIsUnreachable() {
+            //Arrange
+            doThrow(new AmqpConnectException(new IOException("Connection refused"))).when(rabbitTemplate).execute(any());
+
+            //Act
+            final Map<String, Integer> result = messageOperator.getQueueSizes(Arrays.asList(QUEUE_ID, SECONDARY_QUEUE_ID));
 
-            verify(rabbitMqConnectionService, times(1)).destroyReadConnection(QUEUE_ID);
+            //Assert
+            assertThat(result).containsExactly(entry(QUEUE_ID, null), entry(SECONDARY_QUEUE_ID, null));
         }
 
         @Test
-        void shouldNotDestroyConnectionIfQueueNotPresent() {
+        void shouldReturnNullSizeWhenNoQueueProperties() {
             //Arrange
-            initializeQueueProperties(true);
+            when(virgilPropertyConfig.getQueueProperties(SECONDARY_QUEUE_ID)).thenReturn(null);
 
             //Act
-            messageOperator.getMessages(QUEUE_ID, null);
+            final Map<String, Integer> result = messageOperator.getQueueSizes(Collections.singletonList(SECONDARY_QUEUE_ID));
+
+            //Assert
+            assertThat(result).containsExactly(entry(SECONDARY_QUEUE_ID, null));
+            verify(rabbitTemplate, never()).execute(any());
+        }
+
+        @Test
+        void shouldServeQueueSizeFromRefreshedSizes() throws IOException {
+            //Arrange
+            when(channel.queueDeclarePassive(QUEUE_NAME)).thenReturn(new AMQImpl.Queue.DeclareOk(QUEUE_NAME, QUEUE_SIZE_3, 0));
+
+            //Act
+            messageOperator.getQueueSizes(Collections.singletonList(QUEUE_ID));
+            final Integer result = messageOperator.getQueueSize(QUEUE_ID);
 
             //Assert
-            verify(rabbitMqConnectionService, times(0)).destroyReadConnection(QUEUE_ID);
+            assertThat(result).isEqualTo(QUEUE_SIZE_3);
+            verify(rabbitMqConnectionService, never()).executeOnReadChannel(any(), any());
+        }
+
+        @Test
+        void shouldCloseConnectionOfEveryReadBinderOnce() {
+
+            //Act
+            messageOperator.releaseQueueSizeConnections(Arrays.asList(QUEUE_ID, SECONDARY_QUEUE_ID));
+
+            //Assert
+            verify(rabbitMqConnectionService, times(1)).destroyConnectionsByName(BINDER_NAME);
         }
     }
 
     @Nested
-    class dropMessages {
+    class getQueueOverview {
 
         @Test
-        void shouldReturnTrueAfterDroppingMessagesSuccessfully() {
+        void shouldReturnMessageAndConsumerCount() throws Exception {
             //Arrange
             initializeQueueProperties(false);
+            when(channel.queueDeclarePassive(QUEUE_NAME)).thenReturn(new AMQImpl.Queue.DeclareOk(QUEUE_NAME, QUEUE_SIZE_3, 2));
 
             //Act
-            final boolean result = messageOperator.dropMessages(QUEUE_ID);
+            final QueueOverview result = messageOperator.getQueueOverview(QUEUE_ID);
 
             //Assert
-            assertThat(result).isTrue();
+            assertThat(result.getQueueId()).isEqualTo(QUEUE_ID);
+            assertThat(result.getQueueName()).isEqualTo(QUEUE_NAME);
+            assertThat(result.getBinderName()).isEqualTo(BINDER_NAME);
+            assertThat(result.getMessageCount()).isEqualTo(QUEUE_SIZE_3);
+            assertThat(result.getConsumerCount()).isEqualTo(2);
+            assertThat(result.isTimedOut()).isFalse();
+        }
 
-            verify(rabbitTemplate, times(1)).execute(any());
+        @Test
+        void shouldReadQueueOnReadChannelThatIsClosedAfterwards() throws Exception {
+            //Arrange
+            initializeQueueProperties(false);
+            when(channel.queueDeclarePassive(QUEUE_NAME)).thenReturn(new AMQImpl.Queue.DeclareOk(QUEUE_NAME, QUEUE_SIZE_3, 2));
+
+            //Act
+            messageOperator.getQueueOverview(QUEUE_ID);
+
+            //Assert
+            verify(rabbitMqConnectionService, times(1)).executeOnReadChannel(eq(QUEUE_ID), any());
+            verify(rabbitTemplate, never()).execute(any());
         }
 
         @Test
-        void shouldReturnFalseIfQueueDoesntExists() {
+        void shouldReturnNullCountsWhenQueueCannotBeRead() throws Exception {
             //Arrange
-            initializeQueueProperties(true);
+            initializeQueueProperties(false);
+            doThrow(new AmqpConnectException(new IOException("Connection refused"))).when(rabbitMqConnectionService).executeOnReadChannel(eq(QUEUE_ID), any());
 
             //Act
-            final boolean result = messageOperator.dropMessages(QUEUE_ID);
+            final QueueOverview result = messageOperator.getQueueOverview(QUEUE_ID);
 
             //Assert
-            assertThat(result).isFalse();
+            assertThat(result.getQueueName()).isEqualTo(QUEUE_NAME);
+            assertThat(result.getMessageCount()).isNull();
+            assertThat(result.getConsumerCount()).isNull();
+        }
 
-            verify(rabbitTemplate, times(QUEUE_SIZE_0)).execute(any());
+        @Test
+        void shouldReturnNullWhenNoQueueProperties() {
+            //Arrange
+            when(virgilPropertyConfig.getQueueProperties(QUEUE_ID)).thenReturn(null);
+
+            //Act
+            final QueueOverview result = messageOperator.getQueueOverview(QUEUE_ID);
+
+            //Assert
+            assertThat(result).isNull();
         }
     }
 
     @Nested
-    class ackCertainMessage {
+    class getMessages {
+        @Test
+        void testGetMessages() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+
+            //Act
+            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, null);
+
+            //Assert
+            assertThat(result).isNotNull();
+            verify(channel, times(QUEUE_SIZE_3)).basicGet(QUEUE_NAME, false);
+        }
 
         @Test
-        void shouldReturnSuccessIsFalseWhenQueuePropertiesIsMissing() {
+        void testGetMessages_limited() throws IOException {
             //Arrange
             initializeQueueProperties(false);
 
-            when(virgilPropertyConfig.getQueueProperties(any()))
-                .thenReturn(QUEUE_PROPERTIES)
-                .thenReturn(null);
+            //Act
+            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, 1);
+
+            //Assert
+            assertThat(result).isEmpty();
+
+            verify(channel, times(1)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void testGetMessages_limited_invalid() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
 
             //Act
-            final AckCertainMessageResponse result = messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, -1);
 
             //Assert
-            assertThat(result).isEqualTo(ImmutableAckCertainMessageResponse.builder()
-                .setSuccess(false)
-                .build());
+            assertThat(result).isNotNull();
+
+            verify(channel, times(QUEUE_SIZE_3)).basicGet(QUEUE_NAME, false);
         }
 
         @Test
-        void testAckCertainMessage() {
+        void shouldNotApplyConfiguredBudgetToReads() throws IOException {
             //Arrange
             initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+            when(virgilPropertyConfig.getBudget()).thenReturn(new BudgetProperties(null, 1));
 
             //Act
-            messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, null);
 
             //Assert
-            verify(rabbitTemplate, times(QUEUE_SIZE_3)).execute(any());
+            assertThat(result).hasSize(QUEUE_SIZE_3);
+            verify(channel, times(QUEUE_SIZE_3)).basicGet(QUEUE_NAME, false);
         }
 
         @Test
-        void shouldReturnSuccessIsFalseWhenMessageIdIsNull() {
+        void shouldNotCutReadShortWithCachedQueueSize() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+            when(channel.queueDeclarePassive(QUEUE_NAME)).thenReturn(
+                new AMQImpl.Queue.DeclareOk(QUEUE_NAME, 1, 0),
+                new AMQImpl.Queue.DeclareOk(QUEUE_NAME, QUEUE_SIZE_3, 0));
+            messageOperator.getQueueSize(QUEUE_ID);
 
             //Act
-            final AckCertainMessageResponse result = messageOperator.ackCertainMessage(QUEUE_ID, null);
+            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, null);
 
             //Assert
-            assertThat(result.isSuccess()).isFalse();
+            assertThat(result).hasSize(QUEUE_SIZE_3);
+            verify(channel, times(2)).queueDeclarePassive(QUEUE_NAME);
         }
 
         @Test
-        void shouldReturnSuccessIsFalseWhenMessageIdIsEmpty() {
+        void shouldStopScanWhenQueueIsDrained() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
 
             //Act
-            final AckCertainMessageResponse result = messageOperator.ackCertainMessage(QUEUE_ID, "");
+            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, null);
 
             //Assert
-            assertThat(result.isSuccess()).isFalse();
+            assertThat(result).isEmpty();
+
+            verify(channel, times(1)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldStopScanOnceSnapshotIsExhausted() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+            when(channel.basicGet(QUEUE_NAME, false)).thenReturn(createGetResponse(1L, 0));
+
+            //Act
+            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, null);
+
+            //Assert
+            assertThat(result).hasSize(1);
+
+            verify(channel, times(1)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldConsumeMessagesWhenBrowseModeIsConsume() throws Exception {
+            //Arrange
+            initializeQueueProperties(false);
+            when(virgilPropertyConfig.getBrowse()).thenReturn(new BrowseProperties(BrowseMode.CONSUME, 10, Duration.ofMillis(50)));
+            messageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, messageConverterService);
+
+            stubBasicConsume(channel, QUEUE_SIZE_3);
+
+            //Act
+            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, null);
+
+            //Assert
+            assertThat(result).hasSize(QUEUE_SIZE_3);
+
+            verify(channel).basicQos(QUEUE_SIZE_3);
+            verify(channel, times(1)).basicConsume(eq(QUEUE_NAME), eq(false), any(DeliverCallback.class), any(CancelCallback.class));
+            verify(channel, never()).basicGet(anyString(), anyBoolean());
         }
 
         @Test
-        void shouldNotCallExecuteIfQueueSizeIsNull() {
+        void testGetMessagesQueueNotExist() throws IOException {
             //Arrange
             initializeQueueProperties(true);
 
             //Act
-            final AckCertainMessageResponse response = messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+            final List<VirgilMessage> result = messageOperator.getMessages(QUEUE_ID, null);
 
             //Assert
-            assertThat(response.isSuccess()).isFalse();
+            assertThat(result).isEmpty();
 
-            verify(rabbitTemplate, times(0)).execute(any());
+            verify(channel, times(QUEUE_SIZE_0)).basicGet(QUEUE_NAME, false);
         }
 
         @Test
-        void shouldReturnFalseIfResponseFromBasicGetIsNull() {
+        void shouldExecuteScanOnReadChannelOnce() throws IOException {
             //Arrange
             initializeQueueProperties(false);
 
             //Act
-            final AckCertainMessageResponse result = messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+            messageOperator.getMessages(QUEUE_ID, null);
 
             //Assert
-            assertThat(result.isSuccess()).isFalse();
+            verify(rabbitMqConnectionService, times(1)).executeOnReadChannel(eq(QUEUE_ID), any(ScanQueue.class));
         }
 
         @Test
-        void shouldDestroyConnectionAfterSuccess() {
+        void shouldNotDestroyConnectionAfterSuccess() throws IOException {
             //Arrange
             initializeQueueProperties(false);
 
             //Act
-            messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+            messageOperator.getMessages(QUEUE_ID, null);
 
             //Assert
-            verify(rabbitMqConnectionService, times(1)).destroyReadConnection(QUEUE_ID);
+            verify(rabbitMqConnectionService, never()).destroyReadConnection(QUEUE_ID);
         }
 
         @Test
-        void shouldDestroyConnectionAfterException() {
+        void shouldPropagateExceptionFromReadChannel() throws IOException {
             //Arrange
             initializeQueueProperties(false);
 
-            when(rabbitMqConnectionService.getReadRabbitTemplate(any())).thenThrow(new RuntimeException());
+            when(rabbitMqConnectionService.executeOnReadChannel(any(), any())).thenThrow(new RuntimeException());
 
             //Act / Assert
-            assertThatThrownBy(() -> messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID))
+            assertThatThrownBy(() -> messageOperator.getMessages(QUEUE_ID, null))
                 .isInstanceOf(RuntimeException.class);
-
-            //Assert
-            verify(rabbitMqConnectionService, times(1)).destroyReadConnection(QUEUE_ID);
         }
 
         @Test
-        void shouldNotDestroyConnectionIfQueueNotPresent() {
+        void shouldNotExecuteOnReadChannelIfQueueNotPresent() throws IOException {
             //Arrange
             initializeQueueProperties(true);
 
             //Act
-            messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+            messageOperator.getMessages(QUEUE_ID, null);
 
             //Assert
-            verify(rabbitMqConnectionService, times(0)).destroyConnectionsByName(BINDER_NAME);
+            verify(rabbitMqConnectionService, never()).executeOnReadChannel(any(), any(ScanQueue.class));
         }
     }
 
     @Nested
-    class republishMessage {
+    class dropMessages {
 
         @Test
-        void shouldReturnSuccessIsFalseWhenQueuePropertiesIsNull() {
+        void shouldReturnTrueAfterDroppingMessagesSuccessfully() throws IOException {
             //Arrange
-            when(virgilPropertyConfig.getQueueProperties(any()))
-                .thenReturn(QUEUE_PROPERTIES)
-                .thenReturn(null);
+            initializeQueueProperties(false);
 
             //Act
-            final RepublishMessageResponse result = messageOperator.republishMessage(QUEUE_ID, null);
+            final boolean result = messageOperator.dropMessages(QUEUE_ID);
 
             //Assert
-            assertThat(result.isSuccess()).isFalse();
+            assertThat(result).isTrue();
+
+            verify(channel, times(1)).queuePurge(QUEUE_NAME);
         }
 
         @Test
-        void shouldReturnSuccessIsTrue() throws IOException {
+        void shouldReturnFalseIfQueueDoesntExists() throws IOException {
             //Arrange
-            final String rabbitMessageId = "abc123";
-            final String messageId = "i_" + rabbitMessageId;
+            initializeQueueProperties(true);
 
-            final MessageConverterService localMessageConvertService = new MessageConverterService(new DefaultMessageConverter(new VirgilMessageUtils()));
+            //Act
+            final boolean result = messageOperator.dropMessages(QUEUE_ID);
 
-            final MessageOperator localMessageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, localMessageConvertService);
+            //Assert
+            assertThat(result).isFalse();
 
-            final RepublishMocks mocks = initializeMocksAndReturnChannel();
+            verify(channel, never()).queuePurge(any());
+        }
 
-            final Channel mockChannel = mocks.getChannel();
+        @Test
+        void shouldCloseThreadLocalConnectionOnceQueueIsPurged() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            final RabbitMqConnectionService threadLocalConnectionService = spyThreadLocalConnectionService();
+            messageOperator = new MessageOperator(virgilPropertyConfig, threadLocalConnectionService, messageConverterService);
 
-            //channel mocks
-            final AMQP.BasicProperties basicProps = new AMQP.BasicProperties("", "UTF-8", null, null, null, null, null, null, rabbitMessageId, new Date(), null, null, null, null);
-            final Envelope envelope = new Envelope(1L, false, "", "");
-            final GetResponse response = new GetResponse(envelope, basicProps, "".getBytes(), 1);
-            when(mockChannel.basicGet(any(), anyBoolean())).thenReturn(response);
+            //Act
+            final boolean result = messageOperator.dropMessages(QUEUE_ID);
+
+            //Assert
+            assertThat(result).isTrue();
+
+            final InOrder inOrder = inOrder(channel, threadLocalConnectionService);
+            inOrder.verify(channel).queuePurge(QUEUE_NAME);
+            inOrder.verify(threadLocalConnectionService).destroyConnectionsByName(BINDER_NAME);
+        }
+    }
+
+    @Nested
+    class streamMessages {
+
+        @Test
+        void shouldHandEveryMessageToConsumer() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+            final List<VirgilMessage> streamedMessages = new ArrayList<>();
 
             //Act
-            final RepublishMessageResponse result = localMessageOperator.republishMessage(QUEUE_ID, messageId);
+            final Integer result = messageOperator.streamMessages(QUEUE_ID, null, streamedMessages::add);
 
             //Assert
-            assertThat(result.isSuccess()).isTrue();
+            assertThat(result).isEqualTo(QUEUE_SIZE_3);
+            assertThat(streamedMessages).hasSize(QUEUE_SIZE_3);
+
+            verify(channel, times(QUEUE_SIZE_3)).basicGet(QUEUE_NAME, false);
         }
 
         @Test
-        void shouldReturnSuccessIsFalseWhenMessageIdIsNull() {
+        void shouldNotCutStreamShortWithCachedQueueSize() throws IOException {
             //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+            when(channel.queueDeclarePassive(QUEUE_NAME)).thenReturn(
+                new AMQImpl.Queue.DeclareOk(QUEUE_NAME, 1, 0),
+                new AMQImpl.Queue.DeclareOk(QUEUE_NAME, QUEUE_SIZE_3, 0));
+            messageOperator.getQueueSize(QUEUE_ID);
+            final List<VirgilMessage> streamedMessages = new ArrayList<>();
 
             //Act
-            final RepublishMessageResponse result = messageOperator.republishMessage(QUEUE_ID, null);
+            final Integer result = messageOperator.streamMessages(QUEUE_ID, null, streamedMessages::add);
 
             //Assert
-            assertThat(result.isSuccess()).isFalse();
+            assertThat(result).isEqualTo(QUEUE_SIZE_3);
+            assertThat(streamedMessages).hasSize(QUEUE_SIZE_3);
         }
 
         @Test
-        void shouldReturnSuccessIsFalseWhenMessageIdIsEmpty() {
+        void shouldStreamUpToLimit() throws IOException {
             //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+            final List<VirgilMessage> streamedMessages = new ArrayList<>();
 
             //Act
-            final RepublishMessageResponse result = messageOperator.republishMessage(QUEUE_ID, "");
+            final Integer result = messageOperator.streamMessages(QUEUE_ID, 2, streamedMessages::add);
+
+            //Assert
+            assertThat(result).isEqualTo(2);
+            assertThat(streamedMessages).hasSize(2);
+
+            verify(channel, times(2)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldStreamMessagesWhenBrowseModeIsConsume() throws Exception {
+            //Arrange
+            initializeQueueProperties(false);
+            when(virgilPropertyConfig.getBrowse()).thenReturn(new BrowseProperties(BrowseMode.CONSUME, 10, Duration.ofMillis(50)));
+            messageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, messageConverterService);
+
+            stubBasicConsume(channel, QUEUE_SIZE_3);
+            final List<VirgilMessage> streamedMessages = new ArrayList<>();
+
+            //Act
+            final Integer result = messageOperator.streamMessages(QUEUE_ID, null, streamedMessages::add);
+
+            //Assert
+            assertThat(result).isEqualTo(QUEUE_SIZE_3);
+            assertThat(streamedMessages).hasSize(QUEUE_SIZE_3);
+
+            verify(channel, never()).basicGet(anyString(), anyBoolean());
+        }
+
+        @Test
+        void shouldStopReadingOnceProgressIsCancelled() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+            final OperationProgress progress = new OperationProgress();
+
+            //Act
+            final Integer result = messageOperator.streamMessages(QUEUE_ID, null, progress, virgilMessage -> progress.cancel());
+
+            //Assert
+            assertThat(result).isEqualTo(1);
+            verify(channel, times(1)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldStopReadingWhenConsumerFails() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+
+            //Act + Assert
+            assertThatThrownBy(() -> messageOperator.streamMessages(QUEUE_ID, null, virgilMessage -> {
+                throw new IllegalStateException("client went away");
+            })).isInstanceOf(IllegalStateException.class);
+
+            verify(channel, times(1)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldReturnNullWhenQueueDoesNotExist() throws IOException {
+            //Arrange
+            initializeQueueProperties(true);
+            final List<VirgilMessage> streamedMessages = new ArrayList<>();
+
+            //Act
+            final Integer result = messageOperator.streamMessages(QUEUE_ID, null, streamedMessages::add);
+
+            //Assert
+            assertThat(result).isNull();
+            assertThat(streamedMessages).isEmpty();
+
+            verify(channel, never()).basicGet(anyString(), anyBoolean());
+        }
+    }
+
+    @Nested
+    class ackCertainMessage {
+
+        @Test
+        void shouldReturnSuccessIsFalseWhenQueuePropertiesIsMissing() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+
+            when(virgilPropertyConfig.getQueueProperties(any()))
+                .thenReturn(QUEUE_PROPERTIES)
+                .thenReturn(null);
+
+            //Act
+            final AckCertainMessageResponse result = messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+
+            //Assert
+            assertThat(result).isEqualTo(ImmutableAckCertainMessageResponse.builder()
+                .setSuccess(false)
+                .build());
+        }
+
+        @Test
+        void testAckCertainMessage() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+
+            //Act
+            messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+
+            //Assert
+            verify(channel, times(QUEUE_SIZE_3)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldStopScanOnceMessageIsAcked() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents(MESSAGE_ID);
+
+            //Act
+            final AckCertainMessageResponse result = messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+
+            //Assert
+            assertThat(result.isSuccess()).isTrue();
+
+            verify(channel, times(1)).basicGet(QUEUE_NAME, false);
+            verify(channel, times(1)).basicAck(1L, false);
+        }
+
+        @Test
+        void shouldStopScanWhenQueueIsDrained() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+
+            //Act
+            messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+
+            //Assert
+            verify(channel, times(1)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldReturnSuccessIsFalseWhenMessageIdIsNull() {
+
+            //Act
+            final AckCertainMessageResponse result = messageOperator.ackCertainMessage(QUEUE_ID, null);
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+        }
+
+        @Test
+        void shouldReturnSuccessIsFalseWhenMessageIdIsEmpty() {
+
+            //Act
+            final AckCertainMessageResponse result = messageOperator.ackCertainMessage(QUEUE_ID, "");
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+        }
+
+        @Test
+        void shouldNotCallExecuteIfQueueSizeIsNull() throws IOException {
+            //Arrange
+            initializeQueueProperties(true);
+
+            //Act
+            final AckCertainMessageResponse response = messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+
+            //Assert
+            assertThat(response.isSuccess()).isFalse();
+
+            verify(channel, times(0)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldReturnFalseIfResponseFromBasicGetIsNull() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+
+            //Act
+            final AckCertainMessageResponse result = messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+        }
+
+        @Test
+        void shouldExecuteScanOnReadChannelOnce() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+
+            //Act
+            messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+
+            //Assert
+            verify(rabbitMqConnectionService, times(1)).executeOnReadChannel(eq(QUEUE_ID), any(ScanQueue.class));
+        }
+
+        @Test
+        void shouldPropagateExceptionFromReadChannel() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+
+            when(rabbitMqConnectionService.executeOnReadChannel(any(), any())).thenThrow(new RuntimeException());
+
+            //Act / Assert
+            assertThatThrownBy(() -> messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID))
+                .isInstanceOf(RuntimeException.class);
+        }
+
+        @Test
+        void shouldNotExecuteOnReadChannelIfQueueNotPresent() throws IOException {
+            //Arrange
+            initializeQueueProperties(true);
+
+            //Act
+            messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
+
+            //Assert
+            verify(rabbitMqConnectionService, never()).executeOnReadChannel(any(), any(ScanQueue.class));
+            verify(rabbitMqConnectionService, times(0)).destroyConnectionsByName(BINDER_NAME);
+        }
+    }
+
+    @Nested
+    class republishMessage {
+
+        @Test
+        void shouldReturnSuccessIsFalseWhenQueuePropertiesIsNull() {
+            //Arrange
+            when(virgilPropertyConfig.getQueueProperties(any()))
+                .thenReturn(QUEUE_PROPERTIES)
+                .thenReturn(null);
+
+            //Act
+            final RepublishMessageResponse result = messageOperator.republishMessage(QUEUE_ID, null);
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+        }
+
+        @Test
+        void shouldReturnSuccessIsTrue() throws IOException {
+            //Arrange
+            final String rabbitMessageId = "abc123";
+            final String messageId = "i_" + rabbitMessageId;
+
+            final MessageConverterService localMessageConvertService = new MessageConverterService(new DefaultMessageConverter(new VirgilMessageUtils()));
+
+            final MessageOperator localMessageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, localMessageConvertService);
+
+            final RepublishMocks mocks = initializeMocksAndReturnChannel();
+
+            final Channel mockChannel = mocks.getChannel();
+
+            //channel mocks
+            final AMQP.BasicProperties basicProps = new AMQP.BasicProperties("", "UTF-8", null, null, null, null, null, null, rabbitMessageId, new Date(), null, null, null, null);
+            final Envelope envelope = new Envelope(1L, false, "", "");
+            final GetResponse response = new GetResponse(envelope, basicProps, "".getBytes(), 1);
+            when(mockChannel.basicGet(any(), anyBoolean())).thenReturn(response);
+
+            //Act
+            final RepublishMessageResponse result = localMessageOperator.republishMessage(QUEUE_ID, messageId);
+
+            //Assert
+            assertThat(result.isSuccess()).isTrue();
+        }
+
+        @Test
+        void shouldStopScanOnceMessageIsRepublished() throws IOException {
+            //Arrange
+            final String rabbitMessageId = "abc123";
+            final String messageId = "i_" + rabbitMessageId;
+
+            final MessageConverterService localMessageConvertService = new MessageConverterService(new DefaultMessageConverter(new VirgilMessageUtils()));
+
+            final MessageOperator localMessageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, localMessageConvertService);
+
+            final RepublishMocks mocks = initializeMocksAndReturnChannel();
+
+            final Channel mockChannel = mocks.getChannel();
+            when(mockChannel.queueDeclarePassive(QUEUE_NAME)).thenReturn(new AMQImpl.Queue.DeclareOk(QUEUE_NAME, QUEUE_SIZE_3, 0));
+
+            //channel mocks
+            final AMQP.BasicProperties basicProps = new AMQP.BasicProperties("", "UTF-8", null, null, null, null, null, null, rabbitMessageId, new Date(), null, null, null, null);
+            final Envelope envelope = new Envelope(1L, false, "", "");
+            final GetResponse response = new GetResponse(envelope, basicProps, "".getBytes(), QUEUE_SIZE_3 - 1);
+            when(mockChannel.basicGet(any(), anyBoolean())).thenReturn(response);
+
+            //Act
+            final RepublishMessageResponse result = localMessageOperator.republishMessage(QUEUE_ID, messageId);
+
+            //Assert
+            assertThat(result.isSuccess()).isTrue();
+
+            verify(mockChannel, times(1)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldStopScanOnceSnapshotIsExhausted() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
+
+            //Act
+            final RepublishMessageResponse result = messageOperator.republishMessage(QUEUE_ID, MESSAGE_ID);
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+
+            verify(channel, times(QUEUE_SIZE_3)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldReturnSuccessIsFalseWhenMessageIdIsNull() {
+            //Arrange
+
+            //Act
+            final RepublishMessageResponse result = messageOperator.republishMessage(QUEUE_ID, null);
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+        }
+
+        @Test
+        void shouldReturnSuccessIsFalseWhenMessageIdIsEmpty() {
+            //Arrange
+
+            //Act
+            final RepublishMessageResponse result = messageOperator.republishMessage(QUEUE_ID, "");
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+        }
+
+        @Test
+        void shouldReturnSuccessIsFalseIfNoQueueSize() throws IOException {
+            //Arrange
+            initializeQueueProperties(true);
+
+            //Act
+            final RepublishMessageResponse result = messageOperator.republishMessage(QUEUE_ID, "123");
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+        }
+
+        @Test
+        void shouldExecuteScanOnReadChannelOnce() throws IOException {
+            //Arrange
+            final String rabbitMessageId = "abc123";
+            final String messageId = "i_" + rabbitMessageId;
+
+            final MessageConverterService localMessageConvertService = new MessageConverterService(new DefaultMessageConverter(new VirgilMessageUtils()));
+
+            final MessageOperator localMessageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, localMessageConvertService);
+
+            final RepublishMocks mocks = initializeMocksAndReturnChannel();
+
+            final Channel mockChannel = mocks.getChannel();
+
+            //channel mocks
+            final AMQP.BasicProperties basicProps = new AMQP.BasicProperties("", "UTF-8", null, null, null, null, null, null, rabbitMessageId, new Date(), null, null, null, null);
+            final Envelope envelope = new Envelope(1L, false, "", "");
+            final GetResponse response = new GetResponse(envelope, basicProps, "".getBytes(), 1);
+            when(mockChannel.basicGet(any(), anyBoolean())).thenReturn(response);
+
+            //Act
+            localMessageOperator.republishMessage(QUEUE_ID, messageId);
+
+            //Assert
+            verify(rabbitMqConnectionService, times(1)).executeOnReadChannel(eq(QUEUE_ID), any(ScanQueue.class));
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void shouldRepublishOnReadChannelWhenChannelPoolIsExhausted() throws IOException {
+            //Arrange
+            final String rabbitMessageId = "abc123";
+            final String messageId = "i_" + rabbitMessageId;
+
+            when(virgilPropertyConfig.getQueueProperties(QUEUE_ID)).thenReturn(QUEUE_PROPERTIES);
+            when(virgilPropertyConfig.getConnection()).thenReturn(new ConnectionProperties(ConnectionMode.POOLED, 1, Duration.ofMillis(100)));
+            final RabbitMqConnectionService pooledConnectionService = new RabbitMqConnectionService(virgilPropertyConfig);
+
+            // a pool of one channel, the size is read on it and released before the scan holds it until the scan is done
+            final CachingConnectionFactory mockConnectionFactory = mock(CachingConnectionFactory.class);
+            final Connection mockConnection = mock(Connection.class);
+            final Channel mockChannel = mock(Channel.class);
+            when(mockConnectionFactory.createConnection()).thenReturn(mockConnection);
+            when(mockConnection.createChannel(false))
+                .thenReturn(mockChannel, mockChannel)
+                .thenThrow(new AmqpTimeoutException("No available channels"));
+            when(mockChannel.isOpen()).thenReturn(true);
+            when(mockChannel.queueDeclarePassive(QUEUE_NAME)).thenReturn(new AMQImpl.Queue.DeclareOk(QUEUE_NAME, 1, 0));
+            ((Map<String, CachingConnectionFactory>) ReflectionTestUtils.getField(pooledConnectionService, "pooledConnectionFactoryLookup"))
+                .put(BINDER_NAME, mockConnectionFactory);
+
+            final AMQP.BasicProperties basicProps = new AMQP.BasicProperties("", "UTF-8", null, null, null, null, null, null, rabbitMessageId, new Date(), null, null, null, null);
+            final GetResponse response = new GetResponse(new Envelope(1L, false, "", ""), basicProps, "".getBytes(), 0);
+            when(mockChannel.basicGet(QUEUE_NAME, false)).thenReturn(response);
+
+            final MessageOperator localMessageOperator = new MessageOperator(virgilPropertyConfig, pooledConnectionService,
+                new MessageConverterService(new DefaultMessageConverter(new VirgilMessageUtils())));
+
+            //Act
+            final RepublishMessageResponse result = localMessageOperator.republishMessage(QUEUE_ID, messageId);
+
+            //Assert
+            assertThat(result.isSuccess()).isTrue();
+
+            final InOrder inOrder = inOrder(mockChannel);
+            inOrder.verify(mockChannel).basicPublish(eq(BINDER_NAME), eq(BINDING_KEY), eq(false), any(), any());
+            inOrder.verify(mockChannel).basicAck(1L, false);
+            verify(mockConnection, times(2)).createChannel(false);
+        }
+
+        @Test
+        void shouldPropagateExceptionFromReadChannel() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+
+            when(rabbitMqConnectionService.executeOnReadChannel(any(), any())).thenThrow(new RuntimeException());
+
+            //Act / Assert
+            assertThatThrownBy(() -> messageOperator.republishMessage(QUEUE_ID, "abc123"))
+                .isInstanceOf(RuntimeException.class);
+        }
+
+        @Test
+        void shouldNotExecuteOnReadChannelIfQueueNotPresent() throws IOException {
+            //Arrange
+            initializeQueueProperties(true);
+
+            //Act
+            messageOperator.republishMessage(QUEUE_ID, "123");
+
+            //Assert
+            verify(rabbitMqConnectionService, never()).executeOnReadChannel(any(), any(ScanQueue.class));
+        }
+
+        RepublishMocks initializeMocksAndReturnChannel() throws IOException {
+            when(virgilPropertyConfig.getQueueProperties(QUEUE_ID)).thenReturn(QUEUE_PROPERTIES);
+
+            final RabbitTemplate localRabbitTemplate = spy(RabbitTemplate.class);
+
+            final Channel mockChannel = mock(Channel.class);
+            final Connection mockConnection = mock(Connection.class);
+            final ConnectionFactory mockConnectionFactory = mock(ConnectionFactory.class);
+
+            when(mockConnection.createChannel(anyBoolean())).thenReturn(mockChannel);
+            when(mockChannel.queueDeclarePassive(QUEUE_NAME)).thenReturn(new AMQImpl.Queue.DeclareOk(QUEUE_NAME, 1, 0));
+
+            when(mockConnectionFactory.createConnection()).thenReturn(mockConnection);
+
+            localRabbitTemplate.setConnectionFactory(mockConnectionFactory);
+
+            when(rabbitMqConnectionService.getReadRabbitTemplate(QUEUE_ID)).thenReturn(localRabbitTemplate);
+            when(rabbitMqConnectionService.getRabbitTemplate(BINDER_NAME)).thenReturn(localRabbitTemplate);
+            stubExecuteOnReadChannel(mockChannel);
+
+            return new RepublishMocks(localRabbitTemplate, mockChannel);
+        }
+    }
+
+    @Nested
+    class ackMessages {
+
+        @Test
+        void shouldAckEveryRequestedMessageInOnePass() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
+
+            //Act
+            final BatchMessageResponse result = messageOperator.ackMessages(QUEUE_ID, Arrays.asList("f_1", "f_3"));
+
+            //Assert
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(result.getProcessedIds()).containsExactly("f_1", "f_3");
+            assertThat(result.getMissingIds()).isEmpty();
+
+            verify(rabbitMqConnectionService, times(1)).executeOnReadChannel(eq(QUEUE_ID), any(ScanQueue.class));
+            verify(channel, times(QUEUE_SIZE_3)).basicGet(QUEUE_NAME, false);
+            verify(channel).basicAck(1L, false);
+            verify(channel).basicAck(3L, false);
+            verify(channel, never()).basicAck(2L, false);
+        }
+
+        @Test
+        void shouldStopScanOnceEveryMessageIsAcked() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
+
+            //Act
+            final BatchMessageResponse result = messageOperator.ackMessages(QUEUE_ID, Arrays.asList("f_1"));
+
+            //Assert
+            assertThat(result.isSuccess()).isTrue();
+
+            verify(channel, times(1)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldReturnMissingIds() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
+
+            //Act
+            final BatchMessageResponse result = messageOperator.ackMessages(QUEUE_ID, Arrays.asList("f_2", "f_missing"));
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getProcessedIds()).containsExactly("f_2");
+            assertThat(result.getMissingIds()).containsExactly("f_missing");
+        }
+
+        @Test
+        void shouldNotExecuteOnReadChannelIfNoMessageIds() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+
+            //Act
+            final BatchMessageResponse result = messageOperator.ackMessages(QUEUE_ID, Collections.emptyList());
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+
+            verify(rabbitMqConnectionService, never()).executeOnReadChannel(any(), any());
+        }
+
+        @Test
+        void shouldNotExecuteOnReadChannelIfQueueNotPresent() throws IOException {
+            //Arrange
+            initializeQueueProperties(true);
+
+            //Act
+            final BatchMessageResponse result = messageOperator.ackMessages(QUEUE_ID, Arrays.asList("f_1"));
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getMissingIds()).containsExactly("f_1");
+
+            verify(rabbitMqConnectionService, never()).executeOnReadChannel(any(), any(ScanQueue.class));
+        }
+
+        @Test
+        void shouldReportProgressOfScan() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
+            final OperationProgress progress = new OperationProgress();
+
+            //Act
+            messageOperator.ackMessages(QUEUE_ID, Arrays.asList("f_1", "f_3"), progress);
+
+            //Assert
+            assertThat(progress.getScannedCount()).isEqualTo(3);
+            assertThat(progress.getMatchedCount()).isEqualTo(2);
+            assertThat(progress.isTruncated()).isFalse();
+        }
+
+        @Test
+        void shouldStopScanOnceProgressIsCancelled() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
+            final OperationProgress progress = new OperationProgress();
+            progress.cancel();
+
+            //Act
+            final BatchMessageResponse result = messageOperator.ackMessages(QUEUE_ID, Arrays.asList("f_1", "f_3"), progress);
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getMissingIds()).containsExactly("f_1", "f_3");
+            assertThat(result.isTruncated()).isTrue();
+
+            verify(channel, never()).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldStopScanOnceMessageBudgetIsUsedUp() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
+
+            //Act
+            final BatchMessageResponse result = messageOperator.ackMessages(QUEUE_ID, Arrays.asList("f_1", "f_3"), new OperationProgress(null, 1));
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.isTruncated()).isTrue();
+            assertThat(result.getProcessedIds()).containsExactly("f_1");
+            assertThat(result.getMissingIds()).containsExactly("f_3");
+
+            verify(channel, times(1)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldApplyConfiguredBudgetWhenTighterThanRequest() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
+            when(virgilPropertyConfig.getBudget()).thenReturn(new BudgetProperties(null, 2));
+            final OperationProgress progress = new OperationProgress(null, 10);
+
+            //Act
+            final BatchMessageResponse result = messageOperator.ackMessages(QUEUE_ID, Arrays.asList("f_1", "f_3"), progress);
+
+            //Assert
+            assertThat(result.isTruncated()).isTrue();
+            assertThat(progress.getScannedCount()).isEqualTo(2);
+
+            verify(channel, times(2)).basicGet(QUEUE_NAME, false);
+        }
+    }
+
+    @Nested
+    class republishMessages {
+
+        @Test
+        void shouldRepublishEveryRequestedMessageInOnePass() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
+
+            //Act
+            final BatchMessageResponse result = messageOperator.republishMessages(QUEUE_ID, Arrays.asList("f_3", "f_2"));
+
+            //Assert
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(result.getProcessedIds()).containsExactly("f_2", "f_3");
+
+            verify(rabbitMqConnectionService, times(1)).executeOnReadChannel(eq(QUEUE_ID), any(ScanQueue.class));
+            verify(channel).basicAck(2L, false);
+            verify(channel).basicAck(3L, false);
+            verify(channel, times(2)).basicPublish(eq(BINDER_NAME), eq(BINDING_KEY), eq(false), any(), any());
+        }
+
+        @Test
+        void shouldStopScanOnceEveryMessageIsRepublished() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
+
+            //Act
+            messageOperator.republishMessages(QUEUE_ID, Arrays.asList("f_1", "f_2"));
+
+            //Assert
+            verify(channel, times(2)).basicGet(QUEUE_NAME, false);
+        }
+
+        @Test
+        void shouldNotRepublishMissingMessages() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
+
+            //Act
+            final BatchMessageResponse result = messageOperator.republishMessages(QUEUE_ID, Arrays.asList("f_missing"));
+
+            //Assert
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getMissingIds()).containsExactly("f_missing");
+
+            verify(channel, never()).basicPublish(anyString(), anyString(), anyBoolean(), any(), any());
+        }
+    }
+
+    @Nested
+    class ackMatchingMessages {
+
+        @Test
+        void shouldAckMatchingMessagesInOnePass() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubQueueContentsWithExceptions();
+
+            //Act
+            final FilterMessagesResponse result = messageOperator.ackMatchingMessages(QUEUE_ID, TIMEOUT_FILTER);
+
+            //Assert
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(result.getScannedCount()).isEqualTo(QUEUE_SIZE_3);
+            assertThat(result.getMatchedCount()).isEqualTo(2);
+
+            verify(rabbitMqConnectionService, times(1)).executeOnReadChannel(eq(QUEUE_ID), any(ScanQueue.class));
+            verify(channel).basicAck(1L, false);
+            verify(channel, never()).basicAck(2L, false);
+            verify(channel).basicAck(3L, false);
+        }
+
+        @Test
+        void shouldNotExecuteOnReadChannelIfFilterIsEmpty() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+
+            //Act
+            final FilterMessagesResponse result = messageOperator.ackMatchingMessages(QUEUE_ID, ImmutableMessageFilter.builder().build());
 
             //Assert
             assertThat(result.isSuccess()).isFalse();
+
+            verify(rabbitMqConnectionService, never()).executeOnReadChannel(any(), any());
         }
 
         @Test
-        void shouldReturnSuccessIsFalseIfNoQueueSize() {
+        void shouldNotExecuteOnReadChannelIfQueueNotPresent() throws IOException {
             //Arrange
             initializeQueueProperties(true);
 
             //Act
-            final RepublishMessageResponse result = messageOperator.republishMessage(QUEUE_ID, "123");
+            final FilterMessagesResponse result = messageOperator.ackMatchingMessages(QUEUE_ID, TIMEOUT_FILTER);
 
             //Assert
             assertThat(result.isSuccess()).isFalse();
+
+            verify(rabbitMqConnectionService, never()).executeOnReadChannel(any(), any(ScanQueue.class));
         }
+    }
+
+    @Nested
+    class republishMatchingMessages {
 
         @Test
-        void shouldDestroyConnectionAfterSuccess() throws IOException {
+        void shouldRepublishMatchingMessagesInOnePass() throws IOException {
             //Arrange
-            final String rabbitMessageId = "abc123";
-            final String messageId = "i_" + rabbitMessageId;
-
-            final MessageConverterService localMessageConvertService = new MessageConverterService(new DefaultMessageConverter(new VirgilMessageUtils()));
+            initializeQueueProperties(false);
+            stubQueueContentsWithExceptions();
 
-            final MessageOperator localMessageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, localMessageConvertService);
+            //Act
+            final FilterMessagesResponse result = messageOperator.republishMatchingMessages(QUEUE_ID, TIMEOUT_FILTER);
 
-            final RepublishMocks mocks = initializeMocksAndReturnChannel();
+            //Assert
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(result.getScannedCount()).isEqualTo(QUEUE_SIZE_3);
+            assertThat(result.getMatchedCount()).isEqualTo(2);
 
-            final Channel mockChannel = mocks.getChannel();
+            verify(channel).basicAck(1L, false);
+            verify(channel).basicAck(3L, false);
+            verify(channel, times(2)).basicPublish(eq(BINDER_NAME), eq(BINDING_KEY), eq(false), any(), any());
+        }
+    }
 
-            //channel mocks
-            final AMQP.BasicProperties basicProps = new AMQP.BasicProperties("", "UTF-8", null, null, null, null, null, null, rabbitMessageId, new Date(), null, null, null, null);
-            final Envelope envelope = new Envelope(1L, false, "", "");
-            final GetResponse response = new GetResponse(envelope, basicProps, "".getBytes(), 1);
-            when(mockChannel.basicGet(any(), anyBoolean())).thenReturn(response);
+    @Nested
+    class metrics {
 
-            //Act
-            localMessageOperator.republishMessage(QUEUE_ID, messageId);
+        private MeterRegistry meterRegistry;
 
-            //Assert
-            verify(rabbitMqConnectionService, times(1)).destroyReadConnection(QUEUE_ID);
+        @BeforeEach
+        void setup() {
+            meterRegistry = new SimpleMeterRegistry();
+            messageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, messageConverterService, new VirgilMetrics(meterRegistry));
         }
 
         @Test
-        void shouldDestroyConnectionAfterException() {
+        void shouldTimeOperation() throws IOException {
             //Arrange
             initializeQueueProperties(false);
+            stubQueueContents(MESSAGE_ID);
 
-            when(rabbitTemplate.execute(any())).thenThrow(new RuntimeException());
-
-            //Act / Assert
-            assertThatThrownBy(() -> messageOperator.republishMessage(QUEUE_ID, "abc123"))
-                .isInstanceOf(RuntimeException.class);
+            //Act
+            messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
 
             //Assert
-            verify(rabbitMqConnectionService, times(1)).destroyReadConnection(QUEUE_ID);
+            assertThat(meterRegistry.get(VirgilMetrics.OPERATIONS_TIMER)
+                .tag(VirgilMetrics.QUEUE_ID_TAG, QUEUE_ID)
+                .tag(VirgilMetrics.OPERATION_TAG, MessageOperator.ACK_CERTAIN_MESSAGE_OPERATION)
+                .timer()
+                .count()).isEqualTo(1);
+            assertThat(meterRegistry.get(VirgilMetrics.OPERATIONS_TIMER)
+                .tag(VirgilMetrics.OPERATION_TAG, MessageOperator.GET_QUEUE_SIZE_OPERATION)
+                .timer()
+                .count()).isEqualTo(1);
         }
 
         @Test
-        void shouldNotDestroyConnectionIfQueueNotPresent() {
+        void shouldCountScanOfQueue() throws IOException {
             //Arrange
-            initializeQueueProperties(true);
+            initializeQueueProperties(false);
+            stubQueueContents("f_otherFingerprint");
 
             //Act
-            messageOperator.republishMessage(QUEUE_ID, "123");
+            messageOperator.ackCertainMessage(QUEUE_ID, MESSAGE_ID);
 
             //Assert
-            verify(rabbitMqConnectionService, times(0)).destroyReadConnection(QUEUE_ID);
+            assertThat(counterValue(VirgilMetrics.BASIC_GETS_COUNTER)).isEqualTo(QUEUE_SIZE_3.doubleValue());
+            assertThat(counterValue(VirgilMetrics.MESSAGES_SCANNED_COUNTER)).isEqualTo(QUEUE_SIZE_3.doubleValue());
+            assertThat(counterValue(VirgilMetrics.BYTES_READ_COUNTER)).isEqualTo(QUEUE_SIZE_3 * "bodymessage".length());
+            assertThat(counterValue(VirgilMetrics.MESSAGES_MATCHED_COUNTER)).isZero();
         }
 
-        RepublishMocks initializeMocksAndReturnChannel() {
-            when(virgilPropertyConfig.getQueueProperties(QUEUE_ID)).thenReturn(QUEUE_PROPERTIES);
-
-            when(rabbitMqConnectionService.getReadAmqpAdmin(QUEUE_ID)).thenReturn(amqpAdmin);
-            when(rabbitMqConnectionService.getAmqpAdmin(BINDER_NAME)).thenReturn(amqpAdmin);
-
-            final Properties properties = new Properties();
-            properties.put(RabbitAdmin.QUEUE_MESSAGE_COUNT.toString(), Integer.valueOf(1));
-
-            when(amqpAdmin.getQueueProperties(QUEUE_NAME)).thenReturn(properties);
+        @Test
+        void shouldCountMatchedMessages() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            stubDistinctQueueContents();
 
-            final RabbitTemplate localRabbitTemplate = spy(RabbitTemplate.class);
+            //Act
+            messageOperator.ackMessages(QUEUE_ID, Arrays.asList("f_1", "f_3"));
 
-            final Channel mockChannel = mock(Channel.class);
-            final Connection mockConnection = mock(Connection.class);
-            final ConnectionFactory mockConnectionFactory = mock(ConnectionFactory.class);
+            //Assert
+            assertThat(meterRegistry.get(VirgilMetrics.MESSAGES_MATCHED_COUNTER)
+                .tag(VirgilMetrics.OPERATION_TAG, MessageOperator.ACK_MESSAGES_OPERATION)
+                .counter()
+                .count()).isEqualTo(2);
+        }
 
-            when(mockConnection.createChannel(anyBoolean())).thenReturn(mockChannel);
+        @Test
+        void shouldCountDeliveriesWhenConsuming() throws IOException {
+            //Arrange
+            initializeQueueProperties(false);
+            when(virgilPropertyConfig.getBrowse()).thenReturn(new BrowseProperties(BrowseMode.CONSUME, 10, Duration.ofMillis(50)));
+            messageOperator = new MessageOperator(virgilPropertyConfig, rabbitMqConnectionService, messageConverterService, new VirgilMetrics(meterRegistry));
 
-            when(mockConnectionFactory.createConnection()).thenReturn(mockConnection);
+            stubBasicConsume(channel, QUEUE_SIZE_3);
 
-            localRabbitTemplate.setConnectionFactory(mockConnectionFactory);
+            //Act
+            messageOperator.getMessages(QUEUE_ID, null);
 
-            when(rabbitMqConnectionService.getReadRabbitTemplate(QUEUE_ID)).thenReturn(localRabbitTemplate);
-            when(rabbitMqConnectionService.getRabbitTemplate(BINDER_NAME)).thenReturn(localRabbitTemplate);
+            //Assert
+            assertThat(counterValue(VirgilMetrics.BASIC_GETS_COUNTER)).isZero();
+            assertThat(counterValue(VirgilMetrics.MESSAGES_SCANNED_COUNTER)).isEqualTo(QUEUE_SIZE_3.doubleValue());
+        }
 
-            return new RepublishMocks(localRabbitTemplate, mockChannel);
+        private double counterValue(final String name) {
+            return meterRegistry.get(name)
+                .tag(VirgilMetrics.QUEUE_ID_TAG, QUEUE_ID)
+                .tag(VirgilMetrics.BINDER_TAG, BINDER_NAME)
+                .counter()
+                .count();
         }
     }
 
@@ -602,13 +1596,7 @@ public class TestMessageOperator {
             final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
             final MessageConverterService messageConverterService = mock(MessageConverterService.class);
 
-            final VirgilMessage virgilMessage = ImmutableVirgilMessage.builder()
-                .setBody("bodymessage")
-                .setFingerprint(fingerprint)
-                .setId(messageId)
-                .build();
-
-            when(messageConverterService.mapMessage(any())).thenReturn(virgilMessage);
+            when(messageConverterService.matchesId(any(), eq(messageId))).thenReturn(true);
 
             final HandleAckCertainMessage handleAckCertainMessage = new HandleAckCertainMessage(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, messageId);
 
@@ -641,13 +1629,7 @@ public class TestMessageOperator {
             final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
             final MessageConverterService messageConverterService = mock(MessageConverterService.class);
 
-            final VirgilMessage virgilMessage = ImmutableVirgilMessage.builder()
-                .setBody("bodymessage")
-                .setFingerprint(fingerprint)
-                .setId(messageId)
-                .build();
-
-            when(messageConverterService.mapMessage(any())).thenReturn(virgilMessage);
+            when(messageConverterService.matchesId(any(), eq(messageId))).thenReturn(true);
 
             final HandleAckCertainMessage handleAckCertainMessage = new HandleAckCertainMessage(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, messageId);
 
@@ -679,13 +1661,7 @@ public class TestMessageOperator {
             final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
             final MessageConverterService messageConverterService = mock(MessageConverterService.class);
 
-            final VirgilMessage virgilMessage = ImmutableVirgilMessage.builder()
-                .setBody("bodymessage")
-                .setFingerprint(fingerprint)
-                .setId(messageId)
-                .build();
-
-            when(messageConverterService.mapMessage(any())).thenReturn(virgilMessage);
+            when(messageConverterService.matchesId(any(), eq(messageId))).thenReturn(true);
 
             final HandleAckCertainMessage handleAckCertainMessage = new HandleAckCertainMessage(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, messageId);
 
@@ -703,6 +1679,31 @@ public class TestMessageOperator {
             //Assert
             assertThat(handleAckCertainMessage.getAckedMessage()).isNotNull();
         }
+
+        @Test
+        void shouldMatchIdWithoutConvertingMessage() throws Exception {
+            //Arrange
+            initializeQueueProperties(false);
+
+            final String messageId = "i_abc123";
+
+            final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
+            final MessageConverterService messageConverterService = mock(MessageConverterService.class);
+
+            when(messageConverterService.matchesId(any(), eq(messageId))).thenReturn(true);
+
+            final HandleAckCertainMessage handleAckCertainMessage = new HandleAckCertainMessage(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, messageId);
+
+            final Channel mockChannel = mock(Channel.class);
+            when(mockChannel.basicGet(QUEUE_NAME, false)).thenReturn(createGetResponse(1L, 0));
+
+            //Act
+            handleAckCertainMessage.doInRabbit(mockChannel);
+
+            //Assert
+            assertThat(handleAckCertainMessage.hasMessageBeenAckd()).isTrue();
+            verify(messageConverterService, never()).mapMessage(any());
+        }
     }
 
     @Nested
@@ -833,7 +1834,7 @@ public class TestMessageOperator {
         }
 
         @Test
-        void shouldAddMessageToMessageLookup() throws Exception {
+        void shouldAddMessageToMessageLookupWhenRetainingMessages() throws Exception {
             //Arrange
             initializeQueueProperties(false);
 
@@ -860,7 +1861,7 @@ public class TestMessageOperator {
 
             when(messageConverterService.mapMessage(any())).thenReturn(virgilMessage);
 
-            final HandleGetMessages handleGetMessages = new HandleGetMessages(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, 10);
+            final HandleGetMessages handleGetMessages = new HandleGetMessages(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, 10, true);
 
             final GetResponse mockGetResponse = mock(GetResponse.class);
             when(mockGetResponse.getBody()).thenReturn(body.getBytes());
@@ -877,6 +1878,174 @@ public class TestMessageOperator {
             //Assert
             assertThat(handleGetMessages.getMessageLookup()).contains(entry(messageId, expectedMessage));
         }
+
+        @Test
+        void shouldNotRetainMessagesByDefault() throws Exception {
+            //Arrange
+            final MessageConverterService messageConverterService = mock(MessageConverterService.class);
+            when(messageConverterService.mapMessage(any())).thenReturn(ImmutableVirgilMessage.builder()
+                .setBody("bodymessage")
+                .setFingerprint("uniqueFingerprint")
+                .setId("f_uniqueFingerprint")
+                .build());
+
+            final HandleGetMessages handleGetMessages = new HandleGetMessages(new DefaultMessagePropertiesConverter(), messageConverterService, QUEUE_PROPERTIES, 10);
+
+            final Channel mockChannel = mock(Channel.class);
+            when(mockChannel.basicGet(QUEUE_NAME, false)).thenReturn(createGetResponse(1L, 0));
+
+            //Act
+            handleGetMessages.doInRabbit(mockChannel);
+
+            //Assert
+            assertThat(handleGetMessages.getDlqMessages()).hasSize(1);
+            assertThat(handleGetMessages.getMessageLookup()).isEmpty();
+        }
+
+        /**
+         * What a scan keeps per message: every 64KB body is its own array, and none of them may still be reachable once the scan is done,
+         * as only the 256 byte preview is copied into the {@link VirgilMessage} and the raw message is not kept.
+         */
+        @Test
+        void shouldNotRetainRawBodyOfAnyMessage() throws Exception {
+            //Arrange
+            final int messageCount = 100;
+            final List<WeakReference<byte[]>> bodies = new ArrayList<>();
+
+            final MessageConverterService messageConverterService = new MessageConverterService(new DefaultMessageConverter(new VirgilMessageUtils()));
+            final Channel mockChannel = mock(Channel.class);
+            when(mockChannel.basicGet(QUEUE_NAME, false)).thenAnswer(invocation -> {
+                final byte[] body = new byte[64 * 1024];
+                Arrays.fill(body, (byte) 'a');
+                bodies.add(new WeakReference<>(body));
+                return new GetResponse(new Envelope(bodies.size(), false, EXCHANGE_NAME, BINDING_KEY), new BasicProperties(), body,
+                    messageCount - bodies.size());
+            });
+
+            final HandleGetMessages handleGetMessages = new HandleGetMessages(new DefaultMessagePropertiesConverter(), messageConverterService, QUEUE_PROPERTIES, messageCount);
+
+            //Act
+            new ScanQueue(handleGetMessages, messageCount).doInRabbit(mockChannel);
+            collectGarbage(bodies);
+
+            //Assert
+            // the handler is still reachable here, so a body it kept a reference to could not have been collected
+            assertThat(handleGetMessages.getDlqMessages()).hasSize(messageCount);
+            assertThat(handleGetMessages.getMessageLookup()).isEmpty();
+            assertThat(bodies).hasSize(messageCount)
+                .allMatch(body -> body.get() == null);
+        }
+    }
+
+    @Nested
+    class testHandleConsumeMessages {
+
+        @Test
+        void shouldPassFalseToAutoAckInBasicConsume() throws Exception {
+            //Arrange
+            final Channel mockChannel = mock(Channel.class);
+            stubBasicConsume(mockChannel, 0);
+
+            final HandleConsumeMessages handleConsumeMessages = createHandleConsumeMessages(10, 10);
+
+            //Act
+            handleConsumeMessages.doInRabbit(mockChannel);
+
+            //Assert
+            verify(mockChannel).basicConsume(eq(QUEUE_NAME), eq(false), any(DeliverCallback.class), any(CancelCallback.class));
+        }
+
+        @Test
+        void shouldConsumeInWindowsOfPrefetch() throws Exception {
+            //Arrange
+            final Channel mockChannel = mock(Channel.class);
+            stubBasicConsume(mockChannel, 2);
+
+            final HandleConsumeMessages handleConsumeMessages = createHandleConsumeMessages(5, 2);
+
+            //Act
+            final List<VirgilMessage> result = handleConsumeMessages.doInRabbit(mockChannel);
+
+            //Assert
+            assertThat(result).hasSize(5);
+
+            verify(mockChannel, times(1)).basicQos(2);
+            verify(mockChannel, times(1)).basicQos(1);
+            verify(mockChannel, times(3)).basicConsume(eq(QUEUE_NAME), eq(false), any(DeliverCallback.class), any(CancelCallback.class));
+            verify(mockChannel, times(3)).basicCancel(anyString());
+        }
+
+        @Test
+        void shouldStopWhenWindowIsNotFilled() throws Exception {
+            //Arrange
+            final Channel mockChannel = mock(Channel.class);
+            stubBasicConsume(mockChannel, 1);
+
+            final HandleConsumeMessages handleConsumeMessages = createHandleConsumeMessages(10, 5);
+
+            //Act
+            final List<VirgilMessage> result = handleConsumeMessages.doInRabbit(mockChannel);
+
+            //Assert
+            assertThat(result).hasSize(1);
+
+            verify(mockChannel, times(1)).basicConsume(eq(QUEUE_NAME), eq(false), any(DeliverCallback.class), any(CancelCallback.class));
+            verify(mockChannel, times(1)).basicCancel(anyString());
+        }
+
+        @Test
+        void shouldNotConsumeIfNothingToRetrieve() throws Exception {
+            //Arrange
+            final Channel mockChannel = mock(Channel.class);
+
+            final HandleConsumeMessages handleConsumeMessages = createHandleConsumeMessages(0, 10);
+
+            //Act
+            final List<VirgilMessage> result = handleConsumeMessages.doInRabbit(mockChannel);
+
+            //Assert
+            assertThat(result).isEmpty();
+
+            verify(mockChannel, never()).basicConsume(anyString(), anyBoolean(), any(DeliverCallback.class), any(CancelCallback.class));
+        }
+
+        @Test
+        void shouldStopConsumingOnceProgressIsCancelled() throws Exception {
+            //Arrange
+            final Channel mockChannel = mock(Channel.class);
+            stubBasicConsume(mockChannel, 2);
+            final MessageConverterService messageConverterService = mock(MessageConverterService.class);
+            final OperationProgress progress = new OperationProgress();
+            final List<VirgilMessage> consumed = new ArrayList<>();
+
+            final HandleConsumeMessages handleConsumeMessages = new HandleConsumeMessages(new DefaultMessagePropertiesConverter(),
+                messageConverterService, QUEUE_PROPERTIES, 5, 2, 10, virgilMessage -> {
+                    consumed.add(virgilMessage);
+                    progress.cancel();
+                }, progress);
+
+            //Act
+            handleConsumeMessages.doInRabbit(mockChannel);
+
+            //Assert
+            assertThat(consumed).hasSize(1);
+            assertThat(progress.isTruncated()).isTrue();
+            assertThat(progress.getScannedCount()).isEqualTo(1);
+
+            verify(mockChannel, times(1)).basicConsume(eq(QUEUE_NAME), eq(false), any(DeliverCallback.class), any(CancelCallback.class));
+            verify(mockChannel, times(1)).basicCancel(anyString());
+        }
+
+        private HandleConsumeMessages createHandleConsumeMessages(final int numToRetrieve, final int prefetch) {
+            final MessageConverterService messageConverterService = mock(MessageConverterService.class);
+            when(messageConverterService.mapMessage(any())).thenReturn(ImmutableVirgilMessage.builder()
+                .setBody("bodymessage")
+                .setFingerprint("uniqueFingerprint")
+                .setId("f_uniqueFingerprint")
+                .build());
+
+            return new HandleConsumeMessages(new DefaultMessagePropertiesConverter(), messageConverterService, QUEUE_PROPERTIES, numToRetrieve, prefetch, 10);
+        }
     }
 
     @Nested
@@ -890,7 +2059,7 @@ public class TestMessageOperator {
             final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
             final MessageConverterService messageConverterService = mock(MessageConverterService.class);
 
-            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(rabbitMqConnectionService, messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, QUEUE_ID, "");
+            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, "");
 
             final Channel mockChannel = mock(Channel.class);
 
@@ -913,7 +2082,7 @@ public class TestMessageOperator {
             final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
             final MessageConverterService messageConverterService = mock(MessageConverterService.class);
 
-            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(rabbitMqConnectionService, messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, QUEUE_ID, "");
+            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, "");
 
             final Channel mockChannel = mock(Channel.class);
 
@@ -941,15 +2110,9 @@ public class TestMessageOperator {
             final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
             final MessageConverterService messageConverterService = mock(MessageConverterService.class);
 
-            final VirgilMessage virgilMessage = ImmutableVirgilMessage.builder()
-                .setBody("bodymessage")
-                .setFingerprint(fingerprint)
-                .setId(messageId)
-                .build();
-
-            when(messageConverterService.mapMessage(any())).thenReturn(virgilMessage);
+            when(messageConverterService.matchesId(any(), eq(messageId))).thenReturn(true);
 
-            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(rabbitMqConnectionService, messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, QUEUE_ID, messageId);
+            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, messageId);
 
             final GetResponse mockGetResponse = mock(GetResponse.class);
             when(mockGetResponse.getProps()).thenReturn(new BasicProperties());
@@ -959,8 +2122,6 @@ public class TestMessageOperator {
             final Channel mockChannel = mock(Channel.class);
             when(mockChannel.basicGet(QUEUE_NAME, false)).thenReturn(mockGetResponse);
 
-            doNothing().when(rabbitTemplate).convertAndSend(anyString(), anyString(), (Object) any());
-
             //Act
             final Void result = handleRepublishMessage.doInRabbit(mockChannel);
 
@@ -970,7 +2131,7 @@ public class TestMessageOperator {
         }
 
         @Test
-        void shouldCallConvertAndSendWhenMessageIdMatches() throws Exception {
+        void shouldPublishOnReadChannelBeforeAckWhenMessageIdMatches() throws Exception {
             //Arrange
             initializeQueueProperties(false);
 
@@ -982,15 +2143,9 @@ public class TestMessageOperator {
             final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
             final MessageConverterService messageConverterService = mock(MessageConverterService.class);
 
-            final VirgilMessage virgilMessage = ImmutableVirgilMessage.builder()
-                .setBody("bodymessage")
-                .setFingerprint(fingerprint)
-                .setId(messageId)
-                .build();
-
-            when(messageConverterService.mapMessage(any())).thenReturn(virgilMessage);
+            when(messageConverterService.matchesId(any(), eq(messageId))).thenReturn(true);
 
-            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(rabbitMqConnectionService, messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, QUEUE_ID, messageId);
+            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, messageId);
 
             final GetResponse mockGetResponse = mock(GetResponse.class);
             when(mockGetResponse.getProps()).thenReturn(new BasicProperties());
@@ -1000,14 +2155,14 @@ public class TestMessageOperator {
             final Channel mockChannel = mock(Channel.class);
             when(mockChannel.basicGet(QUEUE_NAME, false)).thenReturn(mockGetResponse);
 
-            doNothing().when(rabbitTemplate).convertAndSend(anyString(), anyString(), (Object) any());
-
             //Act
             final Void result = handleRepublishMessage.doInRabbit(mockChannel);
 
             //Assert
             assertThat(result).isNull();
-            verify(rabbitTemplate, times(1)).convertAndSend(anyString(), anyString(), (Object) any());
+            final InOrder inOrder = inOrder(mockChannel);
+            inOrder.verify(mockChannel, times(1)).basicPublish(eq(BINDER_NAME), eq(BINDING_KEY), eq(false), any(), any());
+            inOrder.verify(mockChannel, times(1)).basicAck(deliveryTag, false);
         }
 
         @Test
@@ -1023,15 +2178,9 @@ public class TestMessageOperator {
             final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
             final MessageConverterService messageConverterService = mock(MessageConverterService.class);
 
-            final VirgilMessage virgilMessage = ImmutableVirgilMessage.builder()
-                .setBody("bodymessage")
-                .setFingerprint(fingerprint)
-                .setId(messageId)
-                .build();
-
-            when(messageConverterService.mapMessage(any())).thenReturn(virgilMessage);
+            when(messageConverterService.matchesId(any(), eq(messageId))).thenReturn(true);
 
-            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(rabbitMqConnectionService, messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, QUEUE_ID, messageId);
+            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, messageId);
 
             final GetResponse mockGetResponse = mock(GetResponse.class);
             when(mockGetResponse.getProps()).thenReturn(new BasicProperties());
@@ -1041,8 +2190,6 @@ public class TestMessageOperator {
             final Channel mockChannel = mock(Channel.class);
             when(mockChannel.basicGet(QUEUE_NAME, false)).thenReturn(mockGetResponse);
 
-            doNothing().when(rabbitTemplate).convertAndSend(anyString(), anyString(), (Object) any());
-
             //Act
             handleRepublishMessage.doInRabbit(mockChannel);
 
@@ -1063,15 +2210,9 @@ public class TestMessageOperator {
             final MessagePropertiesConverter messagePropertiesConverter = new DefaultMessagePropertiesConverter();
             final MessageConverterService messageConverterService = mock(MessageConverterService.class);
 
-            final VirgilMessage virgilMessage = ImmutableVirgilMessage.builder()
-                .setBody("bodymessage")
-                .setFingerprint(fingerprint)
-                .setId(messageId)
-                .build();
-
-            when(messageConverterService.mapMessage(any())).thenReturn(virgilMessage);
+            when(messageConverterService.matchesId(any(), eq(messageId))).thenReturn(true);
 
-            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(rabbitMqConnectionService, messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, QUEUE_ID, messageId + "2");
+            final HandleRepublishMessage handleRepublishMessage = new HandleRepublishMessage(messagePropertiesConverter, messageConverterService, QUEUE_PROPERTIES, messageId + "2");
 
             final GetResponse mockGetResponse = mock(GetResponse.class);
             when(mockGetResponse.getProps()).thenReturn(new BasicProperties());
@@ -1081,8 +2222,6 @@ public class TestMessageOperator {
             final Channel mockChannel = mock(Channel.class);
             when(mockChannel.basicGet(QUEUE_NAME, false)).thenReturn(mockGetResponse);
 
-            doNothing().when(rabbitTemplate).convertAndSend(anyString(), anyString(), (Object) any());
-
             //Act
             handleRepublishMessage.doInRabbit(mockChannel);
 
@@ -1091,25 +2230,130 @@ public class TestMessageOperator {
         }
     }
 
-    private void initializeQueueProperties(final boolean testQueueNotExist) {
+    private void initializeQueueProperties(final boolean testQueueNotExist) throws IOException {
 
         when(virgilPropertyConfig.getQueueProperties(QUEUE_ID)).thenReturn(QUEUE_PROPERTIES);
 
-        when(rabbitMqConnectionService.getAmqpAdmin(BINDER_NAME)).thenReturn(amqpAdmin);
-
         if (testQueueNotExist) {
-            when(amqpAdmin.getQueueProperties(QUEUE_NAME)).thenReturn(null);
+            when(channel.queueDeclarePassive(QUEUE_NAME)).thenThrow(new IOException("NOT_FOUND"));
         } else {
-            final Properties properties = new Properties();
-            properties.put(RabbitAdmin.QUEUE_MESSAGE_COUNT.toString(), QUEUE_SIZE_3);
-
-            when(amqpAdmin.getQueueProperties(QUEUE_NAME)).thenReturn(properties);
+            when(channel.queueDeclarePassive(QUEUE_NAME)).thenReturn(new AMQImpl.Queue.DeclareOk(QUEUE_NAME, QUEUE_SIZE_3, 0));
         }
 
-        when(rabbitMqConnectionService.getReadAmqpAdmin(QUEUE_ID)).thenReturn(amqpAdmin);
         when(rabbitMqConnectionService.getReadRabbitTemplate(QUEUE_ID)).thenReturn(rabbitTemplate);
         when(rabbitMqConnectionService.getRabbitTemplate(BINDER_NAME)).thenReturn(rabbitTemplate);
         when(rabbitTemplate.getConnectionFactory()).thenReturn(new CachingConnectionFactory());
+        stubExecuteOnReadChannel(channel);
+    }
+
+    /**
+     * Every basicGet on the read channel returns a message that is converted to {@code messageId}.
+     */
+    private void stubQueueContents(final String messageId) throws IOException {
+        final GetResponse first = createGetResponse(1L, QUEUE_SIZE_3 - 1);
+        final GetResponse second = createGetResponse(2L, QUEUE_SIZE_3 - 2);
+        final GetResponse last = createGetResponse(3L, 0);
+        when(channel.basicGet(QUEUE_NAME, false)).thenReturn(first, second, last);
+
+        when(messageConverterService.getMessageId(any())).thenReturn(messageId);
+        when(messageConverterService.matchesId(any(), anyString())).thenAnswer(invocation -> messageId.equals(invocation.getArgument(1)));
+
+        when(messageConverterService.mapMessage(any())).thenReturn(ImmutableVirgilMessage.builder()
+            .setBody("bodymessage")
+            .setFingerprint(messageId.substring(2))
+            .setId(messageId)
+            .build());
+    }
+
+    /**
+     * The queue holds three messages, with ids f_1, f_2 and f_3 and delivery tags 1, 2 and 3.
+     */
+    private void stubDistinctQueueContents() throws IOException {
+        when(channel.basicGet(QUEUE_NAME, false)).thenReturn(
+            createGetResponse(1L, QUEUE_SIZE_3 - 1),
+            createGetResponse(2L, QUEUE_SIZE_3 - 2),
+            createGetResponse(3L, 0));
+
+        when(messageConverterService.getMessageId(any())).thenReturn("f_1", "f_2", "f_3");
+    }
+
+    /**
+     * The queue holds three messages, the first and the last one failed with a TimeoutException.
+     */
+    private void stubQueueContentsWithExceptions() throws IOException {
+        when(channel.basicGet(QUEUE_NAME, false)).thenReturn(
+            createGetResponse(1L, QUEUE_SIZE_3 - 1),
+            createGetResponse(2L, QUEUE_SIZE_3 - 2),
+            createGetResponse(3L, 0));
+
+        when(messageConverterService.mapMessage(any())).thenReturn(
+            createMessageWithException("f_1", "java.util.concurrent.TimeoutException"),
+            createMessageWithException("f_2", "java.lang.NullPointerException"),
+            createMessageWithException("f_3", "java.util.concurrent.TimeoutException"));
+    }
+
+    private VirgilMessage createMessageWithException(final String messageId, final String exceptionMessage) {
+        return ImmutableVirgilMessage.builder()
+            .setBody("bodymessage")
+            .setFingerprint(messageId.substring(2))
+            .setId(messageId)
+            .putHeaders("x-exception-message", exceptionMessage)
+            .build();
+    }
+
+    private GetResponse createGetResponse(final long deliveryTag, final int remainingMessageCount) {
+        return new GetResponse(new Envelope(deliveryTag, false, EXCHANGE_NAME, BINDING_KEY), new BasicProperties(), "bodymessage".getBytes(), remainingMessageCount);
+    }
+
+    /**
+     * Runs the garbage collector until every referenced object has been collected, or gives up after a few attempts
+     */
+    private static void collectGarbage(final List<? extends WeakReference<?>> references) throws InterruptedException {
+        for (int i = 0; i < 10 && references.stream().anyMatch(reference -> reference.get() != null); i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * A connection service in the default thread local mode, every channel callback on the read binder runs on {@link #channel}.
+     */
+    private RabbitMqConnectionService spyThreadLocalConnectionService() {
+        when(virgilPropertyConfig.getConnection()).thenReturn(ConnectionProperties.defaults());
+        final RabbitMqConnectionService threadLocalConnectionService = spy(new RabbitMqConnectionService(virgilPropertyConfig));
+
+        doReturn(rabbitTemplate).when(threadLocalConnectionService).getRabbitTemplate(BINDER_NAME);
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation -> {
+            final ChannelCallback<?> callback = invocation.getArgument(0);
+            return callback.doInRabbit(channel);
+        });
+
+        return threadLocalConnectionService;
+    }
+
+    private void stubExecuteOnReadChannel(final Channel readChannel) {
+        stubExecuteOnReadChannel(QUEUE_ID, readChannel);
+    }
+
+    private void stubExecuteOnReadChannel(final String queueId, final Channel readChannel) {
+        when(rabbitMqConnectionService.executeOnReadChannel(eq(queueId), any())).thenAnswer(invocation -> {
+            final ChannelCallback<?> callback = invocation.getArgument(1);
+            return callback.doInRabbit(readChannel);
+        });
+    }
+
+    /**
+     * Every consumer registered on the channel is handed {@code deliveriesPerConsumer} messages before basicConsume returns.
+     */
+    private void stubBasicConsume(final Channel consumeChannel, final int deliveriesPerConsumer) throws IOException {
+        when(consumeChannel.basicConsume(anyString(), anyBoolean(), any(DeliverCallback.class), any(CancelCallback.class))).thenAnswer(invocation -> {
+            final DeliverCallback deliverCallback = invocation.getArgument(2);
+            for (int i = 0; i < deliveriesPerConsumer; i++) {
+                final Envelope envelope = new Envelope(i + 1, false, EXCHANGE_NAME, BINDING_KEY);
+                deliverCallback.handle("consumerTag", new Delivery(envelope, new BasicProperties(), "bodymessage".getBytes()));
+            }
+            return "consumerTag";
+        });
     }
 
     static class RepublishMocks {
@@ -0,0 +1,301 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.SnapshotProperties;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableVirgilMessage;
+import com.indeed.virgil.spring.boot.starter.models.MessagePage;
+import com.indeed.virgil.spring.boot.starter.models.VirgilMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestMessageSnapshotService {
+
+    private static final String QUEUE_ID = "primaryQueue";
+    private static final Instant NOW = Instant.parse("2020-03-01T10:00:00Z");
+
+    @Mock
+    private VirgilPropertyConfig virgilPropertyConfig;
+
+    @Mock
+    private MessageOperator messageOperator;
+
+    @Mock
+    private Clock clock;
+
+    private MessageSnapshotService messageSnapshotService;
+
+    @BeforeEach
+    void setup() {
+        when(virgilPropertyConfig.getSnapshot()).thenReturn(new SnapshotProperties(Duration.ofMinutes(5), 100, 2));
+        lenient().when(clock.instant()).thenReturn(NOW);
+
+        messageSnapshotService = new MessageSnapshotService(virgilPropertyConfig, messageOperator, clock);
+    }
+
+    @Nested
+    class getPage {
+
+        @Test
+        void shouldOnlyReadFirstPageFromQueue() {
+            //Arrange
+            stubQueueOf(5);
+
+            //Act
+            final Optional<MessagePage> result = messageSnapshotService.getPage(QUEUE_ID, null, 2);
+
+            //Assert
+            verify(messageOperator, times(1)).getMessages(eq(QUEUE_ID), eq(2));
+            assertThat(result).isPresent();
+            assertThat(getIds(result.get())).containsExactly("m_0", "m_1");
+            assertThat(result.get().getOffset()).isEqualTo(0);
+            assertThat(result.get().getTotal()).isEqualTo(2);
+            assertThat(result.get().getNextCursor()).endsWith(":2");
+            assertThat(result.get().isTruncated()).isFalse();
+        }
+
+        @Test
+        void shouldExtendSnapshotForLaterPages() {
+            //Arrange
+            stubQueueOf(5);
+            final MessagePage firstPage = messageSnapshotService.getPage(QUEUE_ID, null, 2).get();
+
+            //Act
+            final MessagePage secondPage = messageSnapshotService.getPage(QUEUE_ID, firstPage.getNextCursor(), 2).get();
+            final MessagePage thirdPage = messageSnapshotService.getPage(QUEUE_ID, secondPage.getNextCursor(), 2).get();
+
+            //Assert
+            verify(messageOperator, times(1)).getMessages(QUEUE_ID, 4);
+            verify(messageOperator, times(1)).getMessages(QUEUE_ID, 8);
+            assertThat(getIds(secondPage)).containsExactly("m_2", "m_3");
+            assertThat(secondPage.getOffset()).isEqualTo(2);
+            assertThat(getIds(thirdPage)).containsExactly("m_4");
+            assertThat(thirdPage.getTotal()).isEqualTo(5);
+            assertThat(thirdPage.getNextCursor()).isNull();
+        }
+
+        @Test
+        void shouldServePagesThatWereReadBeforeFromSnapshot() {
+            //Arrange
+            stubQueueOf(5);
+            final MessagePage firstPage = messageSnapshotService.getPage(QUEUE_ID, null, 2).get();
+            messageSnapshotService.getPage(QUEUE_ID, firstPage.getNextCursor(), 2);
+
+            //Act
+            final MessagePage result = messageSnapshotService.getPage(QUEUE_ID, firstPage.getNextCursor(), 2).get();
+
+            //Assert
+            verify(messageOperator, times(2)).getMessages(anyString(), anyInt());
+            assertThat(getIds(result)).containsExactly("m_2", "m_3");
+        }
+
+        @Test
+        void shouldContinueAfterLastMessageWhenHeadIsDroppedBetweenPages() {
+            //Arrange
+            final List<String> queue = new ArrayList<>(Arrays.asList("m_0", "m_1", "m_2", "m_3", "m_4", "m_5"));
+            stubQueue(queue);
+            final MessagePage firstPage = messageSnapshotService.getPage(QUEUE_ID, null, 2).get();
+            queue.remove("m_0");
+
+            //Act
+            final MessagePage secondPage = messageSnapshotService.getPage(QUEUE_ID, firstPage.getNextCursor(), 2).get();
+
+            //Assert
+            assertThat(getIds(firstPage)).containsExactly("m_0", "m_1");
+            assertThat(getIds(secondPage)).containsExactly("m_2", "m_3");
+            assertThat(secondPage.getOffset()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldNotRepeatMessageRepublishedBetweenPages() {
+            //Arrange
+            final List<String> queue = new ArrayList<>(Arrays.asList("m_0", "m_1", "m_2"));
+            stubQueue(queue);
+            final MessagePage firstPage = messageSnapshotService.getPage(QUEUE_ID, null, 2).get();
+            queue.add(queue.remove(0));
+
+            //Act
+            final MessagePage secondPage = messageSnapshotService.getPage(QUEUE_ID, firstPage.getNextCursor(), 2).get();
+
+            //Assert
+            assertThat(getIds(secondPage)).containsExactly("m_2");
+            assertThat(secondPage.getTotal()).isEqualTo(3);
+            assertThat(secondPage.getNextCursor()).isNull();
+        }
+
+        @Test
+        void shouldFlagSnapshotThatReachedMaxMessages() {
+            //Arrange
+            stubQueueOf(150);
+            final MessagePage firstPage = messageSnapshotService.getPage(QUEUE_ID, null, 60).get();
+
+            //Act
+            final MessagePage secondPage = messageSnapshotService.getPage(QUEUE_ID, firstPage.getNextCursor(), 60).get();
+
+            //Assert
+            verify(messageOperator, times(1)).getMessages(QUEUE_ID, 100);
+            assertThat(firstPage.isTruncated()).isFalse();
+            assertThat(secondPage.getMessages()).hasSize(40);
+            assertThat(secondPage.getTotal()).isEqualTo(100);
+            assertThat(secondPage.getNextCursor()).isNull();
+            assertThat(secondPage.isTruncated()).isTrue();
+        }
+
+        @Test
+        void shouldReturnEmptyForMalformedCursor() {
+
+            //Act
+            final Optional<MessagePage> result = messageSnapshotService.getPage(QUEUE_ID, "not-a-cursor", 2);
+
+            //Assert
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        void shouldReturnEmptyForUnknownSnapshot() {
+
+            //Act
+            final Optional<MessagePage> result = messageSnapshotService.getPage(QUEUE_ID, "unknown:2", 2);
+
+            //Assert
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        void shouldReturnEmptyForCursorOfAnotherQueue() {
+            //Arrange
+            stubQueueOf(5);
+            final MessagePage firstPage = messageSnapshotService.getPage(QUEUE_ID, null, 2).get();
+
+            //Act
+            final Optional<MessagePage> result = messageSnapshotService.getPage("secondaryQueue", firstPage.getNextCursor(), 2);
+
+            //Assert
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        void shouldReturnEmptyOnceSnapshotHasExpired() {
+            //Arrange
+            stubQueueOf(5);
+            final MessagePage firstPage = messageSnapshotService.getPage(QUEUE_ID, null, 2).get();
+            when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(6)));
+
+            //Act
+            final Optional<MessagePage> result = messageSnapshotService.getPage(QUEUE_ID, firstPage.getNextCursor(), 2);
+
+            //Assert
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        void shouldKeepSnapshotAliveWhileItIsRead() {
+            //Arrange
+            stubQueueOf(5);
+            final MessagePage firstPage = messageSnapshotService.getPage(QUEUE_ID, null, 2).get();
+            when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(4)));
+            final MessagePage secondPage = messageSnapshotService.getPage(QUEUE_ID, firstPage.getNextCursor(), 2).get();
+            when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(8)));
+
+            //Act
+            final Optional<MessagePage> result = messageSnapshotService.getPage(QUEUE_ID, secondPage.getNextCursor(), 2);
+
+            //Assert
+            assertThat(result).isPresent();
+        }
+
+        @Test
+        void shouldEvictLeastRecentlyReadSnapshot() {
+            //Arrange
+            stubQueueOf(5);
+            final MessagePage firstSnapshot = messageSnapshotService.getPage(QUEUE_ID, null, 2).get();
+            final MessagePage secondSnapshot = messageSnapshotService.getPage(QUEUE_ID, null, 2).get();
+            messageSnapshotService.getPage(QUEUE_ID, firstSnapshot.getNextCursor(), 2);
+
+            //Act
+            messageSnapshotService.getPage(QUEUE_ID, null, 2);
+
+            //Assert
+            assertThat(messageSnapshotService.getPage(QUEUE_ID, firstSnapshot.getNextCursor(), 2)).isPresent();
+            assertThat(messageSnapshotService.getPage(QUEUE_ID, secondSnapshot.getNextCursor(), 2)).isEmpty();
+        }
+
+        @Test
+        void shouldReturnEmptyPageForOffsetPastTheEnd() {
+            //Arrange
+            stubQueueOf(5);
+            final String cursor = messageSnapshotService.getPage(QUEUE_ID, null, 2).get().getNextCursor();
+            final String pastTheEnd = cursor.substring(0, cursor.lastIndexOf(':')) + ":10";
+
+            //Act
+            final Optional<MessagePage> result = messageSnapshotService.getPage(QUEUE_ID, pastTheEnd, 2);
+
+            //Assert
+            assertThat(result).isPresent();
+            assertThat(result.get().getMessages()).isEmpty();
+            assertThat(result.get().getNextCursor()).isNull();
+        }
+    }
+
+    /**
+     * The queue holds {@code queueSize} messages, with ids m_0, m_1 and so on
+     */
+    private void stubQueueOf(final int queueSize) {
+        when(messageOperator.getMessages(anyString(), anyInt()))
+            .thenAnswer(invocation -> createMessages(Math.min(queueSize, (Integer) invocation.getArgument(1))));
+    }
+
+    /**
+     * The queue holds a message per id in {@code queue}, in that order, changes to {@code queue} show in the next read
+     */
+    private void stubQueue(final List<String> queue) {
+        when(messageOperator.getMessages(anyString(), anyInt())).thenAnswer(invocation -> queue.stream()
+            .limit((Integer) invocation.getArgument(1))
+            .map(id -> ImmutableVirgilMessage.builder()
+                .setId(id)
+                .setFingerprint("fingerprint_" + id)
+                .setBody("body")
+                .build())
+            .collect(Collectors.toList()));
+    }
+
+    private static List<VirgilMessage> createMessages(final int count) {
+        final List<VirgilMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(ImmutableVirgilMessage.builder()
+                .setId("m_" + i)
+                .setFingerprint("fingerprint_" + i)
+                .setBody("body")
+                .build());
+        }
+        return messages;
+    }
+
+    private static List<String> getIds(final MessagePage page) {
+        return page.getMessages().stream()
+            .map(VirgilMessage::getId)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,118 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ExecutionMode;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ExecutionProperties;
+import com.indeed.virgil.spring.boot.starter.models.EndpointResponse;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableEndpointResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestOperationExecutor {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private VirgilPropertyConfig virgilPropertyConfig;
+
+    private OperationExecutor operationExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (operationExecutor != null) {
+            operationExecutor.destroy();
+        }
+    }
+
+    @Nested
+    class execute {
+
+        @Test
+        void shouldRunOperationOnSubscribingThreadByDefault() {
+            //Arrange
+            when(virgilPropertyConfig.getExecution()).thenReturn(ExecutionProperties.defaults());
+            operationExecutor = new OperationExecutor(virgilPropertyConfig);
+
+            //Act
+            final EndpointResponse<Serializable> result = operationExecutor.execute(() -> respond(Thread.currentThread().getName())).block(TIMEOUT);
+
+            //Assert
+            assertThat(result.getData()).isEqualTo(Thread.currentThread().getName());
+        }
+
+        @Test
+        void shouldRunOperationOnDedicatedThread() {
+            //Arrange
+            when(virgilPropertyConfig.getExecution()).thenReturn(new ExecutionProperties(ExecutionMode.DEDICATED, 1, 1));
+            operationExecutor = new OperationExecutor(virgilPropertyConfig);
+
+            //Act
+            final EndpointResponse<Serializable> result = operationExecutor.execute(() -> respond(Thread.currentThread().getName())).block(TIMEOUT);
+
+            //Assert
+            assertThat((String) result.getData()).startsWith("virgil-operation");
+        }
+
+        @Test
+        void shouldRejectOperationWhenTooManyAreWaiting() throws InterruptedException {
+            //Arrange
+            when(virgilPropertyConfig.getExecution()).thenReturn(new ExecutionProperties(ExecutionMode.DEDICATED, 1, 1));
+            operationExecutor = new OperationExecutor(virgilPropertyConfig);
+
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final Mono<EndpointResponse<Serializable>> running = operationExecutor.execute(() -> {
+                started.countDown();
+                awaitQuietly(release);
+                return respond("running");
+            }).cache();
+            running.subscribe();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            final Mono<EndpointResponse<Serializable>> queued = operationExecutor.execute(() -> respond("queued")).cache();
+            queued.subscribe();
+
+            //Act
+            final EndpointResponse<Serializable> result;
+            try {
+                result = operationExecutor.execute(() -> respond("rejected")).block(TIMEOUT);
+            } finally {
+                release.countDown();
+            }
+
+            //Assert
+            assertThat(result.getData()).isEqualTo("failure");
+            assertThat(result.getErrors().get(0).getCode()).isEqualTo(OperationExecutor.TOO_MANY_OPERATIONS_ERROR_CODE);
+            assertThat(running.block(TIMEOUT).getData()).isEqualTo("running");
+            assertThat(queued.block(TIMEOUT).getData()).isEqualTo("queued");
+        }
+    }
+
+    private static EndpointResponse<Serializable> respond(final String data) {
+        return ImmutableEndpointResponse.<Serializable>builder()
+            .setData(data)
+            .build();
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
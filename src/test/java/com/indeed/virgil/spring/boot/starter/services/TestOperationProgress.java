@@ -0,0 +1,81 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BudgetProperties;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestOperationProgress {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Nested
+    class shouldStop {
+
+        @Test
+        void shouldStopOnceRequestedDurationHasPassed() {
+            //Arrange
+            final OperationProgress progress = new OperationProgress(Duration.ofSeconds(5), null, nanoTime::get);
+            progress.start(BudgetProperties.defaults());
+
+            //Act
+            final boolean beforeDeadline = progress.shouldStop(10);
+            nanoTime.addAndGet(Duration.ofSeconds(5).toNanos());
+            final boolean atDeadline = progress.shouldStop(11);
+
+            //Assert
+            assertThat(beforeDeadline).isFalse();
+            assertThat(atDeadline).isTrue();
+            assertThat(progress.isTruncated()).isTrue();
+            assertThat(progress.isCancelled()).isFalse();
+        }
+
+        @Test
+        void shouldApplyConfiguredDurationWhenTighter() {
+            //Arrange
+            final OperationProgress progress = new OperationProgress(Duration.ofMinutes(5), null, nanoTime::get);
+            progress.start(new BudgetProperties(Duration.ofSeconds(1), null));
+
+            //Act
+            nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+            final boolean result = progress.shouldStop(0);
+
+            //Assert
+            assertThat(result).isTrue();
+        }
+
+        @Test
+        void shouldNotStopWithoutAnyLimit() {
+            //Arrange
+            final OperationProgress progress = new OperationProgress(null, null, nanoTime::get);
+            progress.start(new BudgetProperties(Duration.ZERO, null));
+
+            //Act
+            nanoTime.addAndGet(Duration.ofDays(1).toNanos());
+            final boolean result = progress.shouldStop(Integer.MAX_VALUE - 1);
+
+            //Assert
+            assertThat(result).isFalse();
+            assertThat(progress.isTruncated()).isFalse();
+        }
+
+        @Test
+        void shouldStopOnceCancelled() {
+            //Arrange
+            final OperationProgress progress = new OperationProgress();
+            progress.start(BudgetProperties.defaults());
+
+            //Act
+            progress.cancel();
+            final boolean result = progress.shouldStop(0);
+
+            //Assert
+            assertThat(result).isTrue();
+            assertThat(progress.isTruncated()).isTrue();
+        }
+    }
+}
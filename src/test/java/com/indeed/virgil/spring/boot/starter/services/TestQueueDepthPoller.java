@@ -0,0 +1,352 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueDepthProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestQueueDepthPoller {
+
+    private static final String QUEUE_ID = "primaryQueue";
+    private static final String SECONDARY_QUEUE_ID = "secondaryQueue";
+    private static final List<String> QUEUE_IDS = Arrays.asList(QUEUE_ID, SECONDARY_QUEUE_ID);
+
+    @Mock
+    private VirgilPropertyConfig virgilPropertyConfig;
+
+    @Mock
+    private MessageOperator messageOperator;
+
+    @Mock
+    private ScheduledExecutorService scheduledExecutorService;
+
+    @Mock
+    private ScheduledFuture<?> pollTask;
+
+    private QueueDepthPoller queueDepthPoller;
+
+    @BeforeEach
+    void setup() {
+        when(virgilPropertyConfig.getQueueDepth()).thenReturn(new QueueDepthProperties(Duration.ofSeconds(10), null));
+        lenient().when(virgilPropertyConfig.getQueueNames()).thenReturn(QUEUE_IDS);
+        lenient().doReturn(pollTask).when(scheduledExecutorService).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+
+        queueDepthPoller = new QueueDepthPoller(virgilPropertyConfig, messageOperator, scheduledExecutorService);
+    }
+
+    @Nested
+    class subscribe {
+
+        @Test
+        void shouldStartPollingAtConfiguredIntervalForFirstSubscriber() {
+
+            //Act
+            queueDepthPoller.subscribe(new RecordingSubscriber());
+            queueDepthPoller.subscribe(new RecordingSubscriber());
+
+            //Assert
+            verify(scheduledExecutorService, times(1)).scheduleAtFixedRate(any(), eq(0L), eq(10_000L), eq(TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        void shouldSendLatestSizesToNewSubscriber() {
+            //Arrange
+            when(messageOperator.getQueueSizes(QUEUE_IDS)).thenReturn(sizes(3, 0));
+            queueDepthPoller.subscribe(new RecordingSubscriber());
+            queueDepthPoller.poll();
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+            //Act
+            queueDepthPoller.subscribe(subscriber);
+
+            //Assert
+            assertThat(subscriber.getReceived()).hasSize(1);
+            assertThat(subscriber.getReceived().get(0)).containsExactly(entry(QUEUE_ID, 3), entry(SECONDARY_QUEUE_ID, 0));
+        }
+
+        @Test
+        void shouldNotSendAnythingBeforeFirstPoll() {
+            //Arrange
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+            //Act
+            queueDepthPoller.subscribe(subscriber);
+
+            //Assert
+            assertThat(subscriber.getReceived()).isEmpty();
+        }
+    }
+
+    @Nested
+    class unsubscribe {
+
+        @Test
+        void shouldStopPollingOnceLastSubscriberIsGone() {
+            //Arrange
+            final RecordingSubscriber first = new RecordingSubscriber();
+            final RecordingSubscriber second = new RecordingSubscriber();
+            queueDepthPoller.subscribe(first);
+            queueDepthPoller.subscribe(second);
+
+            //Act
+            queueDepthPoller.unsubscribe(first);
+            verify(pollTask, never()).cancel(false);
+            queueDepthPoller.unsubscribe(second);
+
+            //Assert
+            verify(pollTask, times(1)).cancel(false);
+        }
+
+        @Test
+        void shouldCloseConnectionsOnPollerThreadOnceLastSubscriberIsGone() {
+            //Arrange
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+            queueDepthPoller.subscribe(subscriber);
+
+            //Act
+            queueDepthPoller.unsubscribe(subscriber);
+
+            //Assert
+            verify(messageOperator, never()).releaseQueueSizeConnections(any());
+            runTaskSubmittedToPollerThread();
+            verify(messageOperator, times(1)).releaseQueueSizeConnections(QUEUE_IDS);
+        }
+
+        @Test
+        void shouldNotSendStaleSizesAfterPollingRestarts() {
+            //Arrange
+            when(messageOperator.getQueueSizes(QUEUE_IDS)).thenReturn(sizes(3, 0));
+            final RecordingSubscriber first = new RecordingSubscriber();
+            queueDepthPoller.subscribe(first);
+            queueDepthPoller.poll();
+            queueDepthPoller.unsubscribe(first);
+            final RecordingSubscriber second = new RecordingSubscriber();
+
+            //Act
+            queueDepthPoller.subscribe(second);
+
+            //Assert
+            assertThat(second.getReceived()).isEmpty();
+            verify(scheduledExecutorService, times(2)).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+        }
+    }
+
+    @Nested
+    class poll {
+
+        @Test
+        void shouldOnlySendSizesThatChanged() {
+            //Arrange
+            when(messageOperator.getQueueSizes(QUEUE_IDS)).thenReturn(sizes(3, 0), sizes(3, 1), sizes(3, 1));
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+            queueDepthPoller.subscribe(subscriber);
+
+            //Act
+            queueDepthPoller.poll();
+            queueDepthPoller.poll();
+            queueDepthPoller.poll();
+
+            //Assert
+            assertThat(subscriber.getReceived()).hasSize(2);
+            assertThat(subscriber.getReceived().get(0)).containsExactly(entry(QUEUE_ID, 3), entry(SECONDARY_QUEUE_ID, 0));
+            assertThat(subscriber.getReceived().get(1)).containsExactly(entry(SECONDARY_QUEUE_ID, 1));
+        }
+
+        @Test
+        void shouldSendNullWhenSizeCouldNotBeRead() {
+            //Arrange
+            when(messageOperator.getQueueSizes(QUEUE_IDS)).thenReturn(sizes(3, 0), sizes(null, 0));
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+            queueDepthPoller.subscribe(subscriber);
+
+            //Act
+            queueDepthPoller.poll();
+            queueDepthPoller.poll();
+
+            //Assert
+            assertThat(subscriber.getReceived().get(1)).containsExactly(entry(QUEUE_ID, null));
+        }
+
+        @Test
+        void shouldDropSubscriberThatThrowsAndKeepOthers() {
+            //Arrange
+            when(messageOperator.getQueueSizes(QUEUE_IDS)).thenReturn(sizes(3, 0), sizes(4, 0));
+            final RecordingSubscriber failing = new RecordingSubscriber(true);
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+            queueDepthPoller.subscribe(failing);
+            queueDepthPoller.subscribe(subscriber);
+
+            //Act
+            queueDepthPoller.poll();
+            queueDepthPoller.poll();
+
+            //Assert
+            assertThat(failing.getReceived()).hasSize(1);
+            assertThat(subscriber.getReceived()).hasSize(2);
+            verify(pollTask, never()).cancel(false);
+        }
+
+        @Test
+        void shouldStopPollingWhenEverySubscriberThrows() {
+            //Arrange
+            when(messageOperator.getQueueSizes(QUEUE_IDS)).thenReturn(sizes(3, 0));
+            queueDepthPoller.subscribe(new RecordingSubscriber(true));
+
+            //Act
+            queueDepthPoller.poll();
+
+            //Assert
+            verify(pollTask, times(1)).cancel(false);
+        }
+
+        @Test
+        void shouldKeepPollingWhenSizesCannotBeRead() {
+            //Arrange
+            when(messageOperator.getQueueSizes(QUEUE_IDS)).thenThrow(new IllegalStateException("BinderProperties is null"));
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+            queueDepthPoller.subscribe(subscriber);
+
+            //Act
+            queueDepthPoller.poll();
+
+            //Assert
+            assertThat(subscriber.getReceived()).isEmpty();
+            verify(pollTask, never()).cancel(false);
+        }
+
+        @Test
+        void shouldNotHoldLockWhileSendingSizes() {
+            //Arrange
+            when(messageOperator.getQueueSizes(QUEUE_IDS)).thenReturn(sizes(3, 0));
+            final AtomicBoolean subscribedWhileSending = new AtomicBoolean();
+            queueDepthPoller.subscribe(sizes -> {
+                final Thread subscribing = new Thread(() -> queueDepthPoller.subscribe(new RecordingSubscriber()));
+                subscribing.start();
+                try {
+                    subscribing.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                subscribedWhileSending.set(!subscribing.isAlive());
+            });
+
+            //Act
+            queueDepthPoller.poll();
+
+            //Assert
+            assertThat(subscribedWhileSending).isTrue();
+        }
+    }
+
+    @Nested
+    class destroy {
+
+        @Test
+        void shouldShutDownPollingThread() throws Exception {
+            //Arrange
+            when(scheduledExecutorService.awaitTermination(anyLong(), any())).thenReturn(true);
+
+            //Act
+            queueDepthPoller.destroy();
+
+            //Assert
+            verify(scheduledExecutorService, times(1)).shutdown();
+            verify(scheduledExecutorService, never()).shutdownNow();
+        }
+
+        @Test
+        void shouldInterruptPollingThreadThatDoesNotFinish() throws Exception {
+            //Arrange
+            when(scheduledExecutorService.awaitTermination(anyLong(), any())).thenReturn(false);
+
+            //Act
+            queueDepthPoller.destroy();
+
+            //Assert
+            verify(scheduledExecutorService, times(1)).shutdownNow();
+        }
+
+        @Test
+        void shouldCloseConnectionsOnPollerThread() throws Exception {
+            //Arrange
+            when(scheduledExecutorService.awaitTermination(anyLong(), any())).thenReturn(true);
+            queueDepthPoller.subscribe(new RecordingSubscriber());
+
+            //Act
+            queueDepthPoller.destroy();
+
+            //Assert
+            verify(pollTask, times(1)).cancel(false);
+            runTaskSubmittedToPollerThread();
+            verify(messageOperator, times(1)).releaseQueueSizeConnections(QUEUE_IDS);
+        }
+    }
+
+    private void runTaskSubmittedToPollerThread() {
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduledExecutorService, times(1)).execute(task.capture());
+        task.getValue().run();
+    }
+
+    private static Map<String, Integer> sizes(final Integer primarySize, final Integer secondarySize) {
+        final Map<String, Integer> sizes = new LinkedHashMap<>();
+        sizes.put(QUEUE_ID, primarySize);
+        sizes.put(SECONDARY_QUEUE_ID, secondarySize);
+        return sizes;
+    }
+
+    private static class RecordingSubscriber implements Consumer<Map<String, Integer>> {
+        private final boolean failing;
+        private final List<Map<String, Integer>> received = new ArrayList<>();
+
+        RecordingSubscriber() {
+            this(false);
+        }
+
+        RecordingSubscriber(final boolean failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public void accept(final Map<String, Integer> sizes) {
+            received.add(sizes);
+            if (failing) {
+                throw new IllegalStateException("client went away");
+            }
+        }
+
+        List<Map<String, Integer>> getReceived() {
+            return received;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestQueueOperationGate {
+
+    private static final String QUEUE_ID = "primaryQueue";
+    private static final String OTHER_QUEUE_ID = "secondaryQueue";
+    private static final Duration READ_CACHE_TTL = Duration.ofSeconds(5);
+    private static final Instant NOW = Instant.parse("2020-01-01T00:00:00Z");
+
+    @Mock
+    private Clock clock;
+
+    private QueueOperationGate queueOperationGate;
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setup() {
+        queueOperationGate = new QueueOperationGate(Duration.ZERO, clock);
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Nested
+    class exclusive {
+
+        @Test
+        void shouldRunOperationsOnSameQueueOneAtATime() throws Exception {
+            //Arrange
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final Future<String> first = executorService.submit(() -> queueOperationGate.exclusive(QUEUE_ID, () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return "first";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            //Act
+            final Future<String> second = executorService.submit(() -> queueOperationGate.exclusive(QUEUE_ID, () -> "second"));
+
+            //Assert
+            assertThatThrownBy(() -> second.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        }
+
+        @Test
+        void shouldRunOperationsOnDifferentQueuesInParallel() throws Exception {
+            //Arrange
+            final CountDownLatch release = new CountDownLatch(1);
+            final Future<String> first = executorService.submit(() -> queueOperationGate.exclusive(QUEUE_ID, () -> {
+                awaitQuietly(release);
+                return "first";
+            }));
+
+            //Act
+            final Future<String> second = executorService.submit(() -> queueOperationGate.exclusive(OTHER_QUEUE_ID, () -> "second"));
+
+            //Assert
+            try {
+                assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+            } finally {
+                release.countDown();
+            }
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        }
+
+        @Test
+        void shouldAllowNestedOperationOnSameQueue() {
+
+            //Act
+            final String result = queueOperationGate.exclusive(QUEUE_ID, () -> queueOperationGate.exclusive(QUEUE_ID, () -> "nested"));
+
+            //Assert
+            assertThat(result).isEqualTo("nested");
+        }
+    }
+
+    @Nested
+    class shared {
+
+        @Test
+        void shouldShareResultOfRunningIdenticalRead() throws Exception {
+            //Arrange
+            final AtomicInteger reads = new AtomicInteger();
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final Future<String> first = executorService.submit(() -> queueOperationGate.shared(QUEUE_ID, 10, () -> {
+                reads.incrementAndGet();
+                started.countDown();
+                awaitQuietly(release);
+                return "messages";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            //Act
+            final Future<String> second = executorService.submit(() -> queueOperationGate.shared(QUEUE_ID, 10, () -> {
+                reads.incrementAndGet();
+                return "other messages";
+            }));
+
+            //Assert
+            assertThatThrownBy(() -> second.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("messages");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("messages");
+            assertThat(reads).hasValue(1);
+        }
+
+        @Test
+        void shouldNotShareReadWithDifferentRequest() throws Exception {
+            //Arrange
+            final CountDownLatch release = new CountDownLatch(1);
+            final Future<String> first = executorService.submit(() -> queueOperationGate.shared(QUEUE_ID, 10, () -> {
+                awaitQuietly(release);
+                return "ten messages";
+            }));
+
+            //Act
+            final Future<String> second = executorService.submit(() -> queueOperationGate.shared(QUEUE_ID, null, () -> "all messages"));
+
+            //Assert
+            try {
+                assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("all messages");
+            } finally {
+                release.countDown();
+            }
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("ten messages");
+        }
+
+        @Test
+        void shouldRethrowFailureOfRunningReadToWaiters() throws Exception {
+            //Arrange
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final Future<String> first = executorService.submit(() -> queueOperationGate.<String>shared(QUEUE_ID, 10, () -> {
+                started.countDown();
+                awaitQuietly(release);
+                throw new IllegalStateException("BinderProperties is null");
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            //Act
+            final Future<String> second = executorService.submit(() -> queueOperationGate.shared(QUEUE_ID, 10, () -> "messages"));
+            release.countDown();
+
+            //Assert
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+            // the second read either shared the failed read or ran on its own once the failed read was done
+            try {
+                assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("messages");
+            } catch (final ExecutionException ex) {
+                assertThat(ex.getCause()).isInstanceOf(IllegalStateException.class).hasMessage("BinderProperties is null");
+            }
+        }
+
+        @Test
+        void shouldReadAgainOnceEarlierReadIsDone() {
+            //Arrange
+            final AtomicInteger reads = new AtomicInteger();
+            queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Act
+            final Integer result = queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Assert
+            assertThat(result).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    class invalidate {
+
+        @BeforeEach
+        void setup() {
+            queueOperationGate = new QueueOperationGate(READ_CACHE_TTL, clock);
+        }
+
+        @Test
+        void shouldReuseResultOfEarlierReadWithinTtl() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(4));
+            final AtomicInteger reads = new AtomicInteger();
+            queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Act
+            final Integer result = queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Assert
+            assertThat(result).isEqualTo(1);
+        }
+
+        @Test
+        void shouldReadAgainOnceTtlHasPassed() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW, NOW.plus(READ_CACHE_TTL));
+            final AtomicInteger reads = new AtomicInteger();
+            queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Act
+            final Integer result = queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Assert
+            assertThat(result).isEqualTo(2);
+        }
+
+        @Test
+        void shouldReadAgainOnceQueueIsInvalidated() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final AtomicInteger reads = new AtomicInteger();
+            queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Act
+            queueOperationGate.invalidate(QUEUE_ID);
+            final Integer result = queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Assert
+            assertThat(result).isEqualTo(2);
+        }
+
+        @Test
+        void shouldKeepResultOfOtherQueue() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final AtomicInteger reads = new AtomicInteger();
+            queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Act
+            queueOperationGate.invalidate(OTHER_QUEUE_ID);
+            final Integer result = queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Assert
+            assertThat(result).isEqualTo(1);
+        }
+
+        @Test
+        void shouldNotKeepResultOfReadRunningWhileQueueIsInvalidated() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final AtomicInteger reads = new AtomicInteger();
+            queueOperationGate.shared(QUEUE_ID, 10, () -> {
+                queueOperationGate.invalidate(QUEUE_ID);
+                return reads.incrementAndGet();
+            });
+
+            //Act
+            final Integer result = queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Assert
+            assertThat(result).isEqualTo(2);
+        }
+
+        @Test
+        void shouldKeepResultOfReadRunningWhileOtherQueueIsInvalidated() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final AtomicInteger reads = new AtomicInteger();
+            queueOperationGate.shared(QUEUE_ID, 10, () -> {
+                queueOperationGate.invalidate(OTHER_QUEUE_ID);
+                return reads.incrementAndGet();
+            });
+
+            //Act
+            final Integer result = queueOperationGate.shared(QUEUE_ID, 10, reads::incrementAndGet);
+
+            //Assert
+            assertThat(result).isEqualTo(1);
+        }
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.OverviewProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueProperties;
+import com.indeed.virgil.spring.boot.starter.models.ImmutableQueueOverview;
+import com.indeed.virgil.spring.boot.starter.models.QueueOverview;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestQueueOverviewService {
+
+    private static final String PRIMARY_QUEUE_ID = "primaryQueue";
+    private static final String SECONDARY_QUEUE_ID = "secondaryQueue";
+    private static final String TERTIARY_QUEUE_ID = "tertiaryQueue";
+    private static final String BINDER_NAME = "default-binder-name";
+    private static final String OTHER_BINDER_NAME = "other-binder-name";
+
+    @Mock
+    private VirgilPropertyConfig virgilPropertyConfig;
+
+    @Mock
+    private MessageOperator messageOperator;
+
+    private ExecutorService executorService;
+
+    private QueueOverviewService queueOverviewService;
+
+    @BeforeEach
+    void setup() {
+        final Map<String, QueueProperties> queues = new LinkedHashMap<>();
+        queues.put(PRIMARY_QUEUE_ID, createQueueProperties(PRIMARY_QUEUE_ID, BINDER_NAME));
+        queues.put(SECONDARY_QUEUE_ID, createQueueProperties(SECONDARY_QUEUE_ID, OTHER_BINDER_NAME));
+        queues.put(TERTIARY_QUEUE_ID, createQueueProperties(TERTIARY_QUEUE_ID, BINDER_NAME));
+
+        lenient().when(virgilPropertyConfig.getQueues()).thenReturn(queues);
+        lenient().when(virgilPropertyConfig.getQueueNames()).thenReturn(new ArrayList<>(queues.keySet()));
+        when(virgilPropertyConfig.getOverview()).thenReturn(new OverviewProperties(3, Duration.ofMillis(200)));
+
+        executorService = Executors.newFixedThreadPool(3);
+        queueOverviewService = new QueueOverviewService(virgilPropertyConfig, messageOperator, executorService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Nested
+    class getOverview {
+
+        @Test
+        void shouldListQueuesGroupedByBinder() {
+            //Arrange
+            stubOverview(PRIMARY_QUEUE_ID, BINDER_NAME, 3);
+            stubOverview(SECONDARY_QUEUE_ID, OTHER_BINDER_NAME, 0);
+            stubOverview(TERTIARY_QUEUE_ID, BINDER_NAME, 7);
+
+            //Act
+            final List<QueueOverview> result = queueOverviewService.getOverview();
+
+            //Assert
+            assertThat(result).extracting(QueueOverview::getQueueId).containsExactly(PRIMARY_QUEUE_ID, TERTIARY_QUEUE_ID, SECONDARY_QUEUE_ID);
+            assertThat(result).extracting(QueueOverview::getMessageCount).containsExactly(3, 7, 0);
+        }
+
+        @Test
+        void shouldLookUpQueuesInParallel() {
+            //Arrange
+            final CountDownLatch allStarted = new CountDownLatch(3);
+            when(messageOperator.getQueueOverview(PRIMARY_QUEUE_ID)).thenAnswer(invocation -> awaitOthers(allStarted, PRIMARY_QUEUE_ID, BINDER_NAME));
+            when(messageOperator.getQueueOverview(SECONDARY_QUEUE_ID)).thenAnswer(invocation -> awaitOthers(allStarted, SECONDARY_QUEUE_ID, OTHER_BINDER_NAME));
+            when(messageOperator.getQueueOverview(TERTIARY_QUEUE_ID)).thenAnswer(invocation -> awaitOthers(allStarted, TERTIARY_QUEUE_ID, BINDER_NAME));
+
+            //Act
+            final List<QueueOverview> result = queueOverviewService.getOverview();
+
+            //Assert
+            assertThat(result).extracting(QueueOverview::isTimedOut).containsOnly(false);
+            assertThat(result).extracting(QueueOverview::getMessageCount).doesNotContainNull();
+        }
+
+        @Test
+        void shouldReportQueueThatDidNotAnswerInTimeAsTimedOut() {
+            //Arrange
+            final CountDownLatch release = new CountDownLatch(1);
+            stubOverview(PRIMARY_QUEUE_ID, BINDER_NAME, 3);
+            when(messageOperator.getQueueOverview(SECONDARY_QUEUE_ID)).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return createOverview(SECONDARY_QUEUE_ID, OTHER_BINDER_NAME, 0);
+            });
+            stubOverview(TERTIARY_QUEUE_ID, BINDER_NAME, 7);
+
+            //Act
+            final List<QueueOverview> result;
+            try {
+                result = queueOverviewService.getOverview();
+            } finally {
+                release.countDown();
+            }
+
+            //Assert
+            final QueueOverview secondary = result.get(2);
+            assertThat(secondary.getQueueId()).isEqualTo(SECONDARY_QUEUE_ID);
+            assertThat(secondary.isTimedOut()).isTrue();
+            assertThat(secondary.getMessageCount()).isNull();
+            assertThat(secondary.getBinderName()).isEqualTo(OTHER_BINDER_NAME);
+            assertThat(result.get(0).getMessageCount()).isEqualTo(3);
+        }
+
+        @Test
+        void shouldReportQueueThatFailedWithoutCounts() {
+            //Arrange
+            stubOverview(PRIMARY_QUEUE_ID, BINDER_NAME, 3);
+            when(messageOperator.getQueueOverview(SECONDARY_QUEUE_ID)).thenThrow(new IllegalStateException("BinderProperties is null"));
+            when(messageOperator.getQueueOverview(TERTIARY_QUEUE_ID)).thenReturn(null);
+
+            //Act
+            final List<QueueOverview> result = queueOverviewService.getOverview();
+
+            //Assert
+            assertThat(result).hasSize(3);
+            assertThat(result.get(1).getQueueName()).isEqualTo("name_" + TERTIARY_QUEUE_ID);
+            assertThat(result.get(1).getMessageCount()).isNull();
+            assertThat(result.get(1).isTimedOut()).isFalse();
+            assertThat(result.get(2).getConsumerCount()).isNull();
+            assertThat(result.get(2).isTimedOut()).isFalse();
+        }
+    }
+
+    @Nested
+    class destroy {
+
+        @Test
+        void shouldShutDownLookupThreads() {
+
+            //Act
+            queueOverviewService.destroy();
+
+            //Assert
+            assertThat(executorService.isShutdown()).isTrue();
+        }
+    }
+
+    private void stubOverview(final String queueId, final String binderName, final int messageCount) {
+        when(messageOperator.getQueueOverview(queueId)).thenReturn(createOverview(queueId, binderName, messageCount));
+    }
+
+    private static QueueOverview awaitOthers(final CountDownLatch allStarted, final String queueId, final String binderName)
+        throws InterruptedException {
+        allStarted.countDown();
+        // only returns in time if every lookup is running at the same time
+        allStarted.await(5, TimeUnit.SECONDS);
+        return createOverview(queueId, binderName, 1);
+    }
+
+    private static QueueOverview createOverview(final String queueId, final String binderName, final int messageCount) {
+        return ImmutableQueueOverview.builder()
+            .setQueueId(queueId)
+            .setQueueName("name_" + queueId)
+            .setBinderName(binderName)
+            .setMessageCount(messageCount)
+            .setConsumerCount(0)
+            .build();
+    }
+
+    private static QueueProperties createQueueProperties(final String queueId, final String binderName) {
+        return new QueueProperties("name_" + queueId, binderName, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,255 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TestQueueSizeCache {
+
+    private static final String QUEUE_ID = "primaryQueue";
+    private static final Instant NOW = Instant.parse("2020-03-01T10:00:00Z");
+    private static final String SECONDARY_QUEUE_ID = "secondaryQueue";
+    private static final Duration TTL = Duration.ofSeconds(2);
+
+    @Mock
+    private Clock clock;
+
+    @Nested
+    class get {
+
+        @Test
+        void shouldReuseSizeWithinTtl() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW, NOW.plusMillis(1999));
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(TTL, clock);
+            final CountingLoader loader = new CountingLoader(3);
+
+            //Act
+            queueSizeCache.get(QUEUE_ID, loader);
+            final Integer result = queueSizeCache.get(QUEUE_ID, loader);
+
+            //Assert
+            assertThat(result).isEqualTo(3);
+            assertThat(loader.getLoads()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldReadSizeAgainOnceTtlHasPassed() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW, NOW.plus(TTL));
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(TTL, clock);
+            final CountingLoader loader = new CountingLoader(3);
+
+            //Act
+            queueSizeCache.get(QUEUE_ID, loader);
+            queueSizeCache.get(QUEUE_ID, loader);
+
+            //Assert
+            assertThat(loader.getLoads()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldNotKeepSizeThatCouldNotBeRead() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(TTL, clock);
+            final CountingLoader loader = new CountingLoader(null);
+
+            //Act
+            final Integer result = queueSizeCache.get(QUEUE_ID, loader);
+            queueSizeCache.get(QUEUE_ID, loader);
+
+            //Assert
+            assertThat(result).isNull();
+            assertThat(loader.getLoads()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldAlwaysReadSizeWhenTtlIsZero() {
+            //Arrange
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(Duration.ZERO, clock);
+            final CountingLoader loader = new CountingLoader(3);
+
+            //Act
+            queueSizeCache.get(QUEUE_ID, loader);
+            queueSizeCache.get(QUEUE_ID, loader);
+
+            //Assert
+            assertThat(loader.getLoads()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldNotKeepSizeReadWhileQueueWasInvalidated() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(TTL, clock);
+            final CountingLoader loader = new CountingLoader(3);
+
+            //Act
+            final Integer result = queueSizeCache.get(QUEUE_ID, queueId -> {
+                queueSizeCache.invalidate(queueId);
+                return 5;
+            });
+            queueSizeCache.get(QUEUE_ID, loader);
+
+            //Assert
+            assertThat(result).isEqualTo(5);
+            assertThat(loader.getLoads()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldKeepSizeReadWhileAnotherQueueWasInvalidated() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(TTL, clock);
+            final CountingLoader loader = new CountingLoader(3);
+
+            //Act
+            queueSizeCache.get(QUEUE_ID, queueId -> {
+                queueSizeCache.invalidate(SECONDARY_QUEUE_ID);
+                return 5;
+            });
+            final Integer result = queueSizeCache.get(QUEUE_ID, loader);
+
+            //Assert
+            assertThat(result).isEqualTo(5);
+            assertThat(loader.getLoads()).isZero();
+        }
+    }
+
+    @Nested
+    class refresh {
+
+        @Test
+        void shouldKeepSizesThatWereRead() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(TTL, clock);
+            final CountingLoader loader = new CountingLoader(5);
+
+            //Act
+            queueSizeCache.refresh(Arrays.asList(QUEUE_ID, SECONDARY_QUEUE_ID), queueIds -> sizes(3, null));
+            final Integer result = queueSizeCache.get(QUEUE_ID, loader);
+
+            //Assert
+            assertThat(result).isEqualTo(3);
+            assertThat(loader.getLoads()).isZero();
+        }
+
+        @Test
+        void shouldDropSizeThatCouldNotBeRead() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(TTL, clock);
+            final CountingLoader loader = new CountingLoader(5);
+            queueSizeCache.get(SECONDARY_QUEUE_ID, new CountingLoader(1));
+
+            //Act
+            queueSizeCache.refresh(Arrays.asList(QUEUE_ID, SECONDARY_QUEUE_ID), queueIds -> sizes(3, null));
+            final Integer result = queueSizeCache.get(SECONDARY_QUEUE_ID, loader);
+
+            //Assert
+            assertThat(result).isEqualTo(5);
+            assertThat(loader.getLoads()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldNotKeepSizesReadWhileQueueWasInvalidated() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(TTL, clock);
+            final CountingLoader loader = new CountingLoader(5);
+
+            //Act
+            final Map<String, Integer> result = queueSizeCache.refresh(Arrays.asList(QUEUE_ID, SECONDARY_QUEUE_ID), queueIds -> {
+                queueSizeCache.invalidate(QUEUE_ID);
+                return sizes(3, 4);
+            });
+            queueSizeCache.get(QUEUE_ID, loader);
+
+            //Assert
+            assertThat(result).containsEntry(QUEUE_ID, 3);
+            assertThat(loader.getLoads()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldKeepSizesOfOtherQueuesReadWhileOneQueueWasInvalidated() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(TTL, clock);
+            final CountingLoader loader = new CountingLoader(5);
+
+            //Act
+            queueSizeCache.refresh(Arrays.asList(QUEUE_ID, SECONDARY_QUEUE_ID), queueIds -> {
+                queueSizeCache.invalidate(QUEUE_ID);
+                return sizes(3, 4);
+            });
+            final Integer result = queueSizeCache.get(SECONDARY_QUEUE_ID, loader);
+
+            //Assert
+            assertThat(result).isEqualTo(4);
+            assertThat(loader.getLoads()).isZero();
+        }
+    }
+
+    @Nested
+    class invalidate {
+
+        @Test
+        void shouldReadSizeAgainAfterInvalidate() {
+            //Arrange
+            when(clock.instant()).thenReturn(NOW);
+            final QueueSizeCache queueSizeCache = new QueueSizeCache(TTL, clock);
+            final CountingLoader loader = new CountingLoader(3);
+
+            //Act
+            queueSizeCache.get(QUEUE_ID, loader);
+            queueSizeCache.invalidate(QUEUE_ID);
+            queueSizeCache.get(QUEUE_ID, loader);
+
+            //Assert
+            assertThat(loader.getLoads()).isEqualTo(2);
+        }
+    }
+
+    private static Map<String, Integer> sizes(final Integer primarySize, final Integer secondarySize) {
+        final Map<String, Integer> sizes = new LinkedHashMap<>();
+        sizes.put(QUEUE_ID, primarySize);
+        sizes.put(SECONDARY_QUEUE_ID, secondarySize);
+        return sizes;
+    }
+
+    private static class CountingLoader implements Function<String, Integer> {
+        private final Integer size;
+        private final AtomicInteger loads = new AtomicInteger();
+
+        CountingLoader(final Integer size) {
+            this.size = size;
+        }
+
+        @Override
+        public Integer apply(final String queueId) {
+            loads.incrementAndGet();
+            return size;
+        }
+
+        int getLoads() {
+            return loads.get();
+        }
+    }
+}
@@ -2,7 +2,11 @@ package com.indeed.virgil.spring.boot.starter.services;
 
 import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig;
 import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.BinderProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ConnectionMode;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.ConnectionProperties;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.QueueProperties;
 import com.rabbitmq.client.Address;
+import com.rabbitmq.client.Channel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -12,24 +16,48 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.amqp.core.AmqpAdmin;
 import org.springframework.amqp.rabbit.connection.AbstractConnectionFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.Connection;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("unchecked") //Uncheck warnings do not benefit tests
 public class TestRabbitMqConnectionService {
 
+    private static final String QUEUE_NAME = "testQueue";
+    private static final String BINDER_NAME = "testBinder";
+    private static final int CHANNEL_POOL_SIZE = 2;
+
+    private static final QueueProperties QUEUE_PROPERTIES = new QueueProperties(
+        "readQueue",
+        BINDER_NAME,
+        null,
+        null,
+        "#",
+        null,
+        null
+    );
+
     @Mock
     private VirgilPropertyConfig mockVirgilPropertyConfig;
 
@@ -39,6 +67,8 @@ public class TestRabbitMqConnectionService {
     void setup() {
         MockitoAnnotations.initMocks(this);
 
+        when(mockVirgilPropertyConfig.getConnection()).thenReturn(new ConnectionProperties(ConnectionMode.THREAD_LOCAL, null, null));
+
         rabbitMqConnectionService = new RabbitMqConnectionService(mockVirgilPropertyConfig);
     }
 
@@ -271,6 +301,196 @@ public class TestRabbitMqConnectionService {
     }
 
 
+    @Nested
+    class executeOnReadChannel {
+
+        @Test
+        void shouldDestroyThreadLocalConnectionAfterExecution() {
+            //Arrange
+            final RabbitTemplate mockRabbitTemplate = initializeThreadLocalRabbitTemplate();
+            final CachingConnectionFactory mockConnectionFactory = (CachingConnectionFactory) mockRabbitTemplate.getConnectionFactory();
+
+            //Act
+            rabbitMqConnectionService.executeOnReadChannel(QUEUE_NAME, channel -> null);
+
+            //Assert
+            verify(mockRabbitTemplate, times(1)).execute(any());
+            verify(mockConnectionFactory, times(1)).destroy();
+        }
+
+        @Test
+        void shouldDestroyThreadLocalConnectionAfterException() {
+            //Arrange
+            final RabbitTemplate mockRabbitTemplate = initializeThreadLocalRabbitTemplate();
+            final CachingConnectionFactory mockConnectionFactory = (CachingConnectionFactory) mockRabbitTemplate.getConnectionFactory();
+
+            when(mockRabbitTemplate.execute(any())).thenThrow(new RuntimeException());
+
+            //Act / Assert
+            assertThatThrownBy(() -> rabbitMqConnectionService.executeOnReadChannel(QUEUE_NAME, channel -> null))
+                .isInstanceOf(RuntimeException.class);
+
+            verify(mockConnectionFactory, times(1)).destroy();
+        }
+
+        @Test
+        void shouldReleaseUnackedMessagesAndReturnChannelInPooledMode() throws Exception {
+            //Arrange
+            final RabbitMqConnectionService pooledService = createPooledService();
+            final CachingConnectionFactory mockConnectionFactory = addPooledConnectionFactory(pooledService);
+            final Channel mockChannel = mockConnectionFactory.createConnection().createChannel(false);
+
+            //Act
+            final String result = pooledService.executeOnReadChannel(QUEUE_NAME, channel -> "executed");
+
+            //Assert
+            assertThat(result).isEqualTo("executed");
+            verify(mockChannel, times(1)).basicNack(0L, true, true);
+            verify(mockChannel, times(1)).close();
+            verify(mockConnectionFactory, never()).destroy();
+        }
+
+        @Test
+        void shouldReleaseUnackedMessagesAfterExceptionInPooledMode() throws Exception {
+            //Arrange
+            final RabbitMqConnectionService pooledService = createPooledService();
+            final CachingConnectionFactory mockConnectionFactory = addPooledConnectionFactory(pooledService);
+            final Channel mockChannel = mockConnectionFactory.createConnection().createChannel(false);
+
+            //Act / Assert
+            assertThatThrownBy(() -> pooledService.executeOnReadChannel(QUEUE_NAME, channel -> {
+                throw new IOException("broker failure");
+            })).isInstanceOf(RuntimeException.class);
+
+            verify(mockChannel, times(1)).basicNack(0L, true, true);
+            verify(mockChannel, times(1)).close();
+            verify(mockConnectionFactory, never()).destroy();
+        }
+
+        @Test
+        void shouldCloseChannelWhenReleaseFailsInPooledMode() throws Exception {
+            //Arrange
+            final RabbitMqConnectionService pooledService = createPooledService();
+            final CachingConnectionFactory mockConnectionFactory = addPooledConnectionFactory(pooledService);
+            final Channel mockChannel = mockConnectionFactory.createConnection().createChannel(false);
+
+            doThrow(new IOException("channel failure")).when(mockChannel).basicNack(0L, true, true);
+
+            //Act
+            pooledService.executeOnReadChannel(QUEUE_NAME, channel -> null);
+
+            //Assert
+            verify(mockChannel, times(1)).close();
+        }
+    }
+
+    @Nested
+    class pooledMode {
+
+        @Test
+        void shouldShareRabbitTemplateAcrossThreads() throws Exception {
+            //Arrange
+            final RabbitMqConnectionService pooledService = createPooledService();
+            initializeBinderProperties();
+
+            //Act
+            final RabbitTemplate result = pooledService.getRabbitTemplate(BINDER_NAME);
+            final RabbitTemplate otherThreadResult = CompletableFuture.supplyAsync(() -> pooledService.getRabbitTemplate(BINDER_NAME)).get();
+
+            //Assert
+            assertThat(result).isSameAs(otherThreadResult);
+        }
+
+        @Test
+        void shouldBoundChannelPoolOfSharedConnectionFactory() {
+            //Arrange
+            final RabbitMqConnectionService pooledService = createPooledService();
+            initializeBinderProperties();
+
+            //Act
+            pooledService.getAmqpAdmin(BINDER_NAME);
+
+            //Assert
+            final Map<String, CachingConnectionFactory> lookup = (Map<String, CachingConnectionFactory>) ReflectionTestUtils.getField(pooledService, "pooledConnectionFactoryLookup");
+
+            assertThat(lookup.get(BINDER_NAME).getChannelCacheSize()).isEqualTo(CHANNEL_POOL_SIZE);
+        }
+
+        @Test
+        void shouldNotDestroyPooledConnectionsByName() {
+            //Arrange
+            final RabbitMqConnectionService pooledService = createPooledService();
+            final CachingConnectionFactory mockConnectionFactory = addPooledConnectionFactory(pooledService);
+
+            //Act
+            pooledService.destroyConnectionsByName(BINDER_NAME);
+
+            //Assert
+            verify(mockConnectionFactory, never()).destroy();
+        }
+
+        @Test
+        void shouldDestroyPooledConnectionsOnShutdown() {
+            //Arrange
+            final RabbitMqConnectionService pooledService = createPooledService();
+            final CachingConnectionFactory mockConnectionFactory = addPooledConnectionFactory(pooledService);
+
+            //Act
+            pooledService.destroy();
+
+            //Assert
+            verify(mockConnectionFactory, times(1)).destroy();
+        }
+    }
+
+    private RabbitMqConnectionService createPooledService() {
+        when(mockVirgilPropertyConfig.getConnection()).thenReturn(new ConnectionProperties(ConnectionMode.POOLED, CHANNEL_POOL_SIZE, Duration.ofSeconds(1)));
+        when(mockVirgilPropertyConfig.getQueueProperties(QUEUE_NAME)).thenReturn(QUEUE_PROPERTIES);
+
+        return new RabbitMqConnectionService(mockVirgilPropertyConfig);
+    }
+
+    private CachingConnectionFactory addPooledConnectionFactory(final RabbitMqConnectionService instance) {
+        final CachingConnectionFactory mockConnectionFactory = Mockito.mock(CachingConnectionFactory.class);
+        final Connection mockConnection = Mockito.mock(Connection.class);
+        final Channel mockChannel = Mockito.mock(Channel.class);
+
+        when(mockConnectionFactory.createConnection()).thenReturn(mockConnection);
+        when(mockConnection.createChannel(false)).thenReturn(mockChannel);
+        when(mockChannel.isOpen()).thenReturn(true);
+
+        final Map<String, CachingConnectionFactory> lookup = (Map<String, CachingConnectionFactory>) ReflectionTestUtils.getField(instance, "pooledConnectionFactoryLookup");
+        lookup.put(BINDER_NAME, mockConnectionFactory);
+
+        return mockConnectionFactory;
+    }
+
+    private RabbitTemplate initializeThreadLocalRabbitTemplate() {
+        when(mockVirgilPropertyConfig.getQueueProperties(QUEUE_NAME)).thenReturn(QUEUE_PROPERTIES);
+
+        final CachingConnectionFactory mockConnectionFactory = Mockito.mock(CachingConnectionFactory.class);
+        final RabbitTemplate mockRabbitTemplate = Mockito.mock(RabbitTemplate.class);
+        when(mockRabbitTemplate.getConnectionFactory()).thenReturn(mockConnectionFactory);
+
+        final ThreadLocal<Map<String, RabbitTemplate>> cachedLookup = new ThreadLocal<>();
+        cachedLookup.set(new HashMap<>());
+        cachedLookup.get().put(BINDER_NAME, mockRabbitTemplate);
+
+        ReflectionTestUtils.setField(rabbitMqConnectionService, "rabbitTemplateLookup", cachedLookup);
+
+        return mockRabbitTemplate;
+    }
+
+    private void initializeBinderProperties() {
+        final RabbitProperties rabbitProperties = new RabbitProperties();
+        rabbitProperties.setAddresses("example:1111");
+        rabbitProperties.setUsername("username");
+        rabbitProperties.setPassword("password");
+        rabbitProperties.setVirtualHost("virtual");
+
+        when(mockVirgilPropertyConfig.getBinderProperties(anyString())).thenReturn(new BinderProperties(BINDER_NAME, "rabbit", rabbitProperties));
+    }
+
     private static AbstractConnectionFactory getConnectionFactory(final RabbitMqConnectionService instance, final String binderName) {
         try {
             final Method method = RabbitMqConnectionService.class.getDeclaredMethod("getConnectionFactory", String.class);
@@ -0,0 +1,151 @@
+package com.indeed.virgil.spring.boot.starter.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionListener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class TestVirgilMetrics {
+
+    private static final String QUEUE_ID = "primaryQueue";
+    private static final String BINDER_NAME = "default-binder-name";
+    private static final String OPERATION = "get-messages";
+
+    private MeterRegistry meterRegistry;
+    private VirgilMetrics virgilMetrics;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        virgilMetrics = new VirgilMetrics(meterRegistry);
+    }
+
+    @Nested
+    class time {
+
+        @Test
+        void shouldReturnValueAndRecordTimer() {
+
+            //Act
+            final String result = virgilMetrics.time(OPERATION, QUEUE_ID, BINDER_NAME, () -> "value");
+
+            //Assert
+            assertThat(result).isEqualTo("value");
+
+            final Timer timer = meterRegistry.get(VirgilMetrics.OPERATIONS_TIMER)
+                .tag(VirgilMetrics.QUEUE_ID_TAG, QUEUE_ID)
+                .tag(VirgilMetrics.BINDER_TAG, BINDER_NAME)
+                .tag(VirgilMetrics.OPERATION_TAG, OPERATION)
+                .tag(VirgilMetrics.EXCEPTION_TAG, "none")
+                .timer();
+            assertThat(timer.count()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldTagExceptionAndRethrow() {
+
+            //Act
+            assertThatThrownBy(() -> virgilMetrics.time(OPERATION, QUEUE_ID, BINDER_NAME, () -> {
+                throw new IllegalStateException("failed");
+            })).isInstanceOf(IllegalStateException.class);
+
+            //Assert
+            final Timer timer = meterRegistry.get(VirgilMetrics.OPERATIONS_TIMER)
+                .tag(VirgilMetrics.EXCEPTION_TAG, "IllegalStateException")
+                .timer();
+            assertThat(timer.count()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldTagUnknownBinderWhenBinderIsNull() {
+
+            //Act
+            virgilMetrics.time(OPERATION, QUEUE_ID, null, () -> null);
+
+            //Assert
+            assertThat(meterRegistry.get(VirgilMetrics.OPERATIONS_TIMER).tag(VirgilMetrics.BINDER_TAG, "unknown").timer().count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class recordRead {
+
+        @Test
+        void shouldIncrementReadCounters() {
+
+            //Act
+            virgilMetrics.recordRead(QUEUE_ID, BINDER_NAME, 4, 3, 120);
+            virgilMetrics.recordRead(QUEUE_ID, BINDER_NAME, 1, 1, 30);
+
+            //Assert
+            assertThat(counterValue(VirgilMetrics.BASIC_GETS_COUNTER)).isEqualTo(5);
+            assertThat(counterValue(VirgilMetrics.MESSAGES_SCANNED_COUNTER)).isEqualTo(4);
+            assertThat(counterValue(VirgilMetrics.BYTES_READ_COUNTER)).isEqualTo(150);
+        }
+
+        @Test
+        void shouldRegisterCountersWhenNothingWasRead() {
+
+            //Act
+            virgilMetrics.recordRead(QUEUE_ID, BINDER_NAME, 0, 0, 0);
+
+            //Assert
+            assertThat(counterValue(VirgilMetrics.BASIC_GETS_COUNTER)).isZero();
+        }
+    }
+
+    @Nested
+    class recordMatched {
+
+        @Test
+        void shouldIncrementMatchedCounterTaggedWithOperation() {
+
+            //Act
+            virgilMetrics.recordMatched("ack-messages", QUEUE_ID, BINDER_NAME, 2);
+
+            //Assert
+            assertThat(meterRegistry.get(VirgilMetrics.MESSAGES_MATCHED_COUNTER)
+                .tag(VirgilMetrics.OPERATION_TAG, "ack-messages")
+                .counter()
+                .count()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    class connectionListener {
+
+        @Test
+        void shouldCountCreatedAndClosedConnections() {
+            //Arrange
+            final ConnectionListener connectionListener = virgilMetrics.connectionListener(BINDER_NAME);
+            final Connection connection = mock(Connection.class);
+
+            //Act
+            connectionListener.onCreate(connection);
+            connectionListener.onCreate(connection);
+            connectionListener.onClose(connection);
+
+            //Assert
+            assertThat(meterRegistry.get(VirgilMetrics.CONNECTIONS_CREATED_COUNTER).tag(VirgilMetrics.BINDER_TAG, BINDER_NAME).counter().count())
+                .isEqualTo(2);
+            assertThat(meterRegistry.get(VirgilMetrics.CONNECTIONS_DESTROYED_COUNTER).tag(VirgilMetrics.BINDER_TAG, BINDER_NAME).counter().count())
+                .isEqualTo(1);
+        }
+    }
+
+    private double counterValue(final String name) {
+        return meterRegistry.get(name)
+            .tag(VirgilMetrics.QUEUE_ID_TAG, QUEUE_ID)
+            .tag(VirgilMetrics.BINDER_TAG, BINDER_NAME)
+            .counter()
+            .count();
+    }
+}
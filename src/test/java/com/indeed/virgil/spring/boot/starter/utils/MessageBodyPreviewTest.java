@@ -0,0 +1,164 @@
+package com.indeed.virgil.spring.boot.starter.utils;
+
+import com.indeed.virgil.spring.boot.starter.util.MessageBodyPreview;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageBodyPreviewTest {
+
+    private static final int MAX_BYTES = 256;
+
+    @Nested
+    class preview {
+
+        @Test
+        void shouldReturnWholeBodyWhenShorterThanWindow() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap("hello world".getBytes(StandardCharsets.UTF_8));
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, null, MAX_BYTES);
+
+            //Assert
+            assertThat(result).isEqualTo("hello world");
+        }
+
+        @Test
+        void shouldReturnEmptyStringForEmptyBody() {
+
+            //Act
+            final String result = MessageBodyPreview.preview(ByteBuffer.wrap(new byte[0]), null, MAX_BYTES);
+
+            //Assert
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        void shouldCutTextAtWindow() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap("0123456789".getBytes(StandardCharsets.UTF_8));
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, null, 4);
+
+            //Assert
+            assertThat(result).isEqualTo("0123");
+        }
+
+        @Test
+        void shouldNotSplitTwoByteCharacter() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap("\u00e9\u00e9\u00e9".getBytes(StandardCharsets.UTF_8));
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, null, 5);
+
+            //Assert
+            assertThat(result).isEqualTo("\u00e9\u00e9");
+        }
+
+        @Test
+        void shouldNotSplitSurrogatePair() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap("a\ud83d\ude00b".getBytes(StandardCharsets.UTF_8));
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, null, 4);
+
+            //Assert
+            assertThat(result).isEqualTo("a");
+        }
+
+        @Test
+        void shouldKeepTabsAndNewLines() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap("a\tb\r\nc".getBytes(StandardCharsets.UTF_8));
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, null, MAX_BYTES);
+
+            //Assert
+            assertThat(result).isEqualTo("a\tb\r\nc");
+        }
+
+        @Test
+        void shouldDecodeWithContentEncoding() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap("caf\u00e9".getBytes(StandardCharsets.ISO_8859_1));
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, "ISO-8859-1", MAX_BYTES);
+
+            //Assert
+            assertThat(result).isEqualTo("caf\u00e9");
+        }
+
+        @Test
+        void shouldFallBackToUtf8WhenContentEncodingIsNotACharset() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap("caf\u00e9".getBytes(StandardCharsets.UTF_8));
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, "gzip", MAX_BYTES);
+
+            //Assert
+            assertThat(result).isEqualTo("caf\u00e9");
+        }
+
+        @Test
+        void shouldShowMalformedTextAsBinary() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap(new byte[]{'a', (byte) 0xff, 'b'});
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, null, MAX_BYTES);
+
+            //Assert
+            assertThat(result).isEqualTo("binary (3 bytes): 61ff62");
+        }
+
+        @Test
+        void shouldShowBodyWithNullByteAsBinary() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap(new byte[]{0x1f, (byte) 0x8b, 0x00, 0x01});
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, null, MAX_BYTES);
+
+            //Assert
+            assertThat(result).isEqualTo("binary (4 bytes): 1f8b0001");
+        }
+
+        @Test
+        void shouldOnlyDumpFirstBytesOfBinaryBody() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap(new byte[1000]);
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, null, MAX_BYTES);
+
+            //Assert
+            assertThat(result).startsWith("binary (1000 bytes): 0000").endsWith("...");
+            assertThat(result).hasSize("binary (1000 bytes): ".length() + 64 + 3);
+        }
+
+        @Test
+        void shouldOnlyReadRemainingBytesWithoutMovingBuffer() {
+            //Arrange
+            final ByteBuffer body = ByteBuffer.wrap("skip:keep".getBytes(StandardCharsets.UTF_8));
+            body.position(5);
+
+            //Act
+            final String result = MessageBodyPreview.preview(body, null, MAX_BYTES);
+
+            //Assert
+            assertThat(result).isEqualTo("keep");
+            assertThat(body.position()).isEqualTo(5);
+        }
+    }
+}
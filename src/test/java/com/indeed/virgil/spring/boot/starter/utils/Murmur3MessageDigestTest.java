@@ -0,0 +1,98 @@
+package com.indeed.virgil.spring.boot.starter.utils;
+
+import com.indeed.virgil.spring.boot.starter.util.Murmur3MessageDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Murmur3MessageDigestTest {
+
+    private Murmur3MessageDigest messageDigest;
+
+    @BeforeEach
+    void setup() {
+        messageDigest = new Murmur3MessageDigest();
+    }
+
+    @Nested
+    class digest {
+
+        @Test
+        void shouldReturnZeroDigestForEmptyInput() {
+
+            //Act
+            final byte[] result = messageDigest.digest(new byte[0]);
+
+            //Assert
+            assertThat(toHex(result)).isEqualTo("00000000000000000000000000000000");
+        }
+
+        @Test
+        void shouldMatchReferenceDigest() {
+            //Arrange
+            final byte[] input = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+
+            //Act
+            final byte[] result = messageDigest.digest(input);
+
+            //Assert
+            assertThat(toHex(result)).isEqualTo("6c1b07bc7bbc4be347939ac4a93c437a");
+        }
+
+        @Test
+        void shouldMatchReferenceDigestForTailOnlyInput() {
+
+            //Act
+            final byte[] result = messageDigest.digest("a".getBytes(StandardCharsets.UTF_8));
+
+            //Assert
+            assertThat(toHex(result)).isEqualTo("897859f6655555855a890e51483ab5e6");
+        }
+
+        @Test
+        void shouldReturnSameDigestRegardlessOfHowInputIsSplit() {
+            //Arrange
+            final byte[] input = new byte[1000];
+            new Random(1).nextBytes(input);
+            final byte[] expected = messageDigest.digest(input);
+
+            for (final int chunkLength : new int[] {1, 3, 15, 16, 17, 100}) {
+                //Act
+                for (int offset = 0; offset < input.length; offset += chunkLength) {
+                    messageDigest.update(input, offset, Math.min(chunkLength, input.length - offset));
+                }
+                final byte[] result = messageDigest.digest();
+
+                //Assert
+                assertThat(result).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        void shouldResetAfterDigest() {
+            //Arrange
+            final byte[] input = "0123456789abcdef0".getBytes(StandardCharsets.UTF_8);
+
+            //Act
+            final byte[] first = messageDigest.digest(input);
+            final byte[] second = messageDigest.digest(input);
+
+            //Assert
+            assertThat(second).isEqualTo(first);
+            assertThat(messageDigest.getDigestLength()).isEqualTo(16);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder sb = new StringBuilder();
+        for (final byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
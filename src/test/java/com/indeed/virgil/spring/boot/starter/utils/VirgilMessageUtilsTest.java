@@ -1,5 +1,7 @@
 package com.indeed.virgil.spring.boot.starter.utils;
 
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.FingerprintAlgorithm;
+import com.indeed.virgil.spring.boot.starter.config.VirgilPropertyConfig.PropertiesEncoding;
 import com.indeed.virgil.spring.boot.starter.util.VirgilMessageUtils;
 import com.rabbitmq.client.LongString;
 import com.rabbitmq.client.impl.LongStringHelper;
@@ -9,7 +11,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class VirgilMessageUtilsTest {
 
@@ -127,5 +138,215 @@ public class VirgilMessageUtilsTest {
             assertThat(result1).isEqualTo(result2);
         }
 
+        @Test
+        void shouldReturnMurmur3FingerprintWhenConfigured() {
+            //Arrange
+            final VirgilMessageUtils murmur3MessageUtils = new VirgilMessageUtils(FingerprintAlgorithm.MURMUR3_128);
+            final byte[] body = "asfdafdas".getBytes();
+            final Message msg = new Message(body, null);
+
+            //Act
+            final String result = murmur3MessageUtils.generateFingerprint(msg);
+
+            //Assert
+            assertThat(result).isEqualTo("fdd91fc7bade6605b333e1a0831f4f48");
+        }
+
+        @Test
+        void shouldReturnStableMurmur3FingerprintWithProperties() {
+            //Arrange
+            final VirgilMessageUtils murmur3MessageUtils = new VirgilMessageUtils(FingerprintAlgorithm.MURMUR3_128);
+            final MessageProperties messageProperties = new MessageProperties();
+            messageProperties.setHeader("uniqueKey", "1");
+            final Message msg = new Message("body".getBytes(), messageProperties);
+
+            //Act
+            final String result1 = murmur3MessageUtils.generateFingerprint(msg);
+            final String result2 = murmur3MessageUtils.generateFingerprint(msg);
+
+            //Assert
+            assertThat(result1).hasSize(32);
+            assertThat(result1).isEqualTo(result2);
+            assertThat(result1).isNotEqualTo(virgilMessageUtils.generateFingerprint(msg));
+        }
+
+        @Test
+        void shouldKeepLegacyFingerprintByDefault() {
+            //Arrange
+            final VirgilMessageUtils legacyMessageUtils = new VirgilMessageUtils(FingerprintAlgorithm.MD5, PropertiesEncoding.LEGACY);
+            final MessageProperties messageProperties = new MessageProperties();
+            messageProperties.setHeader("uniqueKey", "1");
+            final Message msg = new Message("".getBytes(), messageProperties);
+
+            //Act
+            final String result = legacyMessageUtils.generateFingerprint(msg);
+
+            //Assert
+            assertThat(result).isEqualTo("3e1bc27b4db8f518e7ebbb2da9912ec5");
+            assertThat(result).isEqualTo(virgilMessageUtils.generateFingerprint(msg));
+        }
+
+        @Test
+        void shouldIgnoreHeaderOrderWithCanonicalEncoding() {
+            //Arrange
+            final VirgilMessageUtils canonicalMessageUtils = new VirgilMessageUtils(FingerprintAlgorithm.MD5, PropertiesEncoding.CANONICAL);
+
+            final MessageProperties messageProperties1 = new MessageProperties();
+            messageProperties1.setHeader("trackingCode", "AF190B");
+            messageProperties1.setHeader("item", LongStringHelper.asLongString("\u00fcmlaut"));
+            messageProperties1.setHeader("attempts", 3);
+
+            final MessageProperties messageProperties2 = new MessageProperties();
+            messageProperties2.setHeader("attempts", 3);
+            messageProperties2.setHeader("item", LongStringHelper.asLongString("\u00fcmlaut"));
+            messageProperties2.setHeader("trackingCode", "AF190B");
+
+            final byte[] body = "body".getBytes();
+
+            //Act
+            final String result1 = canonicalMessageUtils.generateFingerprint(new Message(body, messageProperties1));
+            final String result2 = canonicalMessageUtils.generateFingerprint(new Message(body, messageProperties2));
+
+            //Assert
+            assertThat(result1).isEqualTo(result2);
+        }
+
+        @Test
+        void shouldIgnoreRedeliveredWithCanonicalEncoding() {
+            //Arrange
+            final VirgilMessageUtils canonicalMessageUtils = new VirgilMessageUtils(FingerprintAlgorithm.MD5, PropertiesEncoding.CANONICAL);
+
+            final MessageProperties messageProperties1 = new MessageProperties();
+            messageProperties1.setHeader("trackingCode", "AF190B");
+            messageProperties1.setRedelivered(false);
+
+            final MessageProperties messageProperties2 = new MessageProperties();
+            messageProperties2.setHeader("trackingCode", "AF190B");
+            messageProperties2.setRedelivered(true);
+
+            final byte[] body = "body".getBytes();
+
+            //Act
+            final String result1 = canonicalMessageUtils.generateFingerprint(new Message(body, messageProperties1));
+            final String result2 = canonicalMessageUtils.generateFingerprint(new Message(body, messageProperties2));
+
+            //Assert
+            assertThat(result1).isEqualTo(result2);
+        }
+
+        @Test
+        void shouldReturnDifferentFingerprintForDifferentHeaderWithCanonicalEncoding() {
+            //Arrange
+            final VirgilMessageUtils canonicalMessageUtils = new VirgilMessageUtils(FingerprintAlgorithm.MD5, PropertiesEncoding.CANONICAL);
+
+            final MessageProperties messageProperties1 = new MessageProperties();
+            messageProperties1.setHeader("trackingCode", "AF190B");
+
+            final MessageProperties messageProperties2 = new MessageProperties();
+            messageProperties2.setHeader("trackingCode", "AF190C");
+
+            final byte[] body = "body".getBytes();
+
+            //Act
+            final String result1 = canonicalMessageUtils.generateFingerprint(new Message(body, messageProperties1));
+            final String result2 = canonicalMessageUtils.generateFingerprint(new Message(body, messageProperties2));
+
+            //Assert
+            assertThat(result1).isNotEqualTo(result2);
+        }
+
+        @Test
+        void shouldNotConfuseHeaderNameAndValueWithCanonicalEncoding() {
+            //Arrange
+            final VirgilMessageUtils canonicalMessageUtils = new VirgilMessageUtils(FingerprintAlgorithm.MD5, PropertiesEncoding.CANONICAL);
+
+            final MessageProperties messageProperties1 = new MessageProperties();
+            messageProperties1.setHeader("ab", "c");
+
+            final MessageProperties messageProperties2 = new MessageProperties();
+            messageProperties2.setHeader("a", "bc");
+
+            final byte[] body = "body".getBytes();
+
+            //Act
+            final String result1 = canonicalMessageUtils.generateFingerprint(new Message(body, messageProperties1));
+            final String result2 = canonicalMessageUtils.generateFingerprint(new Message(body, messageProperties2));
+
+            //Assert
+            assertThat(result1).isNotEqualTo(result2);
+        }
+
+        /**
+         * Allocation profile of the property encodings: the canonical encoding writes straight into the digest, so it should allocate a
+         * fraction of what the legacy String dump does.
+         */
+        @Test
+        void shouldAllocateLessWithCanonicalEncoding() {
+            //Arrange
+            final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+
+            final MessageProperties messageProperties = new MessageProperties();
+            messageProperties.setMessageId("8d9c2b0e-6c0b-4f0e-9d3a-1b8f6f7e2a10");
+            messageProperties.setHeader("x-exception-message", LongStringHelper.asLongString("java.util.concurrent.TimeoutException"));
+            messageProperties.setHeader("x-original-exchange", LongStringHelper.asLongString("virgil-exchange"));
+            messageProperties.setHeader("x-original-routingKey", LongStringHelper.asLongString("dlq.orders"));
+            final Message msg = new Message("body".getBytes(), messageProperties);
+
+            final VirgilMessageUtils legacyMessageUtils = new VirgilMessageUtils(FingerprintAlgorithm.MD5, PropertiesEncoding.LEGACY);
+            final VirgilMessageUtils canonicalMessageUtils = new VirgilMessageUtils(FingerprintAlgorithm.MD5, PropertiesEncoding.CANONICAL);
+
+            //Act
+            final long legacyBytes = measureAllocatedBytes(threadMXBean, legacyMessageUtils, msg);
+            final long canonicalBytes = measureAllocatedBytes(threadMXBean, canonicalMessageUtils, msg);
+
+            //Assert
+            assertThat(canonicalBytes).isLessThan(legacyBytes / 2);
+        }
+
+        @Test
+        void shouldReturnSameFingerprintFromConcurrentThreads() throws Exception {
+            //Arrange
+            final MessageProperties messageProperties = new MessageProperties();
+            messageProperties.setHeader("uniqueKey", "1");
+            final Message msg = new Message("".getBytes(), messageProperties);
+
+            final ExecutorService executorService = Executors.newFixedThreadPool(4);
+            final List<Future<String>> results = new ArrayList<>();
+
+            //Act
+            try {
+                for (int i = 0; i < 200; i++) {
+                    results.add(executorService.submit(() -> virgilMessageUtils.generateFingerprint(msg)));
+                }
+
+                //Assert
+                for (final Future<String> result : results) {
+                    assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("3e1bc27b4db8f518e7ebbb2da9912ec5");
+                }
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    private static long measureAllocatedBytes(
+        final com.sun.management.ThreadMXBean threadMXBean,
+        final VirgilMessageUtils virgilMessageUtils,
+        final Message msg
+    ) {
+        final int iterations = 1000;
+        final long threadId = Thread.currentThread().getId();
+
+        // warm up so class loading and thread locals are not measured
+        for (int i = 0; i < iterations; i++) {
+            virgilMessageUtils.generateFingerprint(msg);
+        }
+
+        final long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            virgilMessageUtils.generateFingerprint(msg);
+        }
+        return (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore) / iterations;
     }
 }